@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.query;
+
+import java.util.concurrent.TimeUnit;
+
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.query.mapper.WorklogDetailsRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+
+/**
+ * Compares the reflection based bean projection and the {@link WorklogDetailsRowMapper} on a 100k
+ * row worklog details result. The score is the time of mapping all rows. Run it with
+ * <code>mvn -Pbenchmark test</code>, it is not part of the default build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class WorklogDetailsRowMapperBenchmark {
+
+  private static final int ROW_COUNT = 100000;
+
+  private FactoryExpression<WorklogDetailsDTO> beanProjection;
+
+  private FactoryExpression<WorklogDetailsDTO> rowMapper;
+
+  private Object[][] rows;
+
+  /**
+   * Map the rows with the bean projection.
+   */
+  @Benchmark
+  public void beanProjection(final Blackhole blackhole) {
+    map(beanProjection, blackhole);
+  }
+
+  private void map(final FactoryExpression<WorklogDetailsDTO> projection,
+      final Blackhole blackhole) {
+    for (Object[] row : rows) {
+      blackhole.consume(projection.newInstance(row));
+    }
+  }
+
+  /**
+   * Map the rows with the row mapper.
+   */
+  @Benchmark
+  public void rowMapper(final Blackhole blackhole) {
+    map(rowMapper, blackhole);
+  }
+
+  /**
+   * Create the rows and the projections.
+   */
+  @Setup
+  public void setUp() {
+    Expression<?>[] columns = ReportRowMapperTest.createWorklogDetailsArgs();
+    rows = new Object[ROW_COUNT][];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      rows[i] = ReportRowMapperTest.createWorklogDetailsRow(i);
+    }
+    beanProjection = Projections.bean(WorklogDetailsDTO.class, columns);
+    rowMapper = new WorklogDetailsRowMapper(columns);
+  }
+
+}
@@ -16,60 +16,223 @@
 package org.everit.jira.analytics;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.httpclient.HttpClient;
-import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.methods.PostMethod;
+import org.apache.commons.httpclient.methods.StringRequestEntity;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.everit.jira.analytics.event.AnalyticsEvent;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 /**
- * Implementation of {@link AnalyticsSender}.
+ * Implementation of {@link AnalyticsSender}. The events are collected in a bounded queue and a
+ * single background thread sends them in batches with the Piwik bulk tracking API. If the queue is
+ * full, the oldest event is dropped.
  */
 public class AnalyticsSenderImpl implements InitializingBean, DisposableBean, AnalyticsSender {
 
   /**
-   * Sender command that send event to analytics application.
+   * Sender command that sends the queued events to the analytics application.
    */
-  private static class Command implements Runnable {
-
-    private final AnalyticsEvent analyticsEvent;
-
-    Command(final AnalyticsEvent analyticsEvent) {
-      this.analyticsEvent = analyticsEvent;
-    }
+  private class Command implements Runnable {
 
     @Override
     public void run() {
-      try {
-        HttpClient httpClient = new HttpClient();
-        String url = analyticsEvent.getUrl();
-        GetMethod getMethod = new GetMethod(url);
-        httpClient.executeMethod(getMethod);
-      } catch (IOException e) {
-        // do nothing
+      List<AnalyticsEvent> batch = new ArrayList<>(maxBatchSize);
+      while (!Thread.currentThread().isInterrupted()) {
+        try {
+          batch.add(queue.take());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        queue.drainTo(batch, maxBatchSize - 1);
+        sendBatch(batch);
+        batch.clear();
       }
     }
   }
 
-  private static final int MAX_THREAD = 4;
+  private static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+  private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+  private static final int DEFAULT_TIMEOUT_IN_MILLIS = 5000;
+
+  private static final int HTTP_STATUS_MULTIPLE_CHOICES = 300;
+
+  private static final int HTTP_STATUS_OK = 200;
+
+  private static final int MAX_CONNECTIONS = 2;
+
+  private MultiThreadedHttpConnectionManager connectionManager;
+
+  private final AtomicLong droppedEventCount = new AtomicLong();
 
   private ExecutorService executorService;
 
+  private final AtomicLong failedEventCount = new AtomicLong();
+
+  private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+  private HttpClient httpClient;
+
+  private final int maxBatchSize;
+
+  private final BlockingQueue<AnalyticsEvent> queue;
+
+  private final AtomicLong sentEventCount = new AtomicLong();
+
+  private final int timeoutInMillis;
+
+  /**
+   * Constructor with the default queue capacity, batch size and timeout.
+   */
+  public AnalyticsSenderImpl() {
+    this(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_TIMEOUT_IN_MILLIS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param queueCapacity
+   *          the maximum number of the not sent events.
+   * @param maxBatchSize
+   *          the maximum number of the events in one bulk request.
+   * @param timeoutInMillis
+   *          the connect and the read timeout of the requests.
+   */
+  public AnalyticsSenderImpl(final int queueCapacity, final int maxBatchSize,
+      final int timeoutInMillis) {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxBatchSize = maxBatchSize;
+    this.timeoutInMillis = timeoutInMillis;
+  }
+
   @Override
   public void afterPropertiesSet() throws Exception {
-    executorService = Executors.newFixedThreadPool(MAX_THREAD);
+    connectionManager = new MultiThreadedHttpConnectionManager();
+    HttpConnectionManagerParams connectionManagerParams = connectionManager.getParams();
+    connectionManagerParams.setConnectionTimeout(timeoutInMillis);
+    connectionManagerParams.setSoTimeout(timeoutInMillis);
+    connectionManagerParams.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS);
+    connectionManagerParams.setMaxTotalConnections(MAX_CONNECTIONS);
+    httpClient = new HttpClient(connectionManager);
+    executorService = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        Thread thread = new Thread(runnable, "jttp-analytics-sender");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    executorService.execute(new Command());
   }
 
   @Override
   public void destroy() throws Exception {
-    executorService.shutdown();
+    executorService.shutdownNow();
+    connectionManager.shutdown();
+  }
+
+  /**
+   * Gets the number of the events that were dropped because the queue was full.
+   */
+  public long getDroppedEventCount() {
+    return droppedEventCount.get();
+  }
+
+  /**
+   * Gets the number of the events that the analytics application did not accept.
+   */
+  public long getFailedEventCount() {
+    return failedEventCount.get();
+  }
+
+  /**
+   * Gets the number of the events waiting for sending.
+   */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * Gets the number of the events accepted by the analytics application.
+   */
+  public long getSentEventCount() {
+    return sentEventCount.get();
+  }
+
+  private void post(final String trackerUrl, final List<String> requests) {
+    PostMethod postMethod = null;
+    boolean sent = false;
+    try {
+      postMethod = new PostMethod(trackerUrl);
+      String body = gson.toJson(Collections.singletonMap("requests", requests));
+      postMethod.setRequestEntity(new StringRequestEntity(body, "application/json", "UTF-8"));
+      int statusCode = httpClient.executeMethod(postMethod);
+      sent = (statusCode >= HTTP_STATUS_OK) && (statusCode < HTTP_STATUS_MULTIPLE_CHOICES);
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      // do nothing, analytics must not disturb the users
+    } finally {
+      if (postMethod != null) {
+        postMethod.releaseConnection();
+      }
+    }
+    if (sent) {
+      sentEventCount.addAndGet(requests.size());
+    } else {
+      failedEventCount.addAndGet(requests.size());
+    }
   }
 
   @Override
   public void send(final AnalyticsEvent analyticsEvent) {
-    executorService.execute(new Command(analyticsEvent));
+    while (!queue.offer(analyticsEvent)) {
+      if (queue.poll() != null) {
+        droppedEventCount.incrementAndGet();
+      }
+    }
+  }
+
+  private void sendBatch(final List<AnalyticsEvent> batch) {
+    Map<String, List<String>> requestsByTrackerUrl = new LinkedHashMap<>();
+    for (AnalyticsEvent analyticsEvent : batch) {
+      String url;
+      try {
+        url = analyticsEvent.getUrl();
+      } catch (RuntimeException e) {
+        // a broken event must not stop the sender thread
+        failedEventCount.incrementAndGet();
+        continue;
+      }
+      int queryIndex = url.indexOf('?');
+      String trackerUrl = queryIndex < 0 ? url : url.substring(0, queryIndex);
+      List<String> requests = requestsByTrackerUrl.get(trackerUrl);
+      if (requests == null) {
+        requests = new ArrayList<>();
+        requestsByTrackerUrl.put(trackerUrl, requests);
+      }
+      requests.add(queryIndex < 0 ? "?" : url.substring(queryIndex));
+    }
+    for (Map.Entry<String, List<String>> entry : requestsByTrackerUrl.entrySet()) {
+      post(entry.getKey(), entry.getValue());
+    }
   }
 }
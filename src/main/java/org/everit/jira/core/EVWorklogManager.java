@@ -17,6 +17,7 @@ package org.everit.jira.core;
 
 import java.text.ParseException;
 import java.util.List;
+import java.util.Set;
 
 import org.everit.jira.core.dto.WorklogParameter;
 import org.everit.jira.core.impl.DateTimeServer;
@@ -102,6 +103,8 @@ public interface EVWorklogManager {
    *
    * @param startDate
    *          The date.
+   * @param endDate
+   *          The last date or <code>null</code> for the start date only.
    * @param selectedUser
    *          The selected User.
    * @return The list of the date all worklogs.
@@ -111,4 +114,25 @@ public interface EVWorklogManager {
   List<EveritWorklog> getWorklogs(String selectedUser, DateTimeServer startDate,
       DateTimeServer endDate)
       throws DataAccessException, ParseException;
+
+  /**
+   * Give back the days all worklog of the selectedUser with only the requested field groups. The
+   * issue derived fields are calculated on first access. If selectedUser null or empty the actual
+   * logged in user will used.
+   *
+   * @param startDate
+   *          The date.
+   * @param endDate
+   *          The last date or <code>null</code> for the start date only.
+   * @param selectedUser
+   *          The selected User.
+   * @param fields
+   *          The requested {@link WorklogField} groups.
+   * @return The list of the date all worklogs.
+   * @throws ParseException
+   *           When can't parse the worklog date.
+   */
+  List<EveritWorklog> getWorklogs(String selectedUser, DateTimeServer startDate,
+      DateTimeServer endDate, Set<WorklogField> fields)
+      throws DataAccessException, ParseException;
 }
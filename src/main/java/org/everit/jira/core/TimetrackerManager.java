@@ -39,6 +39,17 @@ public interface TimetrackerManager {
   double countRealWorkDaysInWeek(final List<DateTime> weekDaysAsString,
       final Set<DateTime> exludeDates, final Set<DateTime> includeDates);
 
+  /**
+   * Count the real work days in a week.
+   *
+   * @param weekDays
+   *          the days of the week.
+   * @param workCalendar
+   *          the calendar of the exclude and include dates.
+   * @return the counted real work days number.
+   */
+  double countRealWorkDaysInWeek(List<DateTime> weekDays, WorkCalendar workCalendar);
+
   /**
    * Give back the date of the first day where missing worklogs. Use the properties files includes
    * and excludes date settings.
@@ -55,6 +66,18 @@ public interface TimetrackerManager {
   DateTime firstMissingWorklogsDate(final Set<DateTime> excludeDatesSet,
       final Set<DateTime> includeDatesSet, DateTime currentDay);
 
+  /**
+   * Give back the date of the first day where missing worklogs. Use the working days of the
+   * calendar.
+   *
+   * @param workCalendar
+   *          the calendar of the exclude and include dates.
+   * @param currentDay
+   *          Represent the current day.
+   * @return The Date representation of the day.
+   */
+  DateTime firstMissingWorklogsDate(WorkCalendar workCalendar, DateTime currentDay);
+
   /**
    * The method find the exclude dates of the given date month.
    *
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import org.joda.time.DateTime;
+
+/**
+ * Immutable calendar of the exclude dates (non-working days) and the include dates (working
+ * weekend days). The dates are stored as epoch days in a bitset with prefix sums, so the day and
+ * the interval queries do not depend on the number of the dates.
+ */
+public final class WorkCalendar {
+
+  /**
+   * The cached calendar of the last used exclude and include dates settings.
+   */
+  private static final class CachedWorkCalendar {
+
+    private final String excludeDates;
+
+    private final String includeDates;
+
+    private final WorkCalendar workCalendar;
+
+    CachedWorkCalendar(final String excludeDates, final String includeDates,
+        final WorkCalendar workCalendar) {
+      this.excludeDates = excludeDates;
+      this.includeDates = includeDates;
+      this.workCalendar = workCalendar;
+    }
+  }
+
+  private static final int DAYS_PER_WEEK = 7;
+
+  /**
+   * The calendar without exclude and include dates.
+   */
+  public static final WorkCalendar EMPTY =
+      new WorkCalendar(new ArrayList<Long>(), new ArrayList<Long>());
+
+  private static volatile CachedWorkCalendar lastWorkCalendar;
+
+  private static final long MILLISECONDS_PER_DAY = 86400000L;
+
+  /**
+   * The number of weekend days among the first n days of a week starting on Thursday (the
+   * 1970-01-01 epoch day).
+   */
+  private static final int[] WEEKEND_DAYS_IN_PARTIAL_WEEK = new int[] { 0, 0, 0, 1, 2, 2, 2 };
+
+  private static final int WEEKEND_DAYS_PER_WEEK = 2;
+
+  private final BitSet excludeDays;
+
+  private final int[] excludeDaysPrefixSum;
+
+  private final long firstDay;
+
+  private final BitSet includeDays;
+
+  private final int[] includeDaysPrefixSum;
+
+  /**
+   * Get the calendar of the stored exclude and include dates settings. The calendar is built only
+   * when the settings change.
+   *
+   * @param excludeDates
+   *          the comma separated exclude dates in UTC milliseconds. Can be <code>null</code>.
+   * @param includeDates
+   *          the comma separated include dates in UTC milliseconds. Can be <code>null</code>.
+   * @return the calendar.
+   */
+  public static WorkCalendar getInstance(final String excludeDates, final String includeDates) {
+    String exclude = excludeDates == null ? "" : excludeDates;
+    String include = includeDates == null ? "" : includeDates;
+    CachedWorkCalendar cached = lastWorkCalendar;
+    if ((cached != null) && cached.excludeDates.equals(exclude)
+        && cached.includeDates.equals(include)) {
+      return cached.workCalendar;
+    }
+    WorkCalendar workCalendar = new WorkCalendar(WorkCalendar.parseDates(exclude),
+        WorkCalendar.parseDates(include));
+    lastWorkCalendar = new CachedWorkCalendar(exclude, include, workCalendar);
+    return workCalendar;
+  }
+
+  /**
+   * Get the epoch day of the date in the zone of the date.
+   *
+   * @param date
+   *          the date.
+   * @return the number of days since 1970-01-01.
+   */
+  public static long getLocalEpochDay(final DateTime date) {
+    long millis = date.getMillis();
+    long localMillis = millis + date.getZone().getOffset(millis);
+    return WorkCalendar.floorDiv(localMillis, MILLISECONDS_PER_DAY);
+  }
+
+  /**
+   * Create calendar from the exclude and include dates.
+   *
+   * @param excludeDates
+   *          the exclude dates. The days of the dates are used.
+   * @param includeDates
+   *          the include dates. The days of the dates are used.
+   * @return the calendar.
+   */
+  public static WorkCalendar of(final Collection<DateTime> excludeDates,
+      final Collection<DateTime> includeDates) {
+    return new WorkCalendar(WorkCalendar.toEpochMillis(excludeDates),
+        WorkCalendar.toEpochMillis(includeDates));
+  }
+
+  private static long floorDiv(final long dividend, final long divisor) {
+    long quotient = dividend / divisor;
+    if (((dividend % divisor) != 0) && ((dividend < 0) != (divisor < 0))) {
+      quotient--;
+    }
+    return quotient;
+  }
+
+  private static List<Long> parseDates(final String dates) {
+    List<Long> result = new ArrayList<>();
+    for (String date : dates.split(",")) {
+      if (!date.isEmpty()) {
+        result.add(Long.parseLong(date));
+      }
+    }
+    return result;
+  }
+
+  private static int[] prefixSum(final BitSet days, final int size) {
+    int[] prefixSum = new int[size + 1];
+    for (int i = 0; i < size; i++) {
+      prefixSum[i + 1] = prefixSum[i] + (days.get(i) ? 1 : 0);
+    }
+    return prefixSum;
+  }
+
+  private static List<Long> toEpochMillis(final Collection<DateTime> dates) {
+    List<Long> result = new ArrayList<>(dates.size());
+    for (DateTime date : dates) {
+      result.add(WorkCalendar.getLocalEpochDay(date) * MILLISECONDS_PER_DAY);
+    }
+    return result;
+  }
+
+  /**
+   * The number of weekend days in the [0, epochDay) interval, relative to the 1970-01-01 epoch.
+   */
+  private static long weekendDaysBefore(final long epochDay) {
+    long weeks = WorkCalendar.floorDiv(epochDay, DAYS_PER_WEEK);
+    int remainingDays = (int) (epochDay - (weeks * DAYS_PER_WEEK));
+    return (weeks * WEEKEND_DAYS_PER_WEEK) + WEEKEND_DAYS_IN_PARTIAL_WEEK[remainingDays];
+  }
+
+  private WorkCalendar(final List<Long> excludeDates, final List<Long> includeDates) {
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    List<Long> allDates = new ArrayList<>(excludeDates);
+    allDates.addAll(includeDates);
+    for (Long date : allDates) {
+      long epochDay = WorkCalendar.floorDiv(date, MILLISECONDS_PER_DAY);
+      min = Math.min(min, epochDay);
+      max = Math.max(max, epochDay);
+    }
+    if (allDates.isEmpty()) {
+      min = 0;
+      max = -1;
+    }
+    firstDay = min;
+    int size = (int) ((max - min) + 1);
+    excludeDays = new BitSet(size);
+    for (Long date : excludeDates) {
+      excludeDays.set((int) (WorkCalendar.floorDiv(date, MILLISECONDS_PER_DAY) - firstDay));
+    }
+    includeDays = new BitSet(size);
+    for (Long date : includeDates) {
+      includeDays.set((int) (WorkCalendar.floorDiv(date, MILLISECONDS_PER_DAY) - firstDay));
+    }
+    excludeDaysPrefixSum = WorkCalendar.prefixSum(excludeDays, size);
+    includeDaysPrefixSum = WorkCalendar.prefixSum(includeDays, size);
+  }
+
+  private boolean contains(final BitSet days, final long epochDay) {
+    long index = epochDay - firstDay;
+    return (index >= 0) && (index < Integer.MAX_VALUE) && days.get((int) index);
+  }
+
+  private int countDays(final int[] prefixSum, final long fromEpochDay, final long toEpochDay) {
+    int size = prefixSum.length - 1;
+    long from = Math.max(fromEpochDay - firstDay, 0);
+    long to = Math.min((toEpochDay - firstDay) + 1, size);
+    if (from >= to) {
+      return 0;
+    }
+    return prefixSum[(int) to] - prefixSum[(int) from];
+  }
+
+  /**
+   * Count the exclude dates in the interval.
+   *
+   * @param fromEpochDay
+   *          the first epoch day (inclusive).
+   * @param toEpochDay
+   *          the last epoch day (inclusive).
+   * @return the number of the exclude dates.
+   */
+  public int countExcludeDays(final long fromEpochDay, final long toEpochDay) {
+    return countDays(excludeDaysPrefixSum, fromEpochDay, toEpochDay);
+  }
+
+  /**
+   * Count the include dates in the interval.
+   *
+   * @param fromEpochDay
+   *          the first epoch day (inclusive).
+   * @param toEpochDay
+   *          the last epoch day (inclusive).
+   * @return the number of the include dates.
+   */
+  public int countIncludeDays(final long fromEpochDay, final long toEpochDay) {
+    return countDays(includeDaysPrefixSum, fromEpochDay, toEpochDay);
+  }
+
+  /**
+   * Count the expected work days in the interval: the days of the interval minus the weekend days
+   * minus the exclude dates plus the include dates. The result is the number of the working days
+   * if the exclude dates are weekdays and the include dates are weekend days.
+   *
+   * @param fromEpochDay
+   *          the first epoch day (inclusive).
+   * @param toEpochDay
+   *          the last epoch day (inclusive).
+   * @return the number of the expected work days.
+   */
+  public long countWorkDays(final long fromEpochDay, final long toEpochDay) {
+    if (fromEpochDay > toEpochDay) {
+      return 0;
+    }
+    long days = (toEpochDay - fromEpochDay) + 1;
+    long weekendDays = WorkCalendar.weekendDaysBefore(toEpochDay + 1)
+        - WorkCalendar.weekendDaysBefore(fromEpochDay);
+    return (days - weekendDays) - countExcludeDays(fromEpochDay, toEpochDay)
+        + countIncludeDays(fromEpochDay, toEpochDay);
+  }
+
+  /**
+   * Check the day of the date is an exclude date.
+   *
+   * @param date
+   *          the date.
+   * @return true if excluded, otherwise false.
+   */
+  public boolean isExcluded(final DateTime date) {
+    return contains(excludeDays, WorkCalendar.getLocalEpochDay(date));
+  }
+
+  /**
+   * Check the day of the date is an include date.
+   *
+   * @param date
+   *          the date.
+   * @return true if included, otherwise false.
+   */
+  public boolean isIncluded(final DateTime date) {
+    return contains(includeDays, WorkCalendar.getLocalEpochDay(date));
+  }
+
+  /**
+   * Check the day of the date is a working day: not excluded and not a weekend day, or included.
+   *
+   * @param date
+   *          the date.
+   * @return true if working day, otherwise false.
+   */
+  public boolean isWorkingDay(final DateTime date) {
+    long epochDay = WorkCalendar.getLocalEpochDay(date);
+    if (contains(excludeDays, epochDay)) {
+      return false;
+    }
+    return contains(includeDays, epochDay)
+        || ((WorkCalendar.weekendDaysBefore(epochDay + 1)
+            - WorkCalendar.weekendDaysBefore(epochDay)) == 0);
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.core;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The optional field groups of the {@link org.everit.jira.timetracker.plugin.dto.EveritWorklog}.
+ * The worklog id, dates, times, issue key, note and the spent milliseconds are always available.
+ * The groups not listed in a projection are not calculated and their getters return the default
+ * values.
+ */
+public enum WorklogField {
+
+  /**
+   * The formatted spent time.
+   */
+  DURATION,
+
+  /**
+   * The issue summary, closed flag, type name, type avatar, type icon and parent key.
+   */
+  ISSUE_DETAILS,
+
+  /**
+   * The edit and delete own worklogs permissions of the logged user.
+   */
+  PERMISSIONS,
+
+  /**
+   * The rounded and exact remaining estimate of the issue.
+   */
+  REMAINING;
+
+  /**
+   * Projection with every field group.
+   */
+  public static final Set<WorklogField> ALL =
+      Collections.unmodifiableSet(EnumSet.allOf(WorklogField.class));
+
+  /**
+   * Projection without any optional field group.
+   */
+  public static final Set<WorklogField> NONE =
+      Collections.unmodifiableSet(EnumSet.noneOf(WorklogField.class));
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.core.impl;
+
+import org.everit.jira.reporting.plugin.index.EpicCatalogCache;
+
+import com.atlassian.event.api.EventListener;
+import com.atlassian.jira.event.ClearCacheEvent;
+import com.atlassian.jira.event.issue.IssueEvent;
+import com.atlassian.jira.event.issue.link.IssueLinkCreatedEvent;
+import com.atlassian.jira.event.issue.link.IssueLinkDeletedEvent;
+
+/**
+ * Invalidates the {@link EpicCatalogCache} when an issue or an issue link changes, so the epic
+ * names of the reports are refreshed before the next report.
+ */
+public class EpicChangeListener {
+
+  /**
+   * Invalidate the epic catalog when the caches of JIRA are cleared.
+   */
+  @EventListener
+  public void onClearCache(final ClearCacheEvent event) {
+    EpicCatalogCache.invalidate();
+  }
+
+  /**
+   * Invalidate the epic catalog when an issue is created, updated or deleted, because the issue
+   * can be an epic.
+   */
+  @EventListener
+  public void onIssueEvent(final IssueEvent event) {
+    EpicCatalogCache.invalidate();
+  }
+
+  /**
+   * Invalidate the epic catalog when an issue link is created, because it can be an epic-story
+   * link.
+   */
+  @EventListener
+  public void onIssueLinkCreated(final IssueLinkCreatedEvent event) {
+    EpicCatalogCache.invalidate();
+  }
+
+  /**
+   * Invalidate the epic catalog when an issue link is deleted, because it can be an epic-story
+   * link.
+   */
+  @EventListener
+  public void onIssueLinkDeleted(final IssueLinkDeletedEvent event) {
+    EpicCatalogCache.invalidate();
+  }
+}
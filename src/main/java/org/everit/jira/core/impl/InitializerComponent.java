@@ -26,12 +26,19 @@ import java.util.regex.Pattern;
 import org.everit.jira.analytics.AnalyticsSender;
 import org.everit.jira.analytics.event.NoEstimateUsageChangedEvent;
 import org.everit.jira.analytics.event.NonWorkingUsageEvent;
+import org.everit.jira.core.util.BrowsableProjectCache;
+import org.everit.jira.reporting.plugin.index.EpicCatalogCache;
+import org.everit.jira.reporting.plugin.index.PickerIndexRefresher;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
 import org.everit.jira.timetracker.plugin.IssueEstimatedTimeChecker;
+import org.everit.jira.updatenotifier.LatestVersionRefresher;
+import org.everit.jira.updatenotifier.UpdateNotifier;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
+import com.atlassian.event.api.EventPublisher;
+
 /**
  * Responsible to initialize plugin when activated bean. Furthermore responsible to destroy when
  * deactivated bean.
@@ -40,29 +47,53 @@ public class InitializerComponent implements InitializingBean, DisposableBean {
 
   private static final int DEFAULT_CHECK_TIME_IN_MINUTES = 1200;
 
+  private static final long LATEST_VERSION_INITIAL_DELAY_IN_MILLIS = 60000L;
+
   private static final int MINUTES_IN_HOUR = 60;
 
   private static final int ONE_DAY_IN_MINUTES = 1440;
 
+  private static final long PICKER_INDEX_INITIAL_DELAY_IN_SECONDS = 10;
+
+  private static final long PICKER_INDEX_REFRESH_DELAY_IN_SECONDS = 30;
+
+  private static final int SCHEDULER_POOL_SIZE = 2;
+
   private static final String UNKNOW_USER_NAME = "UNKNOW_USER_NAME";
 
   private AnalyticsSender analyticsSender;
 
+  private final EpicChangeListener epicChangeListener = new EpicChangeListener();
+
+  private final EventPublisher eventPublisher;
+
   private ScheduledFuture<?> issueEstimatedTimeCheckerFuture;
 
+  private LatestVersionRefresher latestVersionRefresher;
+
+  private final PermissionChangeListener permissionChangeListener = new PermissionChangeListener();
+
+  private PickerIndexRefresher pickerIndexRefresher;
+
+  private ScheduledFuture<?> pickerIndexRefresherFuture;
+
   private final ScheduledExecutorService scheduledExecutorService = Executors
-      .newScheduledThreadPool(1);
+      .newScheduledThreadPool(SCHEDULER_POOL_SIZE);
 
   private TimeTrackerSettingsHelper settingsHelper;
 
   public InitializerComponent(final AnalyticsSender analyticsSender,
-      final TimeTrackerSettingsHelper settingsHelper) {
+      final TimeTrackerSettingsHelper settingsHelper, final EventPublisher eventPublisher) {
     this.analyticsSender = analyticsSender;
     this.settingsHelper = settingsHelper;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
   public void afterPropertiesSet() throws Exception {
+    eventPublisher.register(permissionChangeListener);
+    eventPublisher.register(epicChangeListener);
+
     final Runnable issueEstimatedTimeChecker = new IssueEstimatedTimeChecker(
         settingsHelper);
 
@@ -71,6 +102,15 @@ public class InitializerComponent implements InitializingBean, DisposableBean {
             calculateInitialDelay(),
             ONE_DAY_IN_MINUTES, TimeUnit.MINUTES);
 
+    latestVersionRefresher = new LatestVersionRefresher(new UpdateNotifier(settingsHelper),
+        scheduledExecutorService);
+    latestVersionRefresher.schedule(LATEST_VERSION_INITIAL_DELAY_IN_MILLIS);
+
+    pickerIndexRefresher = new PickerIndexRefresher();
+    pickerIndexRefresherFuture = scheduledExecutorService.scheduleWithFixedDelay(
+        pickerIndexRefresher, PICKER_INDEX_INITIAL_DELAY_IN_SECONDS,
+        PICKER_INDEX_REFRESH_DELAY_IN_SECONDS, TimeUnit.SECONDS);
+
     sendNonEstAndNonWorkAnaliticsEvent();
   }
 
@@ -91,6 +131,13 @@ public class InitializerComponent implements InitializingBean, DisposableBean {
   public void destroy() throws Exception {
     scheduledExecutorService.shutdown();
     issueEstimatedTimeCheckerFuture.cancel(true);
+    latestVersionRefresher.cancel();
+    pickerIndexRefresherFuture.cancel(true);
+    pickerIndexRefresher.clear();
+    eventPublisher.unregister(epicChangeListener);
+    EpicCatalogCache.clear();
+    eventPublisher.unregister(permissionChangeListener);
+    BrowsableProjectCache.clear();
   }
 
   private void sendNonEstAndNonWorkAnaliticsEvent() {
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.core.impl;
+
+import org.everit.jira.core.util.BrowsableProjectCache;
+import org.everit.jira.timetracker.plugin.AbstractGroupCondition;
+
+import com.atlassian.event.api.EventListener;
+
+/**
+ * Invalidates the {@link BrowsableProjectCache} when a permission scheme, a project role, a group
+ * membership or a project changes, and the decisions of the {@link AbstractGroupCondition}s when a
+ * group membership changes. The events are matched by package and name, because their classes
+ * differ between the JIRA and Crowd versions.
+ */
+public class PermissionChangeListener {
+
+  private static final String CLEAR_CACHE_EVENT = "com.atlassian.jira.event.ClearCacheEvent";
+
+  private static final String GROUP_MEMBERSHIP_EVENT_PREFIX =
+      "com.atlassian.crowd.event.group.GroupMembership";
+
+  private static final String[] PERMISSION_EVENT_PREFIXES = new String[] {
+      CLEAR_CACHE_EVENT,
+      GROUP_MEMBERSHIP_EVENT_PREFIX,
+      "com.atlassian.jira.event.Project",
+      "com.atlassian.jira.event.permission.",
+      "com.atlassian.jira.event.role.",
+      "com.atlassian.jira.event.scheme." };
+
+  /**
+   * Invalidate the caches if the event can change the browsable projects or the group
+   * memberships.
+   *
+   * @param event
+   *          any published event.
+   */
+  @EventListener
+  public void onEvent(final Object event) {
+    String eventClassName = event.getClass().getName();
+    if (eventClassName.startsWith(GROUP_MEMBERSHIP_EVENT_PREFIX)
+        || eventClassName.equals(CLEAR_CACHE_EVENT)) {
+      AbstractGroupCondition.invalidateGroupMemberships();
+    }
+    for (String prefix : PERMISSION_EVENT_PREFIXES) {
+      if (eventClassName.startsWith(prefix)) {
+        BrowsableProjectCache.invalidate();
+        return;
+      }
+    }
+  }
+}
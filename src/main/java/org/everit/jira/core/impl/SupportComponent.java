@@ -21,17 +21,15 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.everit.jira.core.SupportManager;
+import org.everit.jira.core.WorkCalendar;
 import org.everit.jira.core.util.TimetrackerUtil;
 import org.everit.jira.core.util.WorklogUtil;
 import org.everit.jira.reporting.plugin.dto.MissingsWorklogsDTO;
 import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
 import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeConstants;
 import org.ofbiz.core.entity.EntityCondition;
 import org.ofbiz.core.entity.GenericEntityException;
 import org.ofbiz.core.entity.GenericValue;
@@ -65,21 +63,10 @@ public class SupportComponent implements SupportManager {
     List<MissingsWorklogsDTO> datesWhereNoWorklog = new ArrayList<MissingsWorklogsDTO>();
     DateTimeServer fromDate = from;
     DateTimeServer toDate = to;
-    Set<DateTime> excludeDatesAsSet = settings.getExcludeDates();
-    Set<DateTime> includeDatesAsSet = settings.getIncludeDates();
+    WorkCalendar workCalendar = settings.getWorkCalendar();
     while (!fromDate.getUserTimeZone().isAfter(toDate.getUserTimeZone())) {
-      if (TimetrackerUtil.containsSetTheSameDay(excludeDatesAsSet,
-          fromDate.getUserTimeZone())) {
-        fromDate =
-            DateTimeServer.getInstanceBasedOnUserTimeZone(fromDate.getUserTimeZone().plusDays(1));
-        continue;
-      }
-      // check includes - not check weekend
-      // check weekend - pass
-      if (!TimetrackerUtil.containsSetTheSameDay(includeDatesAsSet,
-          fromDate.getUserTimeZone())
-          && ((fromDate.getUserTimeZone().getDayOfWeek() == DateTimeConstants.SUNDAY)
-              || (fromDate.getUserTimeZone().getDayOfWeek() == DateTimeConstants.SATURDAY))) {
+      // check excludes, includes and weekend - pass
+      if (!workCalendar.isWorkingDay(fromDate.getUserTimeZone())) {
         fromDate =
             DateTimeServer.getInstanceBasedOnUserTimeZone(fromDate.getUserTimeZone().plusDays(1));
         continue;
@@ -229,7 +216,7 @@ public class SupportComponent implements SupportManager {
         }
       }
       boolean hasWorklogVisibility = WorklogUtil.hasWorklogVisibility(user,
-          issueManager,
+          issue,
           groupManager,
           projectRoleManager,
           permissionManager,
@@ -21,13 +21,13 @@ import java.util.List;
 import java.util.Set;
 
 import org.everit.jira.core.TimetrackerManager;
+import org.everit.jira.core.WorkCalendar;
 import org.everit.jira.core.util.TimetrackerUtil;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.settings.dto.TimeTrackerUserSettings;
 import org.everit.jira.timetracker.plugin.dto.EveritWorklog;
 import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
 import org.joda.time.DateTime;
-import org.joda.time.DateTimeConstants;
 
 import com.atlassian.jira.bc.issue.worklog.TimeTrackingConfiguration;
 
@@ -50,21 +50,25 @@ public class TimetrackerComponent implements TimetrackerManager {
     this.settingsHelper = settingsHelper;
   }
 
-  private int countDaysInDateTimeSet(final List<DateTime> weekDays, final Set<DateTime> dateSet) {
-    int counter = 0;
-    for (DateTime weekDay : weekDays) {
-      if (TimetrackerUtil.containsSetTheSameDay(dateSet, weekDay)) {
-        counter++;
-      }
-    }
-    return counter;
+  @Override
+  public double countRealWorkDaysInWeek(final List<DateTime> weekDays,
+      final Set<DateTime> excludeDatesSet, final Set<DateTime> includeDatesSet) {
+    return countRealWorkDaysInWeek(weekDays, WorkCalendar.of(excludeDatesSet, includeDatesSet));
   }
 
   @Override
   public double countRealWorkDaysInWeek(final List<DateTime> weekDays,
-      final Set<DateTime> excludeDatesSet, final Set<DateTime> includeDatesSet) {
-    int exludeDates = countDaysInDateTimeSet(weekDays, excludeDatesSet);
-    int includeDates = countDaysInDateTimeSet(weekDays, includeDatesSet);
+      final WorkCalendar workCalendar) {
+    int exludeDates = 0;
+    int includeDates = 0;
+    for (DateTime weekDay : weekDays) {
+      if (workCalendar.isExcluded(weekDay)) {
+        exludeDates++;
+      }
+      if (workCalendar.isIncluded(weekDay)) {
+        includeDates++;
+      }
+    }
     return (timeTrackingConfiguration.getDaysPerWeek().doubleValue() - exludeDates) + includeDates;
   }
 
@@ -72,20 +76,18 @@ public class TimetrackerComponent implements TimetrackerManager {
   @Override
   public DateTime firstMissingWorklogsDate(final Set<DateTime> excludeDatesSet,
       final Set<DateTime> includeDatesSet, final DateTime currentDay) {
+    return firstMissingWorklogsDate(WorkCalendar.of(excludeDatesSet, includeDatesSet), currentDay);
+  }
+
+  @Override
+  public DateTime firstMissingWorklogsDate(final WorkCalendar workCalendar,
+      final DateTime currentDay) {
     DateTime scannedDate = currentDay;
     // one week
     scannedDate = scannedDate.minusDays(DateTimeConverterUtil.DAYS_PER_WEEK);
     for (int i = 0; i < DateTimeConverterUtil.DAYS_PER_WEEK; i++) {
-      // check excludse - pass
-      if (TimetrackerUtil.containsSetTheSameDay(excludeDatesSet, scannedDate)) {
-        scannedDate = scannedDate.plusDays(1);
-        continue;
-      }
-      // check includes - not check weekend
-      // check weekend - pass
-      if (!TimetrackerUtil.containsSetTheSameDay(includeDatesSet, scannedDate)
-          && ((scannedDate.getDayOfWeek() == DateTimeConstants.SUNDAY)
-              || (scannedDate.getDayOfWeek() == DateTimeConstants.SATURDAY))) {
+      // check excludes, includes and weekend - pass
+      if (!workCalendar.isWorkingDay(scannedDate)) {
         scannedDate = scannedDate.plusDays(1);
         continue;
       }
@@ -157,12 +159,13 @@ public class TimetrackerComponent implements TimetrackerManager {
       return userSettings.getDefaultStartTime();
     }
     String endTime = worklogs.get(0).getEndTime();
+    Date endTimeDate = DateTimeConverterUtil.stringTimeToDateTime(endTime);
     for (int i = 1; i < worklogs.size(); i++) {
-      Date endTimeDate = DateTimeConverterUtil.stringTimeToDateTime(endTime);
-      Date actualDate = DateTimeConverterUtil.stringTimeToDateTime(worklogs
-          .get(i).getEndTime());
-      if (endTimeDate.compareTo(actualDate) == -1) {
-        endTime = worklogs.get(i).getEndTime();
+      String actualEndTime = worklogs.get(i).getEndTime();
+      Date actualDate = DateTimeConverterUtil.stringTimeToDateTime(actualEndTime);
+      if (endTimeDate.compareTo(actualDate) < 0) {
+        endTime = actualEndTime;
+        endTimeDate = actualDate;
       }
     }
     return endTime;
@@ -20,10 +20,14 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.everit.jira.core.EVWorklogManager;
 import org.everit.jira.core.RemainingEstimateType;
+import org.everit.jira.core.WorklogField;
 import org.everit.jira.core.dto.WorklogParameter;
 import org.everit.jira.core.util.WorklogUtil;
 import org.everit.jira.timetracker.plugin.dto.EveritWorklog;
@@ -262,6 +266,14 @@ public class WorklogComponent implements EVWorklogManager {
   public List<EveritWorklog> getWorklogs(final String selectedUser,
       final DateTimeServer startDateServer,
       final DateTimeServer endDateServer) throws DataAccessException, ParseException {
+    return getWorklogs(selectedUser, startDateServer, endDateServer, WorklogField.ALL);
+  }
+
+  @Override
+  public List<EveritWorklog> getWorklogs(final String selectedUser,
+      final DateTimeServer startDateServer,
+      final DateTimeServer endDateServer, final Set<WorklogField> fields)
+      throws DataAccessException, ParseException {
 
     Calendar startDateCalendar = Calendar.getInstance();
     startDateCalendar.setTime(startDateServer.getSystemTimeZoneDayStartDate());
@@ -300,15 +312,23 @@ public class WorklogComponent implements EVWorklogManager {
     ProjectRoleManager projectRoleManager =
         ComponentAccessor.getComponent(ProjectRoleManager.class);
 
+    // the issue is loaded once for the permission check and for the fields of the worklogs
+    Map<Long, MutableIssue> issues = new HashMap<>();
     for (GenericValue worklogGv : worklogGVList) {
+      Long issueId = worklogGv.getLong("issue");
+      MutableIssue issue = issues.get(issueId);
+      if (issue == null) {
+        issue = issueManager.getIssueObject(issueId);
+        issues.put(issueId, issue);
+      }
       boolean hasWorklogVisibility = WorklogUtil.hasWorklogVisibility(loggedInUser,
-          issueManager,
+          issue,
           groupManager,
           projectRoleManager,
           permissionManager,
           worklogGv);
       if (hasWorklogVisibility) {
-        EveritWorklog worklog = new EveritWorklog(worklogGv);
+        EveritWorklog worklog = new EveritWorklog(worklogGv, issue, fields);
         worklogs.add(worklog);
       }
     }
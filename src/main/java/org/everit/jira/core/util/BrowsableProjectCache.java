@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.atlassian.jira.component.ComponentAccessor;
+import com.atlassian.jira.permission.ProjectPermissions;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.security.PermissionManager;
+import com.atlassian.jira.user.ApplicationUser;
+
+/**
+ * Per user cache of the ids of the browsable projects. The cache is invalidated by the permission
+ * scheme, project role and group membership changes (see {@link #invalidate()}), and the entries
+ * expire after {@link #TIME_TO_LIVE_IN_MILLIS} in case a change does not publish an event.
+ */
+public final class BrowsableProjectCache {
+
+  /**
+   * Cached project ids of one user.
+   */
+  private static final class Entry {
+
+    private final long expiresAt;
+
+    private final long generation;
+
+    private final PermissionManager permissionManager;
+
+    private final List<Long> projectIds;
+
+    Entry(final List<Long> projectIds, final PermissionManager permissionManager,
+        final long generation, final long expiresAt) {
+      this.projectIds = projectIds;
+      this.permissionManager = permissionManager;
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isValid(final PermissionManager currentPermissionManager,
+        final long currentGeneration, final long now) {
+      return (permissionManager == currentPermissionManager)
+          && (generation == currentGeneration)
+          && (now < expiresAt);
+    }
+  }
+
+  public static final int MAX_CACHED_USERS = 10000;
+
+  public static final long TIME_TO_LIVE_IN_MILLIS = 60000L;
+
+  private static final String ANONYMOUS_USER_KEY = "";
+
+  private static final ConcurrentMap<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+  private static final AtomicLong GENERATION = new AtomicLong();
+
+  /**
+   * Drop all cached project ids.
+   */
+  public static void clear() {
+    GENERATION.incrementAndGet();
+    ENTRIES.clear();
+  }
+
+  /**
+   * Gets the ids of the projects browsable by the user.
+   *
+   * @param user
+   *          the user. <code>null</code> for the anonymous user.
+   * @return the sorted, unmodifiable list of the project ids. It is shared by the callers.
+   */
+  public static List<Long> getProjectIds(final ApplicationUser user) {
+    String userKey = user == null ? ANONYMOUS_USER_KEY : user.getKey();
+    PermissionManager permissionManager = ComponentAccessor.getPermissionManager();
+    // read before the query, so an invalidation during the query makes the new entry stale
+    long generation = GENERATION.get();
+    long now = System.currentTimeMillis();
+    Entry entry = ENTRIES.get(userKey);
+    if ((entry != null) && entry.isValid(permissionManager, generation, now)) {
+      return entry.projectIds;
+    }
+    Collection<Project> projects =
+        permissionManager.getProjects(ProjectPermissions.BROWSE_PROJECTS, user);
+    List<Long> projectIdList = new ArrayList<>(projects.size());
+    for (Project project : projects) {
+      projectIdList.add(project.getId());
+    }
+    Collections.sort(projectIdList);
+    List<Long> projectIds = Collections.unmodifiableList(projectIdList);
+    if (ENTRIES.size() >= MAX_CACHED_USERS) {
+      ENTRIES.clear();
+    }
+    ENTRIES.put(userKey,
+        new Entry(projectIds, permissionManager, generation, now + TIME_TO_LIVE_IN_MILLIS));
+    return projectIds;
+  }
+
+  /**
+   * Invalidate the cached project ids of all users. Called when a permission scheme, a project role
+   * or a group membership changes, because these can not be mapped to the affected users cheaply.
+   */
+  public static void invalidate() {
+    GENERATION.incrementAndGet();
+  }
+
+  private BrowsableProjectCache() {
+  }
+}
@@ -70,15 +70,8 @@ public final class TimetrackerUtil {
    */
   public static boolean checkIssueEstimatedTime(final MutableIssue issue,
       final List<Pattern> collectorIssueIds) {
-    String issueKey = issue.getKey();
-    if (collectorIssueIds != null) {
-      for (Pattern issuePattern : collectorIssueIds) {
-        // check matches
-        boolean isCollectorIssue = issuePattern.matcher(issueKey).matches();
-        if (isCollectorIssue) {
-          return true;
-        }
-      }
+    if (TimetrackerUtil.isCollectorIssue(issue.getKey(), collectorIssueIds)) {
+      return true;
     }
     Long estimated = issue.getEstimate();
     Status issueStatus = issue.getStatusObject();
@@ -239,6 +232,27 @@ public final class TimetrackerUtil {
     return DateTimeZone.forTimeZone(timeZone);
   }
 
+  /**
+   * Check the issue key matches one of the collector issue patterns.
+   *
+   * @param issueKey
+   *          the issue key.
+   * @param collectorIssuePatterns
+   *          the collector issue patterns. Can be <code>null</code>.
+   * @return true if the issue is a collector issue, otherwise false.
+   */
+  public static boolean isCollectorIssue(final String issueKey,
+      final List<Pattern> collectorIssuePatterns) {
+    if (collectorIssuePatterns != null) {
+      for (Pattern issuePattern : collectorIssuePatterns) {
+        if (issuePattern.matcher(issueKey).matches()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   /**
    * Check the given date, the user have worklogs or not.
    *
@@ -29,9 +29,7 @@ import com.atlassian.jira.component.ComponentAccessor;
 import com.atlassian.jira.issue.IssueManager;
 import com.atlassian.jira.issue.MutableIssue;
 import com.atlassian.jira.permission.ProjectPermissions;
-import com.atlassian.jira.project.Project;
 import com.atlassian.jira.security.PermissionManager;
-import com.atlassian.jira.security.Permissions;
 import com.atlassian.jira.security.groups.GroupManager;
 import com.atlassian.jira.security.roles.ProjectRole;
 import com.atlassian.jira.security.roles.ProjectRoleManager;
@@ -42,17 +40,6 @@ import com.atlassian.jira.user.ApplicationUser;
  */
 public final class WorklogUtil {
 
-  private static List<Long> createProjects(final ApplicationUser loggedInUser) {
-    Collection<Project> projects = ComponentAccessor.getPermissionManager()
-        .getProjects(Permissions.BROWSE, loggedInUser);
-
-    List<Long> projectList = new ArrayList<>();
-    for (Project project : projects) {
-      projectList.add(project.getId());
-    }
-    return projectList;
-  }
-
   /**
    * Creates worklog query expression list without permission check.
    *
@@ -122,7 +109,7 @@ public final class WorklogUtil {
     String userKey = ((selectedUser == null) || "".equals(selectedUser))
         ? loggedInUser.getKey() : selectedUser;
 
-    List<Long> projects = WorklogUtil.createProjects(loggedInUser);
+    List<Long> projects = BrowsableProjectCache.getProjectIds(loggedInUser);
 
     List<EntityCondition> exprList =
         WorklogUtil.createWorklogQueryExprList(startDate, endDate, userKey);
@@ -156,11 +143,37 @@ public final class WorklogUtil {
       final IssueManager issueManager, final GroupManager groupManager,
       final ProjectRoleManager projectRoleManager, final PermissionManager permissionManager,
       final GenericValue worklogGv) {
+    Long issueId = worklogGv.getLong("issue");
+    MutableIssue issue = issueManager.getIssueObject(issueId);
+    return hasWorklogVisibility(loggedInUser, issue, groupManager, projectRoleManager,
+        permissionManager, worklogGv);
+  }
+
+  /**
+   * Check has worklog visibility permission for the user on the already loaded issue of the
+   * worklog.
+   *
+   * @param loggedInUser
+   *          the logged user.
+   * @param issue
+   *          the issue of the worklog.
+   * @param groupManager
+   *          the {@link GroupManager} instance.
+   * @param projectRoleManager
+   *          the {@link ProjectRoleManager} instance.
+   * @param permissionManager
+   *          the {@link PermissionManager} instance.}
+   * @param worklogGv
+   *          the {@link GenericValue} for the worklog.
+   * @return true if has worklog visibility, otherwise false.
+   */
+  public static boolean hasWorklogVisibility(final ApplicationUser loggedInUser,
+      final MutableIssue issue, final GroupManager groupManager,
+      final ProjectRoleManager projectRoleManager, final PermissionManager permissionManager,
+      final GenericValue worklogGv) {
     Collection<String> loggedUserGroupNames = groupManager.getGroupNamesForUser(loggedInUser);
     Long roleLevelId = worklogGv.getLong("rolelevel");
     String groupLevel = worklogGv.getString("grouplevel");
-    Long issueId = worklogGv.getLong("issue");
-    MutableIssue issue = issueManager.getIssueObject(issueId);
     if (!permissionManager.hasPermission(ProjectPermissions.BROWSE_PROJECTS, issue, loggedInUser)) {
       return false;
     }
@@ -15,44 +15,25 @@
  */
 package org.everit.jira.reporting.plugin;
 
-import java.util.Collection;
 import java.util.List;
 
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
-
-import com.atlassian.jira.component.ComponentAccessor;
-import com.atlassian.jira.plugin.webfragment.conditions.AbstractWebCondition;
-import com.atlassian.jira.plugin.webfragment.model.JiraHelper;
-import com.atlassian.jira.user.ApplicationUser;
+import org.everit.jira.timetracker.plugin.AbstractGroupCondition;
 
 /**
  * The reporting JTTP function condition class. You can set the reporting user groups at JTTP
  * Reporting admin site. The setted groups stored at jira settings. If no group is setted everybody
  * can use the reporting.
  */
-public class ReportingCondition extends AbstractWebCondition {
-
-  private TimeTrackerSettingsHelper settingsHelper;
+public class ReportingCondition extends AbstractGroupCondition {
 
   public ReportingCondition(final TimeTrackerSettingsHelper settingsHelper) {
-    this.settingsHelper = settingsHelper;
+    super(settingsHelper);
   }
 
   @Override
-  public boolean shouldDisplay(final ApplicationUser user, final JiraHelper jiraHelper) {
-    List<String> reportingGroups =
-        settingsHelper.loadReportingGlobalSettings().getReportingGroups();
-    if (reportingGroups.isEmpty()) {
-      return true;
-    }
-    Collection<String> groupNamesForUser =
-        ComponentAccessor.getGroupManager().getGroupNamesForUser(user);
-    for (String reportingGroup : reportingGroups) {
-      if (groupNamesForUser.contains(reportingGroup)) {
-        return true;
-      }
-    }
-    return false;
+  protected List<String> loadGroups() {
+    return settingsHelper.loadReportingGlobalSettings().getReportingGroups();
   }
 
 }
@@ -31,13 +31,12 @@ import org.everit.jira.reporting.plugin.dto.ProjectSummaryReportDTO;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
 import org.everit.jira.reporting.plugin.dto.UserSummaryDTO;
 import org.everit.jira.reporting.plugin.dto.UserSummaryReportDTO;
-import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsPageBuffer;
 import org.everit.jira.reporting.plugin.dto.WorklogDetailsReportDTO;
 import org.everit.jira.reporting.plugin.query.IssueSummaryReportQueryBuilder;
 import org.everit.jira.reporting.plugin.query.ProjectSummaryReportQueryBuilder;
 import org.everit.jira.reporting.plugin.query.UserSummaryReportQueryBuilder;
 import org.everit.jira.reporting.plugin.query.WorklogDetailsReportQueryBuilder;
-import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
@@ -182,8 +181,8 @@ public class ReportingPluginImpl implements ReportingPlugin, InitializingBean,
     WorklogDetailsReportQueryBuilder worklogDetailsReportQueryBuilder =
         new WorklogDetailsReportQueryBuilder(reportSearchParam, orderBy);
 
-    QuerydslCallable<List<WorklogDetailsDTO>> worklogDetailsQuery = worklogDetailsReportQueryBuilder
-        .buildQuery();
+    QuerydslCallable<WorklogDetailsPageBuffer> worklogDetailsQuery =
+        worklogDetailsReportQueryBuilder.buildPageBufferQuery();
 
     QuerydslCallable<Long> worklogDetailsCountQuery =
         worklogDetailsReportQueryBuilder.buildCountQuery();
@@ -191,20 +190,7 @@ public class ReportingPluginImpl implements ReportingPlugin, InitializingBean,
     QuerydslCallable<Long> grandTotalQuery =
         worklogDetailsReportQueryBuilder.buildGrandTotalQuery();
 
-    List<WorklogDetailsDTO> worklogDetails = querydslSupport.execute(worklogDetailsQuery);
-    for (WorklogDetailsDTO worklogDetail : worklogDetails) {
-      worklogDetail.setIssueCreated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getIssueCreated()));
-      worklogDetail.setIssueUpdated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getIssueUpdated()));
-      worklogDetail.setWorklogCreated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getWorklogCreated()));
-      worklogDetail.setWorklogStartDate(
-          DateTimeConverterUtil
-              .addTimeZoneToTimestamp(worklogDetail.getWorklogStartDate()));
-      worklogDetail.setWorklogUpdated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getWorklogUpdated()));
-    }
+    WorklogDetailsPageBuffer worklogDetails = querydslSupport.execute(worklogDetailsQuery);
 
     Long worklogDetailsCount = querydslSupport.execute(worklogDetailsCountQuery);
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+/**
+ * Representation of an epic that has at least one story.
+ */
+public class EpicDTO {
+
+  /**
+   * Alias names to projections.
+   */
+  public static final class AliasNames {
+
+    public static final String EPIC_ID = "epicId";
+
+    public static final String EPIC_NAME = "epicName";
+
+    public static final String ISSUE_KEY = "issueKey";
+
+    public static final String PROJECT_ID = "projectId";
+
+    private AliasNames() {
+    }
+  }
+
+  private Long epicId;
+
+  private String epicName;
+
+  private String issueKey;
+
+  private Long projectId;
+
+  public Long getEpicId() {
+    return epicId;
+  }
+
+  public String getEpicName() {
+    return epicName;
+  }
+
+  public String getIssueKey() {
+    return issueKey;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setEpicId(final Long epicId) {
+    this.epicId = epicId;
+  }
+
+  public void setEpicName(final String epicName) {
+    this.epicName = epicName;
+  }
+
+  public void setIssueKey(final String issueKey) {
+    this.issueKey = issueKey;
+  }
+
+  public void setProjectId(final Long projectId) {
+    this.projectId = projectId;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+/**
+ * Representation of an issue that has worklog but has no remaining estimate.
+ */
+public class NotEstimatedIssueDTO {
+
+  /**
+   * Alias names to projections.
+   */
+  public static final class AliasNames {
+
+    public static final String ISSUE_ID = "issueId";
+
+    public static final String ISSUE_KEY = "issueKey";
+
+    private AliasNames() {
+    }
+  }
+
+  private Long issueId;
+
+  private String issueKey;
+
+  public Long getIssueId() {
+    return issueId;
+  }
+
+  public String getIssueKey() {
+    return issueKey;
+  }
+
+  public void setIssueId(final Long issueId) {
+    this.issueId = issueId;
+  }
+
+  public void setIssueKey(final String issueKey) {
+    this.issueKey = issueKey;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+/**
+ * Representation of a picker value of a project. Used to build the in-memory picker indexes.
+ */
+public class PickerIndexValueDTO {
+
+  /**
+   * Alias names to projections.
+   */
+  public static final class AliasNames {
+
+    public static final String NAME = "name";
+
+    public static final String PROJECT_ID = "projectId";
+
+    private AliasNames() {
+    }
+  }
+
+  private String name;
+
+  private Long projectId;
+
+  public String getName() {
+    return name;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setName(final String name) {
+    this.name = name;
+  }
+
+  public void setProjectId(final Long projectId) {
+    this.projectId = projectId;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+/**
+ * Representation of the change watermark of the picker values (and of the epic-story links of the
+ * epic catalog): the number and the maximum id of the rows, and the number of the rows added after
+ * a previous watermark.
+ */
+public class PickerIndexWatermarkDTO {
+
+  /**
+   * Alias names to projections.
+   */
+  public static final class AliasNames {
+
+    public static final String ADDED_ROW_COUNT = "addedRowCount";
+
+    public static final String MAX_ID = "maxId";
+
+    public static final String ROW_COUNT = "rowCount";
+
+    private AliasNames() {
+    }
+  }
+
+  private Long addedRowCount;
+
+  private Long maxId;
+
+  private Long rowCount;
+
+  /**
+   * Gets the number of the rows with greater id than the maximum id of the previous watermark.
+   */
+  public long getAddedRowCount() {
+    return addedRowCount == null ? 0L : addedRowCount;
+  }
+
+  public long getMaxId() {
+    return maxId == null ? 0L : maxId;
+  }
+
+  public long getRowCount() {
+    return rowCount == null ? 0L : rowCount;
+  }
+
+  /**
+   * Check the rows are only added since the previous watermark: the number of the previously
+   * existing rows is not changed.
+   *
+   * @param previous
+   *          the previous watermark.
+   * @return true if no row is deleted and no row is added with smaller id than the previous
+   *         maximum id.
+   */
+  public boolean isAppendOnly(final PickerIndexWatermarkDTO previous) {
+    return (getRowCount() - getAddedRowCount()) == previous.getRowCount();
+  }
+
+  /**
+   * Check the watermark is not changed since the previous watermark.
+   */
+  public boolean isUnchanged(final PickerIndexWatermarkDTO previous) {
+    return (getRowCount() == previous.getRowCount()) && (getMaxId() == previous.getMaxId());
+  }
+
+  public void setAddedRowCount(final Long addedRowCount) {
+    this.addedRowCount = addedRowCount;
+  }
+
+  public void setMaxId(final Long maxId) {
+    this.maxId = maxId;
+  }
+
+  public void setRowCount(final Long rowCount) {
+    this.rowCount = rowCount;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Representation of the picker search param. The results are ordered by name, the next page
+ * starts after the last name (and id) of the previous page.
+ */
+public class PickerSearchParam {
+
+  /**
+   * The way of matching the query to the names.
+   */
+  public enum MatchMode {
+
+    CONTAINS,
+
+    PREFIX;
+
+    private static final MatchMode[] MATCH_MODES = MatchMode.values();
+
+    /**
+     * Gets match mode based on name.
+     */
+    public static MatchMode getMatchMode(final String matchMode) {
+      for (MatchMode mode : MATCH_MODES) {
+        if (mode.name().equals(matchMode)) {
+          return mode;
+        }
+      }
+      return CONTAINS;
+    }
+  }
+
+  /**
+   * The result contains only names after this name. <code>null</code> for the first page.
+   */
+  public String after;
+
+  /**
+   * The result contains only ids after this id if the name is the {@link #after} name. Used only
+   * if the names are not unique.
+   */
+  public Long afterId;
+
+  public Long limit;
+
+  public MatchMode matchMode = MatchMode.CONTAINS;
+
+  /**
+   * The browsable project ids. The result contains only values of these projects.
+   */
+  public List<Long> projectIds = Collections.emptyList();
+
+  /**
+   * The searched text. <code>null</code> or empty if all names are searched.
+   */
+  public String query;
+
+  public PickerSearchParam after(final String after) {
+    this.after = after;
+    return this;
+  }
+
+  public PickerSearchParam afterId(final Long afterId) {
+    this.afterId = afterId;
+    return this;
+  }
+
+  /**
+   * Check the search has query text.
+   */
+  public boolean hasQuery() {
+    return (query != null) && !query.isEmpty();
+  }
+
+  /**
+   * Check the search requests the first page.
+   */
+  public boolean isFirstPage() {
+    return after == null;
+  }
+
+  public PickerSearchParam limit(final Long limit) {
+    this.limit = limit;
+    return this;
+  }
+
+  /**
+   * Check the name matches to the query text, ignoring case. Used for the static picker values.
+   *
+   * @param name
+   *          the name.
+   * @return true if the query text is empty or matches, otherwise false.
+   */
+  public boolean matches(final String name) {
+    if (!hasQuery()) {
+      return true;
+    }
+    String lowerName = name.toLowerCase(Locale.ENGLISH);
+    String lowerQuery = query.toLowerCase(Locale.ENGLISH);
+    if (MatchMode.PREFIX.equals(matchMode)) {
+      return lowerName.startsWith(lowerQuery);
+    }
+    return lowerName.contains(lowerQuery);
+  }
+
+  public PickerSearchParam matchMode(final MatchMode matchMode) {
+    this.matchMode = matchMode;
+    return this;
+  }
+
+  public PickerSearchParam projectIds(final List<Long> projectIds) {
+    this.projectIds = projectIds;
+    return this;
+  }
+
+  public PickerSearchParam query(final String query) {
+    this.query = query;
+    return this;
+  }
+
+}
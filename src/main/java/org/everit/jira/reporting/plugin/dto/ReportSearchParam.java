@@ -19,12 +19,17 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+
 /**
  * Representation of report search param.
  */
 public class ReportSearchParam {
 
-  public boolean groupsHasNoMembers = false;
+  /**
+   * The worklog authors must be members of these groups. Resolved in the database.
+   */
+  public List<String> groups = Collections.emptyList();
 
   public List<String> issueAffectedVersions = Collections.emptyList();
 
@@ -40,7 +45,7 @@ public class ReportSearchParam {
 
   public List<String> issueFixedVersions = Collections.emptyList();
 
-  public List<Long> issueIds = Collections.emptyList();
+  public IssueIdSet issueIds = IssueIdSet.EMPTY;
 
   public List<String> issueKeys = Collections.emptyList();
 
@@ -82,8 +87,8 @@ public class ReportSearchParam {
 
   public Date worklogStartDate;
 
-  public ReportSearchParam groupsHasNoMembers(final boolean groupsHasNoMembers) {
-    this.groupsHasNoMembers = groupsHasNoMembers;
+  public ReportSearchParam groups(final List<String> groups) {
+    this.groups = groups;
     return this;
   }
 
@@ -122,7 +127,7 @@ public class ReportSearchParam {
     return this;
   }
 
-  public ReportSearchParam issueIds(final List<Long> issueIds) {
+  public ReportSearchParam issueIds(final IssueIdSet issueIds) {
     this.issueIds = issueIds;
     return this;
   }
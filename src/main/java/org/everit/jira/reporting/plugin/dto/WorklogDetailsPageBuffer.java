@@ -0,0 +1,496 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.dto;
+
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+
+/**
+ * Columnar container of the worklog details query result. The ids, the times and the durations
+ * are stored in primitive arrays, the repetitive strings (project, issue type, status, priority,
+ * resolution and user names) as integer codes of a shared dictionary. The issue keys, the
+ * summaries and the worklog bodies are stored as they are, because they repeat only as often as
+ * the issue has worklogs on the page. The components, the versions and the epics are stored once
+ * per issue instead of once per worklog.
+ * <p>
+ * The rows are appended with {@link #add(WorklogDetailsDTO)} until {@link #finishLoading()} is
+ * called, which releases the lookup map of the dictionary.
+ * <p>
+ * The exporters read the values by row index. The buffer is also a read-only list of
+ * {@link WorklogDetailsDTO}s for the code that needs row objects; those are created on each
+ * {@link #get(int)} call.
+ */
+public class WorklogDetailsPageBuffer extends AbstractList<WorklogDetailsDTO>
+    implements RandomAccess {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private static final int NO_CODE = -1;
+
+  private static final long NO_VALUE = Long.MIN_VALUE;
+
+  private Map<String, Integer> codes = new HashMap<>();
+
+  private final List<String> dictionary = new ArrayList<>();
+
+  private Map<Long, List<String>> issueAffectedVersions = Collections.emptyMap();
+
+  private int[] issueAssignees;
+
+  private long[] issueAvatarIds;
+
+  private Map<Long, List<String>> issueComponents = Collections.emptyMap();
+
+  private long[] issueCreated;
+
+  private final Map<Long, String> issueEpicLinks = new HashMap<>();
+
+  private final Map<Long, String> issueEpicNames = new HashMap<>();
+
+  private Map<Long, List<String>> issueFixedVersions = Collections.emptyMap();
+
+  private long[] issueIds;
+
+  private String[] issueKeys;
+
+  private long[] issueOriginalEstimates;
+
+  private long[] issueRemainingEstimates;
+
+  private int[] issueReporters;
+
+  private int[] issueStatusNames;
+
+  private String[] issueSummaries;
+
+  private int[] issueTypeIconUrls;
+
+  private int[] issueTypeNames;
+
+  private long[] issueUpdated;
+
+  private int[] priorityIconUrls;
+
+  private int[] priorityNames;
+
+  private int[] projectDescriptions;
+
+  private int[] projectKeys;
+
+  private int[] projectNames;
+
+  private int[] resolutionNames;
+
+  private int size;
+
+  private String[] worklogBodies;
+
+  private long[] worklogCreated;
+
+  private long[] worklogStartDates;
+
+  private long[] worklogTimeWorked;
+
+  private long[] worklogUpdated;
+
+  private int[] worklogUsers;
+
+  /**
+   * Constructor with the default initial capacity.
+   */
+  public WorklogDetailsPageBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param initialCapacity
+   *          the expected number of the rows, for example the page size.
+   */
+  public WorklogDetailsPageBuffer(final int initialCapacity) {
+    allocate(Math.max(initialCapacity, 1));
+  }
+
+  private static long encode(final Long value) {
+    return value == null ? NO_VALUE : value.longValue();
+  }
+
+  private static long encode(final Timestamp value) {
+    return value == null ? NO_VALUE : value.getTime();
+  }
+
+  private static Long toLong(final long value) {
+    return value == NO_VALUE ? null : Long.valueOf(value);
+  }
+
+  private static Timestamp toTimestamp(final long value) {
+    return value == NO_VALUE ? null : new Timestamp(value);
+  }
+
+  /**
+   * Append the values of the worklog details as a new row. The components, the versions and the
+   * epic of the issue are not copied, see the setters of them.
+   *
+   * @throws IllegalStateException
+   *           if the loading is already finished.
+   */
+  @Override
+  public boolean add(final WorklogDetailsDTO worklogDetailsDTO) {
+    if (codes == null) {
+      throw new IllegalStateException("The loading of the page buffer is finished.");
+    }
+    if (size == issueIds.length) {
+      allocate(size * 2);
+    }
+    int row = size;
+    issueAssignees[row] = encode(worklogDetailsDTO.getIssueAssignee());
+    issueAvatarIds[row] = encode(worklogDetailsDTO.getIssueAvatarId());
+    issueCreated[row] = encode(worklogDetailsDTO.getIssueCreated());
+    issueIds[row] = worklogDetailsDTO.getIssueId();
+    issueKeys[row] = worklogDetailsDTO.getIssueKey();
+    issueOriginalEstimates[row] = encode(worklogDetailsDTO.getIssueOriginalEstimate());
+    issueRemainingEstimates[row] = encode(worklogDetailsDTO.getIssueRemainingEstimate());
+    issueReporters[row] = encode(worklogDetailsDTO.getIssueReporter());
+    issueStatusNames[row] = encode(worklogDetailsDTO.getIssueStatusName());
+    issueSummaries[row] = worklogDetailsDTO.getIssueSummary();
+    issueTypeIconUrls[row] = encode(worklogDetailsDTO.getIssueTypeIconUrl());
+    issueTypeNames[row] = encode(worklogDetailsDTO.getIssueTypeName());
+    issueUpdated[row] = encode(worklogDetailsDTO.getIssueUpdated());
+    priorityIconUrls[row] = encode(worklogDetailsDTO.getPriorityIconUrl());
+    priorityNames[row] = encode(worklogDetailsDTO.getPriorityName());
+    projectDescriptions[row] = encode(worklogDetailsDTO.getProjectDescription());
+    projectKeys[row] = encode(worklogDetailsDTO.getProjectKey());
+    projectNames[row] = encode(worklogDetailsDTO.getProjectName());
+    resolutionNames[row] = encode(worklogDetailsDTO.getResolutionName());
+    worklogBodies[row] = worklogDetailsDTO.getWorklogBody();
+    worklogCreated[row] = encode(worklogDetailsDTO.getWorklogCreated());
+    worklogStartDates[row] = encode(worklogDetailsDTO.getWorklogStartDate());
+    worklogTimeWorked[row] = encode(worklogDetailsDTO.getWorklogTimeWorked());
+    worklogUpdated[row] = encode(worklogDetailsDTO.getWorklogUpdated());
+    worklogUsers[row] = encode(worklogDetailsDTO.getWorklogUser());
+    size++;
+    return true;
+  }
+
+  private void allocate(final int capacity) {
+    issueAssignees = copyOf(issueAssignees, capacity);
+    issueAvatarIds = copyOf(issueAvatarIds, capacity);
+    issueCreated = copyOf(issueCreated, capacity);
+    issueIds = copyOf(issueIds, capacity);
+    issueKeys = copyOf(issueKeys, capacity);
+    issueOriginalEstimates = copyOf(issueOriginalEstimates, capacity);
+    issueRemainingEstimates = copyOf(issueRemainingEstimates, capacity);
+    issueReporters = copyOf(issueReporters, capacity);
+    issueStatusNames = copyOf(issueStatusNames, capacity);
+    issueSummaries = copyOf(issueSummaries, capacity);
+    issueTypeIconUrls = copyOf(issueTypeIconUrls, capacity);
+    issueTypeNames = copyOf(issueTypeNames, capacity);
+    issueUpdated = copyOf(issueUpdated, capacity);
+    priorityIconUrls = copyOf(priorityIconUrls, capacity);
+    priorityNames = copyOf(priorityNames, capacity);
+    projectDescriptions = copyOf(projectDescriptions, capacity);
+    projectKeys = copyOf(projectKeys, capacity);
+    projectNames = copyOf(projectNames, capacity);
+    resolutionNames = copyOf(resolutionNames, capacity);
+    worklogBodies = copyOf(worklogBodies, capacity);
+    worklogCreated = copyOf(worklogCreated, capacity);
+    worklogStartDates = copyOf(worklogStartDates, capacity);
+    worklogTimeWorked = copyOf(worklogTimeWorked, capacity);
+    worklogUpdated = copyOf(worklogUpdated, capacity);
+    worklogUsers = copyOf(worklogUsers, capacity);
+  }
+
+  private void checkRow(final int row) {
+    if ((row < 0) || (row >= size)) {
+      throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+    }
+  }
+
+  private int[] copyOf(final int[] column, final int capacity) {
+    return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+  }
+
+  private long[] copyOf(final long[] column, final int capacity) {
+    return column == null ? new long[capacity] : Arrays.copyOf(column, capacity);
+  }
+
+  private String[] copyOf(final String[] column, final int capacity) {
+    return column == null ? new String[capacity] : Arrays.copyOf(column, capacity);
+  }
+
+  private String decode(final int code) {
+    return code == NO_CODE ? null : dictionary.get(code);
+  }
+
+  private int encode(final String value) {
+    if (value == null) {
+      return NO_CODE;
+    }
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = dictionary.size();
+      dictionary.add(value);
+      codes.put(value, code);
+    }
+    return code;
+  }
+
+  /**
+   * Finish the loading of the rows. The lookup map of the dictionary is released and the columns
+   * are trimmed to the number of the rows. No rows can be added afterwards.
+   */
+  public void finishLoading() {
+    if (codes == null) {
+      return;
+    }
+    codes = null;
+    if (size < issueIds.length) {
+      allocate(Math.max(size, 1));
+    }
+  }
+
+  /**
+   * Create the {@link WorklogDetailsDTO} of the row. The DTO is a copy, modifying it does not
+   * change the buffer.
+   */
+  @Override
+  public WorklogDetailsDTO get(final int row) {
+    checkRow(row);
+    WorklogDetailsDTO worklogDetailsDTO = new WorklogDetailsDTO();
+    worklogDetailsDTO.setIssueAffectedVersions(getIssueAffectedVersions(row));
+    worklogDetailsDTO.setIssueAssignee(getIssueAssignee(row));
+    worklogDetailsDTO.setIssueAvatarId(getIssueAvatarId(row));
+    worklogDetailsDTO.setIssueComponents(getIssueComponents(row));
+    worklogDetailsDTO.setIssueCreated(getIssueCreated(row));
+    worklogDetailsDTO.setIssueEpicLink(getIssueEpicLink(row));
+    worklogDetailsDTO.setIssueEpicName(getIssueEpicName(row));
+    worklogDetailsDTO.setIssueFixedVersions(getIssueFixedVersions(row));
+    worklogDetailsDTO.setIssueId(getIssueId(row));
+    worklogDetailsDTO.setIssueKey(getIssueKey(row));
+    worklogDetailsDTO.setIssueOriginalEstimate(getIssueOriginalEstimate(row));
+    worklogDetailsDTO.setIssueRemainingEstimate(getIssueRemainingEstimate(row));
+    worklogDetailsDTO.setIssueReporter(getIssueReporter(row));
+    worklogDetailsDTO.setIssueStatusName(getIssueStatusName(row));
+    worklogDetailsDTO.setIssueSummary(getIssueSummary(row));
+    worklogDetailsDTO.setIssueTypeIconUrl(getIssueTypeIconUrl(row));
+    worklogDetailsDTO.setIssueTypeName(getIssueTypeName(row));
+    worklogDetailsDTO.setIssueUpdated(getIssueUpdated(row));
+    worklogDetailsDTO.setPriorityIconUrl(getPriorityIconUrl(row));
+    worklogDetailsDTO.setPriorityName(getPriorityName(row));
+    worklogDetailsDTO.setProjectDescription(getProjectDescription(row));
+    worklogDetailsDTO.setProjectKey(getProjectKey(row));
+    worklogDetailsDTO.setProjectName(getProjectName(row));
+    worklogDetailsDTO.setResolutionName(getResolutionName(row));
+    worklogDetailsDTO.setWorklogBody(getWorklogBody(row));
+    worklogDetailsDTO.setWorklogCreated(getWorklogCreated(row));
+    worklogDetailsDTO.setWorklogStartDate(getWorklogStartDate(row));
+    worklogDetailsDTO.setWorklogTimeWorked(getWorklogTimeWorked(row));
+    worklogDetailsDTO.setWorklogUpdated(getWorklogUpdated(row));
+    worklogDetailsDTO.setWorklogUser(getWorklogUser(row));
+    return worklogDetailsDTO;
+  }
+
+  /**
+   * Gets the number of the distinct strings stored in the dictionary.
+   */
+  public int getDictionarySize() {
+    return dictionary.size();
+  }
+
+  /**
+   * Gets the affected versions of the issue of the row.
+   */
+  public List<String> getIssueAffectedVersions(final int row) {
+    return getIssueValues(issueAffectedVersions, row);
+  }
+
+  public String getIssueAssignee(final int row) {
+    return decode(issueAssignees[row]);
+  }
+
+  public Long getIssueAvatarId(final int row) {
+    return toLong(issueAvatarIds[row]);
+  }
+
+  /**
+   * Gets the components of the issue of the row.
+   */
+  public List<String> getIssueComponents(final int row) {
+    return getIssueValues(issueComponents, row);
+  }
+
+  public Timestamp getIssueCreated(final int row) {
+    return toTimestamp(issueCreated[row]);
+  }
+
+  public String getIssueEpicLink(final int row) {
+    return issueEpicLinks.get(issueIds[row]);
+  }
+
+  public String getIssueEpicName(final int row) {
+    return issueEpicNames.get(issueIds[row]);
+  }
+
+  /**
+   * Gets the fixed versions of the issue of the row.
+   */
+  public List<String> getIssueFixedVersions(final int row) {
+    return getIssueValues(issueFixedVersions, row);
+  }
+
+  public long getIssueId(final int row) {
+    return issueIds[row];
+  }
+
+  /**
+   * Gets the distinct issue ids of the rows.
+   */
+  public IssueIdSet getIssueIds() {
+    return IssueIdSet.of(Arrays.copyOf(issueIds, size));
+  }
+
+  public String getIssueKey(final int row) {
+    return issueKeys[row];
+  }
+
+  public Long getIssueOriginalEstimate(final int row) {
+    return toLong(issueOriginalEstimates[row]);
+  }
+
+  public Long getIssueRemainingEstimate(final int row) {
+    return toLong(issueRemainingEstimates[row]);
+  }
+
+  public String getIssueReporter(final int row) {
+    return decode(issueReporters[row]);
+  }
+
+  public String getIssueStatusName(final int row) {
+    return decode(issueStatusNames[row]);
+  }
+
+  public String getIssueSummary(final int row) {
+    return issueSummaries[row];
+  }
+
+  public String getIssueTypeIconUrl(final int row) {
+    return decode(issueTypeIconUrls[row]);
+  }
+
+  public String getIssueTypeName(final int row) {
+    return decode(issueTypeNames[row]);
+  }
+
+  public Timestamp getIssueUpdated(final int row) {
+    return toTimestamp(issueUpdated[row]);
+  }
+
+  private List<String> getIssueValues(final Map<Long, List<String>> valuesByIssue,
+      final int row) {
+    List<String> values = valuesByIssue.get(issueIds[row]);
+    return values == null ? Collections.<String> emptyList() : values;
+  }
+
+  public String getPriorityIconUrl(final int row) {
+    return decode(priorityIconUrls[row]);
+  }
+
+  public String getPriorityName(final int row) {
+    return decode(priorityNames[row]);
+  }
+
+  public String getProjectDescription(final int row) {
+    return decode(projectDescriptions[row]);
+  }
+
+  public String getProjectKey(final int row) {
+    return decode(projectKeys[row]);
+  }
+
+  public String getProjectName(final int row) {
+    return decode(projectNames[row]);
+  }
+
+  public String getResolutionName(final int row) {
+    return decode(resolutionNames[row]);
+  }
+
+  public String getWorklogBody(final int row) {
+    return worklogBodies[row];
+  }
+
+  public Timestamp getWorklogCreated(final int row) {
+    return toTimestamp(worklogCreated[row]);
+  }
+
+  public Timestamp getWorklogStartDate(final int row) {
+    return toTimestamp(worklogStartDates[row]);
+  }
+
+  public Long getWorklogTimeWorked(final int row) {
+    return toLong(worklogTimeWorked[row]);
+  }
+
+  public Timestamp getWorklogUpdated(final int row) {
+    return toTimestamp(worklogUpdated[row]);
+  }
+
+  public String getWorklogUser(final int row) {
+    return decode(worklogUsers[row]);
+  }
+
+  public void setIssueAffectedVersions(final Map<Long, List<String>> issueAffectedVersions) {
+    this.issueAffectedVersions = issueAffectedVersions;
+  }
+
+  public void setIssueComponents(final Map<Long, List<String>> issueComponents) {
+    this.issueComponents = issueComponents;
+  }
+
+  /**
+   * Set the epic link of the issue. Applies to all rows of the issue.
+   */
+  public void setIssueEpicLink(final long issueId, final String epicLink) {
+    issueEpicLinks.put(issueId, epicLink);
+  }
+
+  /**
+   * Set the epic name of the issue. Applies to all rows of the issue.
+   */
+  public void setIssueEpicName(final long issueId, final String epicName) {
+    issueEpicNames.put(issueId, epicName);
+  }
+
+  public void setIssueFixedVersions(final Map<Long, List<String>> issueFixedVersions) {
+    this.issueFixedVersions = issueFixedVersions;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+}
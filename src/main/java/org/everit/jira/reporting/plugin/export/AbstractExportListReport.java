@@ -42,6 +42,8 @@ public abstract class AbstractExportListReport {
 
   private HSSFCellStyle bodyCellStyle;
 
+  private final DurationFormatter durationFormatter;
+
   private HSSFCellStyle headerCellStyle;
 
   protected I18nHelper i18nHelper;
@@ -76,6 +78,7 @@ public abstract class AbstractExportListReport {
     this.notBrowsableProjectKeys = notBrowsableProjectKeys;
     this.userSettings = userSettings;
     i18nHelper = ComponentAccessor.getJiraAuthenticationContext().getI18nHelper();
+    durationFormatter = DurationFormatter.getInstance();
   }
 
   protected abstract void appendContent(HSSFWorkbook workbook);
@@ -247,7 +250,6 @@ public abstract class AbstractExportListReport {
    *          worklog in seconds
    */
   protected String worklogInSec(final Long worklog) {
-    DurationFormatter durationFormatter = new DurationFormatter();
     isWorklogInSec = true;
     if (!userSettings.getWorklogTimeInSeconds()) {
       isWorklogInSec = false;
@@ -25,10 +25,9 @@ import org.everit.jira.querydsl.support.QuerydslSupport;
 import org.everit.jira.reporting.plugin.column.WorklogDetailsColumns;
 import org.everit.jira.reporting.plugin.dto.OrderBy;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
-import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsPageBuffer;
 import org.everit.jira.reporting.plugin.query.WorklogDetailsReportQueryBuilder;
 import org.everit.jira.settings.dto.TimeTrackerUserSettings;
-import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
 
 /**
  * Class that export worklog details list report.
@@ -74,25 +73,12 @@ public class ExportWorklogDetailsListReport extends AbstractExportListReport {
 
     insertHeaderRow(worklogDetailsSheet);
 
-    List<WorklogDetailsDTO> worklogDetails =
+    WorklogDetailsPageBuffer worklogDetails =
         querydslSupport.execute(new WorklogDetailsReportQueryBuilder(reportSearchParam,
             orderBy)
-                .buildQuery());
-    for (WorklogDetailsDTO worklogDetail : worklogDetails) {
-      worklogDetail.setIssueCreated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getIssueCreated()));
-      worklogDetail.setIssueUpdated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getIssueUpdated()));
-      worklogDetail.setWorklogCreated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getWorklogCreated()));
-      worklogDetail.setWorklogStartDate(
-          DateTimeConverterUtil
-              .addTimeZoneToTimestamp(worklogDetail.getWorklogStartDate()));
-      worklogDetail.setWorklogUpdated(
-          DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetail.getWorklogUpdated()));
-    }
-    for (WorklogDetailsDTO worklogDetailsDTO : worklogDetails) {
-      insertBodyRow(worklogDetailsSheet, worklogDetailsDTO);
+                .buildPageBufferQuery());
+    for (int i = 0, n = worklogDetails.size(); i < n; i++) {
+      insertBodyRow(worklogDetailsSheet, worklogDetails, i);
     }
   }
 
@@ -101,60 +87,63 @@ public class ExportWorklogDetailsListReport extends AbstractExportListReport {
   }
 
   private void insertBodyRow(final HSSFSheet worklogDetailsSheet,
-      final WorklogDetailsDTO worklogDetailsDTO) {
+      final WorklogDetailsPageBuffer worklogDetails, final int worklogIndex) {
     HSSFRow row = worklogDetailsSheet.createRow(rowIndex++);
     int columnIndex = 0;
 
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.PROJECT, worklogDetailsDTO.getProjectName());
+        WorklogDetailsColumns.PROJECT, worklogDetails.getProjectName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.PROJECT_DESCRIPTION, worklogDetailsDTO.getProjectDescription());
+        WorklogDetailsColumns.PROJECT_DESCRIPTION,
+        worklogDetails.getProjectDescription(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.ISSUE_KEY, worklogDetailsDTO.getIssueKey());
+        WorklogDetailsColumns.ISSUE_KEY, worklogDetails.getIssueKey(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.ISSUE_SUMMARY, worklogDetailsDTO.getIssueSummary());
+        WorklogDetailsColumns.ISSUE_SUMMARY, worklogDetails.getIssueSummary(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.TYPE, worklogDetailsDTO.getIssueTypeName());
+        WorklogDetailsColumns.TYPE, worklogDetails.getIssueTypeName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.STATUS, worklogDetailsDTO.getIssueStatusName());
+        WorklogDetailsColumns.STATUS, worklogDetails.getIssueStatusName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.PRIORITY, worklogDetailsDTO.getPriorityName());
+        WorklogDetailsColumns.PRIORITY, worklogDetails.getPriorityName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.ASSIGNEE, worklogDetailsDTO.getIssueAssignee());
+        WorklogDetailsColumns.ASSIGNEE, worklogDetails.getIssueAssignee(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.REPORTER, worklogDetailsDTO.getIssueReporter());
+        WorklogDetailsColumns.REPORTER, worklogDetails.getIssueReporter(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex, WorklogDetailsColumns.ESTIMATED,
-        worklogInSec(worklogDetailsDTO.getIssueOriginalEstimate()));
+        worklogInSec(worklogDetails.getIssueOriginalEstimate(worklogIndex)));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex, WorklogDetailsColumns.REMAINING,
-        worklogInSec(worklogDetailsDTO.getIssueRemainingEstimate()));
+        worklogInSec(worklogDetails.getIssueRemainingEstimate(worklogIndex)));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.CREATED, worklogDetailsDTO.getIssueCreated());
+        WorklogDetailsColumns.CREATED, worklogDetails.getIssueCreated(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.UPDATED, worklogDetailsDTO.getIssueUpdated());
+        WorklogDetailsColumns.UPDATED, worklogDetails.getIssueUpdated(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.COMPONENTS, worklogDetailsDTO.getIssueComponents());
+        WorklogDetailsColumns.COMPONENTS, worklogDetails.getIssueComponents(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.AFFECTED_VERIONS, worklogDetailsDTO.getIssueAffectedVersions());
+        WorklogDetailsColumns.AFFECTED_VERIONS,
+        worklogDetails.getIssueAffectedVersions(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.FIX_VERSIONS, worklogDetailsDTO.getIssueFixedVersions());
+        WorklogDetailsColumns.FIX_VERSIONS, worklogDetails.getIssueFixedVersions(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.RESOLUTION, worklogDetailsDTO.getResolutionName());
+        WorklogDetailsColumns.RESOLUTION, worklogDetails.getResolutionName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.WORKLOG_DESCRIPTION, worklogDetailsDTO.getWorklogBody());
+        WorklogDetailsColumns.WORKLOG_DESCRIPTION, worklogDetails.getWorklogBody(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.ISSUE_EPIC_NAME, worklogDetailsDTO.getIssueEpicName());
+        WorklogDetailsColumns.ISSUE_EPIC_NAME, worklogDetails.getIssueEpicName(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.ISSUE_EPIC_LINK, worklogDetailsDTO.getIssueEpicLink());
+        WorklogDetailsColumns.ISSUE_EPIC_LINK, worklogDetails.getIssueEpicLink(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.USER, worklogDetailsDTO.getWorklogUser());
+        WorklogDetailsColumns.USER, worklogDetails.getWorklogUser(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.START_TIME, worklogDetailsDTO.getWorklogStartDate());
+        WorklogDetailsColumns.START_TIME, worklogDetails.getWorklogStartDate(worklogIndex));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.TIME_SPENT, worklogInSec(worklogDetailsDTO.getWorklogTimeWorked()));
+        WorklogDetailsColumns.TIME_SPENT,
+        worklogInSec(worklogDetails.getWorklogTimeWorked(worklogIndex)));
     columnIndex = insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.WORKLOG_CREATED, worklogDetailsDTO.getWorklogCreated());
+        WorklogDetailsColumns.WORKLOG_CREATED, worklogDetails.getWorklogCreated(worklogIndex));
     insertWorklogDetailsBodyCell(row, columnIndex,
-        WorklogDetailsColumns.WORKLOG_UPDATED, worklogDetailsDTO.getWorklogUpdated());
+        WorklogDetailsColumns.WORKLOG_UPDATED, worklogDetails.getWorklogUpdated(worklogIndex));
 
   }
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.everit.jira.reporting.plugin.dto.EpicDTO;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+import org.everit.jira.reporting.plugin.dto.PickerEpicLinkDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+
+/**
+ * Immutable version of the epic catalog: the resolved epic field ids and the epics that have at
+ * least one story, ordered by the epic name and the id. Every refresh creates a new version, see
+ * {@link EpicCatalogCache}.
+ */
+public final class EpicCatalog {
+
+  public static final long UNKNOWN_ID = -1L;
+
+  private static final Comparator<EpicDTO> EPIC_COMPARATOR = new Comparator<EpicDTO>() {
+    @Override
+    public int compare(final EpicDTO o1, final EpicDTO o2) {
+      int result = o1.getEpicName().compareTo(o2.getEpicName());
+      if (result == 0) {
+        result = o1.getEpicId().compareTo(o2.getEpicId());
+      }
+      return result;
+    }
+  };
+
+  private final long epicLinkTypeId;
+
+  private final long epicNameFieldId;
+
+  private final EpicDTO[] epics;
+
+  private final Map<Long, EpicDTO> epicsById;
+
+  private final long fullRebuildTime;
+
+  private final PickerIndexWatermarkDTO issueLinkWatermark;
+
+  private final long refreshTime;
+
+  private final long version;
+
+  /**
+   * Constructor.
+   *
+   * @param version
+   *          the version of the catalog.
+   * @param epicNameFieldId
+   *          the id of the "Epic Name" custom field or {@link #UNKNOWN_ID}.
+   * @param epicLinkTypeId
+   *          the id of the "Epic-Story Link" issue link type or {@link #UNKNOWN_ID}.
+   * @param epics
+   *          the epics.
+   * @param issueLinkWatermark
+   *          the watermark of the epic-story links at the time of the refresh. <code>null</code>
+   *          if the catalog is not available.
+   * @param refreshTime
+   *          the start time of the refresh.
+   * @param fullRebuildTime
+   *          the start time of the last full rebuild.
+   */
+  public EpicCatalog(final long version, final long epicNameFieldId, final long epicLinkTypeId,
+      final Collection<EpicDTO> epics, final PickerIndexWatermarkDTO issueLinkWatermark,
+      final long refreshTime,
+      final long fullRebuildTime) {
+    this.version = version;
+    this.epicNameFieldId = epicNameFieldId;
+    this.epicLinkTypeId = epicLinkTypeId;
+    this.issueLinkWatermark = issueLinkWatermark;
+    this.refreshTime = refreshTime;
+    this.fullRebuildTime = fullRebuildTime;
+    epicsById = new HashMap<>();
+    for (EpicDTO epic : epics) {
+      if ((epic.getEpicId() != null) && (epic.getEpicName() != null)) {
+        epicsById.put(epic.getEpicId(), epic);
+      }
+    }
+    this.epics = epicsById.values().toArray(new EpicDTO[epicsById.size()]);
+    Arrays.sort(this.epics, EPIC_COMPARATOR);
+  }
+
+  /**
+   * Gets the epic.
+   *
+   * @param epicId
+   *          the issue id of the epic.
+   * @return the epic or <code>null</code> if the issue is not an epic with story.
+   */
+  public EpicDTO getEpic(final Long epicId) {
+    return epicsById.get(epicId);
+  }
+
+  public long getEpicLinkTypeId() {
+    return epicLinkTypeId;
+  }
+
+  public long getEpicNameFieldId() {
+    return epicNameFieldId;
+  }
+
+  public long getFullRebuildTime() {
+    return fullRebuildTime;
+  }
+
+  public PickerIndexWatermarkDTO getIssueLinkWatermark() {
+    return issueLinkWatermark;
+  }
+
+  public long getRefreshTime() {
+    return refreshTime;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Check the epic fields are exist (JIRA Agile is installed).
+   */
+  public boolean isAvailable() {
+    return (epicNameFieldId != UNKNOWN_ID) && (epicLinkTypeId != UNKNOWN_ID);
+  }
+
+  private boolean isAfter(final EpicDTO epic, final PickerSearchParam pickerSearchParam) {
+    if (pickerSearchParam.after == null) {
+      return true;
+    }
+    int result = epic.getEpicName().compareTo(pickerSearchParam.after);
+    if ((result == 0) && (pickerSearchParam.afterId != null)) {
+      return epic.getEpicId() > pickerSearchParam.afterId;
+    }
+    return result > 0;
+  }
+
+  /**
+   * Create the next version of the catalog with the changed epics.
+   *
+   * @param changedEpics
+   *          the new and the changed epics.
+   * @param newIssueLinkWatermark
+   *          the watermark of the epic-story links at the time of the refresh.
+   * @param newRefreshTime
+   *          the start time of the refresh.
+   * @return the new catalog.
+   */
+  public EpicCatalog merge(final List<EpicDTO> changedEpics,
+      final PickerIndexWatermarkDTO newIssueLinkWatermark, final long newRefreshTime) {
+    Map<Long, EpicDTO> mergedEpics = new HashMap<>(epicsById);
+    for (EpicDTO epic : changedEpics) {
+      mergedEpics.put(epic.getEpicId(), epic);
+    }
+    return new EpicCatalog(version + 1, epicNameFieldId, epicLinkTypeId, mergedEpics.values(),
+        newIssueLinkWatermark, newRefreshTime, fullRebuildTime);
+  }
+
+  /**
+   * Search the epics of the browsable projects which name matches to the query text.
+   *
+   * @param pickerSearchParam
+   *          the picker search param.
+   * @return the epic links ordered by the epic name and the id.
+   */
+  public List<PickerEpicLinkDTO> search(final PickerSearchParam pickerSearchParam) {
+    List<PickerEpicLinkDTO> result = new ArrayList<>();
+    Set<Long> projectIds = new HashSet<>(pickerSearchParam.projectIds);
+    long limit = pickerSearchParam.limit == null ? Long.MAX_VALUE : pickerSearchParam.limit;
+    for (int i = 0; (i < epics.length) && (result.size() < limit); i++) {
+      EpicDTO epic = epics[i];
+      if (projectIds.contains(epic.getProjectId())
+          && isAfter(epic, pickerSearchParam)
+          && pickerSearchParam.matches(epic.getEpicName())) {
+        PickerEpicLinkDTO epicLink = new PickerEpicLinkDTO();
+        epicLink.setEpicLinkId(epic.getEpicId());
+        epicLink.setEpicName(epic.getEpicName());
+        epicLink.setIssueKey(epic.getIssueKey());
+        result.add(epicLink);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of the epics.
+   */
+  public int size() {
+    return epics.length;
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.index;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.everit.jira.reporting.plugin.dto.EpicDTO;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+import org.everit.jira.reporting.plugin.query.EpicFieldIdsQuery;
+import org.everit.jira.reporting.plugin.query.EpicLinkWatermarkQuery;
+import org.everit.jira.reporting.plugin.query.EpicQuery;
+
+import com.querydsl.sql.Configuration;
+
+/**
+ * Shared cache of the {@link EpicCatalog} used by the epic picker and the worklog details report.
+ * The catalog is refreshed at most once in {@link #REFRESH_INTERVAL_IN_MILLIS} with the epics
+ * changed since the last refresh. If an epic-story link is deleted (an epic is removed or a story
+ * is unlinked) the watermark of the links shows it and the catalog is rebuilt. Renamed epic fields
+ * are picked up by the full rebuild after {@link #FULL_REBUILD_INTERVAL_IN_MILLIS}. An issue or
+ * issue link change {@link #invalidate() invalidates} the catalog, so the next caller refreshes it
+ * before the interval and the report shows the same epic names as the database orders by. While a
+ * refresh runs the other callers get the previous version.
+ */
+public final class EpicCatalogCache {
+
+  public static final long FULL_REBUILD_INTERVAL_IN_MILLIS = 3600000L;
+
+  public static final long REFRESH_INTERVAL_IN_MILLIS = 60000L;
+
+  /**
+   * The "updated" field of the issue is not in the same transaction as the query, so the changes
+   * are queried with some overlap.
+   */
+  private static final long REFRESH_OVERLAP_IN_MILLIS = 5000L;
+
+  private static final ReentrantLock REFRESH_LOCK = new ReentrantLock();
+
+  private static volatile EpicCatalog catalog;
+
+  private static volatile boolean changed;
+
+  /**
+   * Drop the cached catalog.
+   */
+  public static void clear() {
+    catalog = null;
+  }
+
+  private static EpicCatalog fullRebuild(final Connection connection,
+      final Configuration configuration, final long version, final long now)
+          throws SQLException {
+    Long[] fieldIds = new EpicFieldIdsQuery().call(connection, configuration);
+    if ((fieldIds[0] == null) || (fieldIds[1] == null)) {
+      return new EpicCatalog(version, EpicCatalog.UNKNOWN_ID, EpicCatalog.UNKNOWN_ID,
+          Collections.<EpicDTO> emptyList(), null, now, now);
+    }
+    long epicNameFieldId = fieldIds[0];
+    long epicLinkTypeId = fieldIds[1];
+    PickerIndexWatermarkDTO issueLinkWatermark = new EpicLinkWatermarkQuery(epicLinkTypeId, 0L)
+        .call(connection, configuration);
+    List<EpicDTO> epics = new EpicQuery(epicNameFieldId, epicLinkTypeId, null, null)
+        .call(connection, configuration);
+    return new EpicCatalog(version, epicNameFieldId, epicLinkTypeId, epics, issueLinkWatermark,
+        now, now);
+  }
+
+  /**
+   * Gets the actual catalog. Refresh the catalog with the given connection if it is out of date.
+   *
+   * @param connection
+   *          the database connection.
+   * @param configuration
+   *          the Querydsl configuration.
+   * @return the catalog, never <code>null</code>.
+   * @throws SQLException
+   *           if the refresh failed.
+   */
+  public static EpicCatalog getCatalog(final Connection connection,
+      final Configuration configuration) throws SQLException {
+    EpicCatalog current = catalog;
+    if ((current != null) && !isRefreshNeeded(current, System.currentTimeMillis())) {
+      return current;
+    }
+    if (!REFRESH_LOCK.tryLock()) {
+      if (current != null) {
+        return current;
+      }
+      REFRESH_LOCK.lock();
+    }
+    try {
+      current = catalog;
+      long now = System.currentTimeMillis();
+      if ((current != null) && !isRefreshNeeded(current, now)) {
+        return current;
+      }
+      // the changes during the refresh need an other refresh
+      changed = false;
+      if ((current == null) || !current.isAvailable()
+          || ((now - current.getFullRebuildTime()) >= FULL_REBUILD_INTERVAL_IN_MILLIS)) {
+        long version = current == null ? 1 : current.getVersion() + 1;
+        current = fullRebuild(connection, configuration, version, now);
+      } else {
+        current = refresh(connection, configuration, current, now);
+      }
+      catalog = current;
+      return current;
+    } catch (SQLException | RuntimeException e) {
+      changed = true;
+      throw e;
+    } finally {
+      REFRESH_LOCK.unlock();
+    }
+  }
+
+  /**
+   * Mark the catalog out of date, the next {@link #getCatalog(Connection, Configuration)} call
+   * refreshes it.
+   */
+  public static void invalidate() {
+    changed = true;
+  }
+
+  private static boolean isRefreshNeeded(final EpicCatalog current, final long now) {
+    return changed || ((now - current.getRefreshTime()) >= REFRESH_INTERVAL_IN_MILLIS);
+  }
+
+  private static EpicCatalog refresh(final Connection connection,
+      final Configuration configuration, final EpicCatalog current, final long now)
+          throws SQLException {
+    PickerIndexWatermarkDTO lastIssueLinkWatermark = current.getIssueLinkWatermark();
+    PickerIndexWatermarkDTO issueLinkWatermark =
+        new EpicLinkWatermarkQuery(current.getEpicLinkTypeId(),
+            lastIssueLinkWatermark.getMaxId())
+                .call(connection, configuration);
+    if (!issueLinkWatermark.isAppendOnly(lastIssueLinkWatermark)) {
+      return fullRebuild(connection, configuration, current.getVersion() + 1, now);
+    }
+    Timestamp updatedSince =
+        new Timestamp(current.getRefreshTime() - REFRESH_OVERLAP_IN_MILLIS);
+    List<EpicDTO> changedEpics = new EpicQuery(current.getEpicNameFieldId(),
+        current.getEpicLinkTypeId(), updatedSince, lastIssueLinkWatermark.getMaxId())
+            .call(connection, configuration);
+    return current.merge(changedEpics, issueLinkWatermark, now);
+  }
+
+  private EpicCatalogCache() {
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.index;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.everit.jira.querydsl.support.QuerydslSupport;
+import org.everit.jira.querydsl.support.ri.QuerydslSupportImpl;
+import org.everit.jira.reporting.plugin.dto.PickerIndexValueDTO;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+import org.everit.jira.reporting.plugin.query.PickerIndexValueQuery;
+import org.everit.jira.reporting.plugin.query.PickerIndexWatermarkQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background task that keeps the {@link PickerIndexes} up to date. Every run reads the change
+ * watermark of the picker values. If rows are only added since the last run, the values of the
+ * added rows are merged into the index, otherwise (a row is deleted) the index is rebuilt. The
+ * watermark does not change when a component or a version is renamed or an issue is moved, so all
+ * indexes are rebuilt after {@link #FULL_REBUILD_INTERVAL_IN_MILLIS} too.
+ */
+public class PickerIndexRefresher implements Runnable {
+
+  public static final long FULL_REBUILD_INTERVAL_IN_MILLIS = 3600000L;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PickerIndexRefresher.class);
+
+  private final Map<PickerIndexType, Long> lastRebuildTimes = new EnumMap<>(PickerIndexType.class);
+
+  private final Map<PickerIndexType, PickerIndexWatermarkDTO> lastWatermarks =
+      new EnumMap<>(PickerIndexType.class);
+
+  private QuerydslSupport querydslSupport;
+
+  /**
+   * Simple constructor.
+   */
+  public PickerIndexRefresher() {
+    try {
+      querydslSupport = new QuerydslSupportImpl();
+    } catch (Exception e) {
+      LOGGER.error("Problem to create querydslSupport.", e);
+    }
+  }
+
+  /**
+   * Drop the indexes, so the pickers use the database again.
+   */
+  public void clear() {
+    PickerIndexes.clear();
+  }
+
+  private void refresh(final PickerIndexType pickerIndexType) {
+    PickerIndexWatermarkDTO lastWatermark = lastWatermarks.get(pickerIndexType);
+    PickerValueIndex lastIndex = PickerIndexes.getIndex(pickerIndexType);
+    Long lastRebuildTime = lastRebuildTimes.get(pickerIndexType);
+    long now = System.currentTimeMillis();
+    boolean rebuild = (lastWatermark == null)
+        || (lastIndex == null)
+        || (lastRebuildTime == null)
+        || ((now - lastRebuildTime) >= FULL_REBUILD_INTERVAL_IN_MILLIS);
+    long lastMaxId = lastWatermark == null ? 0L : lastWatermark.getMaxId();
+    PickerIndexWatermarkDTO watermark =
+        querydslSupport.execute(new PickerIndexWatermarkQuery(pickerIndexType, lastMaxId));
+    if (!rebuild && watermark.isUnchanged(lastWatermark)) {
+      return;
+    }
+    PickerValueIndex index;
+    if (!rebuild && watermark.isAppendOnly(lastWatermark)) {
+      List<PickerIndexValueDTO> addedValues = querydslSupport.execute(
+          new PickerIndexValueQuery(pickerIndexType, lastMaxId, watermark.getMaxId()));
+      index = lastIndex.merge(addedValues);
+      LOGGER.debug("Picker index " + pickerIndexType + " updated with " + addedValues.size()
+          + " values in " + (System.currentTimeMillis() - now) + " ms.");
+    } else {
+      List<PickerIndexValueDTO> values = querydslSupport.execute(
+          new PickerIndexValueQuery(pickerIndexType, null, watermark.getMaxId()));
+      index = PickerValueIndex.build(values);
+      lastRebuildTimes.put(pickerIndexType, now);
+      LOGGER.debug("Picker index " + pickerIndexType + " rebuilt with " + index.size()
+          + " names in " + (System.currentTimeMillis() - now) + " ms.");
+    }
+    PickerIndexes.putIndex(pickerIndexType, index);
+    lastWatermarks.put(pickerIndexType, watermark);
+  }
+
+  @Override
+  public void run() {
+    if (querydslSupport == null) {
+      return;
+    }
+    for (PickerIndexType pickerIndexType : PickerIndexType.values()) {
+      try {
+        refresh(pickerIndexType);
+      } catch (RuntimeException e) {
+        // the stale index is still better than nothing, try again at the next run
+        LOGGER.warn("Problem to refresh the " + pickerIndexType + " picker index.", e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holder of the actual in-memory picker indexes. The indexes are built by the
+ * {@link PickerIndexRefresher}.
+ */
+public final class PickerIndexes {
+
+  private static final Map<PickerIndexType, PickerValueIndex> INDEXES =
+      new ConcurrentHashMap<>();
+
+  static void clear() {
+    INDEXES.clear();
+  }
+
+  /**
+   * Gets the actual index of the picker values.
+   *
+   * @param pickerIndexType
+   *          the type of the picker values.
+   * @return the index or <code>null</code> if the index is not built yet.
+   */
+  public static PickerValueIndex getIndex(final PickerIndexType pickerIndexType) {
+    return INDEXES.get(pickerIndexType);
+  }
+
+  static void putIndex(final PickerIndexType pickerIndexType,
+      final PickerValueIndex pickerValueIndex) {
+    INDEXES.put(pickerIndexType, pickerValueIndex);
+  }
+
+  private PickerIndexes() {
+  }
+}
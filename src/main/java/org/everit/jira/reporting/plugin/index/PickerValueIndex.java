@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.everit.jira.reporting.plugin.dto.PickerIndexValueDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+
+/**
+ * Immutable in-memory index of picker values. The distinct names are stored in a sorted array
+ * ordered by the lower case name (then by the name), so a prefix search is a binary search plus a
+ * sequential read. Every name has a sorted posting list of the project ids where the name is used,
+ * that is used to filter the names by the browsable projects.
+ */
+public final class PickerValueIndex {
+
+  /**
+   * The order of the picker names: by the lower case name, then by the name. The index and the
+   * database fallback of the pickers both use this order, so the {@link PickerSearchParam#after}
+   * continuation gives the same pages in both.
+   */
+  public static final Comparator<String> NAME_COMPARATOR = new Comparator<String>() {
+    @Override
+    public int compare(final String o1, final String o2) {
+      int result = o1.toLowerCase(Locale.ENGLISH).compareTo(o2.toLowerCase(Locale.ENGLISH));
+      if (result == 0) {
+        result = o1.compareTo(o2);
+      }
+      return result;
+    }
+  };
+
+  private static final Comparator<PickerIndexValueDTO> VALUE_COMPARATOR =
+      new Comparator<PickerIndexValueDTO>() {
+        @Override
+        public int compare(final PickerIndexValueDTO o1, final PickerIndexValueDTO o2) {
+          int result = NAME_COMPARATOR.compare(o1.getName(), o2.getName());
+          if (result == 0) {
+            result = o1.getProjectId().compareTo(o2.getProjectId());
+          }
+          return result;
+        }
+      };
+
+  /**
+   * Build index from the picker values. The values are not modified.
+   *
+   * @param values
+   *          the picker values with the project ids. Duplicates are allowed.
+   * @return the index.
+   */
+  public static PickerValueIndex build(final List<PickerIndexValueDTO> values) {
+    List<PickerIndexValueDTO> sortedValues = new ArrayList<>(values.size());
+    for (PickerIndexValueDTO value : values) {
+      if ((value.getName() != null) && (value.getProjectId() != null)) {
+        sortedValues.add(value);
+      }
+    }
+    Collections.sort(sortedValues, VALUE_COMPARATOR);
+
+    List<String> names = new ArrayList<>();
+    List<long[]> postings = new ArrayList<>();
+    long[] projectIds = new long[sortedValues.size()];
+    int projectCount = 0;
+    String currentName = null;
+    for (PickerIndexValueDTO value : sortedValues) {
+      if (!value.getName().equals(currentName)) {
+        if (currentName != null) {
+          names.add(currentName);
+          postings.add(Arrays.copyOf(projectIds, projectCount));
+        }
+        currentName = value.getName();
+        projectCount = 0;
+      }
+      long projectId = value.getProjectId();
+      if ((projectCount == 0) || (projectIds[projectCount - 1] != projectId)) {
+        projectIds[projectCount] = projectId;
+        projectCount++;
+      }
+    }
+    if (currentName != null) {
+      names.add(currentName);
+      postings.add(Arrays.copyOf(projectIds, projectCount));
+    }
+    return new PickerValueIndex(names, postings);
+  }
+
+  /**
+   * Order the names by the {@link #NAME_COMPARATOR} and gets the requested page of them. Used
+   * when the names are selected from the database, because the database collation can differ from
+   * the order of the index.
+   *
+   * @param names
+   *          the distinct names that match to the query text and used in a browsable project.
+   * @param pickerSearchParam
+   *          the picker search param.
+   * @return the names after the {@link PickerSearchParam#after} name, at most
+   *         {@link PickerSearchParam#limit} names.
+   */
+  public static List<String> page(final Collection<String> names,
+      final PickerSearchParam pickerSearchParam) {
+    List<String> sortedNames = new ArrayList<>(names);
+    Collections.sort(sortedNames, NAME_COMPARATOR);
+    long limit = pickerSearchParam.limit == null ? Long.MAX_VALUE : pickerSearchParam.limit;
+    List<String> result = new ArrayList<>();
+    for (String name : sortedNames) {
+      if (result.size() >= limit) {
+        break;
+      }
+      if ((pickerSearchParam.after == null)
+          || (NAME_COMPARATOR.compare(name, pickerSearchParam.after) > 0)) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
+  private static long[] union(final long[] projectIds, final long[] otherProjectIds) {
+    long[] result = new long[projectIds.length + otherProjectIds.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < projectIds.length) || (j < otherProjectIds.length)) {
+      long projectId;
+      if ((j == otherProjectIds.length)
+          || ((i < projectIds.length) && (projectIds[i] <= otherProjectIds[j]))) {
+        projectId = projectIds[i];
+        i++;
+      } else {
+        projectId = otherProjectIds[j];
+        j++;
+      }
+      if ((count == 0) || (result[count - 1] != projectId)) {
+        result[count] = projectId;
+        count++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private final String[] keys;
+
+  private final String[] names;
+
+  private final long[][] postings;
+
+  private PickerValueIndex(final List<String> names, final List<long[]> postings) {
+    this.names = names.toArray(new String[names.size()]);
+    this.postings = postings.toArray(new long[postings.size()][]);
+    keys = new String[this.names.length];
+    for (int i = 0; i < keys.length; i++) {
+      String key = this.names[i].toLowerCase(Locale.ENGLISH);
+      keys[i] = key.equals(this.names[i]) ? this.names[i] : key;
+    }
+  }
+
+  private int compareTo(final int index, final String key, final String name) {
+    int result = keys[index].compareTo(key);
+    if (result == 0) {
+      result = names[index].compareTo(name);
+    }
+    return result;
+  }
+
+  private boolean isBrowsable(final int index, final long[] browsableProjectIds) {
+    for (long projectId : postings[index]) {
+      if (Arrays.binarySearch(browsableProjectIds, projectId) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create a new index that contains the names of this index and the given values. Used to apply
+   * the newly added picker values without rebuilding the whole index. This index is not modified.
+   *
+   * @param values
+   *          the added picker values with the project ids. Duplicates are allowed.
+   * @return the merged index.
+   */
+  public PickerValueIndex merge(final List<PickerIndexValueDTO> values) {
+    PickerValueIndex added = build(values);
+    List<String> mergedNames = new ArrayList<>(names.length + added.names.length);
+    List<long[]> mergedPostings = new ArrayList<>(names.length + added.names.length);
+    int i = 0;
+    int j = 0;
+    while ((i < names.length) || (j < added.names.length)) {
+      int result;
+      if (i == names.length) {
+        result = 1;
+      } else if (j == added.names.length) {
+        result = -1;
+      } else {
+        result = compareTo(i, added.keys[j], added.names[j]);
+      }
+      if (result < 0) {
+        mergedNames.add(names[i]);
+        mergedPostings.add(postings[i]);
+        i++;
+      } else if (result > 0) {
+        mergedNames.add(added.names[j]);
+        mergedPostings.add(added.postings[j]);
+        j++;
+      } else {
+        mergedNames.add(names[i]);
+        mergedPostings.add(union(postings[i], added.postings[j]));
+        i++;
+        j++;
+      }
+    }
+    return new PickerValueIndex(mergedNames, mergedPostings);
+  }
+
+  /**
+   * Gets the first position where the stored value is greater than the given key and name.
+   */
+  private int positionAfter(final String key, final String name) {
+    int low = 0;
+    int high = names.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareTo(mid, key, name) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the first position where the stored key is greater than or equal to the given key.
+   */
+  private int positionOf(final String key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Search the names that match to the query text and used in a browsable project. The result is
+   * ordered by the lower case name.
+   *
+   * @param pickerSearchParam
+   *          the picker search param.
+   * @return the matching names, at most {@link PickerSearchParam#limit} names.
+   */
+  public List<String> search(final PickerSearchParam pickerSearchParam) {
+    List<String> result = new ArrayList<>();
+    if (pickerSearchParam.projectIds.isEmpty()) {
+      return result;
+    }
+    long[] browsableProjectIds = new long[pickerSearchParam.projectIds.size()];
+    int i = 0;
+    for (Long projectId : pickerSearchParam.projectIds) {
+      browsableProjectIds[i] = projectId;
+      i++;
+    }
+    Arrays.sort(browsableProjectIds);
+
+    String lowerQuery = pickerSearchParam.hasQuery()
+        ? pickerSearchParam.query.toLowerCase(Locale.ENGLISH)
+        : "";
+    boolean prefix = PickerSearchParam.MatchMode.PREFIX.equals(pickerSearchParam.matchMode);
+    int position = 0;
+    if (pickerSearchParam.after != null) {
+      position = positionAfter(pickerSearchParam.after.toLowerCase(Locale.ENGLISH),
+          pickerSearchParam.after);
+    }
+    if (prefix) {
+      position = Math.max(position, positionOf(lowerQuery));
+    }
+    long limit = pickerSearchParam.limit == null ? Long.MAX_VALUE : pickerSearchParam.limit;
+    for (int index = position; (index < names.length) && (result.size() < limit); index++) {
+      if (prefix && !keys[index].startsWith(lowerQuery)) {
+        break;
+      }
+      if (!prefix && !keys[index].contains(lowerQuery)) {
+        continue;
+      }
+      if (isBrowsable(index, browsableProjectIds)) {
+        result.add(names[index]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of the distinct names.
+   */
+  public int size() {
+    return names.length;
+  }
+
+}
@@ -45,6 +45,9 @@ import org.everit.jira.querydsl.schema.QWorklog;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
 import org.everit.jira.reporting.plugin.exception.JTRPException;
+import org.everit.jira.reporting.plugin.query.util.CachedSQLQuery;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
 import com.atlassian.jira.component.ComponentAccessor;
 import com.atlassian.jira.entity.Entity;
@@ -135,28 +138,32 @@ public abstract class AbstractReportQuery<T> {
    *
    * @param query
    *          the {@link SQLQuery}.
+   * @param params
+   *          the params of the outermost query. The filter values are bound by them.
    */
-  protected void appendBaseWhere(final SQLQuery<?> query) {
+  protected void appendBaseWhere(final SQLQuery<?> query, final QueryParams params) {
     BooleanExpression where = expressionTrue;
-    where = filterToProjectIds(qProject, where);
-    where = filterToIssueTypeIds(qIssuetype, where);
-    where = filterToIssueIds(qIssue, where);
-    where = filterToAffectedVersions(qIssue, where);
-    where = filterToFixedVersions(qIssue, where);
-    where = filterToIssueAssignees(qIssue, where);
-    where = filterToIssueComponents(qIssue, where);
-    where = filterToIssueEpicIssueIds(qIssue, where);
-    where = filterToIssueEpicName(qIssue, where);
-    where = filterToIssueCreatedDate(qIssue, where);
-    where = filterToIssueReporters(qIssue, where);
-    where = filterToIssuePriorityIds(qPriority, where);
-    where = filterToIssueResolution(qResolution, qIssue, where);
-    where = filterToIssueStatusIds(qIssuestatus, where);
-    where = filterToIssueLabels(qIssue, where);
-    where = filterToWorklogAuhtors(qWorklog, where);
-    where = filterToWorklogStartDate(qWorklog, where);
-    where = filterToWorklogEndDate(qWorklog, where);
-    where = filterToWorklogVisibility(qWorklog, where);
+    where = filterToProjectIds(qProject, where, params);
+    where = filterToIssueTypeIds(qIssuetype, where, params);
+    if (isIssueFirstPlan()) {
+      // the issue subqueries run once per issue in the semi-join, not once per worklog
+      params.addShape("issueFirstPlan");
+      QJiraissue qFilteredIssue = new QJiraissue("f_issue");
+      where = where.and(qIssue.id.in(SQLExpressions.select(qFilteredIssue.id)
+          .from(qFilteredIssue)
+          .where(filterToIssues(qFilteredIssue, params.createIdInCondition(
+              qFilteredIssue.project, "filteredProjectIds", reportSearchParam.projectIds),
+              params))));
+    } else {
+      where = filterToIssues(qIssue, where, params);
+    }
+    where = filterToIssuePriorityIds(qPriority, where, params);
+    where = filterToIssueResolution(qResolution, qIssue, where, params);
+    where = filterToIssueStatusIds(qIssuestatus, where, params);
+    where = filterToWorklogAuhtors(qWorklog, where, params);
+    where = filterToWorklogStartDate(qWorklog, where, params);
+    where = filterToWorklogEndDate(qWorklog, where, params);
+    where = filterToWorklogVisibility(qWorklog, where, params);
 
     query.where(where);
   }
@@ -181,8 +188,7 @@ public abstract class AbstractReportQuery<T> {
    * Build count query.
    */
   public QuerydslCallable<Long> buildCountQuery() {
-    if (((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null))
-        || reportSearchParam.groupsHasNoMembers) {
+    if ((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null)) {
       return new QuerydslCallable<Long>() {
         @Override
         public Long call(final Connection connection, final Configuration configuration)
@@ -202,8 +208,7 @@ public abstract class AbstractReportQuery<T> {
       @Override
       public Long call(final Connection connection, final Configuration configuration)
           throws SQLException {
-        if (((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null))
-            || reportSearchParam.groupsHasNoMembers) {
+        if ((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null)) {
           return 0L;
         }
         NumberPath<Long> worklogTimeSumPath = Expressions.numberPath(Long.class,
@@ -212,11 +217,12 @@ public abstract class AbstractReportQuery<T> {
         SQLQuery<Long> fromQuery = new SQLQuery<Long>(connection, configuration)
             .select(qWorklog.timeworked.sum().as(worklogTimeSumPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qWorklog.id);
 
-        SQLQuery<Long> query = new SQLQuery<Long>(connection, configuration)
+        SQLQuery<Long> query = createCachedQuery(connection, configuration, "grandTotal", params)
             .select(worklogTimeSumPath.sum())
             .from(fromQuery.as("fromSum"));
 
@@ -230,8 +236,7 @@ public abstract class AbstractReportQuery<T> {
    * Build query.
    */
   public QuerydslCallable<List<T>> buildQuery() {
-    if (((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null))
-        || reportSearchParam.groupsHasNoMembers) {
+    if ((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null)) {
       return new QuerydslCallable<List<T>>() {
         @Override
         public List<T> call(final Connection connection, final Configuration configuration)
@@ -243,8 +248,28 @@ public abstract class AbstractReportQuery<T> {
     return getQuery();
   }
 
+  /**
+   * Create the outermost query of the report. The serialized SQL is cached by the name of the
+   * builder class, the query name and the shape of the params; the query tree is not cached.
+   *
+   * @param connection
+   *          the JDBC connection.
+   * @param configuration
+   *          the Querydsl configuration.
+   * @param queryName
+   *          the name of the query, unique in the builder.
+   * @param params
+   *          the params of the query.
+   * @return the query.
+   */
+  protected SQLQuery<?> createCachedQuery(final Connection connection,
+      final Configuration configuration, final String queryName, final QueryParams params) {
+    return new CachedSQLQuery<>(connection, configuration,
+        getClass().getName() + '.' + queryName, params);
+  }
+
   private BooleanExpression filterToAffectedVersions(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QNodeassociation qNodeassociationAffectedVersion =
         new QNodeassociation("nodeassociationaffectedversion");
     QProjectversion qProjectversion = new QProjectversion("projectversion_affectedversion");
@@ -260,13 +285,15 @@ public abstract class AbstractReportQuery<T> {
               .and(qNodeassociationAffectedVersion.sinkNodeEntity.eq(Entity.Name.VERSION))
               .and(qNodeassociationAffectedVersion.sourceNodeEntity.eq(Entity.Name.ISSUE))
               .and(qNodeassociationAffectedVersion.sourceNodeId.eq(qIssue.id))
-              .and(qProjectversion.vname.in(reportSearchParam.issueAffectedVersions)))
+              .and(params.createInCondition(qProjectversion.vname, String.class,
+                  "affectedVersions", reportSearchParam.issueAffectedVersions)))
           .exists();
       filterToAffectedVersions = true;
     }
 
     BooleanExpression notExistsNoAffectedVersions = expressionFalse;
     if (reportSearchParam.selectNoAffectedVersionIssue) {
+      params.addShape("noAffectedVersion");
       notExistsNoAffectedVersions =
           SQLExpressions.select(qNodeassociationAffectedVersion.sourceNodeId)
               .from(qProjectversion)
@@ -288,7 +315,7 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToFixedVersions(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QNodeassociation qNodeassociationFixedVersion =
         new QNodeassociation("nodeassociationfixedversion");
     QProjectversion qProjectversion = new QProjectversion("projectversion_fixedversion");
@@ -304,13 +331,15 @@ public abstract class AbstractReportQuery<T> {
               .and(qNodeassociationFixedVersion.sinkNodeEntity.eq(Entity.Name.VERSION))
               .and(qNodeassociationFixedVersion.sourceNodeEntity.eq(Entity.Name.ISSUE))
               .and(qNodeassociationFixedVersion.sourceNodeId.eq(qIssue.id))
-              .and(qProjectversion.vname.in(reportSearchParam.issueFixedVersions)))
+              .and(params.createInCondition(qProjectversion.vname, String.class,
+                  "fixedVersions", reportSearchParam.issueFixedVersions)))
           .exists();
       filterToFixedVersions = true;
     }
 
     BooleanExpression notExistsNoVersions = expressionFalse;
     if (reportSearchParam.selectNoFixedVersionIssue) {
+      params.addShape("noFixedVersion");
       notExistsNoVersions = SQLExpressions.select(qNodeassociationFixedVersion.sourceNodeId)
           .from(qProjectversion)
           .join(qNodeassociationFixedVersion)
@@ -325,6 +354,7 @@ public abstract class AbstractReportQuery<T> {
 
     BooleanExpression releasedVersionExpression = expressionFalse;
     if (reportSearchParam.selectReleasedFixVersion) {
+      params.addShape("releasedFixVersion");
       releasedVersionExpression = SQLExpressions
           .select(qNodeassociationFixedVersion.sourceNodeId)
           .from(qProjectversion)
@@ -341,6 +371,7 @@ public abstract class AbstractReportQuery<T> {
 
     BooleanExpression unreleasedVersionExpression = expressionFalse;
     if (reportSearchParam.selectUnreleasedFixVersion) {
+      params.addShape("unreleasedFixVersion");
       unreleasedVersionExpression = SQLExpressions
           .select(qNodeassociationFixedVersion.sourceNodeId)
           .from(qProjectversion)
@@ -365,16 +396,18 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueAssignees(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     boolean filterToIssueAssignees = false;
     BooleanExpression assignedExpressions = expressionFalse;
     if (!reportSearchParam.issueAssignees.isEmpty()) {
-      assignedExpressions = qIssue.assignee.in(reportSearchParam.issueAssignees);
+      assignedExpressions = params.createInCondition(qIssue.assignee, String.class,
+          "assignees", reportSearchParam.issueAssignees);
       filterToIssueAssignees = true;
     }
 
     BooleanExpression unassignedExpressions = expressionFalse;
     if (reportSearchParam.selectUnassgined) {
+      params.addShape("unassigned");
       unassignedExpressions = qIssue.assignee.isNull();
       filterToIssueAssignees = true;
     }
@@ -386,7 +419,7 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueComponents(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QNodeassociation qNodeassociationComponents =
         new QNodeassociation("nodeassociationcomponents");
     QComponent qComponent = new QComponent("component");
@@ -402,13 +435,15 @@ public abstract class AbstractReportQuery<T> {
               .and(qNodeassociationComponents.sinkNodeEntity.eq(Entity.Name.COMPONENT))
               .and(qNodeassociationComponents.sourceNodeEntity.eq(Entity.Name.ISSUE))
               .and(qNodeassociationComponents.sourceNodeId.eq(qIssue.id))
-              .and(qComponent.cname.in(reportSearchParam.issueComponents)))
+              .and(params.createInCondition(qComponent.cname, String.class,
+                  "components", reportSearchParam.issueComponents)))
           .exists();
       filterToIssueComponent = true;
     }
 
     BooleanExpression notExistsNoComponents = expressionFalse;
     if (reportSearchParam.selectNoComponentIssue) {
+      params.addShape("noComponent");
       notExistsNoComponents = SQLExpressions.select(qNodeassociationComponents.sourceNodeId)
           .from(qComponent)
           .join(qNodeassociationComponents)
@@ -428,7 +463,7 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueCreatedDate(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (reportSearchParam.issueCreateDate != null) {
       Calendar issueCreateDateEndCalendar = Calendar.getInstance();
       issueCreateDateEndCalendar.setTime(reportSearchParam.issueCreateDate);
@@ -436,14 +471,16 @@ public abstract class AbstractReportQuery<T> {
       Date issueCreateDateEndDate = issueCreateDateEndCalendar.getTime();
       return where
           .and(qIssue.created.between(
-              new Timestamp(reportSearchParam.issueCreateDate.getTime()),
-              new Timestamp(issueCreateDateEndDate.getTime())));
+              params.bind(Timestamp.class, "createdFrom",
+                  new Timestamp(reportSearchParam.issueCreateDate.getTime())),
+              params.bind(Timestamp.class, "createdTo",
+                  new Timestamp(issueCreateDateEndDate.getTime()))));
     }
     return where;
   }
 
   private BooleanExpression filterToIssueEpicIssueIds(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QIssuelinktype qIssuelinktype = new QIssuelinktype("epic_issuelinktype");
     QIssuelink qIssuelink = new QIssuelink("epic_issuelink");
 
@@ -452,7 +489,8 @@ public abstract class AbstractReportQuery<T> {
           .from(qIssuelink)
           .join(qIssuelinktype).on(qIssuelink.linktype.eq(qIssuelinktype.id))
           .where(qIssuelink.source.eq(qIssue.id).or(qIssuelink.destination.eq(qIssue.id))
-              .and(qIssuelink.source.in(reportSearchParam.issueEpicLinkIssueIds))
+              .and(params.createInCondition(qIssuelink.source, Long.class,
+                  "epicLinkIssueIds", reportSearchParam.issueEpicLinkIssueIds))
               .and(qIssuelinktype.linkname.eq("Epic-Story Link")))
           .exists());
     }
@@ -460,7 +498,7 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueEpicName(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QCustomfieldvalue qCustomfieldValue = new QCustomfieldvalue("customfieldvalue");
     QCustomfield qCustomfield = new QCustomfield("customfield");
 
@@ -470,7 +508,8 @@ public abstract class AbstractReportQuery<T> {
           .leftJoin(qCustomfieldValue).on(qCustomfield.id.eq(qCustomfieldValue.customfield))
           .where(qCustomfieldValue.issue.eq(qIssue.id)
               .and(qCustomfieldValue.stringvalue.toLowerCase()
-                  .like(reportSearchParam.issueEpicName.toLowerCase(Locale.getDefault()) + "%"))
+                  .like(params.bind(String.class, "epicName",
+                      reportSearchParam.issueEpicName.toLowerCase(Locale.getDefault()) + "%")))
               .and(qCustomfield.cfname.eq("Epic Name")))
           .exists());
     }
@@ -478,70 +517,80 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueIds(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QJiraissue subQueryIssue = new QJiraissue("subQueryIssue");
     QProject subQueryProject = new QProject("subQueryProject");
     if (!reportSearchParam.issueKeys.isEmpty()) {
       BooleanExpression predicate = expressionFalse;
+      int i = 0;
       for (String issueKey : reportSearchParam.issueKeys) {
         String[] split = issueKey.split("-");
         if (split.length != 2) {
           throw new JTRPException("jtrp.plugin.invalid.issue.key");
         }
-        predicate = predicate.or(subQueryProject.pkey.eq(split[0])
-            .and(subQueryIssue.issuenum.stringValue().eq(split[1])));
+        predicate = predicate.or(
+            subQueryProject.pkey.eq(params.bind(String.class, "issueKeyProject_" + i, split[0]))
+                .and(subQueryIssue.issuenum.stringValue()
+                    .eq(params.bind(String.class, "issueKeyNumber_" + i, split[1]))));
+        i++;
       }
       return where.and(qIssue.id.in(SQLExpressions.select(subQueryIssue.id)
           .from(subQueryIssue)
           .join(subQueryProject).on(subQueryIssue.project.eq(subQueryProject.id))
           .where(predicate)));
     } else if (!reportSearchParam.issueIds.isEmpty()) {
-      return where.and(qIssue.id.in(reportSearchParam.issueIds));
+      return where.and(
+          params.createIdInCondition(qIssue.id, "issueIds", reportSearchParam.issueIds));
     }
     return where;
   }
 
   private BooleanExpression filterToIssueLabels(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     QLabel qLabel = new QLabel("label");
     if (!reportSearchParam.labels.isEmpty()) {
       return where.and(SQLExpressions.select(qLabel.id)
           .from(qLabel)
           .where(qLabel.issue.eq(qIssue.id)
-              .and(qLabel.label.in(reportSearchParam.labels)))
+              .and(params.createInCondition(qLabel.label, String.class, "labels",
+                  reportSearchParam.labels)))
           .exists());
     }
     return where;
   }
 
   private BooleanExpression filterToIssuePriorityIds(final QPriority qPriority,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (!reportSearchParam.issuePriorityIds.isEmpty()) {
-      return where.and(qPriority.id.in(reportSearchParam.issuePriorityIds));
+      return where.and(params.createInCondition(qPriority.id, String.class, "priorityIds",
+          reportSearchParam.issuePriorityIds));
     }
     return where;
   }
 
   private BooleanExpression filterToIssueReporters(final QJiraissue qIssue,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (!reportSearchParam.issueReporters.isEmpty()) {
-      return where.and(qIssue.reporter.in(reportSearchParam.issueReporters));
+      return where.and(params.createInCondition(qIssue.reporter, String.class, "reporters",
+          reportSearchParam.issueReporters));
     }
     return where;
   }
 
   private BooleanExpression filterToIssueResolution(final QResolution qResolution,
-      final QJiraissue qIssue, final BooleanExpression where) {
+      final QJiraissue qIssue, final BooleanExpression where, final QueryParams params) {
     boolean filterToIssueResolution = false;
 
     BooleanExpression resolutionIssuesExpression = expressionFalse;
     if (!reportSearchParam.issueResolutionIds.isEmpty()) {
-      resolutionIssuesExpression = qResolution.id.in(reportSearchParam.issueResolutionIds);
+      resolutionIssuesExpression = params.createInCondition(qResolution.id, String.class,
+          "resolutionIds", reportSearchParam.issueResolutionIds);
       filterToIssueResolution = true;
     }
 
     BooleanExpression unresolvedResolutionExpression = expressionFalse;
     if (reportSearchParam.selectUnresolvedResolution) {
+      params.addShape("unresolved");
       unresolvedResolutionExpression = qIssue.resolution.isNull();
       filterToIssueResolution = true;
     }
@@ -553,59 +602,88 @@ public abstract class AbstractReportQuery<T> {
   }
 
   private BooleanExpression filterToIssueStatusIds(final QIssuestatus qIssuestatus,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (!reportSearchParam.issueStatusIds.isEmpty()) {
-      return where.and(qIssuestatus.id.in(reportSearchParam.issueStatusIds));
+      return where.and(params.createInCondition(qIssuestatus.id, String.class, "statusIds",
+          reportSearchParam.issueStatusIds));
     }
     return where;
   }
 
   private BooleanExpression filterToIssueTypeIds(final QIssuetype qIssuetype,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (!reportSearchParam.issueTypeIds.isEmpty()) {
-      return where.and(qIssuetype.id.in(reportSearchParam.issueTypeIds));
+      return where.and(params.createInCondition(qIssuetype.id, String.class, "issueTypeIds",
+          reportSearchParam.issueTypeIds));
     }
     return where;
   }
 
+  /**
+   * Append the filter conditions that depend only on the issue.
+   */
+  private BooleanExpression filterToIssues(final QJiraissue qIssue,
+      final BooleanExpression where, final QueryParams params) {
+    BooleanExpression issueWhere = where;
+    issueWhere = filterToIssueIds(qIssue, issueWhere, params);
+    issueWhere = filterToAffectedVersions(qIssue, issueWhere, params);
+    issueWhere = filterToFixedVersions(qIssue, issueWhere, params);
+    issueWhere = filterToIssueAssignees(qIssue, issueWhere, params);
+    issueWhere = filterToIssueComponents(qIssue, issueWhere, params);
+    issueWhere = filterToIssueEpicIssueIds(qIssue, issueWhere, params);
+    issueWhere = filterToIssueEpicName(qIssue, issueWhere, params);
+    issueWhere = filterToIssueCreatedDate(qIssue, issueWhere, params);
+    issueWhere = filterToIssueReporters(qIssue, issueWhere, params);
+    issueWhere = filterToIssueLabels(qIssue, issueWhere, params);
+    return issueWhere;
+  }
+
   private BooleanExpression filterToProjectIds(final QProject qProject,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (!reportSearchParam.projectIds.isEmpty()) {
-      return where.and(qProject.id.in(reportSearchParam.projectIds));
+      return where.and(
+          params.createIdInCondition(qProject.id, "projectIds", reportSearchParam.projectIds));
     }
     return where;
   }
 
   private BooleanExpression filterToWorklogAuhtors(final QWorklog qWorklog,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
+    if (!reportSearchParam.groups.isEmpty()) {
+      List<String> lowerGroupNames = new ArrayList<>(reportSearchParam.groups.size());
+      for (String groupName : reportSearchParam.groups) {
+        lowerGroupNames.add(groupName.toLowerCase(Locale.ENGLISH));
+      }
+      return where.and(qWorklog.author.in(QueryUtil.selectUserKeysInGroups(
+          params.bindAll(String.class, "groups", lowerGroupNames))));
+    }
     if (!reportSearchParam.users.isEmpty()) {
-      return where.and(qWorklog.author.in(reportSearchParam.users));
+      return where.and(params.createInCondition(qWorklog.author, String.class, "users",
+          reportSearchParam.users));
     }
     return where;
   }
 
   private BooleanExpression filterToWorklogEndDate(final QWorklog qWorklog,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (reportSearchParam.worklogEndDate != null) {
-      return where.and(qWorklog.startdate.lt(
-          new Timestamp(reportSearchParam.worklogEndDate
-              .getTime())));
+      return where.and(qWorklog.startdate.lt(params.bind(Timestamp.class, "worklogEndDate",
+          new Timestamp(reportSearchParam.worklogEndDate.getTime()))));
     }
     return where;
   }
 
   private BooleanExpression filterToWorklogStartDate(final QWorklog qWorklog,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     if (reportSearchParam.worklogStartDate != null) {
-      return where.and(qWorklog.startdate.goe(
-          new Timestamp(reportSearchParam.worklogStartDate
-              .getTime())));
+      return where.and(qWorklog.startdate.goe(params.bind(Timestamp.class, "worklogStartDate",
+          new Timestamp(reportSearchParam.worklogStartDate.getTime()))));
     }
     return where;
   }
 
   private BooleanExpression filterToWorklogVisibility(final QWorklog qWorklog,
-      final BooleanExpression where) {
+      final BooleanExpression where, final QueryParams params) {
     BooleanExpression nullExpressions =
         qWorklog.rolelevel.isNull().and(qWorklog.grouplevel.isNull());
 
@@ -621,10 +699,15 @@ public abstract class AbstractReportQuery<T> {
         .from(qProjectroleactor)
         .where(qProjectroleactor.projectroleid.eq(qWorklog.rolelevel)
             .and(qProjectroleactor.pid.eq(qProject.id))
-            .and(qProjectroleactor.roletypeparameter.in(roleTypeParameters)))
+            .and(params.createInCondition(qProjectroleactor.roletypeparameter, String.class,
+                "roleTypeParameters", roleTypeParameters)))
         .exists();
 
-    BooleanExpression groupLevelExpression = qWorklog.grouplevel.in(loggedUserGroupNames);
+    BooleanExpression groupLevelExpression = expressionFalse;
+    if (!loggedUserGroupNames.isEmpty()) {
+      groupLevelExpression = params.createInCondition(qWorklog.grouplevel, String.class,
+          "groupLevels", loggedUserGroupNames);
+    }
 
     return where.and(nullExpressions.or(roleLevelExpression).or(groupLevelExpression));
   }
@@ -633,4 +716,23 @@ public abstract class AbstractReportQuery<T> {
 
   protected abstract QuerydslCallable<List<T>> getQuery();
 
+  /**
+   * Check the issue filters are selective enough to resolve the filtered issues first and join the
+   * worklogs to them: the filters by version, component, label or epic need subqueries that are
+   * much cheaper per issue than per worklog.
+   */
+  protected boolean isIssueFirstPlan() {
+    return !reportSearchParam.issueAffectedVersions.isEmpty()
+        || reportSearchParam.selectNoAffectedVersionIssue
+        || !reportSearchParam.issueFixedVersions.isEmpty()
+        || reportSearchParam.selectNoFixedVersionIssue
+        || reportSearchParam.selectReleasedFixVersion
+        || reportSearchParam.selectUnreleasedFixVersion
+        || !reportSearchParam.issueComponents.isEmpty()
+        || reportSearchParam.selectNoComponentIssue
+        || !reportSearchParam.labels.isEmpty()
+        || !reportSearchParam.issueEpicLinkIssueIds.isEmpty()
+        || (reportSearchParam.issueEpicName != null);
+  }
+
 }
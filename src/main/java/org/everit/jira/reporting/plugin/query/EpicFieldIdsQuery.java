@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.everit.jira.querydsl.schema.QCustomfield;
+import org.everit.jira.querydsl.schema.QIssuelinktype;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the id of the "Epic Name" custom field and the id of the "Epic-Story Link" issue
+ * link type. The ids are <code>null</code> if JIRA Agile is not installed.
+ */
+public class EpicFieldIdsQuery implements QuerydslCallable<Long[]> {
+
+  public static final String EPIC_NAME_CUSTOM_FIELD_NAME = "Epic Name";
+
+  public static final String EPIC_STORY_LINK_TYPE_NAME = "Epic-Story Link";
+
+  @Override
+  public Long[] call(final Connection connection, final Configuration configuration)
+      throws SQLException {
+    QCustomfield qCustomfield = new QCustomfield("customfield");
+    QIssuelinktype qIssuelinktype = new QIssuelinktype("issuelinktype");
+
+    Long epicNameFieldId = new SQLQuery<Long>(connection, configuration)
+        .select(qCustomfield.id.min())
+        .from(qCustomfield)
+        .where(qCustomfield.cfname.eq(EPIC_NAME_CUSTOM_FIELD_NAME))
+        .fetchOne();
+    Long epicLinkTypeId = new SQLQuery<Long>(connection, configuration)
+        .select(qIssuelinktype.id.min())
+        .from(qIssuelinktype)
+        .where(qIssuelinktype.linkname.eq(EPIC_STORY_LINK_TYPE_NAME))
+        .fetchOne();
+    return new Long[] { epicNameFieldId, epicLinkTypeId };
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.everit.jira.querydsl.schema.QIssuelink;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the change watermark of the epic-story links: the number and the greatest id of
+ * the links, and the number of the links after the greatest id of the previous watermark.
+ */
+public class EpicLinkWatermarkQuery implements QuerydslCallable<PickerIndexWatermarkDTO> {
+
+  private final long epicLinkTypeId;
+
+  private final long previousMaxId;
+
+  /**
+   * Simple constructor.
+   *
+   * @param epicLinkTypeId
+   *          the id of the "Epic-Story Link" issue link type.
+   * @param previousMaxId
+   *          the greatest link id of the previous watermark. The links with greater id are
+   *          counted as added links.
+   */
+  public EpicLinkWatermarkQuery(final long epicLinkTypeId, final long previousMaxId) {
+    this.epicLinkTypeId = epicLinkTypeId;
+    this.previousMaxId = previousMaxId;
+  }
+
+  @Override
+  public PickerIndexWatermarkDTO call(final Connection connection,
+      final Configuration configuration) throws SQLException {
+    QIssuelink qIssuelink = new QIssuelink("issuelink");
+    return new SQLQuery<PickerIndexWatermarkDTO>(connection, configuration)
+        .select(Projections.bean(PickerIndexWatermarkDTO.class,
+            qIssuelink.id.count().as(PickerIndexWatermarkDTO.AliasNames.ROW_COUNT),
+            qIssuelink.id.max().as(PickerIndexWatermarkDTO.AliasNames.MAX_ID),
+            new CaseBuilder()
+                .when(qIssuelink.id.gt(previousMaxId)).then(1L)
+                .otherwise(0L)
+                .sum()
+                .as(PickerIndexWatermarkDTO.AliasNames.ADDED_ROW_COUNT)))
+        .from(qIssuelink)
+        .where(qIssuelink.linktype.eq(epicLinkTypeId))
+        .fetchOne();
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.everit.jira.querydsl.schema.QCustomfieldvalue;
+import org.everit.jira.querydsl.schema.QIssuelink;
+import org.everit.jira.querydsl.schema.QJiraissue;
+import org.everit.jira.querydsl.schema.QProject;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.EpicDTO;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the epics that have at least one story. If the change limits are given only the
+ * epics updated since the given time or linked with a new story are returned.
+ */
+public class EpicQuery implements QuerydslCallable<List<EpicDTO>> {
+
+  private final Long afterIssueLinkId;
+
+  private final long epicLinkTypeId;
+
+  private final long epicNameFieldId;
+
+  private final QCustomfieldvalue qCustomfieldValue;
+
+  private final QJiraissue qIssue;
+
+  private final QIssuelink qIssuelink;
+
+  private final QIssuelink qNewIssuelink;
+
+  private final QProject qProject;
+
+  private final Timestamp updatedSince;
+
+  /**
+   * Simple constructor.
+   *
+   * @param epicNameFieldId
+   *          the id of the "Epic Name" custom field.
+   * @param epicLinkTypeId
+   *          the id of the "Epic-Story Link" issue link type.
+   * @param updatedSince
+   *          the epics updated since this time are returned. <code>null</code> to get all epics.
+   * @param afterIssueLinkId
+   *          the epics with epic-story link that id is greater than this id are returned too. Used
+   *          only if the updatedSince is not <code>null</code>.
+   */
+  public EpicQuery(final long epicNameFieldId, final long epicLinkTypeId,
+      final Timestamp updatedSince, final Long afterIssueLinkId) {
+    this.epicNameFieldId = epicNameFieldId;
+    this.epicLinkTypeId = epicLinkTypeId;
+    this.updatedSince = updatedSince;
+    this.afterIssueLinkId = afterIssueLinkId;
+    qCustomfieldValue = new QCustomfieldvalue("customfieldvalue");
+    qIssue = new QJiraissue("issue");
+    qIssuelink = new QIssuelink("issuelink");
+    qNewIssuelink = new QIssuelink("n_issuelink");
+    qProject = new QProject("project");
+  }
+
+  @Override
+  public List<EpicDTO> call(final Connection connection, final Configuration configuration)
+      throws SQLException {
+    BooleanBuilder where = new BooleanBuilder(SQLExpressions.selectOne()
+        .from(qIssuelink)
+        .where(qIssuelink.source.eq(qIssue.id)
+            .and(qIssuelink.linktype.eq(epicLinkTypeId)))
+        .exists());
+    if (updatedSince != null) {
+      BooleanBuilder changed = new BooleanBuilder(qIssue.updated.goe(updatedSince));
+      if (afterIssueLinkId != null) {
+        changed.or(qIssue.id.in(SQLExpressions.select(qNewIssuelink.source)
+            .from(qNewIssuelink)
+            .where(qNewIssuelink.id.gt(afterIssueLinkId)
+                .and(qNewIssuelink.linktype.eq(epicLinkTypeId)))));
+      }
+      where.and(changed);
+    }
+
+    return new SQLQuery<EpicDTO>(connection, configuration)
+        .select(Projections.bean(EpicDTO.class,
+            qIssue.id.as(EpicDTO.AliasNames.EPIC_ID),
+            qCustomfieldValue.stringvalue.as(EpicDTO.AliasNames.EPIC_NAME),
+            QueryUtil.createIssueKeyExpression(qIssue, qProject)
+                .as(EpicDTO.AliasNames.ISSUE_KEY),
+            qIssue.project.as(EpicDTO.AliasNames.PROJECT_ID)))
+        .from(qIssue)
+        .innerJoin(qProject).on(qProject.id.eq(qIssue.project))
+        .innerJoin(qCustomfieldValue).on(qCustomfieldValue.issue.eq(qIssue.id)
+            .and(qCustomfieldValue.customfield.eq(epicNameFieldId)))
+        .where(where)
+        .fetch();
+  }
+
+}
@@ -22,13 +22,13 @@ import java.util.List;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.IssueSummaryDTO;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
+import org.everit.jira.reporting.plugin.query.mapper.IssueSummaryRowMapper;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
 import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.PathType;
-import com.querydsl.core.types.Projections;
-import com.querydsl.core.types.QBean;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberPath;
@@ -60,9 +60,9 @@ public class IssueSummaryReportQueryBuilder extends AbstractReportQuery<IssueSum
         userPath };
   }
 
-  private QBean<IssueSummaryDTO> createQuerySelectProjection(final StringExpression issueKey,
+  private IssueSummaryRowMapper createQuerySelectProjection(final StringExpression issueKey,
       final StringPath userPath) {
-    return Projections.bean(IssueSummaryDTO.class,
+    return new IssueSummaryRowMapper(
         issueKey.as(IssueSummaryDTO.AliasNames.ISSUE_KEY),
         qIssue.summary.as(IssueSummaryDTO.AliasNames.ISSUE_SUMMARY),
         qIssuetype.pname.as(IssueSummaryDTO.AliasNames.ISSUE_TYPE_NAME),
@@ -94,11 +94,12 @@ public class IssueSummaryReportQueryBuilder extends AbstractReportQuery<IssueSum
         SQLQuery<Long> fromQuery = new SQLQuery<Long>(connection, configuration)
             .select(qIssue.id.count().as(issueCountPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qIssue.id);
 
-        SQLQuery<Long> query = new SQLQuery<Long>(connection, configuration)
+        SQLQuery<Long> query = createCachedQuery(connection, configuration, "count", params)
             .select(issueCountPath.count())
             .from(fromQuery.as("fromCount"));
 
@@ -119,11 +120,13 @@ public class IssueSummaryReportQueryBuilder extends AbstractReportQuery<IssueSum
             Expressions.stringPath(
                 new PathMetadata(null, IssueSummaryDTO.AliasNames.ASSIGNEE, PathType.VARIABLE));
 
-        SQLQuery<IssueSummaryDTO> query = new SQLQuery<IssueSummaryDTO>(connection, configuration)
-            .select(createQuerySelectProjection(issueKey, userPath));
+        QueryParams params = new QueryParams();
+        SQLQuery<IssueSummaryDTO> query =
+            createCachedQuery(connection, configuration, "query", params)
+                .select(createQuerySelectProjection(issueKey, userPath));
 
         appendBaseFromAndJoin(query);
-        appendBaseWhere(query);
+        appendBaseWhere(query, params);
         appendQueryRange(query);
 
         query.groupBy(createQueryGroupBy(userPath));
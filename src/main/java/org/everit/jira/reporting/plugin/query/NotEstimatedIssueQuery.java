@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import org.everit.jira.querydsl.schema.QJiraissue;
+import org.everit.jira.querydsl.schema.QProject;
+import org.everit.jira.querydsl.schema.QWorklog;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.NotEstimatedIssueDTO;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the not closed issues without remaining estimate that have worklog updated in
+ * the given interval. The result is ordered by the issue id and paged by the last issue id of the
+ * previous page.
+ */
+public class NotEstimatedIssueQuery implements QuerydslCallable<List<NotEstimatedIssueDTO>> {
+
+  private static final String CLOSED_STATUS_ID = "6";
+
+  private final Long afterIssueId;
+
+  private final int limit;
+
+  private final QJiraissue qIssue;
+
+  private final QProject qProject;
+
+  private final QWorklog qWorklog;
+
+  private final Timestamp updatedEnd;
+
+  private final Timestamp updatedStart;
+
+  /**
+   * Simple constructor.
+   *
+   * @param updatedStart
+   *          the start of the worklog update interval (inclusive).
+   * @param updatedEnd
+   *          the end of the worklog update interval (exclusive).
+   * @param afterIssueId
+   *          the result contains only the issues with greater id.
+   * @param limit
+   *          the maximum number of the issues.
+   */
+  public NotEstimatedIssueQuery(final Date updatedStart, final Date updatedEnd,
+      final Long afterIssueId, final int limit) {
+    this.updatedStart = new Timestamp(updatedStart.getTime());
+    this.updatedEnd = new Timestamp(updatedEnd.getTime());
+    this.afterIssueId = afterIssueId;
+    this.limit = limit;
+    qIssue = new QJiraissue("issue");
+    qProject = new QProject("project");
+    qWorklog = new QWorklog("worklog");
+  }
+
+  @Override
+  public List<NotEstimatedIssueDTO> call(final Connection connection,
+      final Configuration configuration) throws SQLException {
+    return new SQLQuery<NotEstimatedIssueDTO>(connection, configuration)
+        .select(Projections.bean(NotEstimatedIssueDTO.class,
+            qIssue.id.as(NotEstimatedIssueDTO.AliasNames.ISSUE_ID),
+            QueryUtil.createIssueKeyExpression(qIssue, qProject)
+                .as(NotEstimatedIssueDTO.AliasNames.ISSUE_KEY)))
+        .from(qIssue)
+        .innerJoin(qProject).on(qProject.id.eq(qIssue.project))
+        .where(qIssue.id.gt(afterIssueId)
+            .and(qIssue.timeestimate.isNull().or(qIssue.timeestimate.eq(0L)))
+            .and(qIssue.issuestatus.isNull().or(qIssue.issuestatus.ne(CLOSED_STATUS_ID)))
+            .and(qIssue.id.in(SQLExpressions.select(qWorklog.issueid)
+                .from(qWorklog)
+                .where(qWorklog.updated.goe(updatedStart)
+                    .and(qWorklog.updated.lt(updatedEnd))))))
+        .orderBy(qIssue.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+}
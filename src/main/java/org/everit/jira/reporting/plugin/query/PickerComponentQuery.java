@@ -17,24 +17,56 @@ package org.everit.jira.reporting.plugin.query;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.everit.jira.querydsl.schema.QComponent;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.PickerComponentDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+import org.everit.jira.reporting.plugin.index.PickerValueIndex;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
-import com.querydsl.core.types.Projections;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.SQLQuery;
 
 /**
- * Query for gets versions to picker.
+ * Query for gets components of the browsable projects to picker.
+ * Used until the picker index is built, the names are ordered and paged in the order of the index.
  */
 public class PickerComponentQuery implements QuerydslCallable<List<PickerComponentDTO>> {
 
+  /**
+   * Add the static "no component" value to the first page of the result if it matches to the
+   * query text. It is added on top of the limit of the page and it is not part of the paging.
+   *
+   * @param result
+   *          the components found in the database or in the index.
+   * @param pickerSearchParam
+   *          the picker search param.
+   */
+  public static void addStaticComponents(final List<PickerComponentDTO> result,
+      final PickerSearchParam pickerSearchParam) {
+    if (pickerSearchParam.isFirstPage()) {
+      PickerComponentDTO noComponent = PickerComponentDTO.createNoComponent();
+      if (pickerSearchParam.matches(noComponent.getName())) {
+        result.add(0, noComponent);
+      }
+    }
+  }
+
+  private final PickerSearchParam pickerSearchParam;
+
   private QComponent qComponent;
 
-  public PickerComponentQuery() {
+  /**
+   * Simple constructor.
+   *
+   * @param pickerSearchParam
+   *          the picker search param.
+   */
+  public PickerComponentQuery(final PickerSearchParam pickerSearchParam) {
+    this.pickerSearchParam = pickerSearchParam;
     qComponent = new QComponent("component");
   }
 
@@ -42,17 +74,23 @@ public class PickerComponentQuery implements QuerydslCallable<List<PickerCompone
   public List<PickerComponentDTO> call(final Connection connection,
       final Configuration configuration)
           throws SQLException {
+    List<PickerComponentDTO> result = new ArrayList<>();
+    if (!pickerSearchParam.projectIds.isEmpty()) {
+      List<String> names = new SQLQuery<String>(connection, configuration)
+          .select(qComponent.cname)
+          .from(qComponent)
+          .where(qComponent.project.in(pickerSearchParam.projectIds)
+              .and(QueryUtil.createPickerNameCondition(qComponent.cname, pickerSearchParam)))
+          .distinct()
+          .fetch();
+      for (String name : PickerValueIndex.page(names, pickerSearchParam)) {
+        PickerComponentDTO component = new PickerComponentDTO();
+        component.setName(name);
+        result.add(component);
+      }
+    }
 
-    List<PickerComponentDTO> result = new SQLQuery<PickerComponentDTO>(connection, configuration)
-        .select(Projections.bean(PickerComponentDTO.class,
-            qComponent.cname.as(PickerComponentDTO.AliasNames.COMPONENT_NAME)))
-        .from(qComponent)
-        .groupBy(qComponent.cname)
-        .orderBy(qComponent.cname.asc())
-        .fetch();
-
-    result.add(0, PickerComponentDTO.createNoComponent());
-
+    addStaticComponents(result, pickerSearchParam);
     return result;
   }
 
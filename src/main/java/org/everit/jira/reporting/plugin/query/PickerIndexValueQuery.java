@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.everit.jira.querydsl.schema.QComponent;
+import org.everit.jira.querydsl.schema.QJiraissue;
+import org.everit.jira.querydsl.schema.QLabel;
+import org.everit.jira.querydsl.schema.QProjectversion;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.PickerIndexValueDTO;
+import org.everit.jira.reporting.plugin.index.PickerIndexType;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the distinct picker values with their projects to build the in-memory picker
+ * index: all values, or the values of the rows added in an id range to update the index.
+ */
+public class PickerIndexValueQuery implements QuerydslCallable<List<PickerIndexValueDTO>> {
+
+  private final Long afterId;
+
+  private final Long maxId;
+
+  private final PickerIndexType pickerIndexType;
+
+  /**
+   * Simple constructor.
+   *
+   * @param pickerIndexType
+   *          the type of the picker values.
+   * @param afterId
+   *          the rows with greater id are selected. <code>null</code> if no lower bound.
+   * @param maxId
+   *          the rows with smaller or equal id are selected. <code>null</code> if no upper bound.
+   */
+  public PickerIndexValueQuery(final PickerIndexType pickerIndexType, final Long afterId,
+      final Long maxId) {
+    this.pickerIndexType = pickerIndexType;
+    this.afterId = afterId;
+    this.maxId = maxId;
+  }
+
+  @Override
+  public List<PickerIndexValueDTO> call(final Connection connection,
+      final Configuration configuration) throws SQLException {
+    SQLQuery<PickerIndexValueDTO> query;
+    if (PickerIndexType.LABEL.equals(pickerIndexType)) {
+      QLabel qLabel = new QLabel("label");
+      QJiraissue qIssue = new QJiraissue("issue");
+      query = new SQLQuery<PickerIndexValueDTO>(connection, configuration)
+          .select(Projections.bean(PickerIndexValueDTO.class,
+              qLabel.label.as(PickerIndexValueDTO.AliasNames.NAME),
+              qIssue.project.as(PickerIndexValueDTO.AliasNames.PROJECT_ID)))
+          .from(qLabel)
+          .innerJoin(qIssue).on(qIssue.id.eq(qLabel.issue))
+          .where(createIdCondition(qLabel.id));
+    } else if (PickerIndexType.COMPONENT.equals(pickerIndexType)) {
+      QComponent qComponent = new QComponent("component");
+      query = new SQLQuery<PickerIndexValueDTO>(connection, configuration)
+          .select(Projections.bean(PickerIndexValueDTO.class,
+              qComponent.cname.as(PickerIndexValueDTO.AliasNames.NAME),
+              qComponent.project.as(PickerIndexValueDTO.AliasNames.PROJECT_ID)))
+          .from(qComponent)
+          .where(createIdCondition(qComponent.id));
+    } else {
+      QProjectversion qProjectversion = new QProjectversion("p_version");
+      query = new SQLQuery<PickerIndexValueDTO>(connection, configuration)
+          .select(Projections.bean(PickerIndexValueDTO.class,
+              qProjectversion.vname.as(PickerIndexValueDTO.AliasNames.NAME),
+              qProjectversion.project.as(PickerIndexValueDTO.AliasNames.PROJECT_ID)))
+          .from(qProjectversion)
+          .where(createIdCondition(qProjectversion.id));
+    }
+    return query.distinct()
+        .fetch();
+  }
+
+  private BooleanBuilder createIdCondition(final NumberPath<Long> id) {
+    BooleanBuilder where = new BooleanBuilder();
+    if (afterId != null) {
+      where.and(id.gt(afterId));
+    }
+    if (maxId != null) {
+      where.and(id.loe(maxId));
+    }
+    return where;
+  }
+
+}
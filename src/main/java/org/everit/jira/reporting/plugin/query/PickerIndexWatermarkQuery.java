@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.everit.jira.querydsl.schema.QComponent;
+import org.everit.jira.querydsl.schema.QLabel;
+import org.everit.jira.querydsl.schema.QProjectversion;
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+import org.everit.jira.reporting.plugin.index.PickerIndexType;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * Query for gets the change watermark of the picker values: the number and the maximum id of the
+ * rows, and the number of the rows after the maximum id of the previous watermark. The watermark
+ * changes if a value is added or deleted.
+ */
+public class PickerIndexWatermarkQuery implements QuerydslCallable<PickerIndexWatermarkDTO> {
+
+  private final PickerIndexType pickerIndexType;
+
+  private final long previousMaxId;
+
+  /**
+   * Simple constructor.
+   *
+   * @param pickerIndexType
+   *          the type of the picker values.
+   * @param previousMaxId
+   *          the maximum id of the previous watermark. The rows with greater id are counted as
+   *          added rows.
+   */
+  public PickerIndexWatermarkQuery(final PickerIndexType pickerIndexType,
+      final long previousMaxId) {
+    this.pickerIndexType = pickerIndexType;
+    this.previousMaxId = previousMaxId;
+  }
+
+  @Override
+  public PickerIndexWatermarkDTO call(final Connection connection,
+      final Configuration configuration) throws SQLException {
+    RelationalPathBase<?> table;
+    NumberPath<Long> id;
+    if (PickerIndexType.LABEL.equals(pickerIndexType)) {
+      QLabel qLabel = new QLabel("label");
+      table = qLabel;
+      id = qLabel.id;
+    } else if (PickerIndexType.COMPONENT.equals(pickerIndexType)) {
+      QComponent qComponent = new QComponent("component");
+      table = qComponent;
+      id = qComponent.id;
+    } else {
+      QProjectversion qProjectversion = new QProjectversion("p_version");
+      table = qProjectversion;
+      id = qProjectversion.id;
+    }
+    return new SQLQuery<PickerIndexWatermarkDTO>(connection, configuration)
+        .select(Projections.bean(PickerIndexWatermarkDTO.class,
+            id.count().as(PickerIndexWatermarkDTO.AliasNames.ROW_COUNT),
+            id.max().as(PickerIndexWatermarkDTO.AliasNames.MAX_ID),
+            new CaseBuilder()
+                .when(id.gt(previousMaxId)).then(1L)
+                .otherwise(0L)
+                .sum()
+                .as(PickerIndexWatermarkDTO.AliasNames.ADDED_ROW_COUNT)))
+        .from(table)
+        .fetchOne();
+  }
+
+}
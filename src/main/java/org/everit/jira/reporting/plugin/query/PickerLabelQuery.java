@@ -17,38 +17,65 @@ package org.everit.jira.reporting.plugin.query;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.everit.jira.querydsl.schema.QJiraissue;
 import org.everit.jira.querydsl.schema.QLabel;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.PickerLabelDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+import org.everit.jira.reporting.plugin.index.PickerValueIndex;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
-import com.querydsl.core.types.Projections;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.SQLQuery;
 
 /**
- * Query for gets labels to picker.
+ * Query for gets labels of the browsable projects to picker.
+ * Used until the picker index is built, the names are ordered and paged in the order of the index.
  */
 public class PickerLabelQuery implements QuerydslCallable<List<PickerLabelDTO>> {
 
+  private final PickerSearchParam pickerSearchParam;
+
+  private QJiraissue qIssue;
+
   private QLabel qLabel;
 
-  public PickerLabelQuery() {
+  /**
+   * Simple constructor.
+   *
+   * @param pickerSearchParam
+   *          the picker search param.
+   */
+  public PickerLabelQuery(final PickerSearchParam pickerSearchParam) {
+    this.pickerSearchParam = pickerSearchParam;
     qLabel = new QLabel("label");
+    qIssue = new QJiraissue("issue");
   }
 
   @Override
   public List<PickerLabelDTO> call(final Connection connection, final Configuration configuration)
       throws SQLException {
+    if (pickerSearchParam.projectIds.isEmpty()) {
+      return new ArrayList<>();
+    }
 
-    List<PickerLabelDTO> result = new SQLQuery<PickerLabelDTO>(connection, configuration)
-        .select(Projections.bean(PickerLabelDTO.class,
-            qLabel.label.as(PickerLabelDTO.AliasNames.LABEL_NAME)))
+    List<String> names = new SQLQuery<String>(connection, configuration)
+        .select(qLabel.label)
         .from(qLabel)
-        .groupBy(qLabel.label)
-        .orderBy(qLabel.label.asc())
+        .innerJoin(qIssue).on(qIssue.id.eq(qLabel.issue))
+        .where(qIssue.project.in(pickerSearchParam.projectIds)
+            .and(QueryUtil.createPickerNameCondition(qLabel.label, pickerSearchParam)))
+        .distinct()
         .fetch();
+    List<PickerLabelDTO> result = new ArrayList<>();
+    for (String name : PickerValueIndex.page(names, pickerSearchParam)) {
+      PickerLabelDTO label = new PickerLabelDTO();
+      label.setName(name);
+      result.add(label);
+    }
 
     return result;
   }
@@ -17,18 +17,22 @@ package org.everit.jira.reporting.plugin.query;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.everit.jira.querydsl.schema.QProjectversion;
 import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
 import org.everit.jira.reporting.plugin.dto.PickerVersionDTO;
+import org.everit.jira.reporting.plugin.index.PickerValueIndex;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
-import com.querydsl.core.types.Projections;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.SQLQuery;
 
 /**
- * Query for gets versions to picker.
+ * Query for gets versions of the browsable projects to picker.
+ * Used until the picker index is built, the names are ordered and paged in the order of the index.
  */
 public class PickerVersionQuery implements QuerydslCallable<List<PickerVersionDTO>> {
 
@@ -60,34 +64,82 @@ public class PickerVersionQuery implements QuerydslCallable<List<PickerVersionDT
     }
   }
 
+  private static void addStaticVersion(final List<PickerVersionDTO> result,
+      final PickerVersionDTO version, final PickerSearchParam pickerSearchParam) {
+    if (pickerSearchParam.matches(version.getName())) {
+      result.add(0, version);
+    }
+  }
+
+  /**
+   * Add the static versions of the type to the first page of the result if they match to the
+   * query text. They are added on top of the limit of the page and they are not part of the
+   * paging.
+   *
+   * @param result
+   *          the versions found in the database or in the index.
+   * @param pickerVersionQueryType
+   *          the type that defines the static versions.
+   * @param pickerSearchParam
+   *          the picker search param.
+   */
+  public static void addStaticVersions(final List<PickerVersionDTO> result,
+      final PickerVersionQueryType pickerVersionQueryType,
+      final PickerSearchParam pickerSearchParam) {
+    if (!pickerSearchParam.isFirstPage()) {
+      return;
+    }
+    if (PickerVersionQueryType.AFFECTED_VERSION.equals(pickerVersionQueryType)) {
+      addStaticVersion(result, PickerVersionDTO.createNoVersion(), pickerSearchParam);
+    } else if (PickerVersionQueryType.FIX_VERSION.equals(pickerVersionQueryType)) {
+      addStaticVersion(result, PickerVersionDTO.createUnReleasedVersion(), pickerSearchParam);
+      addStaticVersion(result, PickerVersionDTO.createReleasedVersion(), pickerSearchParam);
+      addStaticVersion(result, PickerVersionDTO.createNoVersion(), pickerSearchParam);
+    }
+  }
+
+  private final PickerSearchParam pickerSearchParam;
+
   private PickerVersionQueryType pickerVersionQueryType;
 
   private QProjectversion qProjectversion;
 
-  public PickerVersionQuery(final PickerVersionQueryType pickerVersionQueryType) {
+  /**
+   * Simple constructor.
+   *
+   * @param pickerVersionQueryType
+   *          the type that defines the static versions of the result.
+   * @param pickerSearchParam
+   *          the picker search param.
+   */
+  public PickerVersionQuery(final PickerVersionQueryType pickerVersionQueryType,
+      final PickerSearchParam pickerSearchParam) {
     qProjectversion = new QProjectversion("p_version");
     this.pickerVersionQueryType = pickerVersionQueryType;
+    this.pickerSearchParam = pickerSearchParam;
   }
 
   @Override
   public List<PickerVersionDTO> call(final Connection connection, final Configuration configuration)
       throws SQLException {
-
-    List<PickerVersionDTO> result = new SQLQuery<PickerVersionDTO>(connection, configuration)
-        .select(Projections.bean(PickerVersionDTO.class,
-            qProjectversion.vname.as(PickerVersionDTO.AliasNames.VERSION_NAME)))
-        .from(qProjectversion)
-        .groupBy(qProjectversion.vname)
-        .orderBy(qProjectversion.vname.asc())
-        .fetch();
-
-    if (PickerVersionQueryType.AFFECTED_VERSION.equals(pickerVersionQueryType)) {
-      result.add(0, PickerVersionDTO.createNoVersion());
-    } else if (PickerVersionQueryType.FIX_VERSION.equals(pickerVersionQueryType)) {
-      result.add(0, PickerVersionDTO.createUnReleasedVersion());
-      result.add(0, PickerVersionDTO.createReleasedVersion());
-      result.add(0, PickerVersionDTO.createNoVersion());
+    List<PickerVersionDTO> result = new ArrayList<>();
+    if (!pickerSearchParam.projectIds.isEmpty()) {
+      List<String> names = new SQLQuery<String>(connection, configuration)
+          .select(qProjectversion.vname)
+          .from(qProjectversion)
+          .where(qProjectversion.project.in(pickerSearchParam.projectIds)
+              .and(QueryUtil.createPickerNameCondition(qProjectversion.vname,
+                  pickerSearchParam)))
+          .distinct()
+          .fetch();
+      for (String name : PickerValueIndex.page(names, pickerSearchParam)) {
+        PickerVersionDTO version = new PickerVersionDTO();
+        version.setName(name);
+        result.add(version);
+      }
     }
+
+    addStaticVersions(result, pickerVersionQueryType, pickerSearchParam);
     return result;
   }
 
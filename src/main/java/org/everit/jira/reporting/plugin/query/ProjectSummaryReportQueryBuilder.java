@@ -24,11 +24,12 @@ import org.everit.jira.querydsl.schema.QProject;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.ProjectSummaryDTO;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
+import org.everit.jira.reporting.plugin.query.mapper.ProjectSummaryRowMapper;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
 
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.PathType;
-import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.sql.Configuration;
@@ -56,11 +57,12 @@ public class ProjectSummaryReportQueryBuilder extends AbstractReportQuery<Projec
         SQLQuery<Long> fromQuery = new SQLQuery<Long>(connection, configuration)
             .select(qProject.id.count().as(projectCountPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qProject.id);
 
-        SQLQuery<Long> query = new SQLQuery<Long>(connection, configuration)
+        SQLQuery<Long> query = createCachedQuery(connection, configuration, "count", params)
             .select(projectCountPath.count())
             .from(fromQuery.as("fromCount"));
 
@@ -110,15 +112,16 @@ public class ProjectSummaryReportQueryBuilder extends AbstractReportQuery<Projec
             qIssue.timeestimate.min().as(timeEstimateIssueSumPath),
             qWorklog.timeworked.sum().as(workloggedIssueSumPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qProject.id, qIssue.id);
 
         QProject qProject = new QProject("m_project");
         SQLQuery<ProjectSummaryDTO> query =
-            new SQLQuery<ProjectSummaryDTO>(connection, configuration)
+            createCachedQuery(connection, configuration, "query", params)
                 .select(
-                    Projections.bean(ProjectSummaryDTO.class,
+                    new ProjectSummaryRowMapper(
                         qProject.pkey.as(ProjectSummaryDTO.AliasNames.PROJECT_KEY),
                         qProject.pname.as(ProjectSummaryDTO.AliasNames.PROJECT_NAME),
                         timeOriginalIssueSumPath.sum().as(timeOriginalSumPath),
@@ -22,12 +22,13 @@ import java.util.List;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
 import org.everit.jira.reporting.plugin.dto.UserSummaryDTO;
+import org.everit.jira.reporting.plugin.query.mapper.UserSummaryRowMapper;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
 import org.everit.jira.reporting.plugin.query.util.QueryUtil;
 
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.PathType;
-import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberPath;
@@ -58,11 +59,12 @@ public class UserSummaryReportQueryBuilder extends AbstractReportQuery<UserSumma
         SQLQuery<Long> fromQuery = new SQLQuery<Long>(connection, configuration)
             .select(qWorklog.author.count().as(authorCountPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qWorklog.author);
 
-        SQLQuery<Long> query = new SQLQuery<Long>(connection, configuration)
+        SQLQuery<Long> query = createCachedQuery(connection, configuration, "count", params)
             .select(authorCountPath.count())
             .from(fromQuery.as("fromCount"));
 
@@ -96,14 +98,16 @@ public class UserSummaryReportQueryBuilder extends AbstractReportQuery<UserSumma
                 .as(userPath),
             qWorklog.timeworked.sum().as(worklogTimeSumPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qWorklog.author);
 
-        SQLQuery<UserSummaryDTO> query = new SQLQuery<UserSummaryDTO>(connection, configuration)
-            .select(Projections.bean(UserSummaryDTO.class,
-                userPath,
-                worklogTimeSumPath));
+        SQLQuery<UserSummaryDTO> query =
+            createCachedQuery(connection, configuration, "query", params)
+                .select(new UserSummaryRowMapper(
+                    userPath,
+                    worklogTimeSumPath));
         query.from(fromQuery.as("fromQuery"));
         query.orderBy(userPath.asc());
 
@@ -20,34 +20,37 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.everit.jira.querydsl.schema.QComponent;
-import org.everit.jira.querydsl.schema.QCustomfield;
 import org.everit.jira.querydsl.schema.QCustomfieldvalue;
 import org.everit.jira.querydsl.schema.QIssuelink;
-import org.everit.jira.querydsl.schema.QIssuelinktype;
 import org.everit.jira.querydsl.schema.QJiraissue;
 import org.everit.jira.querydsl.schema.QNodeassociation;
 import org.everit.jira.querydsl.schema.QProjectversion;
 import org.everit.jira.querydsl.support.QuerydslCallable;
 import org.everit.jira.reporting.plugin.column.WorklogDetailsColumns;
+import org.everit.jira.reporting.plugin.dto.EpicDTO;
 import org.everit.jira.reporting.plugin.dto.OrderBy;
 import org.everit.jira.reporting.plugin.dto.ReportSearchParam;
 import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsPageBuffer;
+import org.everit.jira.reporting.plugin.index.EpicCatalog;
+import org.everit.jira.reporting.plugin.index.EpicCatalogCache;
+import org.everit.jira.reporting.plugin.query.mapper.WorklogDetailsRowMapper;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
 import org.everit.jira.reporting.plugin.query.util.QueryUtil;
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
 
 import com.atlassian.jira.entity.Entity;
 import com.atlassian.jira.issue.IssueRelationConstants;
+import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.group.GroupBy;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.PathMetadata;
 import com.querydsl.core.types.PathType;
-import com.querydsl.core.types.Projections;
-import com.querydsl.core.types.QBean;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.Expressions;
@@ -63,10 +66,6 @@ import com.querydsl.sql.SQLQuery;
  */
 public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<WorklogDetailsDTO> {
 
-  private SimpleExpression<String> epicLink;
-
-  private SimpleExpression<String> epicName;
-
   private SimpleExpression<String> issueAssigneeExpression;
 
   private StringExpression issueKey;
@@ -92,8 +91,6 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
   public WorklogDetailsReportQueryBuilder(final ReportSearchParam reportSearchParam,
       final OrderBy orderBy) {
     super(reportSearchParam);
-    epicLink = epicLinkExpression();
-    epicName = epicNameExpression();
 
     if (orderBy != null) {
       this.orderBy = orderBy;
@@ -105,12 +102,80 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
     createOrderByMap();
   }
 
-  private ConcurrentSkipListSet<Long> collectIssueIds(final List<WorklogDetailsDTO> result) {
-    ConcurrentSkipListSet<Long> issueIds = new ConcurrentSkipListSet<>();
-    for (WorklogDetailsDTO worklogDetailsDTO : result) {
-      issueIds.add(worklogDetailsDTO.getIssueId());
-    }
-    return issueIds;
+  /**
+   * Build the query that collects the result to a {@link WorklogDetailsPageBuffer} instead of a
+   * list of {@link WorklogDetailsDTO}s. The rows are read one by one into the buffer and the
+   * timestamps are converted to the time zone of the user. The loading of the returned buffer is
+   * finished, see {@link WorklogDetailsPageBuffer#finishLoading()}.
+   */
+  public QuerydslCallable<WorklogDetailsPageBuffer> buildPageBufferQuery() {
+    return new QuerydslCallable<WorklogDetailsPageBuffer>() {
+
+      @Override
+      public WorklogDetailsPageBuffer call(final Connection connection,
+          final Configuration configuration) throws SQLException {
+        WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer();
+        if ((reportSearchParam.issueKeys == null) && (reportSearchParam.issueIds == null)) {
+          pageBuffer.finishLoading();
+          return pageBuffer;
+        }
+        EpicCatalog epicCatalog = EpicCatalogCache.getCatalog(connection, configuration);
+
+        CloseableIterator<WorklogDetailsDTO> iterator =
+            createQuery(connection, configuration, epicCatalog).iterate();
+        try {
+          while (iterator.hasNext()) {
+            pageBuffer.add(convertToUserTimeZone(iterator.next()));
+          }
+        } finally {
+          iterator.close();
+        }
+
+        extendPageBuffer(connection, configuration, pageBuffer, epicCatalog);
+        pageBuffer.finishLoading();
+
+        return pageBuffer;
+      }
+
+    };
+  }
+
+  /**
+   * Build the list based query. The rows are read through {@link #buildPageBufferQuery()}, so the
+   * issue and worklog timestamps of the returned DTOs are already converted to the time zone of
+   * the user; do not convert them again.
+   */
+  @Override
+  public QuerydslCallable<List<WorklogDetailsDTO>> buildQuery() {
+    return super.buildQuery();
+  }
+
+  private WorklogDetailsDTO convertToUserTimeZone(final WorklogDetailsDTO worklogDetailsDTO) {
+    worklogDetailsDTO.setIssueCreated(
+        DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetailsDTO.getIssueCreated()));
+    worklogDetailsDTO.setIssueUpdated(
+        DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetailsDTO.getIssueUpdated()));
+    worklogDetailsDTO.setWorklogCreated(
+        DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetailsDTO.getWorklogCreated()));
+    worklogDetailsDTO.setWorklogStartDate(
+        DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetailsDTO.getWorklogStartDate()));
+    worklogDetailsDTO.setWorklogUpdated(
+        DateTimeConverterUtil.addTimeZoneToTimestamp(worklogDetailsDTO.getWorklogUpdated()));
+    return worklogDetailsDTO;
+  }
+
+  /**
+   * The epic columns are not selected, but the order by them is still done by the database. The
+   * displayed names come from the {@link EpicCatalog}, that is refreshed before the query when an
+   * issue or an issue link changed, so the displayed names match the names the rows are ordered
+   * by.
+   */
+  private void createEpicOrderByExpressions(final EpicCatalog epicCatalog) {
+    QIssuelink qIssueLink = new QIssuelink("issueLink");
+    orderByMap.put(WorklogDetailsColumns.ISSUE_EPIC_NAME,
+        epicOrderByExpression(qIssueLink.source.eq(qIssue.id), qIssueLink, epicCatalog));
+    orderByMap.put(WorklogDetailsColumns.ISSUE_EPIC_LINK,
+        epicOrderByExpression(qIssueLink.destination.eq(qIssue.id), qIssueLink, epicCatalog));
   }
 
   private void createExpressions() {
@@ -155,12 +220,41 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
     orderByMap.put(WorklogDetailsColumns.USER, worklogAuthorExpression);
     orderByMap.put(WorklogDetailsColumns.WORKLOG_CREATED, qWorklog.created);
     orderByMap.put(WorklogDetailsColumns.WORKLOG_UPDATED, qWorklog.updated);
-    orderByMap.put(WorklogDetailsColumns.ISSUE_EPIC_NAME, epicName);
-    orderByMap.put(WorklogDetailsColumns.ISSUE_EPIC_LINK, epicLink);
   }
 
-  private QBean<WorklogDetailsDTO> createQuerySelectProjection() {
-    return Projections.bean(WorklogDetailsDTO.class,
+  private SQLQuery<WorklogDetailsDTO> createQuery(final Connection connection,
+      final Configuration configuration, final EpicCatalog epicCatalog) {
+    createEpicOrderByExpressions(epicCatalog);
+
+    // the order and the epic catalog ids are not bound, they are part of the query shape
+    QueryParams params = new QueryParams()
+        .addShape(orderBy.columnName)
+        .addShape(String.valueOf(orderBy.asc))
+        .addShape(epicCatalog.getEpicLinkTypeId() + ":" + epicCatalog.getEpicNameFieldId());
+    SQLQuery<WorklogDetailsDTO> query =
+        createCachedQuery(connection, configuration, "query", params)
+            .select(createQuerySelectProjection());
+
+    appendBaseFromAndJoin(query);
+    appendBaseWhere(query, params);
+    appendQueryRange(query);
+
+    Expression<?> expression = orderByMap.get(orderBy.columnName);
+    Order order = Order.DESC;
+    if (expression == null) {
+      expression = orderByMap.get(OrderBy.DEFAULT.columnName);
+      order = Order.ASC;
+    } else {
+      if (orderBy.asc) {
+        order = Order.ASC;
+      }
+    }
+    query.orderBy(new OrderSpecifier(order, expression));
+    return query;
+  }
+
+  private WorklogDetailsRowMapper createQuerySelectProjection() {
+    return new WorklogDetailsRowMapper(
         qProject.pname.as(WorklogDetailsDTO.AliasNames.PROJECT_NAME),
         qProject.pkey.as(WorklogDetailsDTO.AliasNames.PROJECT_KEY),
         issueKey.as(WorklogDetailsDTO.AliasNames.ISSUE_KEY),
@@ -185,72 +279,49 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
         qWorklog.startdate.as(WorklogDetailsDTO.AliasNames.WORKLOG_START_DATE),
         qWorklog.created.as(WorklogDetailsDTO.AliasNames.WORKLOG_CREATED),
         qWorklog.updated.as(WorklogDetailsDTO.AliasNames.WORKLOG_UPDATED),
-        worklogAuthorExpression,
-        epicLink,
-        epicName);
+        worklogAuthorExpression);
 
   }
 
-  private SimpleExpression<String> epicLinkExpression() {
-    QIssuelink qIssueLink = new QIssuelink("issueLink");
-    return epicProjection(qIssueLink.destination.eq(qIssue.id), qIssueLink)
-        .as(WorklogDetailsDTO.AliasNames.ISSUE_EPIC_LINK);
-  }
-
-  private SimpleExpression<String> epicNameExpression() {
-    QIssuelink qIssueLink = new QIssuelink("issueLink");
-    return epicProjection(qIssueLink.source.eq(qIssue.id), qIssueLink)
-        .as(WorklogDetailsDTO.AliasNames.ISSUE_EPIC_NAME);
-  }
-
-  private SQLQuery<String> epicProjection(final BooleanExpression epicExpression,
-      final QIssuelink qIssueLink) {
-    QCustomfield qCustomfield = new QCustomfield("customfield");
-
-    QIssuelinktype qIssueLinkType = new QIssuelinktype("issueLinkType");
-    return SQLExpressions.select(qCustomfieldValue.stringvalue)
+  private SQLQuery<String> epicOrderByExpression(final BooleanExpression epicExpression,
+      final QIssuelink qIssueLink, final EpicCatalog epicCatalog) {
+    // the field ids are resolved by the catalog, no join to customfield and issuelinktype
+    return SQLExpressions.select(qCustomfieldValue.stringvalue.min())
         .from(qIssueLink)
-        .join(qIssueLinkType).on(qIssueLink.linktype.eq(qIssueLinkType.id))
         .join(qCustomfieldValue).on(qIssueLink.source.eq(qCustomfieldValue.issue))
-        .join(qCustomfield).on(qCustomfield.id.eq(qCustomfieldValue.customfield))
         .where(epicExpression
-            .and(qIssueLinkType.linkname.eq("Epic-Story Link"))
-            .and(qCustomfield.cfname.eq("Epic Name")))
-        .groupBy(qCustomfieldValue.stringvalue);
+            .and(qIssueLink.linktype.eq(epicCatalog.getEpicLinkTypeId()))
+            .and(qCustomfieldValue.customfield.eq(epicCatalog.getEpicNameFieldId())));
   }
 
-  private void extendResult(final Connection connection, final Configuration configuration,
-      final List<WorklogDetailsDTO> result) {
-    ConcurrentSkipListSet<Long> collectIssueIds = collectIssueIds(result);
-
-    Map<Long, List<String>> issueComponents = selectIssueComponents(connection, configuration,
-        collectIssueIds);
-
-    Map<Long, List<String>> issueFixedVersions = selectIssueFixedVersions(connection, configuration,
-        collectIssueIds);
-
-    Map<Long, List<String>> issueAffectedVersions = selectAffectedVersions(connection,
-        configuration, collectIssueIds);
+  private void extendPageBuffer(final Connection connection,
+      final Configuration configuration, final WorklogDetailsPageBuffer pageBuffer,
+      final EpicCatalog epicCatalog) {
+    IssueIdSet issueIds = pageBuffer.getIssueIds();
+    if (issueIds.isEmpty()) {
+      return;
+    }
 
-    for (WorklogDetailsDTO worklogDetailsDTO : result) {
-      Long issueId = worklogDetailsDTO.getIssueId();
+    pageBuffer.setIssueComponents(selectIssueComponents(connection, configuration, issueIds));
+    pageBuffer.setIssueFixedVersions(
+        selectIssueFixedVersions(connection, configuration, issueIds));
+    pageBuffer.setIssueAffectedVersions(
+        selectAffectedVersions(connection, configuration, issueIds));
 
-      List<String> components = issueComponents.get(issueId);
-      if (components != null) {
-        worklogDetailsDTO.setIssueComponents(components);
-      }
+    Map<Long, List<Long>> issueEpicIds = selectIssueEpicIds(connection, configuration,
+        issueIds, epicCatalog);
 
-      List<String> affectedVersions = issueAffectedVersions.get(issueId);
-      if (affectedVersions != null) {
-        worklogDetailsDTO.setIssueAffectedVersions(affectedVersions);
+    for (long issueId : issueIds.toArray()) {
+      EpicDTO epic = epicCatalog.getEpic(issueId);
+      if (epic != null) {
+        pageBuffer.setIssueEpicName(issueId, epic.getEpicName());
       }
 
-      List<String> fixedVersions = issueFixedVersions.get(issueId);
-      if (fixedVersions != null) {
-        worklogDetailsDTO.setIssueFixedVersions(fixedVersions);
+      List<Long> epicIds = issueEpicIds.get(issueId);
+      if (epicIds != null) {
+        pageBuffer.setIssueEpicLink(issueId, getEpicName(epicIds, epicCatalog));
       }
     }
-
   }
 
   @Override
@@ -265,11 +336,12 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
         SQLQuery<Long> fromQuery = new SQLQuery<Long>(connection, configuration)
             .select(qWorklog.id.count().as(worklogCountPath));
 
+        QueryParams params = new QueryParams();
         appendBaseFromAndJoin(fromQuery);
-        appendBaseWhere(fromQuery);
+        appendBaseWhere(fromQuery, params);
         fromQuery.groupBy(qWorklog.id);
 
-        SQLQuery<Long> query = new SQLQuery<Long>(connection, configuration)
+        SQLQuery<Long> query = createCachedQuery(connection, configuration, "count", params)
             .select(worklogCountPath.count())
             .from(fromQuery.as("fromCount"));
 
@@ -278,46 +350,36 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
     };
   }
 
+  private String getEpicName(final List<Long> epicIds, final EpicCatalog epicCatalog) {
+    for (Long epicId : epicIds) {
+      EpicDTO epic = epicCatalog.getEpic(epicId);
+      if (epic != null) {
+        return epic.getEpicName();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The list based query reads the rows through {@link #buildPageBufferQuery()}, the returned
+   * {@link WorklogDetailsPageBuffer} is the list.
+   */
   @Override
   protected QuerydslCallable<List<WorklogDetailsDTO>> getQuery() {
+    final QuerydslCallable<WorklogDetailsPageBuffer> pageBufferQuery = buildPageBufferQuery();
     return new QuerydslCallable<List<WorklogDetailsDTO>>() {
 
       @Override
       public List<WorklogDetailsDTO> call(final Connection connection,
           final Configuration configuration) throws SQLException {
-
-        SQLQuery<WorklogDetailsDTO> query =
-            new SQLQuery<WorklogDetailsDTO>(connection, configuration)
-                .select(createQuerySelectProjection());
-
-        appendBaseFromAndJoin(query);
-        appendBaseWhere(query);
-        appendQueryRange(query);
-
-        Expression<?> expression = orderByMap.get(orderBy.columnName);
-        Order order = Order.DESC;
-        if (expression == null) {
-          expression = orderByMap.get(OrderBy.DEFAULT.columnName);
-          order = Order.ASC;
-        } else {
-          if (orderBy.asc) {
-            order = Order.ASC;
-          }
-        }
-        query.orderBy(new OrderSpecifier(order, expression));
-
-        List<WorklogDetailsDTO> result = query.fetch();
-
-        extendResult(connection, configuration, result);
-
-        return result;
+        return pageBufferQuery.call(connection, configuration);
       }
 
     };
   }
 
   private Map<Long, List<String>> selectAffectedVersions(final Connection connection,
-      final Configuration configuration, final Set<Long> issueIds) {
+      final Configuration configuration, final IssueIdSet issueIds) {
     QJiraissue qIssue = new QJiraissue("na_issue");
     QNodeassociation qNodeassociation = new QNodeassociation("nodeassocitation");
     QProjectversion qProjectversion = new QProjectversion("na_version");
@@ -330,12 +392,12 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
         .where(qNodeassociation.associationType.eq(IssueRelationConstants.VERSION)
             .and(qNodeassociation.sinkNodeEntity.eq(Entity.Name.VERSION))
             .and(qNodeassociation.sourceNodeEntity.eq(Entity.Name.ISSUE))
-            .and(qIssue.id.in(issueIds)))
+            .and(QueryUtil.createIdInCondition(qIssue.id, issueIds)))
         .transform(GroupBy.groupBy(qIssue.id).as(GroupBy.list(qProjectversion.vname)));
   }
 
   private Map<Long, List<String>> selectIssueComponents(final Connection connection,
-      final Configuration configuration, final Set<Long> issueIds) {
+      final Configuration configuration, final IssueIdSet issueIds) {
     QJiraissue qIssue = new QJiraissue("na_issue");
     QNodeassociation qNodeassociation = new QNodeassociation("nodeassocitation");
     QComponent qComponent = new QComponent("na_component");
@@ -348,12 +410,32 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
         .where(qNodeassociation.associationType.eq(IssueRelationConstants.COMPONENT)
             .and(qNodeassociation.sinkNodeEntity.eq(Entity.Name.COMPONENT))
             .and(qNodeassociation.sourceNodeEntity.eq(Entity.Name.ISSUE))
-            .and(qIssue.id.in(issueIds)))
+            .and(QueryUtil.createIdInCondition(qIssue.id, issueIds)))
         .transform(GroupBy.groupBy(qIssue.id).as(GroupBy.list(qComponent.cname)));
   }
 
+  /**
+   * Select the epic ids of the stories in one query. The epic names are resolved by the
+   * {@link EpicCatalog}.
+   */
+  private Map<Long, List<Long>> selectIssueEpicIds(final Connection connection,
+      final Configuration configuration, final IssueIdSet issueIds,
+      final EpicCatalog epicCatalog) {
+    if (!epicCatalog.isAvailable()) {
+      return new HashMap<>();
+    }
+    QIssuelink qIssueLink = new QIssuelink("epicIssueLink");
+
+    return new SQLQuery<>(connection, configuration)
+        .select(qIssueLink.destination, qIssueLink.source)
+        .from(qIssueLink)
+        .where(qIssueLink.linktype.eq(epicCatalog.getEpicLinkTypeId())
+            .and(QueryUtil.createIdInCondition(qIssueLink.destination, issueIds)))
+        .transform(GroupBy.groupBy(qIssueLink.destination).as(GroupBy.list(qIssueLink.source)));
+  }
+
   private Map<Long, List<String>> selectIssueFixedVersions(final Connection connection,
-      final Configuration configuration, final Set<Long> issueIds) {
+      final Configuration configuration, final IssueIdSet issueIds) {
     QJiraissue qIssue = new QJiraissue("na_issue");
     QNodeassociation qNodeassociation = new QNodeassociation("nodeassocitation");
     QProjectversion qProjectversion = new QProjectversion("na_version");
@@ -366,7 +448,7 @@ public class WorklogDetailsReportQueryBuilder extends AbstractReportQuery<Worklo
         .where(qNodeassociation.associationType.eq(IssueRelationConstants.FIX_VERSION)
             .and(qNodeassociation.sinkNodeEntity.eq(Entity.Name.VERSION))
             .and(qNodeassociation.sourceNodeEntity.eq(Entity.Name.ISSUE))
-            .and(qIssue.id.in(issueIds)))
+            .and(QueryUtil.createIdInCondition(qIssue.id, issueIds)))
         .transform(GroupBy.groupBy(qIssue.id).as(GroupBy.list(qProjectversion.vname)));
   }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.mapper;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Visitor;
+
+/**
+ * Projection that maps the query rows to DTOs without reflection. The selected expressions are
+ * matched to the properties by their alias names once, when the mapper is created. The row values
+ * are read by column index and set with direct setter calls.
+ *
+ * @param <T>
+ *          the type of the DTO.
+ */
+public abstract class AbstractRowMapper<T> extends FactoryExpressionBase<T> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<Expression<?>> args;
+
+  private final int[] columnIndexes;
+
+  /**
+   * Constructor.
+   *
+   * @param type
+   *          the type of the DTO.
+   * @param propertyNames
+   *          the alias names of the properties, in the order of the property indexes.
+   * @param args
+   *          the selected expressions. Paths or expressions with alias.
+   */
+  protected AbstractRowMapper(final Class<? extends T> type, final String[] propertyNames,
+      final Expression<?>... args) {
+    super(type);
+    this.args = Collections.unmodifiableList(Arrays.<Expression<?>> asList(args));
+    columnIndexes = new int[propertyNames.length];
+    Arrays.fill(columnIndexes, -1);
+    List<String> names = Arrays.asList(propertyNames);
+    for (int i = 0; i < args.length; i++) {
+      int propertyIndex = names.indexOf(getName(args[i]));
+      if (propertyIndex < 0) {
+        throw new IllegalArgumentException("Unknown property of " + type.getSimpleName() + ": "
+            + args[i]);
+      }
+      columnIndexes[propertyIndex] = i;
+    }
+  }
+
+  private static String getName(final Expression<?> expression) {
+    if ((expression instanceof Operation)
+        && (((Operation<?>) expression).getOperator() == Ops.ALIAS)) {
+      return getName(((Operation<?>) expression).getArg(1));
+    }
+    if (expression instanceof Path) {
+      return ((Path<?>) expression).getMetadata().getName();
+    }
+    throw new IllegalArgumentException("Expression without alias: " + expression);
+  }
+
+  @Override
+  public <R, C> R accept(final Visitor<R, C> v, final C context) {
+    return v.visit(this, context);
+  }
+
+  @Override
+  public List<Expression<?>> getArgs() {
+    return args;
+  }
+
+  /**
+   * Gets the value of the property from the row.
+   *
+   * @param row
+   *          the values of the selected expressions.
+   * @param propertyIndex
+   *          the index of the property.
+   * @return the value or <code>null</code> if the property is not selected.
+   */
+  protected Long getLong(final Object[] row, final int propertyIndex) {
+    return (Long) getValue(row, propertyIndex);
+  }
+
+  /**
+   * Gets the value of a primitive property from the row. <code>null</code> is mapped to zero, like
+   * the not set primitive bean properties.
+   */
+  protected long getLongValue(final Object[] row, final int propertyIndex) {
+    Long value = getLong(row, propertyIndex);
+    return value == null ? 0L : value.longValue();
+  }
+
+  /**
+   * Gets the value of the property from the row. See {@link #getLong(Object[], int)}.
+   */
+  protected String getString(final Object[] row, final int propertyIndex) {
+    return (String) getValue(row, propertyIndex);
+  }
+
+  /**
+   * Gets the value of the property from the row. See {@link #getLong(Object[], int)}.
+   */
+  protected Timestamp getTimestamp(final Object[] row, final int propertyIndex) {
+    return (Timestamp) getValue(row, propertyIndex);
+  }
+
+  private Object getValue(final Object[] row, final int propertyIndex) {
+    int columnIndex = columnIndexes[propertyIndex];
+    return columnIndex < 0 ? null : row[columnIndex];
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.mapper;
+
+import org.everit.jira.reporting.plugin.dto.IssueSummaryDTO;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * Row mapper of the {@link IssueSummaryDTO}.
+ */
+public class IssueSummaryRowMapper extends AbstractRowMapper<IssueSummaryDTO> {
+
+  private static final int ASSIGNEE = 0;
+
+  private static final int ISSUE_AVATAR_ID = 1;
+
+  private static final int ISSUE_KEY = 2;
+
+  private static final int ISSUE_ORIGINAL_ESTIMATE_SUM = 3;
+
+  private static final int ISSUE_SUMMARY = 4;
+
+  private static final int ISSUE_TIME_ESTIMATE_SUM = 5;
+
+  private static final int ISSUE_TYPE_ICON_URL = 6;
+
+  private static final int ISSUE_TYPE_NAME = 7;
+
+  private static final int PRIORITY_ICON_URL = 8;
+
+  private static final int PRIORITY_NAME = 9;
+
+  private static final String[] PROPERTY_NAMES = {
+      IssueSummaryDTO.AliasNames.ASSIGNEE,
+      IssueSummaryDTO.AliasNames.ISSUE_AVATAR_ID,
+      IssueSummaryDTO.AliasNames.ISSUE_KEY,
+      IssueSummaryDTO.AliasNames.ISSUE_ORIGINAL_ESTIMATE_SUM,
+      IssueSummaryDTO.AliasNames.ISSUE_SUMMARY,
+      IssueSummaryDTO.AliasNames.ISSUE_TIME_ESTIMATE_SUM,
+      IssueSummaryDTO.AliasNames.ISSUE_TYPE_ICON_URL,
+      IssueSummaryDTO.AliasNames.ISSUE_TYPE_NAME,
+      IssueSummaryDTO.AliasNames.PRIORITY_ICON_URL,
+      IssueSummaryDTO.AliasNames.PRIORITY_NAME,
+      IssueSummaryDTO.AliasNames.STATUS_NAME,
+      IssueSummaryDTO.AliasNames.WORKLOGGED_TIME_SUM };
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int STATUS_NAME = 10;
+
+  private static final int WORKLOGGED_TIME_SUM = 11;
+
+  /**
+   * Constructor.
+   *
+   * @param args
+   *          the selected expressions with the alias names of the {@link IssueSummaryDTO}.
+   */
+  public IssueSummaryRowMapper(final Expression<?>... args) {
+    super(IssueSummaryDTO.class, PROPERTY_NAMES, args);
+  }
+
+  @Override
+  public IssueSummaryDTO newInstance(final Object... row) {
+    IssueSummaryDTO issueSummaryDTO = new IssueSummaryDTO();
+    issueSummaryDTO.setAssignee(getString(row, ASSIGNEE));
+    issueSummaryDTO.setIssueAvatarId(getLong(row, ISSUE_AVATAR_ID));
+    issueSummaryDTO.setIssueKey(getString(row, ISSUE_KEY));
+    issueSummaryDTO.setOrginalEstimatedSum(getLongValue(row, ISSUE_ORIGINAL_ESTIMATE_SUM));
+    issueSummaryDTO.setIssueSummary(getString(row, ISSUE_SUMMARY));
+    issueSummaryDTO.setReaminingTimeSum(getLongValue(row, ISSUE_TIME_ESTIMATE_SUM));
+    issueSummaryDTO.setIssueTypeIconUrl(getString(row, ISSUE_TYPE_ICON_URL));
+    issueSummaryDTO.setIssueTypeName(getString(row, ISSUE_TYPE_NAME));
+    issueSummaryDTO.setPriorityIconUrl(getString(row, PRIORITY_ICON_URL));
+    issueSummaryDTO.setPriorityName(getString(row, PRIORITY_NAME));
+    issueSummaryDTO.setStatusName(getString(row, STATUS_NAME));
+    issueSummaryDTO.setWorkloggedTimeSum(getLongValue(row, WORKLOGGED_TIME_SUM));
+    return issueSummaryDTO;
+  }
+
+}
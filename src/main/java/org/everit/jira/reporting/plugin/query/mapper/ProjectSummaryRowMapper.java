@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.mapper;
+
+import org.everit.jira.reporting.plugin.dto.ProjectSummaryDTO;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * Row mapper of the {@link ProjectSummaryDTO}.
+ */
+public class ProjectSummaryRowMapper extends AbstractRowMapper<ProjectSummaryDTO> {
+
+  private static final int ISSUE_TIME_ESTIMATE_SUM = 0;
+
+  private static final int ISSUE_TIME_ORIGINAL_ESTIMATE_SUM = 1;
+
+  private static final int PROJECT_KEY = 2;
+
+  private static final int PROJECT_NAME = 3;
+
+  private static final String[] PROPERTY_NAMES = {
+      ProjectSummaryDTO.AliasNames.ISSUE_TIME_ESTIMATE_SUM,
+      ProjectSummaryDTO.AliasNames.ISSUE_TIME_ORIGINAL_ESTIMATE_SUM,
+      ProjectSummaryDTO.AliasNames.PROJECT_KEY,
+      ProjectSummaryDTO.AliasNames.PROJECT_NAME,
+      ProjectSummaryDTO.AliasNames.WORKLOGGED_TIME_SUM };
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int WORKLOGGED_TIME_SUM = 4;
+
+  /**
+   * Constructor.
+   *
+   * @param args
+   *          the selected expressions with the alias names of the {@link ProjectSummaryDTO}.
+   */
+  public ProjectSummaryRowMapper(final Expression<?>... args) {
+    super(ProjectSummaryDTO.class, PROPERTY_NAMES, args);
+  }
+
+  @Override
+  public ProjectSummaryDTO newInstance(final Object... row) {
+    ProjectSummaryDTO projectSummaryDTO = new ProjectSummaryDTO();
+    projectSummaryDTO.setIssuesReaminingTimeSum(getLongValue(row, ISSUE_TIME_ESTIMATE_SUM));
+    projectSummaryDTO
+        .setIssuesOrginalEstimatedSum(getLongValue(row, ISSUE_TIME_ORIGINAL_ESTIMATE_SUM));
+    projectSummaryDTO.setProjectKey(getString(row, PROJECT_KEY));
+    projectSummaryDTO.setProjectName(getString(row, PROJECT_NAME));
+    projectSummaryDTO.setWorkloggedTimeSum(getLongValue(row, WORKLOGGED_TIME_SUM));
+    return projectSummaryDTO;
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.mapper;
+
+import org.everit.jira.reporting.plugin.dto.UserSummaryDTO;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * Row mapper of the {@link UserSummaryDTO}.
+ */
+public class UserSummaryRowMapper extends AbstractRowMapper<UserSummaryDTO> {
+
+  private static final String[] PROPERTY_NAMES = {
+      UserSummaryDTO.AliasNames.USER_DISPLAY_NAME,
+      UserSummaryDTO.AliasNames.WORKLOGGED_TIME_SUM };
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int USER_DISPLAY_NAME = 0;
+
+  private static final int WORKLOGGED_TIME_SUM = 1;
+
+  /**
+   * Constructor.
+   *
+   * @param args
+   *          the selected expressions with the alias names of the {@link UserSummaryDTO}.
+   */
+  public UserSummaryRowMapper(final Expression<?>... args) {
+    super(UserSummaryDTO.class, PROPERTY_NAMES, args);
+  }
+
+  @Override
+  public UserSummaryDTO newInstance(final Object... row) {
+    UserSummaryDTO userSummaryDTO = new UserSummaryDTO();
+    userSummaryDTO.setUserDisplayName(getString(row, USER_DISPLAY_NAME));
+    userSummaryDTO.setWorkloggedTimeSum(getLongValue(row, WORKLOGGED_TIME_SUM));
+    return userSummaryDTO;
+  }
+
+}
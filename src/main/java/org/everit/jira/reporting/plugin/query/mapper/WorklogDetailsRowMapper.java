@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.mapper;
+
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * Row mapper of the {@link WorklogDetailsDTO}.
+ */
+public class WorklogDetailsRowMapper extends AbstractRowMapper<WorklogDetailsDTO> {
+
+  private static final int ISSUE_ASSIGNEE = 0;
+
+  private static final int ISSUE_AVATAR_ID = 1;
+
+  private static final int ISSUE_CREATED = 2;
+
+  private static final int ISSUE_EPIC_LINK = 3;
+
+  private static final int ISSUE_EPIC_NAME = 4;
+
+  private static final int ISSUE_ID = 5;
+
+  private static final int ISSUE_KEY = 6;
+
+  private static final int ISSUE_REPORTER = 7;
+
+  private static final int ISSUE_STATUS_P_NAME = 8;
+
+  private static final int ISSUE_SUMMARY = 9;
+
+  private static final int ISSUE_TIME_ESTIMATE = 10;
+
+  private static final int ISSUE_TIME_ORIGINAL_ESTIMATE = 11;
+
+  private static final int ISSUE_TYPE_ICON_URL = 12;
+
+  private static final int ISSUE_TYPE_NAME = 13;
+
+  private static final int ISSUE_UPDATED = 14;
+
+  private static final int PRIORITY_ICON_URL = 15;
+
+  private static final int PRIORITY_NAME = 16;
+
+  private static final int PROJECT_DESCRIPTION = 17;
+
+  private static final int PROJECT_KEY = 18;
+
+  private static final int PROJECT_NAME = 19;
+
+  private static final String[] PROPERTY_NAMES = {
+      WorklogDetailsDTO.AliasNames.ISSUE_ASSIGNEE,
+      WorklogDetailsDTO.AliasNames.ISSUE_AVATAR_ID,
+      WorklogDetailsDTO.AliasNames.ISSUE_CREATED,
+      WorklogDetailsDTO.AliasNames.ISSUE_EPIC_LINK,
+      WorklogDetailsDTO.AliasNames.ISSUE_EPIC_NAME,
+      WorklogDetailsDTO.AliasNames.ISSUE_ID,
+      WorklogDetailsDTO.AliasNames.ISSUE_KEY,
+      WorklogDetailsDTO.AliasNames.ISSUE_REPORTER,
+      WorklogDetailsDTO.AliasNames.ISSUE_STATUS_P_NAME,
+      WorklogDetailsDTO.AliasNames.ISSUE_SUMMARY,
+      WorklogDetailsDTO.AliasNames.ISSUE_TIME_ESTIMATE,
+      WorklogDetailsDTO.AliasNames.ISSUE_TIME_ORIGINAL_ESTIMATE,
+      WorklogDetailsDTO.AliasNames.ISSUE_TYPE_ICON_URL,
+      WorklogDetailsDTO.AliasNames.ISSUE_TYPE_NAME,
+      WorklogDetailsDTO.AliasNames.ISSUE_UPDATED,
+      WorklogDetailsDTO.AliasNames.PRIORITY_ICON_URL,
+      WorklogDetailsDTO.AliasNames.PRIORITY_NAME,
+      WorklogDetailsDTO.AliasNames.PROJECT_DESCRIPTION,
+      WorklogDetailsDTO.AliasNames.PROJECT_KEY,
+      WorklogDetailsDTO.AliasNames.PROJECT_NAME,
+      WorklogDetailsDTO.AliasNames.RESOLUTION_NAME,
+      WorklogDetailsDTO.AliasNames.WORKLOG_BODY,
+      WorklogDetailsDTO.AliasNames.WORKLOG_CREATED,
+      WorklogDetailsDTO.AliasNames.WORKLOG_START_DATE,
+      WorklogDetailsDTO.AliasNames.WORKLOG_TIME_WORKED,
+      WorklogDetailsDTO.AliasNames.WORKLOG_UPDATED,
+      WorklogDetailsDTO.AliasNames.WORKLOG_USER };
+
+  private static final int RESOLUTION_NAME = 20;
+
+  private static final int WORKLOG_BODY = 21;
+
+  private static final int WORKLOG_CREATED = 22;
+
+  private static final int WORKLOG_START_DATE = 23;
+
+  private static final int WORKLOG_TIME_WORKED = 24;
+
+  private static final int WORKLOG_UPDATED = 25;
+
+  private static final int WORKLOG_USER = 26;
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructor.
+   *
+   * @param args
+   *          the selected expressions with the alias names of the {@link WorklogDetailsDTO}.
+   */
+  public WorklogDetailsRowMapper(final Expression<?>... args) {
+    super(WorklogDetailsDTO.class, PROPERTY_NAMES, args);
+  }
+
+  @Override
+  public WorklogDetailsDTO newInstance(final Object... row) {
+    WorklogDetailsDTO worklogDetailsDTO = new WorklogDetailsDTO();
+    worklogDetailsDTO.setIssueAssignee(getString(row, ISSUE_ASSIGNEE));
+    worklogDetailsDTO.setIssueAvatarId(getLong(row, ISSUE_AVATAR_ID));
+    worklogDetailsDTO.setIssueCreated(getTimestamp(row, ISSUE_CREATED));
+    worklogDetailsDTO.setIssueEpicLink(getString(row, ISSUE_EPIC_LINK));
+    worklogDetailsDTO.setIssueEpicName(getString(row, ISSUE_EPIC_NAME));
+    worklogDetailsDTO.setIssueId(getLong(row, ISSUE_ID));
+    worklogDetailsDTO.setIssueKey(getString(row, ISSUE_KEY));
+    worklogDetailsDTO.setIssueReporter(getString(row, ISSUE_REPORTER));
+    worklogDetailsDTO.setIssueStatusName(getString(row, ISSUE_STATUS_P_NAME));
+    worklogDetailsDTO.setIssueSummary(getString(row, ISSUE_SUMMARY));
+    worklogDetailsDTO.setIssueRemainingEstimate(getLong(row, ISSUE_TIME_ESTIMATE));
+    worklogDetailsDTO.setIssueOriginalEstimate(getLong(row, ISSUE_TIME_ORIGINAL_ESTIMATE));
+    worklogDetailsDTO.setIssueTypeIconUrl(getString(row, ISSUE_TYPE_ICON_URL));
+    worklogDetailsDTO.setIssueTypeName(getString(row, ISSUE_TYPE_NAME));
+    worklogDetailsDTO.setIssueUpdated(getTimestamp(row, ISSUE_UPDATED));
+    worklogDetailsDTO.setPriorityIconUrl(getString(row, PRIORITY_ICON_URL));
+    worklogDetailsDTO.setPriorityName(getString(row, PRIORITY_NAME));
+    worklogDetailsDTO.setProjectDescription(getString(row, PROJECT_DESCRIPTION));
+    worklogDetailsDTO.setProjectKey(getString(row, PROJECT_KEY));
+    worklogDetailsDTO.setProjectName(getString(row, PROJECT_NAME));
+    worklogDetailsDTO.setResolutionName(getString(row, RESOLUTION_NAME));
+    worklogDetailsDTO.setWorklogBody(getString(row, WORKLOG_BODY));
+    worklogDetailsDTO.setWorklogCreated(getTimestamp(row, WORKLOG_CREATED));
+    worklogDetailsDTO.setWorklogStartDate(getTimestamp(row, WORKLOG_START_DATE));
+    worklogDetailsDTO.setWorklogTimeWorked(getLong(row, WORKLOG_TIME_WORKED));
+    worklogDetailsDTO.setWorklogUpdated(getTimestamp(row, WORKLOG_UPDATED));
+    worklogDetailsDTO.setWorklogUser(getString(row, WORKLOG_USER));
+    return worklogDetailsDTO;
+  }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.util;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLSerializer;
+
+/**
+ * {@link SQLQuery} that serializes the query only once per query name, SQL dialect, shape key of
+ * the {@link QueryParams} and the presence of the limit and the offset. The later queries with the
+ * same key reuse the SQL and bind only the param values, so the JDBC drivers and the connection
+ * pool can reuse the prepared statements too. All request dependent values of the query must be
+ * bound through the {@link QueryParams}. The queries with id sets inlined as literals are
+ * serialized every time, see {@link QueryParams#isCacheable()}.
+ *
+ * <p>
+ * The limit and the offset are bound, so all pages of a report share one cached SQL. This works
+ * only if the dialect binds the limit and the offset as they are; it is checked by serializing the
+ * query with probe values once. The dialects that compute the row range or inline it (for example
+ * Oracle) serialize the paged queries every time.
+ *
+ * <p>
+ * Only the serialized SQL is cached. The query tree is still built for every request, because the
+ * param values and the shape key are collected while the tree is built.
+ *
+ * @param <T>
+ *          the type of the result.
+ */
+public class CachedSQLQuery<T> extends SQLQuery<T> {
+
+  /**
+   * The serialized SQL of a query shape and the indexes of the limit and the offset in its
+   * constants. The SQL is null if the shape can not be reused by the other pages.
+   */
+  private static final class CachedSql {
+
+    private final List<Path<?>> constantPaths;
+
+    private final List<Object> constants;
+
+    private final int limitIndex;
+
+    private final int offsetIndex;
+
+    private final String sql;
+
+    CachedSql() {
+      sql = null;
+      constants = null;
+      constantPaths = null;
+      limitIndex = -1;
+      offsetIndex = -1;
+    }
+
+    CachedSql(final SQLSerializer serializer, final int limitIndex, final int offsetIndex) {
+      sql = serializer.toString();
+      constants = new ArrayList<>(serializer.getConstants());
+      constantPaths = new ArrayList<>(serializer.getConstantPaths());
+      this.limitIndex = limitIndex;
+      this.offsetIndex = offsetIndex;
+    }
+
+    boolean isReusable() {
+      return sql != null;
+    }
+  }
+
+  /**
+   * Serializer of a cache hit. It gives the cached SQL with the limit and the offset of the current
+   * query.
+   */
+  private static final class CachedSerializer extends SQLSerializer {
+
+    private final List<Path<?>> constantPaths;
+
+    private final List<Object> constants;
+
+    private final String sql;
+
+    CachedSerializer(final Configuration configuration, final CachedSql cachedSql,
+        final QueryModifiers modifiers) {
+      super(configuration);
+      sql = cachedSql.sql;
+      constantPaths = cachedSql.constantPaths;
+      constants = new ArrayList<>(cachedSql.constants);
+      if (cachedSql.limitIndex >= 0) {
+        constants.set(cachedSql.limitIndex, modifiers.getLimit());
+      }
+      if (cachedSql.offsetIndex >= 0) {
+        constants.set(cachedSql.offsetIndex, modifiers.getOffset());
+      }
+    }
+
+    @Override
+    public List<Path<?>> getConstantPaths() {
+      return constantPaths;
+    }
+
+    @Override
+    public List<Object> getConstants() {
+      return constants;
+    }
+
+    @Override
+    public String toString() {
+      return sql;
+    }
+  }
+
+  public static final int MAX_CACHED_SHAPES = 512;
+
+  private static final Long LIMIT_PROBE = Long.valueOf(1000000007L);
+
+  private static final CachedSql NOT_REUSABLE = new CachedSql();
+
+  private static final Long OFFSET_PROBE = Long.valueOf(1000000009L);
+
+  private static final ConcurrentMap<String, CachedSql> SQLS = new ConcurrentHashMap<>();
+
+  private final Configuration configuration;
+
+  private final String dialectName;
+
+  private final QueryParams params;
+
+  private final String queryName;
+
+  /**
+   * Constructor.
+   *
+   * @param connection
+   *          the JDBC connection.
+   * @param configuration
+   *          the Querydsl configuration.
+   * @param queryName
+   *          the unique name of the query.
+   * @param params
+   *          the params of the query and its subqueries.
+   */
+  public CachedSQLQuery(final Connection connection, final Configuration configuration,
+      final String queryName, final QueryParams params) {
+    super(connection, configuration);
+    this.configuration = configuration;
+    this.queryName = queryName;
+    this.params = params;
+    dialectName = configuration.getTemplates().getClass().getName();
+  }
+
+  /**
+   * Drop the cached SQL of all shapes.
+   */
+  public static void clear() {
+    SQLS.clear();
+  }
+
+  private String createCacheKey() {
+    QueryModifiers modifiers = getMetadata().getModifiers();
+    return dialectName + '|' + queryName + '|' + (modifiers.getLimit() != null) + '|'
+        + (modifiers.getOffset() != null) + '|' + params.getShapeKey();
+  }
+
+  /**
+   * Create the cache entry of the serialized query. The query is serialized again with probe
+   * values of the limit and the offset. The SQL is reusable by the other pages only if the probe
+   * gives the same SQL and the constants differ only in the limit and the offset.
+   */
+  private CachedSql createCachedSql(final SQLSerializer serializer) {
+    QueryModifiers modifiers = getMetadata().getModifiers();
+    if (!modifiers.isRestricting()) {
+      return new CachedSql(serializer, -1, -1);
+    }
+    QueryMetadata probeMetadata = getMetadata().clone();
+    probeMetadata.setModifiers(new QueryModifiers(
+        modifiers.getLimit() == null ? null : LIMIT_PROBE,
+        modifiers.getOffset() == null ? null : OFFSET_PROBE));
+    SQLSerializer probe = createSerializer();
+    probe.serialize(probeMetadata, false);
+
+    List<Object> constants = serializer.getConstants();
+    List<Object> probeConstants = probe.getConstants();
+    if (!serializer.toString().equals(probe.toString())
+        || (constants.size() != probeConstants.size())) {
+      return NOT_REUSABLE;
+    }
+    int limitIndex = -1;
+    int offsetIndex = -1;
+    for (int i = 0; i < constants.size(); i++) {
+      Object probeConstant = probeConstants.get(i);
+      if (LIMIT_PROBE.equals(probeConstant) && (limitIndex < 0)) {
+        limitIndex = i;
+      } else if (OFFSET_PROBE.equals(probeConstant) && (offsetIndex < 0)) {
+        offsetIndex = i;
+      } else if (!Objects.equals(constants.get(i), probeConstant)) {
+        return NOT_REUSABLE;
+      }
+    }
+    if (((limitIndex >= 0) != (modifiers.getLimit() != null))
+        || ((offsetIndex >= 0) != (modifiers.getOffset() != null))) {
+      return NOT_REUSABLE;
+    }
+    return new CachedSql(serializer, limitIndex, offsetIndex);
+  }
+
+  /**
+   * Bind the params and return the serializer of the query. On a cache hit the serializer gives the
+   * cached SQL and the constants of the current limit and offset.
+   */
+  @Override
+  protected SQLSerializer serialize(final boolean forCountRow) {
+    params.bindTo(this);
+    if (forCountRow || !params.isCacheable()) {
+      return super.serialize(forCountRow);
+    }
+    String cacheKey = createCacheKey();
+    CachedSql cachedSql = SQLS.get(cacheKey);
+    if (cachedSql == null) {
+      SQLSerializer serializer = super.serialize(false);
+      if (SQLS.size() >= MAX_CACHED_SHAPES) {
+        SQLS.clear();
+      }
+      SQLS.putIfAbsent(cacheKey, createCachedSql(serializer));
+      return serializer;
+    }
+    if (!cachedSql.isReusable()) {
+      return super.serialize(false);
+    }
+    return new CachedSerializer(configuration, cachedSql, getMetadata().getModifiers());
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.query.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.sql.SQLQuery;
+
+/**
+ * The request dependent values of a report query as named {@link Param}s, and the shape key of the
+ * query. The shape key contains the names of the params, the sizes of the lists and the flags that
+ * change the query without binding a value, so the queries with the same shape key have the same
+ * SQL and differ only in the param values. See {@link CachedSQLQuery}.
+ */
+public class QueryParams {
+
+  private boolean cacheable = true;
+
+  private final StringBuilder shapeKey = new StringBuilder();
+
+  private final Map<Param<?>, Object> values = new LinkedHashMap<>();
+
+  /**
+   * Add a flag to the shape key. Used for the conditions that change the query without binding a
+   * value.
+   *
+   * @param flag
+   *          the flag.
+   * @return this.
+   */
+  public QueryParams addShape(final String flag) {
+    shapeKey.append(flag).append(';');
+    return this;
+  }
+
+  /**
+   * Create a named param with the value.
+   *
+   * @param type
+   *          the type of the value.
+   * @param name
+   *          the unique name of the param in the query.
+   * @param value
+   *          the value.
+   * @return the param.
+   */
+  public <T> Param<T> bind(final Class<T> type, final String name, final T value) {
+    Param<T> param = new Param<>(type, name);
+    values.put(param, value);
+    shapeKey.append(name).append(';');
+    return param;
+  }
+
+  /**
+   * Create a named param for each value of the list. The params are named by the name and the
+   * index.
+   *
+   * @param type
+   *          the type of the values.
+   * @param name
+   *          the unique name of the list in the query.
+   * @param list
+   *          the values.
+   * @return the params.
+   */
+  public <T> List<Param<T>> bindAll(final Class<T> type, final String name,
+      final Collection<? extends T> list) {
+    List<Param<T>> params = new ArrayList<>(list.size());
+    int i = 0;
+    for (T value : list) {
+      Param<T> param = new Param<>(type, name + "_" + i);
+      values.put(param, value);
+      params.add(param);
+      i++;
+    }
+    shapeKey.append(name).append('[').append(list.size()).append("];");
+    return params;
+  }
+
+  /**
+   * Set the values of the params to the query.
+   *
+   * @param query
+   *          the outermost query, the params of the subqueries are bound by it too.
+   */
+  @SuppressWarnings("unchecked")
+  public void bindTo(final SQLQuery<?> query) {
+    for (Map.Entry<Param<?>, Object> entry : values.entrySet()) {
+      query.set((Param<Object>) entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Create the condition that the id is in the id set. Not more than
+   * {@link QueryUtil#MAX_BOUND_IDS} ids are {@link QueryUtil#padIds(IssueIdSet) padded} and bound
+   * as params, so the shape key depends only on the padded size. Bigger id sets are inlined as
+   * literals and the query can not be cached.
+   *
+   * @param id
+   *          the id expression.
+   * @param name
+   *          the unique name of the id list in the query.
+   * @param ids
+   *          the ids. Must not be empty.
+   * @return the condition.
+   */
+  public BooleanExpression createIdInCondition(final NumberExpression<Long> id,
+      final String name, final Collection<Long> ids) {
+    return createIdInCondition(id, name, IssueIdSet.of(ids));
+  }
+
+  /**
+   * Create the condition that the id is in the id set. See
+   * {@link #createIdInCondition(NumberExpression, String, Collection)}.
+   */
+  public BooleanExpression createIdInCondition(final NumberExpression<Long> id,
+      final String name, final IssueIdSet ids) {
+    if (ids.size() > QueryUtil.MAX_BOUND_IDS) {
+      cacheable = false;
+      return QueryUtil.createIdLiteralInCondition(id, ids);
+    }
+    long[] paddedIds = QueryUtil.padIds(ids);
+    List<Long> values = new ArrayList<>(paddedIds.length);
+    for (long paddedId : paddedIds) {
+      values.add(paddedId);
+    }
+    return QueryUtil.createChunkedInCondition(id, bindAll(Long.class, name, values));
+  }
+
+  /**
+   * Create the condition that the expression is in the values. Each value is bound as a param.
+   *
+   * @param expression
+   *          the checked expression.
+   * @param type
+   *          the type of the values.
+   * @param name
+   *          the unique name of the list in the query.
+   * @param list
+   *          the values. Must not be empty.
+   * @return the condition.
+   */
+  public <T> BooleanExpression createInCondition(final SimpleExpression<T> expression,
+      final Class<T> type, final String name, final Collection<? extends T> list) {
+    return QueryUtil.createInCondition(expression, bindAll(type, name, list));
+  }
+
+  public String getShapeKey() {
+    return shapeKey.toString();
+  }
+
+  /**
+   * Check the SQL of the query depends only on the shape key. It does not if an id set is inlined
+   * as literals.
+   */
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+}
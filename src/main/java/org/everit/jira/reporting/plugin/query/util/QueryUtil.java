@@ -15,14 +15,28 @@
  */
 package org.everit.jira.reporting.plugin.query.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
 import org.everit.jira.querydsl.schema.QAppUser;
 import org.everit.jira.querydsl.schema.QCwdDirectory;
+import org.everit.jira.querydsl.schema.QCwdDirectoryAttribute;
+import org.everit.jira.querydsl.schema.QCwdMembership;
 import org.everit.jira.querydsl.schema.QCwdUser;
 import org.everit.jira.querydsl.schema.QJiraissue;
 import org.everit.jira.querydsl.schema.QProject;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.SimpleExpression;
 import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.sql.SQLExpressions;
@@ -33,6 +47,155 @@ import com.querydsl.sql.SQLQuery;
  */
 public final class QueryUtil {
 
+  /**
+   * The maximum number of the ids of one id set bound as params. Bigger id sets are inlined as
+   * numeric literals, so the parameter limits of the databases (2100 on SQL Server, 32767 on
+   * PostgreSQL) are not reached by any id set.
+   */
+  public static final int MAX_BOUND_IDS = 512;
+
+  /**
+   * The maximum number of the ids in one IN list (1000 on Oracle).
+   */
+  public static final int MAX_IN_LIST_SIZE = 1000;
+
+  /**
+   * The smallest size of the padded IN lists, see {@link #padIds(IssueIdSet)}.
+   */
+  public static final int MIN_IN_LIST_SIZE = 16;
+
+  /**
+   * The maximum depth of the resolved nested groups.
+   */
+  public static final int MAX_NESTED_GROUP_DEPTH = 5;
+
+  private static final int DIRECTORY_ACTIVE = 1;
+
+  private static final String DIRECTORY_ATTRIBUTE_USE_NESTED_GROUPS = "useNestedGroups";
+
+  private static final String MEMBERSHIP_TYPE_GROUP_GROUP = "GROUP_GROUP";
+
+  private static final String MEMBERSHIP_TYPE_GROUP_USER = "GROUP_USER";
+
+  /**
+   * Create the condition that the expression is in the values. The values are split to IN lists
+   * of {@link #MAX_IN_LIST_SIZE} values joined with OR.
+   *
+   * @param expression
+   *          the checked expression.
+   * @param values
+   *          the value expressions, bound as params. Must not be empty.
+   * @return the condition.
+   */
+  public static <T> BooleanExpression createChunkedInCondition(
+      final SimpleExpression<T> expression, final List<? extends Expression<? extends T>> values) {
+    BooleanExpression condition = null;
+    for (int from = 0; from < values.size(); from += MAX_IN_LIST_SIZE) {
+      int to = Math.min(from + MAX_IN_LIST_SIZE, values.size());
+      BooleanExpression inList = createInCondition(expression, values.subList(from, to));
+      condition = condition == null ? inList : condition.or(inList);
+    }
+    return condition;
+  }
+
+  /**
+   * Create the condition that the id is in the id set. See
+   * {@link #createIdInCondition(NumberExpression, IssueIdSet)}.
+   *
+   * @param id
+   *          the id expression.
+   * @param ids
+   *          the ids. Must not be empty.
+   * @return the condition.
+   */
+  public static BooleanExpression createIdInCondition(final NumberExpression<Long> id,
+      final Collection<Long> ids) {
+    return createIdInCondition(id, IssueIdSet.of(ids));
+  }
+
+  /**
+   * Create the condition that the id is in the id set. Not more than {@link #MAX_BOUND_IDS} ids
+   * are {@link #padIds(IssueIdSet) padded} and bound as params, so the id sets of similar size
+   * give the same SQL. Bigger id sets are inlined, see
+   * {@link #createIdLiteralInCondition(NumberExpression, IssueIdSet)}.
+   *
+   * @param id
+   *          the id expression.
+   * @param ids
+   *          the ids. Must not be empty.
+   * @return the condition.
+   */
+  public static BooleanExpression createIdInCondition(final NumberExpression<Long> id,
+      final IssueIdSet ids) {
+    if (ids.size() > MAX_BOUND_IDS) {
+      return createIdLiteralInCondition(id, ids);
+    }
+    long[] paddedIds = padIds(ids);
+    List<Expression<Long>> values = new ArrayList<>(paddedIds.length);
+    for (long paddedId : paddedIds) {
+      values.add(Expressions.constant(paddedId));
+    }
+    return createChunkedInCondition(id, values);
+  }
+
+  /**
+   * Create the condition that the id is in the id set without params. The sorted ids are inlined
+   * as numeric literals in IN lists of {@link #MAX_IN_LIST_SIZE} ids joined with OR, so the
+   * condition is valid for any size of the id set. The SQL differs for every id set.
+   *
+   * @param id
+   *          the id expression.
+   * @param ids
+   *          the ids. Must not be empty.
+   * @return the condition.
+   */
+  public static BooleanExpression createIdLiteralInCondition(final NumberExpression<Long> id,
+      final IssueIdSet ids) {
+    long[] sortedIds = ids.toArray();
+    BooleanExpression condition = null;
+    for (int from = 0; from < sortedIds.length; from += MAX_IN_LIST_SIZE) {
+      int to = Math.min(from + MAX_IN_LIST_SIZE, sortedIds.length);
+      StringBuilder template = new StringBuilder("{0} in (");
+      for (int i = from; i < to; i++) {
+        if (i > from) {
+          template.append(',');
+        }
+        // only long values are inlined, so the template can not be injected
+        template.append(sortedIds[i]);
+      }
+      template.append(')');
+      BooleanExpression inList = Expressions.booleanTemplate(template.toString(), id);
+      condition = condition == null ? inList : condition.or(inList);
+    }
+    return condition;
+  }
+
+  /**
+   * Create the condition that the expression is in the values. Used for the values that are
+   * bound as params, see {@link QueryParams}.
+   *
+   * @param expression
+   *          the checked expression.
+   * @param values
+   *          the value expressions. Must not be empty.
+   * @return the condition.
+   */
+  public static <T> BooleanExpression createInCondition(final SimpleExpression<T> expression,
+      final List<? extends Expression<? extends T>> values) {
+    StringBuilder template = new StringBuilder("{0} in (");
+    Object[] args = new Object[values.size() + 1];
+    args[0] = expression;
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        template.append(", ");
+      }
+      template.append('{').append(i + 1).append('}');
+      args[i + 1] = values.get(i);
+    }
+    template.append(')');
+    return Expressions.booleanTemplate(template.toString(), args);
+  }
+
   /**
    * Create issue key String expression.
    */
@@ -42,6 +205,58 @@ public final class QueryUtil {
     return issueKey;
   }
 
+  /**
+   * Create the picker search condition of the query text. The continuation after the last name of
+   * the previous page is not part of the condition, the names are paged by the
+   * {@link org.everit.jira.reporting.plugin.index.PickerValueIndex#page} in the order of the
+   * picker index.
+   *
+   * @param name
+   *          the name expression.
+   * @param pickerSearchParam
+   *          the picker search param.
+   * @return the condition.
+   */
+  public static BooleanBuilder createPickerNameCondition(final StringExpression name,
+      final PickerSearchParam pickerSearchParam) {
+    BooleanBuilder where = new BooleanBuilder();
+    if (pickerSearchParam.hasQuery()) {
+      if (PickerSearchParam.MatchMode.PREFIX.equals(pickerSearchParam.matchMode)) {
+        where.and(name.startsWithIgnoreCase(pickerSearchParam.query));
+      } else {
+        where.and(name.containsIgnoreCase(pickerSearchParam.query));
+      }
+    }
+    return where;
+  }
+
+  /**
+   * Gets the sorted ids padded by repeating the last id. Every full IN list has
+   * {@link #MAX_IN_LIST_SIZE} ids, the last one is padded to a power of two (at least
+   * {@link #MIN_IN_LIST_SIZE}), so there are only a few IN list sizes and the SQL of the queries
+   * can be reused. The repeated id does not change the result of the IN condition.
+   *
+   * @param ids
+   *          the ids. Must not be empty.
+   * @return the padded ids.
+   */
+  public static long[] padIds(final IssueIdSet ids) {
+    long[] sortedIds = ids.toArray();
+    int fullListsSize = (sortedIds.length / MAX_IN_LIST_SIZE) * MAX_IN_LIST_SIZE;
+    int lastListSize = sortedIds.length - fullListsSize;
+    if (lastListSize == 0) {
+      return sortedIds;
+    }
+    int paddedListSize = MIN_IN_LIST_SIZE;
+    while (paddedListSize < lastListSize) {
+      paddedListSize *= 2;
+    }
+    paddedListSize = Math.min(paddedListSize, MAX_IN_LIST_SIZE);
+    long[] paddedIds = Arrays.copyOf(sortedIds, fullListsSize + paddedListSize);
+    Arrays.fill(paddedIds, sortedIds.length, paddedIds.length, sortedIds[sortedIds.length - 1]);
+    return paddedIds;
+  }
+
   /**
    * Select user displayName for user.
    *
@@ -125,6 +340,87 @@ public final class QueryUtil {
         .exists();
   }
 
+  /**
+   * Select the groups of the given nesting depth below the groups: a flat join of the group
+   * memberships of the depth, all in the directory of the user membership.
+   */
+  private static SQLQuery<String> selectNestedGroups(
+      final List<? extends Expression<String>> lowerGroupNames,
+      final NumberExpression<Long> directoryId, final int depth) {
+    QCwdMembership first = new QCwdMembership("groupMembership" + depth + "_1");
+    BooleanExpression where = first.membershipType.eq(MEMBERSHIP_TYPE_GROUP_GROUP)
+        .and(first.directoryId.eq(directoryId))
+        .and(createInCondition(first.lowerParentName, lowerGroupNames));
+    List<QCwdMembership> joined = new ArrayList<>();
+    QCwdMembership last = first;
+    for (int level = 2; level <= depth; level++) {
+      QCwdMembership next = new QCwdMembership("groupMembership" + depth + "_" + level);
+      where = where.and(next.membershipType.eq(MEMBERSHIP_TYPE_GROUP_GROUP));
+      joined.add(next);
+      last = next;
+    }
+    SQLQuery<String> query = SQLExpressions.select(last.lowerChildName)
+        .from(first);
+    QCwdMembership previous = first;
+    for (QCwdMembership next : joined) {
+      query.join(next).on(next.lowerParentName.eq(previous.lowerChildName)
+          .and(next.directoryId.eq(previous.directoryId)));
+      previous = next;
+    }
+    return query.where(where);
+  }
+
+  /**
+   * Select the keys of the users who are members of the groups directly or through nested groups.
+   * The nested groups are resolved set-wise by one flat subquery per depth up to
+   * {@link #MAX_NESTED_GROUP_DEPTH}, only in the directories where the nested groups are enabled.
+   * A membership counts only in the active directory of the user with the highest priority and
+   * the nested groups must be in the same directory, like in JIRA.
+   *
+   * @param lowerGroupNames
+   *          the lower case names of the groups. Must not be empty.
+   * @return the subquery of the user keys.
+   */
+  public static SQLQuery<String> selectUserKeysInGroups(
+      final List<? extends Expression<String>> lowerGroupNames) {
+    QCwdMembership qUserMembership = new QCwdMembership("userMembership");
+    BooleanExpression inNestedGroups = null;
+    for (int depth = 1; depth <= MAX_NESTED_GROUP_DEPTH; depth++) {
+      BooleanExpression inDepth = qUserMembership.lowerParentName.in(
+          selectNestedGroups(lowerGroupNames, qUserMembership.directoryId, depth));
+      inNestedGroups = inNestedGroups == null ? inDepth : inNestedGroups.or(inDepth);
+    }
+    QCwdDirectoryAttribute qDirectoryAttribute =
+        new QCwdDirectoryAttribute("groupMemberDirAttribute");
+    BooleanExpression useNestedGroups = SQLExpressions.selectOne()
+        .from(qDirectoryAttribute)
+        .where(qDirectoryAttribute.directoryId.eq(qUserMembership.directoryId)
+            .and(qDirectoryAttribute.attributeName.eq(DIRECTORY_ATTRIBUTE_USE_NESTED_GROUPS))
+            .and(qDirectoryAttribute.attributeValue.eq(Boolean.TRUE.toString())))
+        .exists();
+    BooleanExpression inGroups =
+        createInCondition(qUserMembership.lowerParentName, lowerGroupNames)
+            .or(useNestedGroups.and(inNestedGroups));
+
+    QAppUser qAppUser = new QAppUser("groupMemberAppUser");
+    QCwdDirectory qCwdDirectory = new QCwdDirectory("groupMemberDirectory");
+    QCwdDirectory qCwdDirectoryMin = new QCwdDirectory("groupMemberDirMin");
+    QCwdUser qCwdUserMin = new QCwdUser("groupMemberUMin");
+    return SQLExpressions.select(qAppUser.userKey)
+        .from(qUserMembership)
+        .join(qAppUser).on(qAppUser.lowerUserName.eq(qUserMembership.lowerChildName))
+        .join(qCwdDirectory).on(qCwdDirectory.id.eq(qUserMembership.directoryId))
+        .where(qUserMembership.membershipType.eq(MEMBERSHIP_TYPE_GROUP_USER)
+            .and(inGroups)
+            .and(qCwdDirectory.active.eq(DIRECTORY_ACTIVE))
+            .and(qCwdDirectory.directoryPosition.eq(
+                SQLExpressions.select(qCwdDirectoryMin.directoryPosition.min())
+                    .from(qCwdDirectoryMin)
+                    .join(qCwdUserMin).on(qCwdUserMin.directoryId.eq(qCwdDirectoryMin.id))
+                    .where(qCwdUserMin.lowerUserName.eq(qUserMembership.lowerChildName)
+                        .and(qCwdDirectoryMin.active.eq(DIRECTORY_ACTIVE))))));
+  }
+
   private QueryUtil() {
   }
 }
@@ -82,7 +82,7 @@ public class PagingReport {
 
   private void appendRequiredContextParameters(final Map<String, Object> contextParameters,
       final FilterCondition filterCondition) {
-    contextParameters.put("durationFormatter", new DurationFormatter());
+    contextParameters.put("durationFormatter", DurationFormatter.getInstance());
     contextParameters.put("filterCondition", filterCondition);
 
     contextParameters.put("dateTimeFormatterDate", getDateTimeFormatterDate());
@@ -15,6 +15,7 @@
  */
 package org.everit.jira.reporting.plugin.rest;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.ws.rs.GET;
@@ -24,12 +25,17 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.everit.jira.core.util.BrowsableProjectCache;
 import org.everit.jira.querydsl.support.QuerydslSupport;
 import org.everit.jira.querydsl.support.ri.QuerydslSupportImpl;
 import org.everit.jira.reporting.plugin.dto.PickerComponentDTO;
 import org.everit.jira.reporting.plugin.dto.PickerEpicLinkDTO;
 import org.everit.jira.reporting.plugin.dto.PickerLabelDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
 import org.everit.jira.reporting.plugin.dto.PickerVersionDTO;
+import org.everit.jira.reporting.plugin.index.PickerIndexType;
+import org.everit.jira.reporting.plugin.index.PickerIndexes;
+import org.everit.jira.reporting.plugin.index.PickerValueIndex;
 import org.everit.jira.reporting.plugin.query.PickerComponentQuery;
 import org.everit.jira.reporting.plugin.query.PickerEpicLinkQuery;
 import org.everit.jira.reporting.plugin.query.PickerLabelQuery;
@@ -38,6 +44,8 @@ import org.everit.jira.reporting.plugin.query.PickerVersionQuery.PickerVersionQu
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.atlassian.jira.component.ComponentAccessor;
+
 /**
  * Responsible to define - and call implemented - list methods to pickers.
  */
@@ -46,6 +54,8 @@ public class PickerResource {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PickerResource.class);
 
+  private static final long MAX_LIMIT = 1000;
+
   private QuerydslSupport querydslSupport;
 
   /**
@@ -64,38 +74,119 @@ public class PickerResource {
         .build();
   }
 
+  private PickerSearchParam createPickerSearchParam(final String query, final String matchMode,
+      final Long limit, final String after, final Long afterId) {
+    Long boundedLimit = null;
+    if (limit != null) {
+      boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+    List<Long> projectIds = BrowsableProjectCache
+        .getProjectIds(ComponentAccessor.getJiraAuthenticationContext().getUser());
+    return new PickerSearchParam()
+        .query(query)
+        .matchMode(PickerSearchParam.MatchMode.getMatchMode(matchMode))
+        .limit(boundedLimit)
+        .after(after)
+        .afterId(afterId)
+        .projectIds(projectIds);
+  }
+
   /**
-   * List all components that defined in JIRA system. If no components return empty list response.
+   * List the components of the browsable projects. If no components return empty list response.
+   *
+   * @param query
+   *          the searched text. Optional.
+   * @param matchMode
+   *          the match mode of the searched text: CONTAINS (default) or PREFIX.
+   * @param limit
+   *          the maximum number of the components found. Optional, at most 1000. The static "no
+   *          component" value is not counted, so the first page can hold limit + 1 values.
+   * @param after
+   *          the last name of the previous page that is not the static value. Optional.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/listComponents")
-  public Response listComponents() {
-    List<PickerComponentDTO> components = querydslSupport.execute(new PickerComponentQuery());
+  public Response listComponents(@QueryParam("query") final String query,
+      @QueryParam("matchMode") final String matchMode, @QueryParam("limit") final Long limit,
+      @QueryParam("after") final String after) {
+    PickerSearchParam pickerSearchParam =
+        createPickerSearchParam(query, matchMode, limit, after, null);
+    PickerValueIndex index = PickerIndexes.getIndex(PickerIndexType.COMPONENT);
+    List<PickerComponentDTO> components;
+    if (index == null) {
+      components = querydslSupport.execute(new PickerComponentQuery(pickerSearchParam));
+    } else {
+      components = new ArrayList<>();
+      for (String name : index.search(pickerSearchParam)) {
+        PickerComponentDTO component = new PickerComponentDTO();
+        component.setName(name);
+        components.add(component);
+      }
+      PickerComponentQuery.addStaticComponents(components, pickerSearchParam);
+    }
 
     return buildResponse(components);
   }
 
   /**
-   * List epic links.
+   * List the epic links of the browsable projects.
+   *
+   * @param query
+   *          the searched text of the epic name. Optional.
+   * @param matchMode
+   *          the match mode of the searched text: CONTAINS (default) or PREFIX.
+   * @param limit
+   *          the maximum number of the result. Optional, at most 1000.
+   * @param after
+   *          the last epic name of the previous page. Optional.
+   * @param afterId
+   *          the last epic link id of the previous page. Optional.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/listEpicLinks")
-  public Response listEpicLinks() {
-    List<PickerEpicLinkDTO> epicLinks = querydslSupport.execute(new PickerEpicLinkQuery());
+  public Response listEpicLinks(@QueryParam("query") final String query,
+      @QueryParam("matchMode") final String matchMode, @QueryParam("limit") final Long limit,
+      @QueryParam("after") final String after, @QueryParam("afterId") final Long afterId) {
+    List<PickerEpicLinkDTO> epicLinks = querydslSupport.execute(new PickerEpicLinkQuery(
+        createPickerSearchParam(query, matchMode, limit, after, afterId)));
 
     return buildResponse(epicLinks);
   }
 
   /**
-   * List labels.
+   * List the labels of the browsable projects.
+   *
+   * @param query
+   *          the searched text. Optional.
+   * @param matchMode
+   *          the match mode of the searched text: CONTAINS (default) or PREFIX.
+   * @param limit
+   *          the maximum number of the result. Optional, at most 1000.
+   * @param after
+   *          the last name of the previous page. Optional.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/listLabels")
-  public Response listLables() {
-    List<PickerLabelDTO> labels = querydslSupport.execute(new PickerLabelQuery());
+  public Response listLables(@QueryParam("query") final String query,
+      @QueryParam("matchMode") final String matchMode, @QueryParam("limit") final Long limit,
+      @QueryParam("after") final String after) {
+    PickerSearchParam pickerSearchParam =
+        createPickerSearchParam(query, matchMode, limit, after, null);
+    PickerValueIndex index = PickerIndexes.getIndex(PickerIndexType.LABEL);
+    List<PickerLabelDTO> labels;
+    if (index == null) {
+      labels = querydslSupport.execute(new PickerLabelQuery(pickerSearchParam));
+    } else {
+      labels = new ArrayList<>();
+      for (String name : index.search(pickerSearchParam)) {
+        PickerLabelDTO label = new PickerLabelDTO();
+        label.setName(name);
+        labels.add(label);
+      }
+    }
 
     return buildResponse(labels);
   }
@@ -106,17 +197,42 @@ public class PickerResource {
    * @param pickerVersionQueryType
    *          the type name, that define how to modify list (add static no versions to result or
    *          not).
-   * @return the versions. If no one return empty list response.
+   * @param query
+   *          the searched text. Optional.
+   * @param matchMode
+   *          the match mode of the searched text: CONTAINS (default) or PREFIX.
+   * @param limit
+   *          the maximum number of the versions found. Optional, at most 1000. The static versions
+   *          of the type (at most 3) are not counted, so the first page can hold more values.
+   * @param after
+   *          the last name of the previous page that is not a static version. Optional.
+   * @return the versions of the browsable projects. If no one return empty list response.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/listVersions")
   public Response listVersions(
-      @QueryParam("pickerVersionQueryType") final String pickerVersionQueryType) {
+      @QueryParam("pickerVersionQueryType") final String pickerVersionQueryType,
+      @QueryParam("query") final String query, @QueryParam("matchMode") final String matchMode,
+      @QueryParam("limit") final Long limit, @QueryParam("after") final String after) {
     PickerVersionQueryType type =
         PickerVersionQueryType.getPickerVersionQueryType(pickerVersionQueryType);
 
-    List<PickerVersionDTO> versions = querydslSupport.execute(new PickerVersionQuery(type));
+    PickerSearchParam pickerSearchParam =
+        createPickerSearchParam(query, matchMode, limit, after, null);
+    PickerValueIndex index = PickerIndexes.getIndex(PickerIndexType.VERSION);
+    List<PickerVersionDTO> versions;
+    if (index == null) {
+      versions = querydslSupport.execute(new PickerVersionQuery(type, pickerSearchParam));
+    } else {
+      versions = new ArrayList<>();
+      for (String name : index.search(pickerSearchParam)) {
+        PickerVersionDTO version = new PickerVersionDTO();
+        version.setName(name);
+        versions.add(version);
+      }
+      PickerVersionQuery.addStaticVersions(versions, type, pickerSearchParam);
+    }
 
     return buildResponse(versions);
   }
@@ -16,15 +16,13 @@
 package org.everit.jira.reporting.plugin.util;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.everit.jira.core.impl.DateTimeServer;
+import org.everit.jira.core.util.BrowsableProjectCache;
 import org.everit.jira.core.util.TimetrackerUtil;
 import org.everit.jira.reporting.plugin.SearcherValue;
 import org.everit.jira.reporting.plugin.dto.ConvertedSearchParam;
@@ -43,19 +41,12 @@ import com.atlassian.jira.bc.filter.DefaultSearchRequestService;
 import com.atlassian.jira.bc.issue.search.SearchService;
 import com.atlassian.jira.bc.issue.search.SearchService.ParseResult;
 import com.atlassian.jira.component.ComponentAccessor;
-import com.atlassian.jira.issue.Issue;
 import com.atlassian.jira.issue.search.SearchException;
+import com.atlassian.jira.issue.search.SearchProvider;
 import com.atlassian.jira.issue.search.SearchRequest;
-import com.atlassian.jira.issue.search.SearchResults;
 import com.atlassian.jira.jql.parser.JqlParseException;
-import com.atlassian.jira.permission.ProjectPermissions;
-import com.atlassian.jira.project.Project;
 import com.atlassian.jira.security.JiraAuthenticationContext;
-import com.atlassian.jira.security.PermissionManager;
-import com.atlassian.jira.security.groups.GroupManager;
 import com.atlassian.jira.user.ApplicationUser;
-import com.atlassian.jira.user.util.UserManager;
-import com.atlassian.jira.web.bean.PagerFilter;
 import com.google.gson.Gson;
 
 /**
@@ -166,39 +157,26 @@ public final class ConverterUtil {
    */
   private static List<String> appendProjectIds(final ReportSearchParam reportSearchParam,
       final List<Long> projectIds) {
-    Map<Long, String> projectIdProjectKeys = new HashMap<>();
-    PermissionManager permissionManager = ComponentAccessor.getPermissionManager();
     JiraAuthenticationContext jiraAuthenticationContext =
         ComponentAccessor.getJiraAuthenticationContext();
     ApplicationUser user = jiraAuthenticationContext.getUser();
-    Collection<Project> projects =
-        permissionManager.getProjects(ProjectPermissions.BROWSE_PROJECTS, user);
-    List<Long> allBrowsableProjectIds = new ArrayList<>();
-    for (Project project : projects) {
-      Long projectId = project.getId();
-      allBrowsableProjectIds.add(projectId);
-      projectIdProjectKeys.put(projectId, project.getKey());
-    }
-
-    List<Long> notBrowsableProjectIds = new ArrayList<>();
+    List<Long> allBrowsableProjectIds = BrowsableProjectCache.getProjectIds(user);
 
+    List<String> notBrowsableProjectKeys = new ArrayList<>();
     if (projectIds.isEmpty()) {
       reportSearchParam.projectIds(allBrowsableProjectIds);
     } else {
-      notBrowsableProjectIds = new ArrayList<>(projectIds);
-      notBrowsableProjectIds.removeAll(allBrowsableProjectIds);
-
-      List<Long> browsableProjectIds = new ArrayList<>(projectIds);
-      browsableProjectIds.removeAll(notBrowsableProjectIds);
-
+      List<Long> browsableProjectIds = new ArrayList<>(projectIds.size());
+      for (Long projectId : projectIds) {
+        // the cached project ids are sorted
+        if (Collections.binarySearch(allBrowsableProjectIds, projectId) >= 0) {
+          browsableProjectIds.add(projectId);
+        } else {
+          notBrowsableProjectKeys.add(projectId.toString());
+        }
+      }
       reportSearchParam.projectIds(browsableProjectIds);
     }
-
-    List<String> notBrowsableProjectKeys = new ArrayList<>();
-    for (Long projectId : notBrowsableProjectIds) {
-      String projectKey = projectIdProjectKeys.get(projectId);
-      notBrowsableProjectKeys.add(projectKey == null ? projectId.toString() : projectKey);
-    }
     return notBrowsableProjectKeys;
   }
 
@@ -220,7 +198,9 @@ public final class ConverterUtil {
       }
     } else {
       if (!users.isEmpty() && users.contains(UserForPickerDTO.NONE_USER_KEY)) {
-        users = ConverterUtil.queryUsersInGroup(filterCondition.getGroups(), reportSearchParam);
+        // the group members are resolved in the database with a semi-join
+        users = Collections.emptyList();
+        reportSearchParam.groups(filterCondition.getGroups());
       } else if (users.remove(UserForPickerDTO.CURRENT_USER_KEY)) {
         users.add(loggedUserKey);
       }
@@ -266,7 +246,7 @@ public final class ConverterUtil {
 
     ReportSearchParam reportSearchParam = new ReportSearchParam();
     List<String> searchParamIssueKeys;
-    List<Long> searchParamIssueIds;
+    IssueIdSet searchParamIssueIds;
     List<String> notBrowsableProjectKeys;
 
     if (SearcherValue.FILTER.lowerCaseValue
@@ -384,9 +364,9 @@ public final class ConverterUtil {
         .asc("ASC".equals(order));
   }
 
-  private static List<Long> getIssueKeysFromFilterSearcerValue(
+  private static IssueIdSet getIssueKeysFromFilterSearcerValue(
       final FilterCondition filterCondition) throws SearchException, JqlParseException {
-    List<Long> searchParamIssueIds;
+    IssueIdSet searchParamIssueIds;
     DefaultSearchRequestService defaultSearchRequestService =
         ComponentAccessor.getComponentOfType(DefaultSearchRequestService.class);
     JiraAuthenticationContext authenticationContext = ComponentAccessor
@@ -405,52 +385,21 @@ public final class ConverterUtil {
     return searchParamIssueIds;
   }
 
-  private static List<Long> getIssuesIdByJQL(final String jql)
+  private static IssueIdSet getIssuesIdByJQL(final String jql)
       throws SearchException,
       JqlParseException {
     JiraAuthenticationContext authenticationContext = ComponentAccessor
         .getJiraAuthenticationContext();
     User loggedInUser = authenticationContext.getLoggedInUser();
-    List<Long> issuesKeys = new ArrayList<>();
     SearchService searchService = ComponentAccessor.getComponentOfType(SearchService.class);
     ParseResult parseResult = searchService.parseQuery(loggedInUser, jql);
-    if (parseResult.isValid()) {
-      SearchResults results = searchService.search(loggedInUser,
-          parseResult.getQuery(), PagerFilter.getUnlimitedFilter());
-      List<Issue> issues = results.getIssues();
-      for (Issue issue : issues) {
-        issuesKeys.add(issue.getId());
-      }
-    } else {
+    if (!parseResult.isValid()) {
       throw new JqlParseException(null, parseResult.getErrors().toString());
     }
-    return issuesKeys;
-  }
-
-  private static ArrayList<String> getUserNamesFromGroup(final List<String> groupNames) {
-    ArrayList<String> userKeys = new ArrayList<>();
-    GroupManager groupManager = ComponentAccessor.getGroupManager();
-    UserManager userManager = ComponentAccessor.getUserManager();
-    for (String groupName : groupNames) {
-      Collection<String> userNamesInGroup = groupManager.getUserNamesInGroup(groupName);
-      for (String userName : userNamesInGroup) {
-        ApplicationUser user = userManager.getUserByName(userName);
-        userKeys.add(user.getKey());
-      }
-    }
-    return userKeys;
-  }
-
-  private static List<String> queryUsersInGroup(final List<String> groups,
-      final ReportSearchParam reportSearchParam) {
-    if (groups.isEmpty()) {
-      return Collections.emptyList();
-    }
-    ArrayList<String> users = ConverterUtil.getUserNamesFromGroup(groups);
-    if (users.isEmpty()) {
-      reportSearchParam.groupsHasNoMembers(true);
-    }
-    return users;
+    IssueIdCollector issueIdCollector = new IssueIdCollector();
+    ComponentAccessor.getComponentOfType(SearchProvider.class)
+        .search(parseResult.getQuery(), loggedInUser, issueIdCollector);
+    return issueIdCollector.getIssueIds();
   }
 
   private static void setBasicSearcherValuesParams(final FilterCondition filterCondition,
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.FieldCache;
+import org.apache.lucene.search.Scorer;
+
+import com.atlassian.jira.issue.index.DocumentConstants;
+
+/**
+ * Lucene collector that collects the issue ids of the hits from the field cache of the index
+ * segments. No document and no {@link com.atlassian.jira.issue.Issue} is loaded.
+ */
+public class IssueIdCollector extends Collector {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private String[] docIssueIds;
+
+  private long[] issueIds = new long[INITIAL_CAPACITY];
+
+  private int size;
+
+  @Override
+  public boolean acceptsDocsOutOfOrder() {
+    return true;
+  }
+
+  @Override
+  public void collect(final int doc) throws IOException {
+    String issueId = docIssueIds[doc];
+    if (issueId == null) {
+      return;
+    }
+    if (size == issueIds.length) {
+      issueIds = Arrays.copyOf(issueIds, size * 2);
+    }
+    issueIds[size] = Long.parseLong(issueId);
+    size++;
+  }
+
+  /**
+   * Gets the collected issue ids.
+   *
+   * @return the compressed set of the issue ids.
+   */
+  public IssueIdSet getIssueIds() {
+    return IssueIdSet.of(Arrays.copyOf(issueIds, size));
+  }
+
+  @Override
+  public void setNextReader(final IndexReader reader, final int docBase) throws IOException {
+    docIssueIds = FieldCache.DEFAULT.getStrings(reader, DocumentConstants.ISSUE_ID);
+  }
+
+  @Override
+  public void setScorer(final Scorer scorer) throws IOException {
+    // the score is not used
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable, compressed set of non-negative ids (roaring bitmap style). The ids are grouped by
+ * their high bits to containers of 65536 ids. A sparse container stores the low 16 bits in a sorted
+ * char array, a dense container (more than {@link #MAX_ARRAY_CONTAINER_SIZE} ids) is a bitmap of
+ * 8 KB. So an id takes 2 bytes or less instead of a boxed {@link Long} in a collection. It holds
+ * the issue ids of the JQL results and of the report pages until they are bound to the queries.
+ */
+public final class IssueIdSet {
+
+  public static final IssueIdSet EMPTY = new IssueIdSet(new long[0], new Object[0], 0);
+
+  private static final int BITMAP_WORD_COUNT = 1024;
+
+  private static final int CONTAINER_BITS = 16;
+
+  private static final int LOW_MASK = 0xFFFF;
+
+  private static final int MAX_ARRAY_CONTAINER_SIZE = 4096;
+
+  private static final int WORD_SHIFT = 6;
+
+  private static Object createContainer(final long[] sortedIds, final int from, final int to) {
+    int size = to - from;
+    if (size <= MAX_ARRAY_CONTAINER_SIZE) {
+      char[] values = new char[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = (char) (sortedIds[from + i] & LOW_MASK);
+      }
+      return values;
+    }
+    long[] words = new long[BITMAP_WORD_COUNT];
+    for (int i = from; i < to; i++) {
+      int low = (int) (sortedIds[i] & LOW_MASK);
+      words[low >>> WORD_SHIFT] |= 1L << low;
+    }
+    return words;
+  }
+
+  /**
+   * Create id set from the ids.
+   *
+   * @param ids
+   *          the non-negative ids in any order, duplicates are allowed.
+   * @return the id set.
+   */
+  public static IssueIdSet of(final Collection<Long> ids) {
+    long[] values = new long[ids.size()];
+    int i = 0;
+    for (Long id : ids) {
+      values[i] = id;
+      i++;
+    }
+    return IssueIdSet.of(values);
+  }
+
+  /**
+   * Create id set from the ids. The array is not modified.
+   *
+   * @param ids
+   *          the non-negative ids in any order, duplicates are allowed.
+   * @return the id set.
+   * @throws IllegalArgumentException
+   *           if an id is negative.
+   */
+  public static IssueIdSet of(final long[] ids) {
+    long[] sortedIds = Arrays.copyOf(ids, ids.length);
+    Arrays.sort(sortedIds);
+    if ((sortedIds.length > 0) && (sortedIds[0] < 0)) {
+      throw new IllegalArgumentException("Negative id: " + sortedIds[0]);
+    }
+    int distinctSize = 0;
+    for (int i = 0; i < sortedIds.length; i++) {
+      if ((distinctSize == 0) || (sortedIds[distinctSize - 1] != sortedIds[i])) {
+        sortedIds[distinctSize] = sortedIds[i];
+        distinctSize++;
+      }
+    }
+
+    List<Long> keys = new ArrayList<>();
+    List<Object> containers = new ArrayList<>();
+    int from = 0;
+    while (from < distinctSize) {
+      long key = sortedIds[from] >>> CONTAINER_BITS;
+      int to = from + 1;
+      while ((to < distinctSize) && ((sortedIds[to] >>> CONTAINER_BITS) == key)) {
+        to++;
+      }
+      keys.add(key);
+      containers.add(createContainer(sortedIds, from, to));
+      from = to;
+    }
+    return IssueIdSet.of(keys, containers, distinctSize);
+  }
+
+  private static IssueIdSet of(final List<Long> keys, final List<Object> containers,
+      final int size) {
+    if (size == 0) {
+      return EMPTY;
+    }
+    long[] keyArray = new long[keys.size()];
+    for (int i = 0; i < keyArray.length; i++) {
+      keyArray[i] = keys.get(i);
+    }
+    return new IssueIdSet(keyArray, containers.toArray(), size);
+  }
+
+  private final Object[] containers;
+
+  private final long[] keys;
+
+  private final int size;
+
+  private IssueIdSet(final long[] keys, final Object[] containers, final int size) {
+    this.keys = keys;
+    this.containers = containers;
+    this.size = size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the ids in ascending order.
+   */
+  public long[] toArray() {
+    long[] result = new long[size];
+    int index = 0;
+    for (int i = 0; i < keys.length; i++) {
+      long high = keys[i] << CONTAINER_BITS;
+      Object container = containers[i];
+      if (container instanceof char[]) {
+        for (char value : (char[]) container) {
+          result[index] = high | value;
+          index++;
+        }
+      } else {
+        long[] words = (long[]) container;
+        for (int w = 0; w < BITMAP_WORD_COUNT; w++) {
+          long word = words[w];
+          while (word != 0) {
+            result[index] = high | ((w << WORD_SHIFT) + Long.numberOfTrailingZeros(word));
+            index++;
+            word &= word - 1;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "IssueIdSet [size=" + size + ", containers=" + keys.length + "]";
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.reporting.plugin.util;
+
+import org.everit.jira.timetracker.plugin.DurationFormatter;
+
+/**
+ * Accumulates the worked and the real worked seconds per period number (day of year, week of year
+ * or month number). The sums are formatted once, when they are read.
+ */
+public final class WorklogSumAccumulator {
+
+  /**
+   * The maximum day of year.
+   */
+  public static final int MAX_DAY_NO = 366;
+
+  /**
+   * The maximum month number (the month of year plus one).
+   */
+  public static final int MAX_MONTH_NO = 13;
+
+  /**
+   * The maximum week of year.
+   */
+  public static final int MAX_WEEK_NO = 53;
+
+  private final DurationFormatter durationFormatter;
+
+  private final String[] formattedRealSums;
+
+  private final String[] formattedSums;
+
+  private final long[] realSums;
+
+  private final long[] sums;
+
+  /**
+   * Constructor.
+   *
+   * @param maxPeriodNo
+   *          the maximum period number.
+   * @param durationFormatter
+   *          the formatter of the sums.
+   */
+  public WorklogSumAccumulator(final int maxPeriodNo, final DurationFormatter durationFormatter) {
+    this.durationFormatter = durationFormatter;
+    sums = new long[maxPeriodNo + 1];
+    realSums = new long[maxPeriodNo + 1];
+    formattedSums = new String[maxPeriodNo + 1];
+    formattedRealSums = new String[maxPeriodNo + 1];
+  }
+
+  /**
+   * Add the spent seconds to the period.
+   *
+   * @param periodNo
+   *          the period number.
+   * @param seconds
+   *          the spent seconds.
+   * @param real
+   *          add to the real sum too or not.
+   */
+  public void add(final int periodNo, final long seconds, final boolean real) {
+    sums[periodNo] += seconds;
+    formattedSums[periodNo] = null;
+    if (real) {
+      realSums[periodNo] += seconds;
+      formattedRealSums[periodNo] = null;
+    }
+  }
+
+  /**
+   * Get the formatted real sum of the period.
+   *
+   * @param periodNo
+   *          the period number.
+   * @return the exact duration of the real sum.
+   */
+  public String getFormattedRealSum(final int periodNo) {
+    String formatted = formattedRealSums[periodNo];
+    if (formatted == null) {
+      formatted = durationFormatter.exactDuration(realSums[periodNo]);
+      formattedRealSums[periodNo] = formatted;
+    }
+    return formatted;
+  }
+
+  /**
+   * Get the formatted sum of the period.
+   *
+   * @param periodNo
+   *          the period number.
+   * @return the exact duration of the sum.
+   */
+  public String getFormattedSum(final int periodNo) {
+    String formatted = formattedSums[periodNo];
+    if (formatted == null) {
+      formatted = durationFormatter.exactDuration(sums[periodNo]);
+      formattedSums[periodNo] = formatted;
+    }
+    return formatted;
+  }
+
+  public long getRealSum(final int periodNo) {
+    return realSums[periodNo];
+  }
+
+  public long getSum(final int periodNo) {
+    return sums[periodNo];
+  }
+
+}
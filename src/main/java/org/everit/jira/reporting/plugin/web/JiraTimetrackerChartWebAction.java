@@ -32,6 +32,7 @@ import javax.servlet.http.HttpSession;
 import org.apache.log4j.Logger;
 import org.everit.jira.analytics.AnalyticsDTO;
 import org.everit.jira.core.EVWorklogManager;
+import org.everit.jira.core.WorklogField;
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.core.util.TimetrackerUtil;
 import org.everit.jira.reporting.plugin.ReportingCondition;
@@ -244,7 +245,8 @@ public class JiraTimetrackerChartWebAction extends JiraWebActionSupport {
 
     List<EveritWorklog> worklogs = new ArrayList<>();
     try {
-      worklogs.addAll(worklogManager.getWorklogs(currentUser, startDate, lastDate));
+      worklogs.addAll(
+          worklogManager.getWorklogs(currentUser, startDate, lastDate, WorklogField.NONE));
       saveDataToSession();
     } catch (DataAccessException | ParseException e) {
       LOGGER.error(GET_WORKLOGS_ERROR_MESSAGE, e);
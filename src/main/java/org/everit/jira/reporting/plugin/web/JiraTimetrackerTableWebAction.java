@@ -21,13 +21,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import javax.servlet.http.HttpSession;
@@ -35,10 +35,12 @@ import javax.servlet.http.HttpSession;
 import org.apache.log4j.Logger;
 import org.everit.jira.analytics.AnalyticsDTO;
 import org.everit.jira.core.EVWorklogManager;
+import org.everit.jira.core.WorklogField;
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.core.util.TimetrackerUtil;
 import org.everit.jira.reporting.plugin.ReportingCondition;
 import org.everit.jira.reporting.plugin.util.PermissionUtil;
+import org.everit.jira.reporting.plugin.util.WorklogSumAccumulator;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.timetracker.plugin.DurationFormatter;
 import org.everit.jira.timetracker.plugin.JiraTimetrackerAnalytics;
@@ -137,6 +139,12 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
 
   private static final String SESSION_KEY = "jttpTableStore";
 
+  /**
+   * The worklog fields used by the table report.
+   */
+  private static final Set<WorklogField> TABLE_WORKLOG_FIELDS = Collections.unmodifiableSet(
+      EnumSet.of(WorklogField.DURATION, WorklogField.ISSUE_DETAILS, WorklogField.REMAINING));
+
   private AnalyticsDTO analyticsDTO;
 
   private JiraRendererPlugin atlassianWikiRenderer;
@@ -157,7 +165,7 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
    */
   private Long dateToFormated;
 
-  private HashMap<Integer, List<Object>> daySum = new HashMap<>();
+  private WorklogSumAccumulator daySum;
 
   private DurationFormatter durationFormatter;
 
@@ -176,16 +184,10 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
    */
   private String message = "";
 
-  private HashMap<Integer, List<Object>> monthSum = new HashMap<>();
+  private WorklogSumAccumulator monthSum;
 
   private PluginCondition pluginCondition;
 
-  private final HashMap<Integer, List<Object>> realDaySum = new HashMap<>();
-
-  private final HashMap<Integer, List<Object>> realMonthSum = new HashMap<>();
-
-  private final HashMap<Integer, List<Object>> realWeekSum = new HashMap<>();
-
   private ReportingCondition reportingCondition;
 
   private TimeTrackerSettingsHelper settingsHelper;
@@ -196,7 +198,7 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
 
   private transient ApplicationUser userPickerObject;
 
-  private HashMap<Integer, List<Object>> weekSum = new HashMap<>();
+  private WorklogSumAccumulator weekSum;
 
   private EVWorklogManager worklogManager;
 
@@ -217,81 +219,6 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
     atlassianWikiRenderer = rendererManager.getRendererForType("atlassian-wiki-renderer");
   }
 
-  private void addToDaySummary(final EveritWorklog worklog) {
-    int dayNo = worklog.getDayNo();
-    ArrayList<Object> list = new ArrayList<>();
-    Long prevDaySum = (daySum.get(dayNo) == null) ? Long.valueOf(0)
-        : (Long) daySum.get(dayNo).get(0);
-    Long sumSec = prevDaySum + (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    list.add(sumSec);
-    list.add(durationFormatter.exactDuration(sumSec));
-    daySum.put(dayNo, list);
-  }
-
-  private void addToMonthSummary(final EveritWorklog worklog) {
-    int monthNo = worklog.getMonthNo();
-    ArrayList<Object> list = new ArrayList<>();
-    Long prevMonthSum = (monthSum.get(monthNo) == null) ? Long.valueOf(0)
-        : (Long) monthSum.get(monthNo).get(0);
-    Long sumSec = prevMonthSum + (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    list.add(sumSec);
-    list.add(durationFormatter.exactDuration(sumSec));
-    monthSum.put(monthNo, list);
-  }
-
-  private void addToRealDaySummary(final EveritWorklog worklog, final boolean isRealWorklog) {
-    int dayNo = worklog.getDayNo();
-    ArrayList<Object> realList = new ArrayList<>();
-    Long prevRealDaySum = (realDaySum.get(dayNo) == null) ? Long.valueOf(0)
-        : (Long) realDaySum.get(dayNo).get(0);
-    Long realSumSec = prevRealDaySum;
-    if (isRealWorklog) {
-      realSumSec += (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    }
-    realList.add(realSumSec);
-    realList.add(durationFormatter.exactDuration(realSumSec));
-    realDaySum.put(dayNo, realList);
-  }
-
-  private void addToRealMonthSummary(final EveritWorklog worklog, final boolean isRealWorklog) {
-    int monthNo = worklog.getMonthNo();
-    ArrayList<Object> realList = new ArrayList<>();
-    Long prevRealMonthSum = realMonthSum.get(monthNo) == null ? Long.valueOf(0)
-        : (Long) realMonthSum.get(monthNo).get(0);
-    Long realSumSec = prevRealMonthSum;
-    if (isRealWorklog) {
-      realSumSec += (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    }
-    realList.add(realSumSec);
-    realList.add(durationFormatter.exactDuration(realSumSec));
-    realMonthSum.put(monthNo, realList);
-  }
-
-  private void addToRealWeekSummary(final EveritWorklog worklog, final boolean isRealWorklog) {
-    int weekNo = worklog.getWeekNo();
-    ArrayList<Object> realList = new ArrayList<>();
-    Long prevRealWeekSum = realWeekSum.get(weekNo) == null ? Long.valueOf(0)
-        : (Long) realWeekSum.get(weekNo).get(0);
-    Long realSumSec = prevRealWeekSum;
-    if (isRealWorklog) {
-      realSumSec += (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    }
-    realList.add(realSumSec);
-    realList.add(durationFormatter.exactDuration(realSumSec));
-    realWeekSum.put(weekNo, realList);
-  }
-
-  private void addToWeekSummary(final EveritWorklog worklog) {
-    ArrayList<Object> list = new ArrayList<>();
-    int weekNo = worklog.getWeekNo();
-    Long prevWeekSum = weekSum.get(weekNo) == null ? Long.valueOf(0)
-        : (Long) weekSum.get(weekNo).get(0);
-    Long sumSec = prevWeekSum + (worklog.getMilliseconds() / MILLISEC_IN_SEC);
-    list.add(sumSec);
-    list.add(durationFormatter.exactDuration(sumSec));
-    weekSum.put(weekNo, list);
-  }
-
   private void beforeAction() {
     createDurationFormatter();
 
@@ -327,7 +254,7 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
   }
 
   private void createDurationFormatter() {
-    durationFormatter = new DurationFormatter();
+    durationFormatter = DurationFormatter.getInstance();
   }
 
   @Override
@@ -373,7 +300,8 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
 
     worklogs = new ArrayList<>();
     try {
-      worklogs.addAll(worklogManager.getWorklogs(currentUser, startDate, lastDate));
+      worklogs.addAll(
+          worklogManager.getWorklogs(currentUser, startDate, lastDate, TABLE_WORKLOG_FIELDS));
       saveDataToSession();
     } catch (DataAccessException | ParseException e) {
       LOGGER.error(GET_WORKLOGS_ERROR_MESSAGE, e);
@@ -383,20 +311,15 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
 
     Collections.sort(worklogs, new OrderByDate());
 
+    daySum = new WorklogSumAccumulator(WorklogSumAccumulator.MAX_DAY_NO, durationFormatter);
+    weekSum = new WorklogSumAccumulator(WorklogSumAccumulator.MAX_WEEK_NO, durationFormatter);
+    monthSum = new WorklogSumAccumulator(WorklogSumAccumulator.MAX_MONTH_NO, durationFormatter);
     for (EveritWorklog worklog : worklogs) {
-      Calendar calendar = Calendar.getInstance();
-      calendar.setTime(worklog.getDate());
-
       boolean isRealWorklog = isRealWorklog(worklog);
-
-      addToMonthSummary(worklog);
-      addToRealMonthSummary(worklog, isRealWorklog);
-
-      addToWeekSummary(worklog);
-      addToRealWeekSummary(worklog, isRealWorklog);
-
-      addToDaySummary(worklog);
-      addToRealDaySummary(worklog, isRealWorklog);
+      long seconds = worklog.getMilliseconds() / MILLISEC_IN_SEC;
+      daySum.add(worklog.getDayNo(), seconds, isRealWorklog);
+      weekSum.add(worklog.getWeekNo(), seconds, isRealWorklog);
+      monthSum.add(worklog.getMonthNo(), seconds, isRealWorklog);
     }
 
     return SUCCESS;
@@ -430,7 +353,7 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
     return dateToFormated;
   }
 
-  public HashMap<Integer, List<Object>> getDaySum() {
+  public WorklogSumAccumulator getDaySum() {
     return daySum;
   }
 
@@ -486,22 +409,10 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
     return message;
   }
 
-  public HashMap<Integer, List<Object>> getMonthSum() {
+  public WorklogSumAccumulator getMonthSum() {
     return monthSum;
   }
 
-  public HashMap<Integer, List<Object>> getRealDaySum() {
-    return realDaySum;
-  }
-
-  public HashMap<Integer, List<Object>> getRealMonthSum() {
-    return realMonthSum;
-  }
-
-  public HashMap<Integer, List<Object>> getRealWeekSum() {
-    return realWeekSum;
-  }
-
   public String getStacktrace() {
     return stacktrace;
   }
@@ -510,7 +421,7 @@ public class JiraTimetrackerTableWebAction extends JiraWebActionSupport {
     return userPickerObject;
   }
 
-  public HashMap<Integer, List<Object>> getWeekSum() {
+  public WorklogSumAccumulator getWeekSum() {
     return weekSum;
   }
 
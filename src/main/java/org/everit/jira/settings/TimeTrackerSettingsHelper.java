@@ -24,6 +24,16 @@ import org.everit.jira.settings.dto.TimeTrackerUserSettings;
  * configurations.
  */
 public interface TimeTrackerSettingsHelper {
+
+  /**
+   * Gets the version of the global and the reporting settings. The version changes when the
+   * global or the reporting settings are saved on this node, so the values cached from them can
+   * be checked.
+   *
+   * @return the settings version.
+   */
+  long getSettingsVersion();
+
   /**
    * Load all timetracker global configuration from the
    * {@link com.atlassian.sal.api.pluginsettings.PluginSettings}.
@@ -21,6 +21,7 @@ import java.text.ParseException;
 import java.util.Date;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.everit.jira.analytics.AnalyticsSender;
 import org.everit.jira.analytics.event.ActiveFieldDurationChangedEvent;
@@ -57,6 +58,8 @@ public class TimeTrackerSettingsHelperImpl
 
   private transient PluginSettingsFactory settingsFactory;
 
+  private final AtomicLong settingsVersion = new AtomicLong();
+
   /**
    * Crate the settings helper. Set the plugin UUID in global settings.
    */
@@ -214,6 +217,11 @@ public class TimeTrackerSettingsHelperImpl
     }
   }
 
+  @Override
+  public long getSettingsVersion() {
+    return settingsVersion.get();
+  }
+
   private PluginSettings getUserPluginSettings() {
     JiraAuthenticationContext authenticationContext = ComponentAccessor
         .getJiraAuthenticationContext();
@@ -281,6 +289,7 @@ public class TimeTrackerSettingsHelperImpl
           + globalSettingEntry.getKey().getSettingsKey(),
           globalSettingEntry.getValue());
     }
+    settingsVersion.incrementAndGet();
   }
 
   @Override
@@ -293,7 +302,7 @@ public class TimeTrackerSettingsHelperImpl
           + settingEntry.getKey().getSettingsKey(),
           settingEntry.getValue());
     }
-
+    settingsVersion.incrementAndGet();
   }
 
   @Override
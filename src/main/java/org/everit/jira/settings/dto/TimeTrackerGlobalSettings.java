@@ -26,6 +26,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
 
+import org.everit.jira.core.WorkCalendar;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 
@@ -255,6 +256,16 @@ public class TimeTrackerGlobalSettings {
     return timeZoneTypes;
   }
 
+  /**
+   * Get the {@link WorkCalendar} of the exclude and include dates. The calendar is shared until the
+   * dates change.
+   */
+  public WorkCalendar getWorkCalendar() {
+    return WorkCalendar.getInstance(
+        (String) pluginSettingsKeyValues.get(GlobalSettingsKey.EXCLUDE_DATES),
+        (String) pluginSettingsKeyValues.get(GlobalSettingsKey.INCLUDE_DATES));
+  }
+
   /**
    * Put the include dates.
    */
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.timetracker.plugin;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.everit.jira.settings.TimeTrackerSettingsHelper;
+
+import com.atlassian.jira.component.ComponentAccessor;
+import com.atlassian.jira.plugin.webfragment.conditions.AbstractWebCondition;
+import com.atlassian.jira.plugin.webfragment.model.JiraHelper;
+import com.atlassian.jira.user.ApplicationUser;
+
+/**
+ * Base class of the conditions that display the web items only to the members of the groups set
+ * in the settings. If no group is set everybody can see them. JIRA evaluates the conditions on
+ * every page, so the decisions are cached per user until the settings version (see
+ * {@link TimeTrackerSettingsHelper#getSettingsVersion()}) or the group memberships change. The
+ * decisions also expire after {@link #TIME_TO_LIVE_IN_MILLIS}, because the changes on the other
+ * nodes of a cluster are not noticed.
+ */
+public abstract class AbstractGroupCondition extends AbstractWebCondition {
+
+  /**
+   * Cached decision of one user.
+   */
+  private static final class Decision {
+
+    private final boolean display;
+
+    private final long expiresAt;
+
+    private final long membershipVersion;
+
+    private final long settingsVersion;
+
+    Decision(final boolean display, final long settingsVersion, final long membershipVersion,
+        final long expiresAt) {
+      this.display = display;
+      this.settingsVersion = settingsVersion;
+      this.membershipVersion = membershipVersion;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isValid(final long currentSettingsVersion, final long currentMembershipVersion,
+        final long now) {
+      return (settingsVersion == currentSettingsVersion)
+          && (membershipVersion == currentMembershipVersion)
+          && (now < expiresAt);
+    }
+  }
+
+  public static final int MAX_CACHED_USERS = 10000;
+
+  public static final long TIME_TO_LIVE_IN_MILLIS = 60000L;
+
+  private static final String ANONYMOUS_USER_KEY = "";
+
+  private static final AtomicLong MEMBERSHIP_VERSION = new AtomicLong();
+
+  private final ConcurrentMap<String, Decision> decisions = new ConcurrentHashMap<>();
+
+  protected final TimeTrackerSettingsHelper settingsHelper;
+
+  /**
+   * Simple constructor.
+   *
+   * @param settingsHelper
+   *          the settings helper that loads the groups and tells the settings version.
+   */
+  protected AbstractGroupCondition(final TimeTrackerSettingsHelper settingsHelper) {
+    this.settingsHelper = settingsHelper;
+  }
+
+  /**
+   * Invalidate the cached decisions after a group membership change.
+   */
+  public static void invalidateGroupMemberships() {
+    MEMBERSHIP_VERSION.incrementAndGet();
+  }
+
+  private boolean isMemberOfAnyGroup(final ApplicationUser user, final List<String> groups) {
+    if (groups.isEmpty()) {
+      return true;
+    }
+    Collection<String> groupNamesForUser =
+        ComponentAccessor.getGroupManager().getGroupNamesForUser(user);
+    for (String group : groups) {
+      if (groupNamesForUser.contains(group)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Load the groups of the condition from the settings.
+   *
+   * @return the groups. Empty if everybody can see the web items.
+   */
+  protected abstract List<String> loadGroups();
+
+  @Override
+  public boolean shouldDisplay(final ApplicationUser user, final JiraHelper jiraHelper) {
+    String userKey = user == null ? ANONYMOUS_USER_KEY : user.getKey();
+    // read before the loading, so a change during the loading makes the new decision stale
+    long settingsVersion = settingsHelper.getSettingsVersion();
+    long membershipVersion = MEMBERSHIP_VERSION.get();
+    long now = System.currentTimeMillis();
+    Decision decision = decisions.get(userKey);
+    if ((decision != null) && decision.isValid(settingsVersion, membershipVersion, now)) {
+      return decision.display;
+    }
+    boolean display = isMemberOfAnyGroup(user, loadGroups());
+    if (decisions.size() >= MAX_CACHED_USERS) {
+      decisions.clear();
+    }
+    decisions.put(userKey, new Decision(display, settingsVersion, membershipVersion,
+        now + TIME_TO_LIVE_IN_MILLIS));
+    return display;
+  }
+
+}
@@ -15,12 +15,16 @@
  */
 package org.everit.jira.timetracker.plugin;
 
-import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
 
@@ -37,8 +41,52 @@ import com.atlassian.jira.util.JiraDurationUtils.PrettyDurationFormatter;
  * Used for creating the string representation of
  * {@link org.everit.jira.timetracker.plugin.dto.EveritWorklog#getExactRemaining()} and
  * {@link org.everit.jira.timetracker.plugin.dto.EveritWorklog#getRoundedRemaining()} properties.
+ * The instances are immutable and shared between threads, use {@link #getInstance()} to get the
+ * formatter of the logged user.
  */
-public class DurationFormatter implements Serializable {
+public final class DurationFormatter implements Serializable {
+
+  /**
+   * The cache key of the formatters.
+   */
+  private static final class FormatterKey {
+
+    private final double daysPerWeek;
+
+    private final double hoursPerDay;
+
+    private final Locale locale;
+
+    private final String timeFormat;
+
+    FormatterKey(final Locale locale, final double hoursPerDay, final double daysPerWeek,
+        final String timeFormat) {
+      this.locale = locale;
+      this.hoursPerDay = hoursPerDay;
+      this.daysPerWeek = daysPerWeek;
+      this.timeFormat = timeFormat;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FormatterKey)) {
+        return false;
+      }
+      FormatterKey other = (FormatterKey) obj;
+      return (Double.compare(hoursPerDay, other.hoursPerDay) == 0)
+          && (Double.compare(daysPerWeek, other.daysPerWeek) == 0)
+          && Objects.equals(locale, other.locale)
+          && Objects.equals(timeFormat, other.timeFormat);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(locale, hoursPerDay, daysPerWeek, timeFormat);
+    }
+  }
 
   /**
    * Time format names in JIRA system.
@@ -56,10 +104,29 @@ public class DurationFormatter implements Serializable {
 
   private static final int DAYIDX = 1;
 
+  private static final ConcurrentMap<FormatterKey, DurationFormatter> FORMATTERS =
+      new ConcurrentHashMap<>();
+
   private static final String HOUR = "h ";
 
   private static final int HOURIDX = 2;
 
+  /**
+   * The maximum number of cached formatters. The cache is cleared when it is reached (for example
+   * after many time tracking configuration changes).
+   */
+  private static final int MAX_CACHED_FORMATTERS = 64;
+
+  /**
+   * The number of memorized exact durations. Covers 0 - 5 days in 5 minutes steps.
+   */
+  private static final int MEMO_SIZE = 1441;
+
+  /**
+   * The step of the memorized exact durations in seconds (5 minutes).
+   */
+  private static final int MEMO_STEP_IN_SECONDS = 300;
+
   private static final String MIN = "m ";
 
   private static final int MINIDX = 3;
@@ -70,47 +137,64 @@ public class DurationFormatter implements Serializable {
 
   private static final int WEEKIDX = 0;
 
-  private DaysDurationFormatter daysDurationFormatter;
-
-  private long durationInSeconds;
-
-  private LinkedHashMap<String, Long> fragments = new LinkedHashMap<>();
-
-  private HoursDurationFormatter hoursDurationFormatter;
-
-  private PrettyDurationFormatter prettyDurationFormatter;
-
-  private String timeFormat;
-
-  private double workDaysPerWeek;
-
-  private double workHoursPerDay;
-
   /**
-   * Simple constructor.
+   * Gives back the shared formatter based on the logged user locale and the JIRA time tracking
+   * configuration.
+   *
+   * @return the {@link DurationFormatter} instance.
    */
-  public DurationFormatter() {
-
+  public static DurationFormatter getInstance() {
     TimeTrackingConfiguration timeTrackingConfiguration =
         ComponentAccessor.getComponent(TimeTrackingConfiguration.class);
-
     ApplicationProperties applicationProperties = ComponentAccessor.getApplicationProperties();
-    timeFormat = applicationProperties.getDefaultBackedString("jira.timetracking.format");
-
-    workDaysPerWeek = timeTrackingConfiguration.getDaysPerWeek().doubleValue();
-    workHoursPerDay = timeTrackingConfiguration.getHoursPerDay().doubleValue();
-
     JiraAuthenticationContext jiraAuthenticationContext =
         ComponentAccessor.getJiraAuthenticationContext();
-    I18nHelper i18nHelper = jiraAuthenticationContext.getI18nHelper();
 
-    daysDurationFormatter = new DaysDurationFormatter(
-        new BigDecimal(workHoursPerDay).setScale(2, RoundingMode.HALF_UP), i18nHelper);
-    hoursDurationFormatter = new HoursDurationFormatter(i18nHelper);
-    prettyDurationFormatter = new PrettyDurationFormatter(
-        new BigDecimal(workHoursPerDay).setScale(2, RoundingMode.HALF_UP),
-        new BigDecimal(workDaysPerWeek).setScale(2, RoundingMode.HALF_UP), i18nHelper);
+    FormatterKey key = new FormatterKey(jiraAuthenticationContext.getLocale(),
+        timeTrackingConfiguration.getHoursPerDay().doubleValue(),
+        timeTrackingConfiguration.getDaysPerWeek().doubleValue(),
+        applicationProperties.getDefaultBackedString("jira.timetracking.format"));
 
+    DurationFormatter durationFormatter = FORMATTERS.get(key);
+    if (durationFormatter == null) {
+      if (FORMATTERS.size() >= MAX_CACHED_FORMATTERS) {
+        FORMATTERS.clear();
+      }
+      durationFormatter = new DurationFormatter(key, jiraAuthenticationContext.getI18nHelper());
+      DurationFormatter previous = FORMATTERS.putIfAbsent(key, durationFormatter);
+      if (previous != null) {
+        durationFormatter = previous;
+      }
+    }
+    return durationFormatter;
+  }
+
+  private final transient AtomicReferenceArray<String> exactDurationMemo =
+      new AtomicReferenceArray<>(MEMO_SIZE);
+
+  private final transient com.atlassian.jira.util.JiraDurationUtils.DurationFormatter formatter;
+
+  private final String timeFormat;
+
+  private final double workDaysPerWeek;
+
+  private final double workHoursPerDay;
+
+  private DurationFormatter(final FormatterKey key, final I18nHelper i18nHelper) {
+    timeFormat = key.timeFormat;
+    workDaysPerWeek = key.daysPerWeek;
+    workHoursPerDay = key.hoursPerDay;
+
+    if (TimeFormat.DAYS.equals(timeFormat)) {
+      formatter = new DaysDurationFormatter(
+          new BigDecimal(workHoursPerDay).setScale(2, RoundingMode.HALF_UP), i18nHelper);
+    } else if (TimeFormat.HOURS.equals(timeFormat)) {
+      formatter = new HoursDurationFormatter(i18nHelper);
+    } else {
+      formatter = new PrettyDurationFormatter(
+          new BigDecimal(workHoursPerDay).setScale(2, RoundingMode.HALF_UP),
+          new BigDecimal(workDaysPerWeek).setScale(2, RoundingMode.HALF_UP), i18nHelper);
+    }
   }
 
   private boolean appendValue(final StringBuilder rval, final Long value, final String key,
@@ -125,7 +209,8 @@ public class DurationFormatter implements Serializable {
     return false;
   }
 
-  private String buildFromFragments(final boolean needsTilde) {
+  private String buildFromFragments(final LinkedHashMap<String, Long> fragments,
+      final boolean needsTilde) {
     StringBuilder rval = new StringBuilder(needsTilde ? "~" : "");
     boolean nonzeroFragmentVisited = false;
     nonzeroFragmentVisited = appendValue(rval, fragments.get(WEEK), WEEK, nonzeroFragmentVisited);
@@ -139,7 +224,8 @@ public class DurationFormatter implements Serializable {
     }
   }
 
-  private String buildRoundedEstimateString(final int firstNonzeroIdx, final int lastNonzeroIdx) {
+  private String buildRoundedEstimateString(final LinkedHashMap<String, Long> fragments,
+      final int firstNonzeroIdx, final int lastNonzeroIdx) {
     LinkedHashMap<String, Long> truncatedFragments = new LinkedHashMap<>();
     int handledFragmentCount = 0;
     boolean needsTilde = false;
@@ -157,12 +243,12 @@ public class DurationFormatter implements Serializable {
         fragmentCount(firstNonzeroIdx, lastNonzeroIdx, handledFragmentCount, HOURIDX);
     needsTilde = needsTildeValue(firstNonzeroIdx, lastNonzeroIdx, truncatedFragments,
         handledFragmentCount, needsTilde, fragments.get(MIN), MIN);
-    fragments = truncatedFragments;
-    return buildFromFragments(needsTilde);
+    return buildFromFragments(truncatedFragments, needsTilde);
   }
 
-  private String calculateFormattedRemaining() {
-    constructFragmentsOfRemainingEstimate();
+  private String calculateFormattedRemaining(final long durationInSeconds) {
+    LinkedHashMap<String, Long> fragments = constructFragmentsOfRemainingEstimate(
+        durationInSeconds);
     int firstNonzeroIdx = -1;
     int lastNonzeroIdx = 0;
     if (fragments.get(WEEK).longValue() != 0) {
@@ -190,10 +276,11 @@ public class DurationFormatter implements Serializable {
       lastNonzeroIdx = MINIDX;
     }
     lastNonzeroIdx = Math.max(lastNonzeroIdx, firstNonzeroIdx + 1);
-    return buildRoundedEstimateString(firstNonzeroIdx, lastNonzeroIdx);
+    return buildRoundedEstimateString(fragments, firstNonzeroIdx, lastNonzeroIdx);
   }
 
-  private void constructFragmentsOfRemainingEstimate() {
+  private LinkedHashMap<String, Long> constructFragmentsOfRemainingEstimate(
+      final long durationInSeconds) {
     long estimate = durationInSeconds / DateTimeConverterUtil.MINUTES_PER_HOUR;
     double weekInMin =
         workDaysPerWeek * workHoursPerDay * DateTimeConverterUtil.MINUTES_PER_HOUR;
@@ -204,31 +291,34 @@ public class DurationFormatter implements Serializable {
     estimate %= dayInMin;
     long hours = estimate / DateTimeConverterUtil.MINUTES_PER_HOUR;
     long minutes = estimate % DateTimeConverterUtil.MINUTES_PER_HOUR;
-    fragments.put("w ", weeks);
-    fragments.put("d ", days);
-    fragments.put("h ", hours);
-    fragments.put("m ", minutes);
+    LinkedHashMap<String, Long> fragments = new LinkedHashMap<>();
+    fragments.put(WEEK, weeks);
+    fragments.put(DAY, days);
+    fragments.put(HOUR, hours);
+    fragments.put(MIN, minutes);
+    return fragments;
   }
 
   /**
-   * Convert the seconds to jira exact format (1h 30m) String.
+   * Convert the seconds to jira exact format (1h 30m) String. The result of the common durations
+   * (multiples of 5 minutes up to 5 days) is memorized.
    *
    * @param durationInSeconds
    *          dutation in seconds.
    * @return the formatted duration string.
    */
   public String exactDuration(final long durationInSeconds) {
-    this.durationInSeconds = durationInSeconds;
-
-    com.atlassian.jira.util.JiraDurationUtils.DurationFormatter formatter = null;
-    if (TimeFormat.DAYS.equals(timeFormat)) {
-      formatter = daysDurationFormatter;
-    } else if (TimeFormat.HOURS.equals(timeFormat)) {
-      formatter = hoursDurationFormatter;
-    } else {
-      formatter = prettyDurationFormatter;
+    if ((durationInSeconds < 0) || ((durationInSeconds % MEMO_STEP_IN_SECONDS) != 0)
+        || ((durationInSeconds / MEMO_STEP_IN_SECONDS) >= MEMO_SIZE)) {
+      return formatter.shortFormat(durationInSeconds);
     }
-    return formatter.shortFormat(durationInSeconds);
+    int memoIdx = (int) (durationInSeconds / MEMO_STEP_IN_SECONDS);
+    String result = exactDurationMemo.get(memoIdx);
+    if (result == null) {
+      result = formatter.shortFormat(durationInSeconds);
+      exactDurationMemo.set(memoIdx, result);
+    }
+    return result;
   }
 
   private int fragmentCount(final int firstNonzeroIdx, final int lastNonzeroIdx,
@@ -291,10 +381,12 @@ public class DurationFormatter implements Serializable {
     return tilde;
   }
 
-  private void readObject(final java.io.ObjectInputStream stream) throws IOException,
-      ClassNotFoundException {
-    stream.close();
-    throw new java.io.NotSerializableException(getClass().getName());
+  /**
+   * The wrapped JIRA formatter and the memo are transient, so a deserialized instance is replaced
+   * by the shared formatter of the current user.
+   */
+  private Object readResolve() {
+    return getInstance();
   }
 
   /**
@@ -305,10 +397,8 @@ public class DurationFormatter implements Serializable {
    * @return the formatted duration string.
    */
   public String roundedDuration(final long durationInSeconds) {
-    this.durationInSeconds = durationInSeconds;
     if (TimeFormat.PRETTY.equals(timeFormat)) {
-      constructFragmentsOfRemainingEstimate();
-      return calculateFormattedRemaining();
+      return calculateFormattedRemaining(durationInSeconds);
     } else {
       return exactDuration(durationInSeconds);
     }
@@ -322,9 +412,4 @@ public class DurationFormatter implements Serializable {
   public String workHoursDayIndustryDuration() {
     return industryFormat(workHoursPerDay);
   }
-
-  private void writeObject(final java.io.ObjectOutputStream stream) throws IOException {
-    stream.close();
-    throw new java.io.NotSerializableException(getClass().getName());
-  }
 }
@@ -15,21 +15,21 @@
  */
 package org.everit.jira.timetracker.plugin;
 
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
+import org.apache.log4j.Logger;
 import org.everit.jira.core.util.TimetrackerUtil;
+import org.everit.jira.querydsl.support.QuerydslSupport;
+import org.everit.jira.querydsl.support.ri.QuerydslSupportImpl;
+import org.everit.jira.reporting.plugin.dto.NotEstimatedIssueDTO;
+import org.everit.jira.reporting.plugin.query.NotEstimatedIssueQuery;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
-import org.ofbiz.core.entity.EntityCondition;
-import org.ofbiz.core.entity.EntityExpr;
-import org.ofbiz.core.entity.EntityOperator;
-import org.ofbiz.core.entity.GenericValue;
 
 import com.atlassian.jira.component.ComponentAccessor;
 import com.atlassian.jira.config.properties.APKeys;
@@ -43,10 +43,71 @@ import com.atlassian.mail.queue.SingleMailQueueItem;
  */
 public class IssueEstimatedTimeChecker implements Runnable {
 
-  // /**
-  // * Logger.
-  // */
-  // private static final Logger LOGGER = Logger.getLogger(IssueEstimatedTimeChecker.class);
+  /**
+   * The statistics of a check run.
+   */
+  public static final class RunStatistics {
+
+    private final long durationInMillis;
+
+    private final int enqueuedMailCount;
+
+    private final int notifiedIssueCount;
+
+    private final int scannedIssueCount;
+
+    private final boolean timeBudgetExceeded;
+
+    RunStatistics(final int scannedIssueCount, final int notifiedIssueCount,
+        final int enqueuedMailCount, final long durationInMillis,
+        final boolean timeBudgetExceeded) {
+      this.scannedIssueCount = scannedIssueCount;
+      this.notifiedIssueCount = notifiedIssueCount;
+      this.enqueuedMailCount = enqueuedMailCount;
+      this.durationInMillis = durationInMillis;
+      this.timeBudgetExceeded = timeBudgetExceeded;
+    }
+
+    public long getDurationInMillis() {
+      return durationInMillis;
+    }
+
+    public int getEnqueuedMailCount() {
+      return enqueuedMailCount;
+    }
+
+    public int getNotifiedIssueCount() {
+      return notifiedIssueCount;
+    }
+
+    public int getScannedIssueCount() {
+      return scannedIssueCount;
+    }
+
+    public boolean isTimeBudgetExceeded() {
+      return timeBudgetExceeded;
+    }
+
+    @Override
+    public String toString() {
+      return "RunStatistics [scannedIssueCount=" + scannedIssueCount + ", notifiedIssueCount="
+          + notifiedIssueCount + ", enqueuedMailCount=" + enqueuedMailCount
+          + ", durationInMillis=" + durationInMillis + ", timeBudgetExceeded="
+          + timeBudgetExceeded + "]";
+    }
+  }
+
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = Logger.getLogger(IssueEstimatedTimeChecker.class);
+
+  private static final int MAX_MAILS_PER_RUN = 200;
+
+  private static final int PAGE_SIZE = 500;
+
+  private static final long TIME_BUDGET_IN_MILLIS = 600000L;
+
   // /**
   // * The email address of the sender.
   // */
@@ -56,6 +117,17 @@ public class IssueEstimatedTimeChecker implements Runnable {
    */
   private Calendar checkerCalendar;
 
+  /**
+   * The recipient of the last mail of the previous run if the mail limit was reached. The next
+   * run continues after this recipient, so every recipient is notified in turn. Kept only in
+   * memory, a restart starts from the first recipient again.
+   */
+  private String lastNotifiedRecipient;
+
+  private volatile RunStatistics lastRunStatistics;
+
+  private QuerydslSupport querydslSupport;
+
   private TimeTrackerSettingsHelper settingsHelper;
 
   /**
@@ -66,24 +138,61 @@ public class IssueEstimatedTimeChecker implements Runnable {
    */
   public IssueEstimatedTimeChecker(final TimeTrackerSettingsHelper settingsHelper) {
     this.settingsHelper = settingsHelper;
+    try {
+      querydslSupport = new QuerydslSupportImpl();
+    } catch (Exception e) {
+      LOGGER.error("Problem to create querydslSupport.", e);
+    }
   }
 
   /**
-   * Create the mail body String.
+   * Constructor with the given {@link QuerydslSupport}.
    *
-   * @param issue
-   *          The issue object.
+   * @param settingsHelper
+   *          the {@link TimeTrackerSettingsHelper} instance.
+   * @param querydslSupport
+   *          the {@link QuerydslSupport} instance.
+   */
+  public IssueEstimatedTimeChecker(final TimeTrackerSettingsHelper settingsHelper,
+      final QuerydslSupport querydslSupport) {
+    this.settingsHelper = settingsHelper;
+    this.querydslSupport = querydslSupport;
+  }
+
+  private void addIssueLine(final Map<String, List<String>> issueLinesByRecipient,
+      final String recipient, final String issueLine) {
+    if ((recipient == null) || recipient.isEmpty()) {
+      return;
+    }
+    List<String> issueLines = issueLinesByRecipient.get(recipient);
+    if (issueLines == null) {
+      issueLines = new ArrayList<>();
+      issueLinesByRecipient.put(recipient, issueLines);
+    }
+    issueLines.add(issueLine);
+  }
+
+  /**
+   * Create the digest mail body String.
+   *
+   * @param issueLines
+   *          The lines of the issues.
    * @return The email body.
    */
-  private String createBodyString(final MutableIssue issue) {
-    String baseURL = ComponentAccessor.getApplicationProperties().getString(APKeys.JIRA_BASEURL);
-    String bodyString = "Work was logged on issue " + issue.getKey() + " without remaining time."
-        + "\n"
+  private String createBodyString(final List<String> issueLines) {
+    StringBuilder sb =
+        new StringBuilder("Work was logged on the following issues without remaining time.\n");
+    for (String issueLine : issueLines) {
+      sb.append("\n").append(issueLine);
+    }
+    return sb.toString();
+  }
+
+  private String createIssueLine(final MutableIssue issue, final String baseURL) {
+    return "The issue key: " + issue.getKey()
         + "\n" + "The issue summary: " + issue.getSummary()
-        + "\n" + "The issue description: " + issue.getDescription()
-        + "\n" + "The issue key: " + issue.getKey()
-        + "\n" + "The issue URL: " + baseURL + "/browse/" + issue.getKey();
-    return bodyString;
+        + "\n" + "The issue URL: " + baseURL + "/browse/" + issue.getKey()
+        + "\n";
   }
 
   // public String getEmailSender() {
@@ -91,68 +200,124 @@ public class IssueEstimatedTimeChecker implements Runnable {
   // }
 
   /**
-   * The IssueEstimatedTimeChecker run method. Check the last 24 hour. Make a worklog query for the
-   * last 24 hour added and updated worklogs. Check the worklogs issues. If the original estimated
-   * time less then the spent time send a notification email.
+   * Gets the statistics of the last run.
+   *
+   * @return the statistics or <code>null</code> if the checker has not run yet.
+   */
+  public RunStatistics getLastRunStatistics() {
+    return lastRunStatistics;
+  }
+
+  /**
+   * Order the recipients alphabetically, starting after the last notified recipient of the
+   * previous run.
+   */
+  private List<String> orderRecipients(
+      final TreeMap<String, List<String>> issueLinesByRecipient) {
+    List<String> recipients = new ArrayList<>(issueLinesByRecipient.size());
+    if (lastNotifiedRecipient == null) {
+      recipients.addAll(issueLinesByRecipient.keySet());
+    } else {
+      recipients.addAll(issueLinesByRecipient.tailMap(lastNotifiedRecipient, false).keySet());
+      recipients.addAll(issueLinesByRecipient.headMap(lastNotifiedRecipient, true).keySet());
+    }
+    return recipients;
+  }
+
+  /**
+   * The IssueEstimatedTimeChecker run method. Check the last 24 hour. Query the not closed issues
+   * without remaining estimate that have added or updated worklog in the last 24 hour, page by
+   * page. Group the not collector issues by the reporters and the project leads and send one
+   * digest mail to every recipient. The check stops when the time budget is exceeded. At most
+   * {@value #MAX_MAILS_PER_RUN} mails are sent in a run, the next run continues with the skipped
+   * recipients.
    */
   @Override
   public void run() {
+    if (querydslSupport == null) {
+      return;
+    }
+    long startTime = System.currentTimeMillis();
     // check the last 24 hour
     checkerCalendar = Calendar.getInstance();
     Date end = checkerCalendar.getTime();
     checkerCalendar.add(Calendar.DAY_OF_MONTH, -1);
     Date start = checkerCalendar.getTime();
 
-    // query for all worklogs issues from yesterday. check the worklog update parameter
-    EntityExpr startExpr =
-        new EntityExpr("updated", EntityOperator.GREATER_THAN_EQUAL_TO, new Timestamp(
-            start.getTime()));
-    EntityExpr endExpr =
-        new EntityExpr("updated", EntityOperator.LESS_THAN, new Timestamp(end.getTime()));
-
-    List<EntityCondition> exprList = new ArrayList<>();
-    exprList.add(startExpr);
-    exprList.add(endExpr);
-    Set<Long> issueIdSet = null;
-    List<GenericValue> worklogGVList = ComponentAccessor.getOfBizDelegator().findByAnd("Worklog",
-        exprList);
-    issueIdSet = new HashSet<>();
-    for (GenericValue worklogGv : worklogGVList) {
-      Long issueId = Long.valueOf(worklogGv.getString("issue"));
-      issueIdSet.add(issueId);
-    }
+    long deadline = startTime + TIME_BUDGET_IN_MILLIS;
+    boolean timeBudgetExceeded = false;
+    int scannedIssueCount = 0;
+    int notifiedIssueCount = 0;
+    String baseURL = ComponentAccessor.getApplicationProperties().getString(APKeys.JIRA_BASEURL);
     List<Pattern> issuePatterns = settingsHelper.loadGlobalSettings().getIssuePatterns();
     IssueManager issueManager = ComponentAccessor.getIssueManager();
-    for (Long issueId : issueIdSet) {
-      MutableIssue issueObject = issueManager.getIssueObject(issueId);
-      if (!TimetrackerUtil.checkIssueEstimatedTime(issueObject,
-          issuePatterns)) {
-        // send mail
-        sendNotificationEmail(issueObject.getReporterUser().getEmailAddress(), issueObject
-            .getProjectObject()
-            .getProjectLead().getEmailAddress(), issueObject);
+    TreeMap<String, List<String>> issueLinesByRecipient = new TreeMap<>();
+    Long lastIssueId = Long.MIN_VALUE;
+    List<NotEstimatedIssueDTO> issues;
+    do {
+      if (System.currentTimeMillis() > deadline) {
+        LOGGER.warn("Issue estimated time check stopped after issue " + lastIssueId
+            + ", the time budget is exceeded.");
+        timeBudgetExceeded = true;
+        break;
       }
-    }
+      issues = querydslSupport.execute(
+          new NotEstimatedIssueQuery(start, end, lastIssueId, PAGE_SIZE));
+      scannedIssueCount += issues.size();
+      for (NotEstimatedIssueDTO issue : issues) {
+        lastIssueId = issue.getIssueId();
+        if (!TimetrackerUtil.isCollectorIssue(issue.getIssueKey(), issuePatterns)) {
+          MutableIssue issueObject = issueManager.getIssueObject(issue.getIssueId());
+          if (issueObject != null) {
+            notifiedIssueCount++;
+            String issueLine = createIssueLine(issueObject, baseURL);
+            String reporter = issueObject.getReporterUser() == null ? null
+                : issueObject.getReporterUser().getEmailAddress();
+            String projectLead = issueObject.getProjectObject().getProjectLead() == null ? null
+                : issueObject.getProjectObject().getProjectLead().getEmailAddress();
+            addIssueLine(issueLinesByRecipient, reporter, issueLine);
+            if ((projectLead != null) && !projectLead.equals(reporter)) {
+              addIssueLine(issueLinesByRecipient, projectLead, issueLine);
+            }
+          }
+        }
+      }
+    } while (issues.size() == PAGE_SIZE);
 
+    List<String> recipients = orderRecipients(issueLinesByRecipient);
+    String lastRecipient = null;
+    int enqueuedMailCount = 0;
+    for (String recipient : recipients) {
+      if (enqueuedMailCount >= MAX_MAILS_PER_RUN) {
+        LOGGER.warn("Issue estimated time check skipped "
+            + (recipients.size() - enqueuedMailCount)
+            + " notification mails, the mail limit is reached. The next run continues after "
+            + lastRecipient + ".");
+        break;
+      }
+      sendNotificationEmail(recipient, issueLinesByRecipient.get(recipient));
+      lastRecipient = recipient;
+      enqueuedMailCount++;
+    }
+    lastNotifiedRecipient = enqueuedMailCount < recipients.size() ? lastRecipient : null;
+    lastRunStatistics = new RunStatistics(scannedIssueCount, notifiedIssueCount,
+        enqueuedMailCount, System.currentTimeMillis() - startTime, timeBudgetExceeded);
+    LOGGER.info("Issue estimated time check finished: " + lastRunStatistics);
   }
 
   /**
-   * Create and send a notification mail.
+   * Create and send a digest notification mail.
    *
-   * @param issueReporter
+   * @param recipient
    *          The mail address where have to send the notification.
-   * @param issue
-   *          The notification subject.
+   * @param issueLines
+   *          The lines of the issues.
    */
-  private void sendNotificationEmail(final String issueReporter, final String projectLead,
-      final MutableIssue issue) {
-    Email email = new Email(issueReporter);
+  private void sendNotificationEmail(final String recipient, final List<String> issueLines) {
+    Email email = new Email(recipient);
     // email.setFrom(emailSender);
-    if (!issueReporter.equals(projectLead)) {
-      email.setCc(projectLead);
-    }
-    email.setSubject("No more estimated time in the " + issue.getKey() + " issue.");
-    email.setBody(createBodyString(issue));
+    email.setSubject("No more estimated time in " + issueLines.size() + " issue(s).");
+    email.setBody(createBodyString(issueLines));
     SingleMailQueueItem singleMailQueueItem = new SingleMailQueueItem(email);
     singleMailQueueItem.setMailThreader(null);
     ComponentAccessor.getMailQueue().addItem(singleMailQueueItem);
@@ -15,22 +15,17 @@
  */
 package org.everit.jira.timetracker.plugin;
 
-import java.io.UnsupportedEncodingException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Properties;
 
 import javax.servlet.http.HttpSession;
 
-import org.apache.log4j.Logger;
 import org.everit.jira.analytics.AnalyticsDTO;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
-import org.everit.jira.timetracker.plugin.util.HashUtil;
 import org.everit.jira.timetracker.plugin.util.PiwikPropertiesUtil;
 import org.everit.jira.timetracker.plugin.util.PropertiesUtil;
 
 import com.atlassian.jira.component.ComponentAccessor;
-import com.atlassian.jira.util.BuildUtilsInfo;
 
 /**
  * The Jira Timetracker plugin analytics class.
@@ -39,15 +34,6 @@ public final class JiraTimetrackerAnalytics {
 
   private static final String BASE_URL = "org.everit.jira.timetracker.plugin.base.url.hash";
 
-  private static final String ERROR_BASE_URL_HASH = "errorBaseUrlHash";
-
-  private static final String ERROR_USER_ID_HASH = "errorUserIdHash";
-
-  /**
-   * The JiraTimetrackerAnalytics logger.
-   */
-  private static Logger log = Logger.getLogger(JiraTimetrackerAnalytics.class);
-
   private static final String USER_ID = "org.everit.jira.timetracker.plugin.user.id.hash";
 
   /**
@@ -83,27 +69,14 @@ public final class JiraTimetrackerAnalytics {
    * @return The base URL.
    */
   public static String getBaseUrl() {
-    String baseUrl;
-    try {
-      baseUrl = HashUtil.encryptString(ComponentAccessor
-          .getApplicationProperties()
-          .getString("jira.baseurl"));
-      return baseUrl;
-    } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
-      log.error("Error when try to hash the base URL.", e);
-      return ERROR_BASE_URL_HASH;
-
-    }
-
+    return StaticPageContext.getInstance().getHashedBaseUrl();
   }
 
   /**
    * Gets JIRA version.
    */
   public static String getJiraVersionFromBuildUtilsInfo() {
-    BuildUtilsInfo component = ComponentAccessor.getComponent(BuildUtilsInfo.class);
-    return component.getVersion();
-
+    return StaticPageContext.getInstance().getJiraVersion();
   }
 
   /**
@@ -112,10 +85,7 @@ public final class JiraTimetrackerAnalytics {
    * @return The version.
    */
   public static String getPluginVersion() {
-    String pluginVersion = ComponentAccessor.getPluginAccessor()
-        .getPlugin("org.everit.jira.timetracker.plugin")
-        .getPluginInformation().getVersion();
-    return pluginVersion;
+    return StaticPageContext.getInstance().getPluginVersion();
   }
 
   private static String getProperty(final Properties jttpBuildProperties, final String key) {
@@ -129,15 +99,8 @@ public final class JiraTimetrackerAnalytics {
    * @return The user.
    */
   public static String getUserId() {
-    String userId;
-    try {
-      userId = HashUtil.encryptString(ComponentAccessor
-          .getJiraAuthenticationContext().getUser().getKey());
-    } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
-      log.error("Error when try to hash the user ID.", e);
-      return ERROR_USER_ID_HASH;
-    }
-    return userId;
+    return StaticPageContext.getInstance()
+        .getHashedUserId(ComponentAccessor.getJiraAuthenticationContext().getUser().getKey());
   }
 
   /**
@@ -15,43 +15,24 @@
  */
 package org.everit.jira.timetracker.plugin;
 
-import java.util.Collection;
 import java.util.List;
 
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
 
-import com.atlassian.jira.component.ComponentAccessor;
-import com.atlassian.jira.plugin.webfragment.conditions.AbstractWebCondition;
-import com.atlassian.jira.plugin.webfragment.model.JiraHelper;
-import com.atlassian.jira.user.ApplicationUser;
-
 /**
  * The JTTP Plugin condition class. You can set the plugin user groups at JTTP Global Settings admin
  * site. The setted groups stored at jira settings. If no group is setted everybody can use the
  * plugin.
  */
-public class PluginCondition extends AbstractWebCondition {
-
-  private TimeTrackerSettingsHelper settingsHelper;
+public class PluginCondition extends AbstractGroupCondition {
 
   public PluginCondition(final TimeTrackerSettingsHelper settingsHelper) {
-    this.settingsHelper = settingsHelper;
+    super(settingsHelper);
   }
 
   @Override
-  public boolean shouldDisplay(final ApplicationUser user, final JiraHelper jiraHelper) {
-    List<String> pluginGroups = settingsHelper.loadGlobalSettings().getPluginGroups();
-    if (pluginGroups.isEmpty()) {
-      return true;
-    }
-    Collection<String> groupNamesForUser =
-        ComponentAccessor.getGroupManager().getGroupNamesForUser(user);
-    for (String pluginGroup : pluginGroups) {
-      if (groupNamesForUser.contains(pluginGroup)) {
-        return true;
-      }
-    }
-    return false;
+  protected List<String> loadGroups() {
+    return settingsHelper.loadGlobalSettings().getPluginGroups();
   }
 
 }
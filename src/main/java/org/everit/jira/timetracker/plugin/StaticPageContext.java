@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.timetracker.plugin;
+
+import java.io.UnsupportedEncodingException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.everit.jira.timetracker.plugin.util.HashUtil;
+
+import com.atlassian.jira.component.ComponentAccessor;
+import com.atlassian.jira.util.BuildUtilsInfo;
+
+/**
+ * Process level cache of the page details that do not change between the requests: the plugin
+ * version, the JIRA version, the hashed base URL and the hashed user ids. The context is rebuilt
+ * when the base URL setting changes.
+ */
+public final class StaticPageContext {
+
+  private static final String BASE_URL_KEY = "jira.baseurl";
+
+  /**
+   * The hash of the base URL if hashing fails.
+   */
+  public static final String ERROR_BASE_URL_HASH = "errorBaseUrlHash";
+
+  /**
+   * The hash of the user id if hashing fails.
+   */
+  public static final String ERROR_USER_ID_HASH = "errorUserIdHash";
+
+  private static volatile StaticPageContext instance;
+
+  private static Logger log = Logger.getLogger(StaticPageContext.class);
+
+  private static final int MAX_CACHED_USER_IDS = 10000;
+
+  private static final String PLUGIN_KEY = "org.everit.jira.timetracker.plugin";
+
+  private final String baseUrl;
+
+  private final String hashedBaseUrl;
+
+  private final ConcurrentMap<String, String> hashedUserIds = new ConcurrentHashMap<>();
+
+  private final String jiraVersion;
+
+  private final String pluginVersion;
+
+  /**
+   * Get the context of the current base URL setting.
+   *
+   * @return the context.
+   */
+  public static StaticPageContext getInstance() {
+    String baseUrl = ComponentAccessor.getApplicationProperties().getString(BASE_URL_KEY);
+    StaticPageContext context = instance;
+    if ((context == null)
+        || ((baseUrl == null) ? (context.baseUrl != null) : !baseUrl.equals(context.baseUrl))) {
+      context = new StaticPageContext(baseUrl);
+      instance = context;
+    }
+    return context;
+  }
+
+  private StaticPageContext(final String baseUrl) {
+    this.baseUrl = baseUrl;
+    String hash;
+    try {
+      hash = HashUtil.encryptString(baseUrl);
+    } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+      log.error("Error when try to hash the base URL.", e);
+      hash = ERROR_BASE_URL_HASH;
+    }
+    hashedBaseUrl = hash;
+    jiraVersion = ComponentAccessor.getComponent(BuildUtilsInfo.class).getVersion();
+    pluginVersion = ComponentAccessor.getPluginAccessor()
+        .getPlugin(PLUGIN_KEY)
+        .getPluginInformation().getVersion();
+  }
+
+  public String getHashedBaseUrl() {
+    return hashedBaseUrl;
+  }
+
+  /**
+   * Get the hashed user id. The hashes are computed once per user key.
+   *
+   * @param userKey
+   *          the key of the user.
+   * @return the hashed user id.
+   */
+  public String getHashedUserId(final String userKey) {
+    String hashedUserId = hashedUserIds.get(userKey);
+    if (hashedUserId == null) {
+      try {
+        hashedUserId = HashUtil.encryptString(userKey);
+      } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+        log.error("Error when try to hash the user ID.", e);
+        return ERROR_USER_ID_HASH;
+      }
+      if (hashedUserIds.size() >= MAX_CACHED_USER_IDS) {
+        hashedUserIds.clear();
+      }
+      hashedUserIds.put(userKey, hashedUserId);
+    }
+    return hashedUserId;
+  }
+
+  public String getJiraVersion() {
+    return jiraVersion;
+  }
+
+  public String getPluginVersion() {
+    return pluginVersion;
+  }
+
+}
@@ -22,7 +22,9 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.Set;
 
+import org.everit.jira.core.WorklogField;
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.timetracker.plugin.DurationFormatter;
 import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
@@ -39,7 +41,8 @@ import com.atlassian.jira.security.PermissionManager;
 import com.atlassian.jira.user.ApplicationUser;
 
 /**
- * The Everit Worklog.
+ * The Everit Worklog. The issue derived fields are loaded on first access; the setters override
+ * them without loading the issue.
  */
 public class EveritWorklog implements Serializable {
 
@@ -74,14 +77,14 @@ public class EveritWorklog implements Serializable {
   private String exactRemaining;
 
   /**
-   * The issue closed.
+   * The issue closed. <code>null</code> until loaded or set.
    */
-  private boolean isClosed = false;
+  private Boolean isClosed;
 
   /**
-   * The issue estimated time is 0 or not.
+   * The issue estimated time is 0 or not. <code>null</code> until loaded or set.
    */
-  private boolean isMoreEstimatedTime;
+  private Boolean isMoreEstimatedTime;
 
   /**
    * The worklog Issue key.
@@ -90,15 +93,19 @@ public class EveritWorklog implements Serializable {
 
   private Long issueAvatarId;
 
+  private boolean issueDetailsLoaded;
+
   /**
    * The worklog issue ID.
    */
   private Long issueId;
 
+  private transient MutableIssue issueObject;
+
   /**
-   * The worklog Issue epic.
+   * The worklog Issue epic. <code>null</code> until loaded or set.
    */
-  private String issueParent = "";
+  private String issueParent;
 
   /**
    * The worklog Issue Summary.
@@ -116,6 +123,10 @@ public class EveritWorklog implements Serializable {
 
   private int monthNo;
 
+  private boolean permissionsLoaded;
+
+  private boolean remainingLoaded;
+
   /**
    * Remaining time on the issue.
    */
@@ -139,7 +150,7 @@ public class EveritWorklog implements Serializable {
   private Long worklogId;
 
   /**
-   * Simple constructor with GenericValue.
+   * Simple constructor with GenericValue. Every field group is available.
    *
    * @param worklogGv
    *          GenericValue worklog.
@@ -150,6 +161,45 @@ public class EveritWorklog implements Serializable {
    */
   public EveritWorklog(final GenericValue worklogGv)
       throws ParseException, IllegalArgumentException {
+    this(worklogGv, WorklogField.ALL);
+  }
+
+  /**
+   * Constructor with GenericValue and projection. The issue derived fields are calculated lazily
+   * on first access.
+   *
+   * @param worklogGv
+   *          GenericValue worklog.
+   * @param fields
+   *          the requested field groups.
+   * @throws ParseException
+   *           If can't parse the date.
+   * @throws IllegalArgumentException
+   *           If can't parse the date.
+   */
+  public EveritWorklog(final GenericValue worklogGv, final Set<WorklogField> fields)
+      throws ParseException, IllegalArgumentException {
+    this(worklogGv, null, fields);
+  }
+
+  /**
+   * Constructor with GenericValue, the already loaded issue of the worklog and projection. The
+   * issue key is taken from the issue, the other issue derived fields are calculated lazily on
+   * first access.
+   *
+   * @param worklogGv
+   *          GenericValue worklog.
+   * @param issueObject
+   *          the issue of the worklog or <code>null</code> to load it on first access.
+   * @param fields
+   *          the requested field groups.
+   * @throws ParseException
+   *           If can't parse the date.
+   * @throws IllegalArgumentException
+   *           If can't parse the date.
+   */
+  public EveritWorklog(final GenericValue worklogGv, final MutableIssue issueObject,
+      final Set<WorklogField> fields) throws ParseException, IllegalArgumentException {
     worklogId = worklogGv.getLong("id");
     startTime = worklogGv.getString("startdate");
     date = DateTimeServer.getInstanceBasedOnSystemTimeZone(
@@ -162,53 +212,24 @@ public class EveritWorklog implements Serializable {
     monthNo = date.getUserTimeZone().getMonthOfYear() + 1;
     dayNo = date.getUserTimeZone().getDayOfYear();
     issueId = Long.valueOf(worklogGv.getString("issue"));
-    IssueManager issueManager = ComponentAccessor.getIssueManager();
-    MutableIssue issueObject = issueManager.getIssueObject(issueId);
-    issue = issueObject.getKey();
-    issueSummary = issueObject.getSummary();
-    if (StatusCategory.COMPLETE
-        .equals(issueObject.getStatusObject().getSimpleStatus().getStatusCategory().getKey())) {
-      isClosed = true;
-    }
-    issueTypeName = issueObject.getIssueTypeObject().getName();
-    Avatar avatar = issueObject.getIssueTypeObject().getAvatar();
-    if (avatar != null) {
-      issueAvatarId = avatar.getId();
-    }
-    issueTypeIconUrl = issueObject.getIssueTypeObject().getIconUrl();
-    if (issueObject.getParentObject() != null) {
-      issueParent = issueObject.getParentObject().getKey();
-    }
-    Long issueEstimate = issueObject.getEstimate();
-    if ((issueEstimate != null) && (issueEstimate > 0)) {
-      isMoreEstimatedTime = true;
-    } else {
-      isMoreEstimatedTime = false;
-      // fix issueObject.getEstimate(); null or negative value problem.
-      issueEstimate = 0L;
+    if (issueObject != null) {
+      this.issueObject = issueObject;
+      issue = issueObject.getKey();
     }
     body = worklogGv.getString("body");
     if (body == null) {
       body = "";
     }
-    DurationFormatter durationFormatter = new DurationFormatter();
     long timeSpentInSec = worklogGv.getLong("timeworked").longValue();
     milliseconds = timeSpentInSec
         * DateTimeConverterUtil.MILLISECONDS_PER_SECOND;
-    duration = durationFormatter.exactDuration(timeSpentInSec);
-    endTime = DateTimeConverterUtil.countEndTime(startTime, milliseconds);
-
-    roundedRemaining = durationFormatter.roundedDuration(issueEstimate);
-    exactRemaining = durationFormatter.exactDuration(issueEstimate);
-
-    PermissionManager permissionManager = ComponentAccessor.getPermissionManager();
-    ApplicationUser loggedUser = ComponentAccessor.getJiraAuthenticationContext().getUser();
-    deleteOwnWorklogs =
-        permissionManager.hasPermission(ProjectPermissions.DELETE_OWN_WORKLOGS, issueObject,
-            loggedUser);
-    editOwnWorklogs =
-        permissionManager.hasPermission(ProjectPermissions.EDIT_OWN_WORKLOGS, issueObject,
-            loggedUser);
+    if (fields.contains(WorklogField.DURATION)) {
+      duration = DurationFormatter.getInstance().exactDuration(timeSpentInSec);
+    }
+    endTime = DateTimeConverterUtil.countEndTime(date.getUserTimeZoneDate(), milliseconds);
+    issueDetailsLoaded = !fields.contains(WorklogField.ISSUE_DETAILS);
+    remainingLoaded = !fields.contains(WorklogField.REMAINING);
+    permissionsLoaded = !fields.contains(WorklogField.PERMISSIONS);
   }
 
   /**
@@ -220,6 +241,9 @@ public class EveritWorklog implements Serializable {
    *           If can't parse the date.
    */
   public EveritWorklog(final Worklog worklog) throws IllegalArgumentException {
+    issueDetailsLoaded = true;
+    remainingLoaded = true;
+    permissionsLoaded = true;
     worklogId = worklog.getId();
     date = DateTimeServer.getInstanceBasedOnSystemTimeZone(worklog.getStartDate().getTime());
     startTime =
@@ -239,7 +263,7 @@ public class EveritWorklog implements Serializable {
     milliseconds = timeSpentInSec
         * DateTimeConverterUtil.MILLISECONDS_PER_SECOND;
     duration = DateTimeConverterUtil.dateTimeToStringWithFixFormat(new Date(milliseconds));
-    endTime = DateTimeConverterUtil.countEndTime(startTime, milliseconds);
+    endTime = DateTimeConverterUtil.countEndTime(date.getUserTimeZoneDate(), milliseconds);
   }
 
   public String getBody() {
@@ -263,38 +287,60 @@ public class EveritWorklog implements Serializable {
   }
 
   public String getExactRemaining() {
+    loadRemaining();
     return exactRemaining;
   }
 
   public boolean getIsClosed() {
-    return isClosed;
+    loadIssueDetails();
+    return Boolean.TRUE.equals(isClosed);
   }
 
   public boolean getIsMoreEstimatedTime() {
-    return isMoreEstimatedTime;
+    loadRemaining();
+    return Boolean.TRUE.equals(isMoreEstimatedTime);
   }
 
+  /**
+   * Gives back the issue key. The issue is loaded on first access.
+   */
   public String getIssue() {
+    if ((issue == null) && (issueId != null)) {
+      issue = getIssueObject().getKey();
+    }
     return issue;
   }
 
   public Long getIssueAvatarId() {
+    loadIssueDetails();
     return issueAvatarId;
   }
 
+  private MutableIssue getIssueObject() {
+    if (issueObject == null) {
+      IssueManager issueManager = ComponentAccessor.getIssueManager();
+      issueObject = issueManager.getIssueObject(issueId);
+    }
+    return issueObject;
+  }
+
   public String getIssueParent() {
-    return issueParent;
+    loadIssueDetails();
+    return issueParent == null ? "" : issueParent;
   }
 
   public String getIssueSummary() {
+    loadIssueDetails();
     return issueSummary;
   }
 
   public String getIssueTypeIconUrl() {
+    loadIssueDetails();
     return issueTypeIconUrl;
   }
 
   public String getIssueTypeName() {
+    loadIssueDetails();
     return issueTypeName;
   }
 
@@ -307,6 +353,7 @@ public class EveritWorklog implements Serializable {
   }
 
   public String getRoundedRemaining() {
+    loadRemaining();
     return roundedRemaining;
   }
 
@@ -327,13 +374,88 @@ public class EveritWorklog implements Serializable {
   }
 
   public boolean isDeleteOwnWorklogs() {
+    loadPermissions();
     return deleteOwnWorklogs;
   }
 
   public boolean isEditOwnWorklogs() {
+    loadPermissions();
     return editOwnWorklogs;
   }
 
+  private void loadIssueDetails() {
+    if (issueDetailsLoaded) {
+      return;
+    }
+    issueDetailsLoaded = true;
+    MutableIssue mutableIssue = getIssueObject();
+    if (issueSummary == null) {
+      issueSummary = mutableIssue.getSummary();
+    }
+    if (isClosed == null) {
+      isClosed = StatusCategory.COMPLETE
+          .equals(mutableIssue.getStatusObject().getSimpleStatus().getStatusCategory().getKey());
+    }
+    if (issueTypeName == null) {
+      issueTypeName = mutableIssue.getIssueTypeObject().getName();
+    }
+    if (issueAvatarId == null) {
+      Avatar avatar = mutableIssue.getIssueTypeObject().getAvatar();
+      if (avatar != null) {
+        issueAvatarId = avatar.getId();
+      }
+    }
+    if (issueTypeIconUrl == null) {
+      issueTypeIconUrl = mutableIssue.getIssueTypeObject().getIconUrl();
+    }
+    if ((issueParent == null) && (mutableIssue.getParentObject() != null)) {
+      issueParent = mutableIssue.getParentObject().getKey();
+    }
+  }
+
+  private void loadPermissions() {
+    if (permissionsLoaded) {
+      return;
+    }
+    permissionsLoaded = true;
+    MutableIssue mutableIssue = getIssueObject();
+    PermissionManager permissionManager = ComponentAccessor.getPermissionManager();
+    ApplicationUser loggedUser = ComponentAccessor.getJiraAuthenticationContext().getUser();
+    deleteOwnWorklogs =
+        permissionManager.hasPermission(ProjectPermissions.DELETE_OWN_WORKLOGS, mutableIssue,
+            loggedUser);
+    editOwnWorklogs =
+        permissionManager.hasPermission(ProjectPermissions.EDIT_OWN_WORKLOGS, mutableIssue,
+            loggedUser);
+  }
+
+  private void loadRemaining() {
+    if (remainingLoaded) {
+      return;
+    }
+    remainingLoaded = true;
+    if ((isMoreEstimatedTime != null) && (roundedRemaining != null)
+        && (exactRemaining != null)) {
+      return;
+    }
+    Long issueEstimate = getIssueObject().getEstimate();
+    boolean moreEstimatedTime = (issueEstimate != null) && (issueEstimate > 0);
+    if (!moreEstimatedTime) {
+      // fix issueObject.getEstimate(); null or negative value problem.
+      issueEstimate = 0L;
+    }
+    if (isMoreEstimatedTime == null) {
+      isMoreEstimatedTime = moreEstimatedTime;
+    }
+    DurationFormatter durationFormatter = DurationFormatter.getInstance();
+    if (roundedRemaining == null) {
+      roundedRemaining = durationFormatter.roundedDuration(issueEstimate);
+    }
+    if (exactRemaining == null) {
+      exactRemaining = durationFormatter.exactDuration(issueEstimate);
+    }
+  }
+
   private void readObject(final ObjectInputStream stream) throws IOException,
       ClassNotFoundException {
     stream.close();
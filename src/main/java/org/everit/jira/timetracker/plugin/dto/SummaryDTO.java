@@ -19,12 +19,11 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.everit.jira.core.SupportManager;
 import org.everit.jira.core.TimetrackerManager;
+import org.everit.jira.core.WorkCalendar;
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.timetracker.plugin.DurationFormatter;
 import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
@@ -60,10 +59,6 @@ public final class SummaryDTO {
 
     private final DurationFormatter durationFormatter;
 
-    private final Set<DateTime> excludeDatesAsSet;
-
-    private final Set<DateTime> includeDatesAsSet;
-
     private final List<Pattern> issuePatterns;
 
     private double monthExpectedWorkSeconds;
@@ -84,6 +79,8 @@ public final class SummaryDTO {
 
     private long weekSummaryInSecond;
 
+    private final WorkCalendar workCalendar;
+
     /**
      * Simple constructor.
      *
@@ -96,10 +93,8 @@ public final class SummaryDTO {
      * @param date
      *          the date of selected day. We use the create day summary and we use to date of exime
      *          week and month.
-     * @param excludeDatesAsSet
-     *          the set of excludes dates from timetracker configuration.
-     * @param includeDatesAsSet
-     *          the set of include dates from timetracker configuration.
+     * @param workCalendar
+     *          the calendar of the exclude and include dates from timetracker configuration.
      * @param issuePatterns
      *          the list of issue patterns from timetracker configuration.
      */
@@ -107,15 +102,13 @@ public final class SummaryDTO {
         final TimetrackerManager timetrackerManager,
         final SupportManager supportManager,
         final DateTimeServer date,
-        final Set<DateTime> excludeDatesAsSet,
-        final Set<DateTime> includeDatesAsSet,
+        final WorkCalendar workCalendar,
         final List<Pattern> issuePatterns) {
-      durationFormatter = new DurationFormatter();
+      durationFormatter = DurationFormatter.getInstance();
       this.timeTrackingConfiguration = timeTrackingConfiguration;
       this.supportManager = supportManager;
       this.timetrackerManager = timetrackerManager;
-      this.excludeDatesAsSet = excludeDatesAsSet;
-      this.includeDatesAsSet = includeDatesAsSet;
+      this.workCalendar = workCalendar;
       this.issuePatterns = issuePatterns;
       this.date = date;
     }
@@ -146,32 +139,11 @@ public final class SummaryDTO {
     }
 
     private double calculateExpectedWorkSecondsInMonth(final double expectedWorkSecondsInDay) {
-      Calendar dayIndex = createNewCalendarWithWeekStart();
-      dayIndex.setTime(date.getUserTimeZoneDate());
-      dayIndex.set(Calendar.DAY_OF_MONTH, 1);
-      Calendar monthLastDay = createNewCalendarWithWeekStart();
-      monthLastDay.setTime(date.getUserTimeZoneDate());
-      monthLastDay.set(Calendar.DAY_OF_MONTH,
-          monthLastDay.getActualMaximum(Calendar.DAY_OF_MONTH));
-
-      long daysInMonth =
-          TimeUnit.DAYS.convert(monthLastDay.getTimeInMillis() - dayIndex.getTimeInMillis(),
-              TimeUnit.MILLISECONDS) + 1;
-      int excludeDtaes =
-          timetrackerManager.getExcludeDaysOfTheMonth(date.getUserTimeZone(), excludeDatesAsSet)
-              .size();
-      int includeDtaes =
-          timetrackerManager.getIncludeDaysOfTheMonth(date.getUserTimeZone(), includeDatesAsSet)
-              .size();
-      int nonWorkDaysCount = 0;
-      for (int i = 1; i <= daysInMonth; i++) {
-        int dayOfweek = dayIndex.get(Calendar.DAY_OF_WEEK);
-        if ((dayOfweek == Calendar.SUNDAY) || (dayOfweek == Calendar.SATURDAY)) {
-          nonWorkDaysCount++;
-        }
-        dayIndex.add(Calendar.DAY_OF_MONTH, 1);
-      }
-      long realWorkDaysInMonth = (daysInMonth + includeDtaes) - excludeDtaes - nonWorkDaysCount;
+      DateTime monthFirstDay = date.getUserTimeZone().withDayOfMonth(1);
+      long firstEpochDay = WorkCalendar.getLocalEpochDay(monthFirstDay);
+      long lastEpochDay =
+          (firstEpochDay + monthFirstDay.dayOfMonth().getMaximumValue()) - 1;
+      long realWorkDaysInMonth = workCalendar.countWorkDays(firstEpochDay, lastEpochDay);
       return realWorkDaysInMonth * expectedWorkSecondsInDay;
     }
 
@@ -183,8 +155,8 @@ public final class SummaryDTO {
         weekdays.add(new DateTime(dayIndex.getTimeInMillis(), date.getUserTimeZone().getZone()));
         dayIndex.add(Calendar.DAY_OF_MONTH, 1);
       }
-      double realWorkDaysInWeek = timetrackerManager.countRealWorkDaysInWeek(weekdays,
-          excludeDatesAsSet, includeDatesAsSet);
+      double realWorkDaysInWeek =
+          timetrackerManager.countRealWorkDaysInWeek(weekdays, workCalendar);
       return realWorkDaysInWeek * expectedWorkSecondsInDay;
     }
 
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.timetracker.plugin.util;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.MutableDateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * Thread-safe cache of the immutable Joda formatters of the {@link SimpleDateFormat} patterns, per
+ * pattern, locale and time zone. The patterns with letters that mean something else or unknown in
+ * Joda (for example "u", "Y", "S", "F", "W" or "X") fall back to a new {@link SimpleDateFormat}
+ * per call, like the parsing of the patterns that Joda can only print (for example "z").
+ */
+public final class DateFormatterCache {
+
+  /**
+   * The cache key.
+   */
+  private static final class FormatterKey {
+
+    private final Locale locale;
+
+    private final String pattern;
+
+    private final TimeZone timeZone;
+
+    FormatterKey(final String pattern, final Locale locale, final TimeZone timeZone) {
+      this.pattern = pattern;
+      this.locale = locale;
+      this.timeZone = timeZone;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FormatterKey)) {
+        return false;
+      }
+      FormatterKey other = (FormatterKey) obj;
+      return pattern.equals(other.pattern) && locale.equals(other.locale)
+          && timeZone.equals(other.timeZone);
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = pattern.hashCode();
+      result = (prime * result) + locale.hashCode();
+      result = (prime * result) + timeZone.hashCode();
+      return result;
+    }
+  }
+
+  private static final String COMPATIBLE_PATTERN_LETTERS = "GyMdhHmsEDakKzZ";
+
+  private static final ConcurrentMap<FormatterKey, DateTimeFormatter> FORMATTERS =
+      new ConcurrentHashMap<>();
+
+  private static final int MAX_CACHED_FORMATTERS = 256;
+
+  private static final int YEAR_1970 = 1970;
+
+  /**
+   * Format the date with the pattern.
+   *
+   * @param pattern
+   *          the {@link SimpleDateFormat} pattern.
+   * @param locale
+   *          the locale of the names.
+   * @param timeZone
+   *          the time zone of the result.
+   * @param date
+   *          the date to format.
+   * @return the formatted date.
+   */
+  public static String format(final String pattern, final Locale locale, final TimeZone timeZone,
+      final Date date) {
+    DateTimeFormatter formatter = DateFormatterCache.getFormatter(pattern, locale, timeZone);
+    if (formatter == null) {
+      return DateFormatterCache.newSimpleDateFormat(pattern, locale, timeZone).format(date);
+    }
+    return formatter.print(date.getTime());
+  }
+
+  /**
+   * Get the cached Joda formatter of the pattern.
+   *
+   * @param pattern
+   *          the {@link SimpleDateFormat} pattern.
+   * @param locale
+   *          the locale of the names.
+   * @param timeZone
+   *          the time zone of the formatter.
+   * @return the formatter or <code>null</code> if the pattern is not compatible with Joda.
+   */
+  public static DateTimeFormatter getFormatter(final String pattern, final Locale locale,
+      final TimeZone timeZone) {
+    FormatterKey key = new FormatterKey(pattern, locale, timeZone);
+    DateTimeFormatter formatter = FORMATTERS.get(key);
+    if ((formatter == null) && DateFormatterCache.isCompatible(pattern)) {
+      if (FORMATTERS.size() >= MAX_CACHED_FORMATTERS) {
+        FORMATTERS.clear();
+      }
+      formatter = DateTimeFormat.forPattern(pattern)
+          .withLocale(locale)
+          .withZone(DateTimeZone.forTimeZone(timeZone));
+      FORMATTERS.putIfAbsent(key, formatter);
+    }
+    return formatter;
+  }
+
+  private static boolean isCompatible(final String pattern) {
+    boolean quoted = false;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (!quoted && (((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')))
+          && (COMPATIBLE_PATTERN_LETTERS.indexOf(c) < 0)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static DateFormat newSimpleDateFormat(final String pattern, final Locale locale,
+      final TimeZone timeZone) {
+    DateFormat dateFormat = new SimpleDateFormat(pattern, locale);
+    dateFormat.setTimeZone(timeZone);
+    return dateFormat;
+  }
+
+  /**
+   * Parse the beginning of the text like the {@link SimpleDateFormat#parse(String)}. The not
+   * parsed fields are taken from 1970-01-01 00:00:00.000 in the time zone.
+   *
+   * @param pattern
+   *          the {@link SimpleDateFormat} pattern.
+   * @param locale
+   *          the locale of the names.
+   * @param timeZone
+   *          the time zone of the text.
+   * @param text
+   *          the text to parse.
+   * @return the parsed date.
+   * @throws ParseException
+   *           if the beginning of the text cannot be parsed.
+   */
+  public static Date parse(final String pattern, final Locale locale, final TimeZone timeZone,
+      final String text) throws ParseException {
+    DateTimeFormatter formatter = DateFormatterCache.getFormatter(pattern, locale, timeZone);
+    if ((formatter == null) || !formatter.isParser()) {
+      return DateFormatterCache.newSimpleDateFormat(pattern, locale, timeZone).parse(text);
+    }
+    MutableDateTime result =
+        new MutableDateTime(YEAR_1970, 1, 1, 0, 0, 0, 0, DateTimeZone.forTimeZone(timeZone));
+    int position;
+    try {
+      position = formatter.parseInto(result, text, 0);
+    } catch (IllegalArgumentException e) {
+      throw new ParseException("Unparseable date: \"" + text + "\"", 0);
+    }
+    if (position < 0) {
+      throw new ParseException("Unparseable date: \"" + text + "\"", ~position);
+    }
+    return result.toDate();
+  }
+
+  private DateFormatterCache() {
+  }
+
+}
@@ -17,16 +17,15 @@ package org.everit.jira.timetracker.plugin.util;
 
 import java.sql.Timestamp;
 import java.text.DateFormat;
-import java.text.DateFormatSymbols;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.core.impl.WorklogComponent;
@@ -69,6 +68,9 @@ public final class DateTimeConverterUtil {
    */
   public static final String FIX_DATE_TIME_FORMAT = "yyyy-MM-dd";
 
+  private static final org.joda.time.format.DateTimeFormatter FIX_DATE_FORMATTER =
+      DateTimeFormat.forPattern(FIX_DATE_TIME_FORMAT);
+
   /**
    * The fix date time format for duration value.
    */
@@ -79,17 +81,14 @@ public final class DateTimeConverterUtil {
    */
   public static final int HOUR_EIGHT = 8;
 
-  private static final int HOURS_GROUP = 8;
-
-  private static final int HOURS_GROUP_2 = 2;
-
   /**
    * The number of hours in day.
    */
   public static final int HOURS_IN_DAY = 24;
 
   /**
-   * The JIRA duration pattern.
+   * The JIRA duration pattern. The validation and the conversion use the equivalent
+   * {@link TimeParserUtil#parseJiraDuration(CharSequence)}.
    */
   public static final String JIRA_DURATION_PATTERN = "(([01]?[0-9]|2[0-3])[h]*[\\s]+(([0-9]{1,3}|"
       + "1[0-3][0-9]{2}|14[0-3][0-9])[m])*)|"
@@ -97,6 +96,8 @@ public final class DateTimeConverterUtil {
 
   private static final int MILLISEC_IN_SECOND = 1000;
 
+  private static final long MILLISECONDS_PER_MINUTE = 60000L;
+
   /**
    * The number of milliseconds per seconds.
    */
@@ -107,10 +108,6 @@ public final class DateTimeConverterUtil {
    */
   public static final int MINS_IN_QUATER = 15;
 
-  private static final int MINUTES_GROUP = 6;
-
-  private static final int MINUTES_GROUP_2 = 4;
-
   /**
    * The number of minutes per hour.
    */
@@ -127,12 +124,23 @@ public final class DateTimeConverterUtil {
   public static final int SECONDS_PER_MINUTE = 60;
 
   /**
-   * The 24 hours pattern.
+   * The 24 hours pattern. The validation uses the equivalent
+   * {@link TimeParserUtil#parseTimeToMinutes(CharSequence)}.
    */
   public static final String TIME24HOURS_PATTERN = "([01]?[0-9]|2[0-3]):[0-5][0-9]";
 
+  /**
+   * The {@link DateTimeStyle#TIME} formatters of the {@link #timeFormatterFactory} per locale.
+   */
+  private static final ConcurrentMap<Locale, DateTimeFormatter> TIME_FORMATTERS =
+      new ConcurrentHashMap<>();
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
   private static final int YEAR_1900 = 1900;
 
+  private static volatile DateTimeFormatterFactory timeFormatterFactory;
+
   /**
    * Convert the Timestamp to system timezone, cahnge the Timezone o user timezone and convert back
    * to a new Timestamp.
@@ -211,6 +219,24 @@ public final class DateTimeConverterUtil {
     return DateTimeConverterUtil.dateTimeToString(new Date(endMillisecond));
   }
 
+  /**
+   * Count the worklog end time without parsing the formatted start time.
+   *
+   * @param start
+   *          When start the worklog. The seconds and milliseconds are ignored like the formatted
+   *          start time.
+   * @param spentMilliseconds
+   *          The spent time in milliseconds.
+   * @return The string format of the end time.
+   */
+  public static String countEndTime(final Date start, final long spentMilliseconds) {
+    long startMillisecond = start.getTime();
+    long millisecondsOfMinute = ((startMillisecond % MILLISECONDS_PER_MINUTE)
+        + MILLISECONDS_PER_MINUTE) % MILLISECONDS_PER_MINUTE;
+    long endMillisecond = (startMillisecond - millisecondsOfMinute) + spentMilliseconds;
+    return DateTimeConverterUtil.dateTimeToString(new Date(endMillisecond));
+  }
+
   /**
    * Convert date to string use the {@link APKeys#JIRA_LF_DATE_COMPLETE}.
    *
@@ -221,10 +247,8 @@ public final class DateTimeConverterUtil {
   public static String dateAndTimeToString(final Date dateAndTime) {
     String dateTimeFormat =
         DateTimeConverterUtil.getJiraDefaultDateAndTimeJavaFormat(APKeys.JIRA_LF_DATE_COMPLETE);
-    DateFormat formatterDateAndTime =
-        new SimpleDateFormat(dateTimeFormat, DateTimeConverterUtil.getLoggedUserLocal());
-    String stringDateAndTime = formatterDateAndTime.format(dateAndTime);
-    return stringDateAndTime;
+    return DateFormatterCache.format(dateTimeFormat, DateTimeConverterUtil.getLoggedUserLocal(),
+        TimeZone.getDefault(), dateAndTime);
   }
 
   /**
@@ -247,9 +271,7 @@ public final class DateTimeConverterUtil {
    * @return The result string.
    */
   public static String dateTimeToStringWithFixFormat(final Date date) {
-    DateFormat formatterDate = new SimpleDateFormat(FIX_TIME_FORMAT);
-    formatterDate.setTimeZone(TimeZone.getTimeZone("UTC"));
-    return formatterDate.format(date);
+    return DateFormatterCache.format(FIX_TIME_FORMAT, Locale.getDefault(), UTC, date);
   }
 
   /**
@@ -260,10 +282,7 @@ public final class DateTimeConverterUtil {
    * @return The result time.
    */
   public static String dateToFixFormatString(final DateTime date) {
-    org.joda.time.format.DateTimeFormatter formatterDate =
-        DateTimeFormat.forPattern(FIX_DATE_TIME_FORMAT);
-    String dateString = formatterDate.print(date);
-    return dateString;
+    return FIX_DATE_FORMATTER.print(date);
   }
 
   /**
@@ -276,10 +295,8 @@ public final class DateTimeConverterUtil {
   public static String dateToString(final Date date) {
     String dateFormat =
         DateTimeConverterUtil.getJiraDefaultDateAndTimeJavaFormat(APKeys.JIRA_LF_DATE_DMY);
-    DateFormat formatterDate =
-        new SimpleDateFormat(dateFormat, DateTimeConverterUtil.getLoggedUserLocal());
-    String dateString = formatterDate.format(date);
-    return dateString;
+    return DateFormatterCache.format(dateFormat, DateTimeConverterUtil.getLoggedUserLocal(),
+        TimeZone.getDefault(), date);
   }
 
   /**
@@ -293,7 +310,7 @@ public final class DateTimeConverterUtil {
    */
   public static Date fixFormatStringToDate(final String dateString) throws ParseException {
     DateFormat formatterDate = new SimpleDateFormat(FIX_DATE_TIME_FORMAT);
-    formatterDate.setTimeZone(TimeZone.getTimeZone("UTC"));
+    formatterDate.setTimeZone(UTC);
     Date date = formatterDate.parse(dateString);
     return date;
   }
@@ -310,7 +327,7 @@ public final class DateTimeConverterUtil {
   public static Date fixFormatStringToDateWithValidation(final String dateString)
       throws ParseException {
     DateFormat formatterDate = new SimpleDateFormat(FIX_DATE_TIME_FORMAT);
-    formatterDate.setTimeZone(TimeZone.getTimeZone("UTC"));
+    formatterDate.setTimeZone(UTC);
     Date date = formatterDate.parse(dateString);
     if (!dateString.equals(formatterDate.format(date))) {
       throw new ParseException("Invalid date value:" + dateString, 0);
@@ -335,11 +352,21 @@ public final class DateTimeConverterUtil {
   private static DateTimeFormatter getDateTimeTimeFormatter() {
     DateTimeFormatterFactory dateTimeFormatterFactory =
         ComponentAccessor.getComponent(DateTimeFormatterFactory.class);
-    return dateTimeFormatterFactory
-        .formatter()
-        .forLoggedInUser()
-        .withSystemZone()
-        .withStyle(DateTimeStyle.TIME);
+    if (timeFormatterFactory != dateTimeFormatterFactory) {
+      TIME_FORMATTERS.clear();
+      timeFormatterFactory = dateTimeFormatterFactory;
+    }
+    Locale locale = DateTimeConverterUtil.getLoggedUserLocal();
+    DateTimeFormatter dateTimeTimeFormatter = TIME_FORMATTERS.get(locale);
+    if (dateTimeTimeFormatter == null) {
+      dateTimeTimeFormatter = dateTimeFormatterFactory
+          .formatter()
+          .withLocale(locale)
+          .withSystemZone()
+          .withStyle(DateTimeStyle.TIME);
+      TIME_FORMATTERS.putIfAbsent(locale, dateTimeTimeFormatter);
+    }
+    return dateTimeTimeFormatter;
   }
 
   private static String getJiraDefaultDateAndTimeJavaFormat(final String formatKey) {
@@ -362,7 +389,7 @@ public final class DateTimeConverterUtil {
    * @return If valid then true else false.
    */
   public static boolean isValidJiraTime(final String time) {
-    return Pattern.matches(JIRA_DURATION_PATTERN, time);
+    return TimeParserUtil.parseJiraDuration(time) != TimeParserUtil.INVALID;
   }
 
   /**
@@ -373,25 +400,10 @@ public final class DateTimeConverterUtil {
    * @return If valid then true else false.
    */
   public static boolean isValidTime(final String time) {
-    boolean match24Format = Pattern.matches(TIME24HOURS_PATTERN, time);
-    StringBuilder sb = new StringBuilder();
-    sb.append("^([01]?[0-9]|2[0-3]):[0-5][0-9]( (");
-    Locale locale = DateTimeConverterUtil.getLoggedUserLocal();
-    DateFormatSymbols dateFormatSymbols = new DateFormatSymbols(locale);
-    String[] amPmStrings = dateFormatSymbols.getAmPmStrings();
-    int index = 0;
-    for (String string : amPmStrings) {
-      sb.append(string + "|");
-      sb.append(string.toLowerCase(locale));
-      if (index < (amPmStrings.length - 1)) {
-        sb.append("|");
-      }
-      index++;
+    if (TimeParserUtil.parseTimeToMinutes(time) != TimeParserUtil.INVALID) {
+      return true;
     }
-    sb.append("))$");
-    boolean matchAmPmFormat = Pattern.matches(sb.toString(), time);
-    return match24Format || matchAmPmFormat;
-
+    return TimeParserUtil.isValidAmPmTime(time, DateTimeConverterUtil.getLoggedUserLocal());
   }
 
   /**
@@ -402,22 +414,9 @@ public final class DateTimeConverterUtil {
    * @return The calculated seconds.
    */
   public static int jiraDurationToSeconds(final String duration) {
-    Pattern durPatt = Pattern.compile(DateTimeConverterUtil.JIRA_DURATION_PATTERN);
-    Matcher m = durPatt.matcher(duration);
-    int seconds = 0;
-    if (m.matches()) {
-      if (m.group(HOURS_GROUP) != null) {
-        seconds = Integer.parseInt(m.group(HOURS_GROUP)) * DateTimeConverterUtil.MINUTES_PER_HOUR
-            * DateTimeConverterUtil.SECONDS_PER_MINUTE;
-      } else if (m.group(MINUTES_GROUP) != null) {
-        seconds = Integer.parseInt(m.group(MINUTES_GROUP))
-            * DateTimeConverterUtil.SECONDS_PER_MINUTE;
-      } else if ((m.group(HOURS_GROUP_2) != null) && (m.group(MINUTES_GROUP_2) != null)) {
-        seconds = Integer.parseInt(m.group(HOURS_GROUP_2)) * DateTimeConverterUtil.MINUTES_PER_HOUR
-            * DateTimeConverterUtil.SECONDS_PER_MINUTE;
-        seconds += Integer.parseInt(m.group(MINUTES_GROUP_2))
-            * DateTimeConverterUtil.SECONDS_PER_MINUTE;
-      }
+    int seconds = TimeParserUtil.parseJiraDuration(duration);
+    if (seconds == TimeParserUtil.INVALID) {
+      return 0;
     }
     return seconds;
   }
@@ -459,8 +458,12 @@ public final class DateTimeConverterUtil {
    *           If can't parse the date.
    */
   public static Date stringTimeToDateTimeWithFixFormat(final String time) throws ParseException {
+    int minutes = TimeParserUtil.parseTimeToMinutes(time);
+    if (minutes != TimeParserUtil.INVALID) {
+      return new Date(minutes * MILLISECONDS_PER_MINUTE);
+    }
     DateFormat formatterDate = new SimpleDateFormat(FIX_TIME_FORMAT);
-    formatterDate.setTimeZone(TimeZone.getTimeZone("UTC"));
+    formatterDate.setTimeZone(UTC);
     return formatterDate.parse(time);
   }
 
@@ -477,7 +480,7 @@ public final class DateTimeConverterUtil {
   public static String stringTimeToString(final String time) throws ParseException {
     long seconds = DateTimeConverterUtil.stringTimeToDateTimeWithFixFormat(
         time).getTime() / MILLISEC_IN_SECOND;
-    String result = new DurationFormatter().exactDuration(seconds);
+    String result = DurationFormatter.getInstance().exactDuration(seconds);
     return result;
   }
 
@@ -493,10 +496,8 @@ public final class DateTimeConverterUtil {
   public static Date stringToDate(final String dateString) throws ParseException {
     String dateFormat =
         DateTimeConverterUtil.getJiraDefaultDateAndTimeJavaFormat(APKeys.JIRA_LF_DATE_DMY);
-    DateFormat formatterDate =
-        new SimpleDateFormat(dateFormat, DateTimeConverterUtil.getLoggedUserLocal());
-    Date date = formatterDate.parse(dateString);
-    return date;
+    return DateFormatterCache.parse(dateFormat, DateTimeConverterUtil.getLoggedUserLocal(),
+        TimeZone.getDefault(), dateString);
   }
 
   /**
@@ -588,10 +589,8 @@ public final class DateTimeConverterUtil {
    *           if can't parse the date.
    */
   public static Date stringToDateAndTime(final String dateAndTimeString) throws ParseException {
-    DateFormat formatterDateAndTime =
-        new SimpleDateFormat(DATE_TIME_FORMAT, DateTimeConverterUtil.getLoggedUserLocal());
-    Date date = formatterDateAndTime.parse(dateAndTimeString);
-    return date;
+    return DateFormatterCache.parse(DATE_TIME_FORMAT, DateTimeConverterUtil.getLoggedUserLocal(),
+        TimeZone.getDefault(), dateAndTimeString);
   }
 
   /**
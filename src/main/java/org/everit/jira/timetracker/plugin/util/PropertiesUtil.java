@@ -36,11 +36,27 @@ public final class PropertiesUtil {
 
   private static final String JTTP_PROPERTIES = "jttp_build.properties";
 
+  private static volatile Properties jttpBuildProperties;
+
   /**
-   * Gets jttp_buil.properties.
+   * Gets jttp_buil.properties. The file is loaded once and the same instance is returned by the
+   * later calls, so the returned properties must not be modified. A failed load is not cached.
    *
    */
   public static Properties getJttpBuildProperties() {
+    Properties properties = jttpBuildProperties;
+    if (properties == null) {
+      properties = PropertiesUtil.loadJttpBuildProperties();
+      if (properties != null) {
+        jttpBuildProperties = properties;
+      } else {
+        properties = new Properties();
+      }
+    }
+    return properties;
+  }
+
+  private static Properties loadJttpBuildProperties() {
     InputStream inputStream = null;
     Properties properties = new Properties();
     try {
@@ -56,7 +72,7 @@ public final class PropertiesUtil {
       properties.load(inputStream);
 
     } catch (IOException e) {
-      return new Properties();
+      return null;
     } finally {
       if (inputStream != null) {
         try {
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.timetracker.plugin.util;
+
+import java.text.DateFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single pass, allocation free parsers of the JIRA duration ("1h 30m") and the 24 hours time
+ * ("08:30") formats. The accepted inputs are the same as the
+ * {@link DateTimeConverterUtil#JIRA_DURATION_PATTERN} and
+ * {@link DateTimeConverterUtil#TIME24HOURS_PATTERN} patterns.
+ */
+public final class TimeParserUtil {
+
+  private static final ConcurrentMap<Locale, String[]> AM_PM_MARKERS = new ConcurrentHashMap<>();
+
+  /**
+   * The result of the parse methods if the input is not valid.
+   */
+  public static final int INVALID = -1;
+
+  private static final int MAX_DURATION_MINUTES = 1439;
+
+  private static final int MAX_DURATION_MINUTES_DIGITS = 4;
+
+  private static final int MAX_HOURS_DIGITS = 2;
+
+  private static final int MIN_FOUR_DIGITS_DURATION_MINUTES = 1000;
+
+  private static final int SECONDS_PER_HOUR = 3600;
+
+  private static final int SECONDS_PER_MINUTE = 60;
+
+  private static final int TEN = 10;
+
+  private static String[] getAmPmMarkers(final Locale locale) {
+    String[] markers = AM_PM_MARKERS.get(locale);
+    if (markers == null) {
+      String[] amPmStrings = new DateFormatSymbols(locale).getAmPmStrings();
+      markers = new String[amPmStrings.length * 2];
+      for (int i = 0; i < amPmStrings.length; i++) {
+        markers[i * 2] = amPmStrings[i];
+        markers[(i * 2) + 1] = amPmStrings[i].toLowerCase(locale);
+      }
+      AM_PM_MARKERS.putIfAbsent(locale, markers);
+    }
+    return markers;
+  }
+
+  private static boolean isDigit(final char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  /**
+   * Check the time is valid 24 hours time followed by a space and the AM/PM marker of the locale
+   * (for example "10:30 PM" or "10:30 pm").
+   *
+   * @param time
+   *          the time to validate.
+   * @param locale
+   *          the locale of the AM/PM markers.
+   * @return true if valid, otherwise false.
+   */
+  public static boolean isValidAmPmTime(final CharSequence time, final Locale locale) {
+    int length = time.length();
+    for (String marker : TimeParserUtil.getAmPmMarkers(locale)) {
+      int markerStart = length - marker.length();
+      if ((markerStart > 0) && (time.charAt(markerStart - 1) == ' ')
+          && TimeParserUtil.regionEquals(time, markerStart, marker)
+          && (TimeParserUtil.parseTimeToMinutes(time, 0, markerStart - 1) != INVALID)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWhitespace(final char c) {
+    return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000B') || (c == '\f')
+        || (c == '\r');
+  }
+
+  /**
+   * Parse the value of the digits between from (inclusive) and to (exclusive). The caller checks
+   * the number of digits, so the result cannot overflow.
+   */
+  private static int parseDigits(final CharSequence value, final int from, final int to) {
+    int result = 0;
+    for (int i = from; i < to; i++) {
+      result = (result * TEN) + (value.charAt(i) - '0');
+    }
+    return result;
+  }
+
+  /**
+   * Parse the minutes part of the duration ("[0-9]{1,3}|1[0-3][0-9]{2}|14[0-3][0-9]").
+   */
+  private static int parseDurationMinutes(final CharSequence value, final int from,
+      final int to) {
+    int digits = to - from;
+    if ((digits < 1) || (digits > MAX_DURATION_MINUTES_DIGITS)) {
+      return INVALID;
+    }
+    int minutes = TimeParserUtil.parseDigits(value, from, to);
+    if ((digits == MAX_DURATION_MINUTES_DIGITS)
+        && ((minutes < MIN_FOUR_DIGITS_DURATION_MINUTES) || (minutes > MAX_DURATION_MINUTES))) {
+      return INVALID;
+    }
+    return minutes;
+  }
+
+  /**
+   * Parse the hours part ("[01]?[0-9]|2[0-3]").
+   */
+  private static int parseHours(final CharSequence value, final int from, final int to) {
+    int digits = to - from;
+    if ((digits < 1) || (digits > MAX_HOURS_DIGITS)) {
+      return INVALID;
+    }
+    char first = value.charAt(from);
+    if ((digits == MAX_HOURS_DIGITS) && (first != '0') && (first != '1')
+        && ((first != '2') || (value.charAt(from + 1) > '3'))) {
+      return INVALID;
+    }
+    return TimeParserUtil.parseDigits(value, from, to);
+  }
+
+  /**
+   * Converts JIRA duration style string to seconds. If the duration contains repeated hours or
+   * minutes parts (for example "1h2h") the last part is used like in the regular expression based
+   * implementation. The hours with trailing whitespace without minutes (for example "1h ") is valid
+   * with zero seconds.
+   *
+   * @param duration
+   *          JIRA duration style string.
+   * @return the seconds or {@link #INVALID} if the duration is not valid.
+   */
+  public static int parseJiraDuration(final CharSequence duration) {
+    int length = duration.length();
+    int digitsEnd = TimeParserUtil.skipDigits(duration, 0);
+    if ((digitsEnd == 0) || (digitsEnd == length)) {
+      return INVALID;
+    }
+    char unit = duration.charAt(digitsEnd);
+    if (unit == 'm') {
+      int minutes = TimeParserUtil.parseMinutesParts(duration, 0);
+      return minutes == INVALID ? INVALID : minutes * SECONDS_PER_MINUTE;
+    }
+    int hours = TimeParserUtil.parseHours(duration, 0, digitsEnd);
+    if ((hours == INVALID) || ((unit != 'h') && !TimeParserUtil.isWhitespace(unit))) {
+      return INVALID;
+    }
+    int unitsEnd = digitsEnd;
+    while ((unitsEnd < length) && (duration.charAt(unitsEnd) == 'h')) {
+      unitsEnd++;
+    }
+    if (unitsEnd == (digitsEnd + 1)) {
+      if (unitsEnd == length) {
+        return hours * SECONDS_PER_HOUR;
+      }
+      if (TimeParserUtil.isDigit(duration.charAt(unitsEnd))) {
+        hours = TimeParserUtil.parseHoursParts(duration, unitsEnd);
+        return hours == INVALID ? INVALID : hours * SECONDS_PER_HOUR;
+      }
+    }
+    int whitespaceEnd = unitsEnd;
+    while ((whitespaceEnd < length)
+        && TimeParserUtil.isWhitespace(duration.charAt(whitespaceEnd))) {
+      whitespaceEnd++;
+    }
+    if (whitespaceEnd == unitsEnd) {
+      return INVALID;
+    }
+    if (whitespaceEnd == length) {
+      return 0;
+    }
+    int minutes = TimeParserUtil.parseMinutesParts(duration, whitespaceEnd);
+    if (minutes == INVALID) {
+      return INVALID;
+    }
+    return (hours * SECONDS_PER_HOUR) + (minutes * SECONDS_PER_MINUTE);
+  }
+
+  /**
+   * Parse the "([01]?[0-9]|2[0-3])h" parts from the given index to the end of the value.
+   *
+   * @return the hours of the last part or {@link #INVALID}.
+   */
+  private static int parseHoursParts(final CharSequence value, final int from) {
+    int length = value.length();
+    int hours = INVALID;
+    int partStart = from;
+    while (partStart < length) {
+      int digitsEnd = TimeParserUtil.skipDigits(value, partStart);
+      if ((digitsEnd == length) || (value.charAt(digitsEnd) != 'h')) {
+        return INVALID;
+      }
+      hours = TimeParserUtil.parseHours(value, partStart, digitsEnd);
+      if (hours == INVALID) {
+        return INVALID;
+      }
+      partStart = digitsEnd + 1;
+    }
+    return hours;
+  }
+
+  /**
+   * Parse the minutes with "m" parts from the given index to the end of the value.
+   *
+   * @return the minutes of the last part or {@link #INVALID}.
+   */
+  private static int parseMinutesParts(final CharSequence value, final int from) {
+    int length = value.length();
+    int minutes = INVALID;
+    int partStart = from;
+    while (partStart < length) {
+      int digitsEnd = TimeParserUtil.skipDigits(value, partStart);
+      if ((digitsEnd == length) || (value.charAt(digitsEnd) != 'm')) {
+        return INVALID;
+      }
+      minutes = TimeParserUtil.parseDurationMinutes(value, partStart, digitsEnd);
+      if (minutes == INVALID) {
+        return INVALID;
+      }
+      partStart = digitsEnd + 1;
+    }
+    return minutes;
+  }
+
+  /**
+   * Parse the 24 hours time ("H:mm" or "HH:mm").
+   *
+   * @param time
+   *          the time to parse.
+   * @return the minutes of the day or {@link #INVALID} if the time is not valid.
+   */
+  public static int parseTimeToMinutes(final CharSequence time) {
+    return TimeParserUtil.parseTimeToMinutes(time, 0, time.length());
+  }
+
+  private static int parseTimeToMinutes(final CharSequence time, final int from, final int to) {
+    int separator = TimeParserUtil.skipDigits(time, from);
+    if ((separator >= to) || (time.charAt(separator) != ':') || ((to - separator) != 3)) {
+      return INVALID;
+    }
+    int hours = TimeParserUtil.parseHours(time, from, separator);
+    char minutesTen = time.charAt(separator + 1);
+    char minutesOne = time.charAt(separator + 2);
+    if ((hours == INVALID) || (minutesTen < '0') || (minutesTen > '5')
+        || !TimeParserUtil.isDigit(minutesOne)) {
+      return INVALID;
+    }
+    return (hours * DateTimeConverterUtil.MINUTES_PER_HOUR) + ((minutesTen - '0') * TEN)
+        + (minutesOne - '0');
+  }
+
+  private static boolean regionEquals(final CharSequence value, final int from,
+      final String expected) {
+    for (int i = 0; i < expected.length(); i++) {
+      if (value.charAt(from + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int skipDigits(final CharSequence value, final int from) {
+    int length = value.length();
+    int i = from;
+    while ((i < length) && TimeParserUtil.isDigit(value.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private TimeParserUtil() {
+  }
+
+}
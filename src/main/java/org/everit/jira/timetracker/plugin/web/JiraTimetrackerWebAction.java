@@ -166,7 +166,7 @@ public class JiraTimetrackerWebAction extends JiraWebActionSupport {
 
   private boolean defaultCommand = false;
 
-  private DurationFormatter durationFormatter = new DurationFormatter();
+  private DurationFormatter durationFormatter = DurationFormatter.getInstance();
 
   private String editAllIds;
 
@@ -287,8 +287,7 @@ public class JiraTimetrackerWebAction extends JiraWebActionSupport {
     summaryDTO = new SummaryDTO.SummaryDTOBuilder(
         timeTrackingConfiguration, timetrackerManager, supportManager,
         DateTimeServer.getInstanceBasedOnUserTimeZone(currentTimeInUserTimeZone),
-        globalSettings.getExcludeDates(),
-        globalSettings.getIncludeDates(), globalSettings.getNonWorkingIssuePatterns())
+        globalSettings.getWorkCalendar(), globalSettings.getNonWorkingIssuePatterns())
             .createSummaryDTO();
   }
 
@@ -892,8 +891,7 @@ public class JiraTimetrackerWebAction extends JiraWebActionSupport {
         currentTimeInUserTimeZone = new DateTime(TimetrackerUtil.getLoggedUserTimeZone());
       } else {
         currentTimeInUserTimeZone =
-            timetrackerManager.firstMissingWorklogsDate(globalSettings.getExcludeDates(),
-                globalSettings.getIncludeDates(),
+            timetrackerManager.firstMissingWorklogsDate(globalSettings.getWorkCalendar(),
                 new DateTime(TimetrackerUtil.getLoggedUserTimeZone()));
       }
     }
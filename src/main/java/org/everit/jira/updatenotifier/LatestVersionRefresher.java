@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.updatenotifier;
+
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background task that queries the latest JTTP version from the marketplace with the
+ * {@link TimetrackerVersionUpdater} and loads it to the memory of the {@link UpdateNotifier}. The
+ * task reschedules itself: hourly after a successful run and with a growing, jittered delay after a
+ * failed one.
+ */
+public class LatestVersionRefresher implements Runnable {
+
+  private static final long CHECK_INTERVAL_IN_MILLIS = 3600000L;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LatestVersionRefresher.class);
+
+  private static final int MAX_BACKOFF_SHIFT = 10;
+
+  private static final long MAX_RETRY_DELAY_IN_MILLIS = 86400000L;
+
+  private static final long MIN_RETRY_DELAY_IN_MILLIS = 300000L;
+
+  private volatile boolean cancelled;
+
+  private int failureCount;
+
+  private volatile ScheduledFuture<?> future;
+
+  private final Random random = new Random();
+
+  private final ScheduledExecutorService scheduledExecutorService;
+
+  private final UpdateNotifier updateNotifier;
+
+  /**
+   * Constructor.
+   *
+   * @param updateNotifier
+   *          the notifier that stores the latest version.
+   * @param scheduledExecutorService
+   *          the executor of the task.
+   */
+  public LatestVersionRefresher(final UpdateNotifier updateNotifier,
+      final ScheduledExecutorService scheduledExecutorService) {
+    this.updateNotifier = updateNotifier;
+    this.scheduledExecutorService = scheduledExecutorService;
+  }
+
+  /**
+   * Stop the refreshing.
+   */
+  public void cancel() {
+    cancelled = true;
+    ScheduledFuture<?> scheduledFuture = future;
+    if (scheduledFuture != null) {
+      scheduledFuture.cancel(true);
+    }
+  }
+
+  private long nextRetryDelay() {
+    int shift = Math.min(failureCount - 1, MAX_BACKOFF_SHIFT);
+    return Math.min(MIN_RETRY_DELAY_IN_MILLIS << shift, MAX_RETRY_DELAY_IN_MILLIS);
+  }
+
+  @Override
+  public void run() {
+    long delay;
+    try {
+      TimetrackerVersionUpdater versionUpdater = new TimetrackerVersionUpdater(updateNotifier);
+      if (failureCount > 0) {
+        versionUpdater.forceUpdateLatestVersion();
+      } else {
+        versionUpdater.updateLatestVersion();
+      }
+      updateNotifier.loadLatestVersion();
+      failureCount = 0;
+      delay = CHECK_INTERVAL_IN_MILLIS;
+    } catch (RuntimeException e) {
+      failureCount++;
+      delay = nextRetryDelay();
+      LOGGER.warn("Version update failed, retry in " + delay + " ms", e);
+    }
+    schedule(delay);
+  }
+
+  /**
+   * Schedule the next run. Up to the half of the delay is added as random jitter, so the nodes of
+   * a cluster do not query the marketplace at the same time.
+   *
+   * @param delayInMillis
+   *          the minimum delay of the next run.
+   */
+  public void schedule(final long delayInMillis) {
+    if (cancelled) {
+      return;
+    }
+    long jitter = (long) (random.nextDouble() * (delayInMillis / 2));
+    try {
+      future = scheduledExecutorService.schedule(this, delayInMillis + jitter,
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      cancelled = true;
+    }
+  }
+
+}
@@ -21,6 +21,7 @@ import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.everit.jira.updatenotifier.exception.UpdateException;
 import org.everit.jira.updatenotifier.json.JiraMarketplaceJSONDTO;
 
@@ -40,6 +41,8 @@ public class TimetrackerVersionUpdater {
 
   private static final long ONE_DAY_IN_MILISEC = 86400000L;
 
+  private static final int TIMEOUT_IN_MILISEC = 10000;
+
   private int buildNumber;
 
   private UpdateNotifier updateNotifier;
@@ -49,12 +52,27 @@ public class TimetrackerVersionUpdater {
     this.updateNotifier = updateNotifier;
   }
 
-  private synchronized void update() {
-    if (!updateRequired()) {
+  /**
+   * Get the latest version from marketplace regardless of the time of the last update. Used to
+   * retry a failed update.
+   *
+   * @throws {@link
+   *           UpdateException} if the update failed.
+   */
+  public void forceUpdateLatestVersion() {
+    update(true);
+  }
+
+  private synchronized void update(final boolean force) {
+    if (!force && !updateRequired()) {
       return;
     }
     updateNotifier.putLastUpdateTime(System.currentTimeMillis());
     HttpClient httpClient = new HttpClient();
+    HttpConnectionManagerParams connectionParams =
+        httpClient.getHttpConnectionManager().getParams();
+    connectionParams.setConnectionTimeout(TIMEOUT_IN_MILISEC);
+    connectionParams.setSoTimeout(TIMEOUT_IN_MILISEC);
     HttpMethod method = new GetMethod(
         MARKETPLACE_URL_FIRST_PART
             + buildNumber + MARKETPLACE_URL_WITH_VERSION_PARAMETER);
@@ -70,6 +88,8 @@ public class TimetrackerVersionUpdater {
       response = method.getResponseBodyAsString();
     } catch (IOException e) {
       throw new UpdateException("Update JTTP latest version failed. ", e);
+    } finally {
+      method.releaseConnection();
     }
     Gson gson = new Gson();
     JiraMarketplaceJSONDTO fromJson = gson.fromJson(response, JiraMarketplaceJSONDTO.class);
@@ -86,7 +106,7 @@ public class TimetrackerVersionUpdater {
    */
   public void updateLatestVersion() {
     if (updateRequired()) {
-      update();
+      update(false);
     }
   }
 
@@ -19,16 +19,16 @@ import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
 import org.everit.jira.settings.dto.TimeTrackerUserSettings;
 import org.everit.jira.timetracker.plugin.JiraTimetrackerAnalytics;
-import org.everit.jira.updatenotifier.exception.UpdateException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * Helper class for store update information in the plugin.
+ * Helper class for store update information in the plugin. The latest version is kept in memory,
+ * it is queried from the marketplace by the {@link LatestVersionRefresher} in the background.
  */
 public class UpdateNotifier {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(UpdateNotifier.class);
+  private static volatile String cachedLatestVersion;
+
+  private static volatile boolean cachedLatestVersionLoaded;
 
   private TimeTrackerSettingsHelper settingsHelper;
 
@@ -47,21 +47,16 @@ public class UpdateNotifier {
   }
 
   /**
-   * Get the latest JTTP version, if necessary query it from the marketplace.
+   * Get the latest JTTP version from the memory. The global settings are read only for the first
+   * time.
    *
    * @return the latest JTTP version.
    */
   public String getLatestVersion() {
-    try {
-      new TimetrackerVersionUpdater(this).updateLatestVersion();
-    } catch (UpdateException e) {
-      LOGGER.error("Version update failed", e);
+    if (!cachedLatestVersionLoaded) {
+      return loadLatestVersion();
     }
-    return getLatestVersionWithoutUpdate();
-  }
-
-  private String getLatestVersionWithoutUpdate() {
-    return settingsHelper.loadGlobalSettings().getLatestVersion();
+    return cachedLatestVersion;
   }
 
   /**
@@ -88,12 +83,24 @@ public class UpdateNotifier {
     }
   }
 
+  /**
+   * Load the latest JTTP version from the global settings to the memory.
+   *
+   * @return the latest JTTP version.
+   */
+  public String loadLatestVersion() {
+    String version = settingsHelper.loadGlobalSettings().getLatestVersion();
+    cachedLatestVersion = version;
+    cachedLatestVersionLoaded = true;
+    return version;
+  }
+
   /**
    * Set the settings to disable the notifier for the latest version.
    */
   public void putDisableNotifierForVersion() {
     TimeTrackerUserSettings userSettings =
-        new TimeTrackerUserSettings().userCanceledUpdate(getLatestVersionWithoutUpdate());
+        new TimeTrackerUserSettings().userCanceledUpdate(getLatestVersion());
     settingsHelper.saveUserSettings(userSettings);
   }
 
@@ -103,11 +110,13 @@ public class UpdateNotifier {
   }
 
   /**
-   * Put the latest JTTP version to the settings.
+   * Put the latest JTTP version to the settings and to the memory.
    */
-  public void putLatestVersion(final String latestVersion) {
+  public void putLatestVersion(final String version) {
     TimeTrackerGlobalSettings globalSettings =
-        new TimeTrackerGlobalSettings().latestVersion(latestVersion);
+        new TimeTrackerGlobalSettings().latestVersion(version);
     settingsHelper.saveGlobalSettings(globalSettings);
+    cachedLatestVersion = version;
+    cachedLatestVersionLoaded = true;
   }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.analytics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.everit.jira.analytics.AnalyticsSenderImpl;
+import org.everit.jira.analytics.event.AnalyticsEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class AnalyticsSenderImplTest {
+
+  private static final long WAIT_TIMEOUT_IN_MILLIS = 10000;
+
+  private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+  private HttpServer server;
+
+  private AnalyticsEvent event(final String url) {
+    return new AnalyticsEvent() {
+      @Override
+      public String getUrl() {
+        return url;
+      }
+    };
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/piwik.php", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+          byte[] buffer = new byte[1024];
+          int read = in.read(buffer);
+          while (read >= 0) {
+            body.write(buffer, 0, read);
+            read = in.read(buffer);
+          }
+        }
+        requestBodies.add(exchange.getRequestMethod() + " " + body.toString("UTF-8"));
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+      }
+    });
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  private String trackerUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/piwik.php";
+  }
+
+  private void waitFor(final AnalyticsSenderImpl sender, final long eventCount)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_IN_MILLIS;
+    while (((sender.getSentEventCount() + sender.getFailedEventCount()) < eventCount)
+        && (System.currentTimeMillis() < deadline)) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testFullQueueDropsOldestEvents() throws Exception {
+    AnalyticsSenderImpl sender = new AnalyticsSenderImpl(2, 10, 1000);
+    for (int i = 0; i < 5; i++) {
+      sender.send(event(trackerUrl() + "?idsite=1&rec=1&e_n=" + i));
+    }
+    Assert.assertEquals(2, sender.getQueueDepth());
+    Assert.assertEquals(3, sender.getDroppedEventCount());
+
+    sender.afterPropertiesSet();
+    try {
+      waitFor(sender, 2);
+    } finally {
+      sender.destroy();
+    }
+    Assert.assertEquals(2, sender.getSentEventCount());
+    Assert.assertEquals(1, requestBodies.size());
+    Assert.assertEquals("POST {\"requests\":[\"?idsite=1&rec=1&e_n=3\","
+        + "\"?idsite=1&rec=1&e_n=4\"]}", requestBodies.get(0));
+  }
+
+  @Test
+  public void testUnreachableHostIsCounted() throws Exception {
+    AnalyticsSenderImpl sender = new AnalyticsSenderImpl(10, 10, 1000);
+    sender.afterPropertiesSet();
+    try {
+      sender.send(event("http://127.0.0.1:1/piwik.php?idsite=1&rec=1"));
+      sender.send(event(trackerUrl() + "?idsite=1&rec=1"));
+      waitFor(sender, 2);
+    } finally {
+      sender.destroy();
+    }
+    Assert.assertEquals(1, sender.getFailedEventCount());
+    Assert.assertEquals(1, sender.getSentEventCount());
+    Assert.assertEquals(0, sender.getDroppedEventCount());
+  }
+
+}
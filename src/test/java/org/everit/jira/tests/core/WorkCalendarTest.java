@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.core;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.everit.jira.core.WorkCalendar;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkCalendarTest {
+
+  private static final DateTimeZone USER_ZONE = DateTimeZone.forID("America/New_York");
+
+  private static boolean containsSameDay(final Set<DateTime> dates, final DateTime date) {
+    for (DateTime d : dates) {
+      if ((d.getYear() == date.getYear()) && (d.getDayOfYear() == date.getDayOfYear())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Set<DateTime> utcDates(final String... dates) {
+    Set<DateTime> result = new HashSet<>();
+    for (String date : dates) {
+      result.add(new DateTime(date, DateTimeZone.UTC));
+    }
+    return result;
+  }
+
+  @Test
+  public void testCountWorkDaysLikeDayByDayCount() {
+    Set<DateTime> excludeDates = utcDates("2017-03-15", "2017-03-18", "2016-12-26");
+    Set<DateTime> includeDates = utcDates("2017-03-25", "2017-03-14");
+    WorkCalendar workCalendar = WorkCalendar.of(excludeDates, includeDates);
+    DateTime from = new DateTime("2016-12-01T10:00", USER_ZONE);
+    for (int length = 0; length < 150; length++) {
+      long expected = 0;
+      DateTime day = from;
+      for (int i = 0; i < length; i++) {
+        int dayOfWeek = day.getDayOfWeek();
+        if ((dayOfWeek != DateTimeConstants.SATURDAY) && (dayOfWeek != DateTimeConstants.SUNDAY)) {
+          expected++;
+        }
+        if (containsSameDay(excludeDates, day)) {
+          expected--;
+        }
+        if (containsSameDay(includeDates, day)) {
+          expected++;
+        }
+        day = day.plusDays(1);
+      }
+      long fromEpochDay = WorkCalendar.getLocalEpochDay(from);
+      Assert.assertEquals(expected,
+          workCalendar.countWorkDays(fromEpochDay, (fromEpochDay + length) - 1));
+    }
+  }
+
+  @Test
+  public void testGetInstanceFromSettings() {
+    WorkCalendar workCalendar = WorkCalendar.getInstance("1489536000000,", "1490400000000,");
+    Assert.assertSame(workCalendar,
+        WorkCalendar.getInstance("1489536000000,", "1490400000000,"));
+    Assert.assertFalse(workCalendar.isWorkingDay(new DateTime("2017-03-15T23:00", USER_ZONE)));
+    Assert.assertTrue(workCalendar.isWorkingDay(new DateTime("2017-03-25T01:00", USER_ZONE)));
+    Assert.assertTrue(WorkCalendar.getInstance(null, "")
+        .isWorkingDay(new DateTime("2017-03-15T23:00", USER_ZONE)));
+  }
+
+  @Test
+  public void testIsWorkingDayLikeSetScan() {
+    Set<DateTime> excludeDates =
+        utcDates("2017-01-02", "2017-01-07", "2017-01-11", "1969-12-31", "2017-12-25");
+    Set<DateTime> includeDates = utcDates("2017-01-08", "2017-01-11", "2017-01-12");
+    WorkCalendar workCalendar = WorkCalendar.of(excludeDates, includeDates);
+    for (DateTimeZone zone : Arrays.asList(DateTimeZone.UTC, USER_ZONE,
+        DateTimeZone.forID("Asia/Tokyo"))) {
+      DateTime day = new DateTime("1969-12-25T12:00", zone);
+      for (int i = 0; i < 20000; i++) {
+        boolean excluded = containsSameDay(excludeDates, day);
+        boolean included = containsSameDay(includeDates, day);
+        boolean weekend = (day.getDayOfWeek() == DateTimeConstants.SATURDAY)
+            || (day.getDayOfWeek() == DateTimeConstants.SUNDAY);
+        Assert.assertEquals(excluded, workCalendar.isExcluded(day));
+        Assert.assertEquals(included, workCalendar.isIncluded(day));
+        Assert.assertEquals(!excluded && (included || !weekend), workCalendar.isWorkingDay(day));
+        day = day.plusDays(1);
+      }
+    }
+  }
+
+}
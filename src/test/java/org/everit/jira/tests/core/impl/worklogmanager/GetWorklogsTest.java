@@ -22,12 +22,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import org.easymock.EasyMock;
+import org.everit.jira.core.WorklogField;
 import org.everit.jira.core.impl.DateTimeServer;
 import org.everit.jira.core.impl.WorklogComponent;
 import org.everit.jira.settings.TimeTrackerSettingsHelper;
@@ -138,6 +140,8 @@ public class GetWorklogsTest {
 
   private DummyWorklog dummyWorklog;
 
+  private IssueManager issueManager;
+
   private MockApplicationUser loggedUser;
 
   private WorklogComponent worklogManager;
@@ -160,7 +164,7 @@ public class GetWorklogsTest {
         Mockito.mock(PermissionManager.class, Mockito.RETURNS_DEEP_STUBS);
     OfBizDelegator ofBizDelegator = Mockito.mock(OfBizDelegator.class, Mockito.RETURNS_DEEP_STUBS);
     GroupManager groupManager = Mockito.mock(GroupManager.class, Mockito.RETURNS_DEEP_STUBS);
-    IssueManager issueManager = Mockito.mock(IssueManager.class, Mockito.RETURNS_DEEP_STUBS);
+    issueManager = Mockito.mock(IssueManager.class, Mockito.RETURNS_DEEP_STUBS);
 
     loggedUser = new MockApplicationUser("test_userkey", "test_username");
     Mockito.when(mockJiraAuthenticationContext.getUser())
@@ -368,4 +372,45 @@ public class GetWorklogsTest {
     Assert.assertEquals(worklogs.get(0).getIssue(), "WORKLOG-1");
 
   }
+
+  @Test
+  public void testGetWorklogsWithProjection()
+      throws DataAccessException, GenericEntityException, SQLException, ParseException {
+    List<EveritWorklog> worklogs = worklogManager.getWorklogs(null,
+        DateTimeServer.getInstanceBasedOnUserTimeZone(new DateTime(defaultStatDate.getTime())),
+        null, WorklogField.NONE);
+    Assert.assertEquals(2, worklogs.size());
+    Assert.assertEquals("WORKLOG-1", worklogs.get(0).getIssue());
+    Assert.assertEquals(10000L, worklogs.get(0).getMilliseconds());
+    Assert.assertNull(worklogs.get(0).getDuration());
+    Assert.assertNull(worklogs.get(0).getRoundedRemaining());
+    Assert.assertFalse(worklogs.get(0).getIsClosed());
+
+    worklogs = worklogManager.getWorklogs(null,
+        DateTimeServer.getInstanceBasedOnUserTimeZone(new DateTime(defaultStatDate.getTime())),
+        null, EnumSet.of(WorklogField.ISSUE_DETAILS));
+    Assert.assertTrue(worklogs.get(0).getIsClosed());
+    Assert.assertNull(worklogs.get(0).getDuration());
+  }
+
+  @Test
+  public void testGetWorklogsLoadsIssueOnce()
+      throws DataAccessException, GenericEntityException, SQLException, ParseException {
+    List<EveritWorklog> worklogs = worklogManager.getWorklogs(null,
+        DateTimeServer.getInstanceBasedOnUserTimeZone(new DateTime(defaultStatDate.getTime())),
+        null, EnumSet.of(WorklogField.REMAINING));
+    EveritWorklog worklog = worklogs.get(0);
+    worklog.setRoundedRemaining("1h");
+    worklog.setExactRemaining("1h 5m");
+    worklog.setMoreEstimatedTime(true);
+    Assert.assertEquals("WORKLOG-1", worklog.getIssue());
+    Assert.assertEquals("1h", worklog.getRoundedRemaining());
+    Assert.assertEquals("1h 5m", worklog.getExactRemaining());
+    Assert.assertTrue(worklog.getIsMoreEstimatedTime());
+
+    // the issue of the permission check is reused, the overridden fields do not read it again
+    Mockito.verify(issueManager, Mockito.times(1))
+        .getIssueObject(dummyWorklog.getIssue().getId());
+    Mockito.verify((MutableIssue) dummyWorklog.getIssue(), Mockito.never()).getEstimate();
+  }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.everit.jira.core.impl.PermissionChangeListener;
+import org.everit.jira.core.util.BrowsableProjectCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.atlassian.jira.event.ClearCacheEvent;
+import com.atlassian.jira.mock.component.MockComponentWorker;
+import com.atlassian.jira.permission.ProjectPermissions;
+import com.atlassian.jira.project.MockProject;
+import com.atlassian.jira.project.Project;
+import com.atlassian.jira.security.PermissionManager;
+import com.atlassian.jira.user.MockApplicationUser;
+
+public class BrowsableProjectCacheTest {
+
+  private PermissionManager permissionManager;
+
+  private MockApplicationUser user;
+
+  @Before
+  public void before() {
+    BrowsableProjectCache.clear();
+    user = new MockApplicationUser("userKey", "username");
+    List<Project> projects = new ArrayList<>();
+    projects.add(new MockProject(2));
+    projects.add(new MockProject(1));
+    permissionManager = Mockito.mock(PermissionManager.class);
+    Mockito.when(permissionManager.getProjects(ProjectPermissions.BROWSE_PROJECTS, user))
+        .thenReturn(projects);
+    new MockComponentWorker()
+        .addMock(PermissionManager.class, permissionManager)
+        .init();
+  }
+
+  @Test
+  public void testProjectIdsAreCachedUntilInvalidated() {
+    List<Long> projectIds = BrowsableProjectCache.getProjectIds(user);
+    Assert.assertEquals(Arrays.asList(1L, 2L), projectIds);
+    Assert.assertSame(projectIds, BrowsableProjectCache.getProjectIds(user));
+    Mockito.verify(permissionManager, Mockito.times(1))
+        .getProjects(ProjectPermissions.BROWSE_PROJECTS, user);
+
+    new PermissionChangeListener().onEvent(new Object());
+    Assert.assertSame(projectIds, BrowsableProjectCache.getProjectIds(user));
+
+    new PermissionChangeListener().onEvent(ClearCacheEvent.INSTANCE);
+    Assert.assertEquals(Arrays.asList(1L, 2L), BrowsableProjectCache.getProjectIds(user));
+    Mockito.verify(permissionManager, Mockito.times(2))
+        .getProjects(ProjectPermissions.BROWSE_PROJECTS, user);
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.core.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.everit.jira.timetracker.plugin.util.DateFormatterCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateFormatterCacheTest {
+
+  private static final Locale[] LOCALES =
+      new Locale[] { Locale.ENGLISH, Locale.GERMAN, new Locale("hu", "HU"), Locale.JAPANESE };
+
+  private static final String[] PATTERNS = new String[] { "dd/MMM/yy", "dd/MMM/yy h:mm a",
+      "yyyy-MM-dd HH:mm", "HH:mm", "EEE, d MMMM yyyy", "dd.MM.yyyy 'um' HH:mm" };
+
+  private static final TimeZone[] TIME_ZONES = new TimeZone[] { TimeZone.getTimeZone("UTC"),
+      TimeZone.getTimeZone("Europe/Budapest"), TimeZone.getTimeZone("America/New_York") };
+
+  private SimpleDateFormat newSimpleDateFormat(final String pattern, final Locale locale,
+      final TimeZone timeZone) {
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, locale);
+    simpleDateFormat.setTimeZone(timeZone);
+    return simpleDateFormat;
+  }
+
+  @Test
+  public void testFallbackPattern() throws ParseException {
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+    Assert.assertNull(DateFormatterCache.getFormatter("YYYY-ww u", Locale.ENGLISH, utc));
+    Date date = new Date(1483236000000L);
+    Assert.assertEquals(newSimpleDateFormat("YYYY-ww u", Locale.ENGLISH, utc).format(date),
+        DateFormatterCache.format("YYYY-ww u", Locale.ENGLISH, utc, date));
+    Assert.assertEquals(newSimpleDateFormat("yyyy-MM-dd z", Locale.ENGLISH, utc)
+        .parse("2017-01-01 UTC"),
+        DateFormatterCache.parse("yyyy-MM-dd z", Locale.ENGLISH, utc, "2017-01-01 UTC"));
+  }
+
+  @Test
+  public void testFormatAndParseLikeSimpleDateFormat() throws ParseException {
+    long[] times = new long[] { 0L, 1483236000000L, 1490488200000L, 1509235199000L,
+        1514764740000L };
+    for (String pattern : PATTERNS) {
+      for (Locale locale : LOCALES) {
+        for (TimeZone timeZone : TIME_ZONES) {
+          SimpleDateFormat simpleDateFormat = newSimpleDateFormat(pattern, locale, timeZone);
+          for (long time : times) {
+            Date date = new Date(time);
+            String expected = simpleDateFormat.format(date);
+            Assert.assertEquals(expected,
+                DateFormatterCache.format(pattern, locale, timeZone, date));
+            Assert.assertEquals(pattern + " " + expected, simpleDateFormat.parse(expected),
+                DateFormatterCache.parse(pattern, locale, timeZone, expected));
+          }
+        }
+      }
+    }
+  }
+
+  @Test(expected = ParseException.class)
+  public void testInvalidText() throws ParseException {
+    DateFormatterCache.parse("yyyy-MM-dd HH:mm", Locale.ENGLISH, TimeZone.getTimeZone("UTC"),
+        "not a date");
+  }
+
+  @Test
+  public void testParseIgnoresTrailingText() throws ParseException {
+    TimeZone timeZone = TimeZone.getTimeZone("Europe/Budapest");
+    Assert.assertEquals(
+        newSimpleDateFormat("yyyy-MM-dd HH:mm", Locale.ENGLISH, timeZone)
+            .parse("2017-03-26 10:30:00.0"),
+        DateFormatterCache.parse("yyyy-MM-dd HH:mm", Locale.ENGLISH, timeZone,
+            "2017-03-26 10:30:00.0"));
+  }
+
+  @Test
+  public void testSharedFormatter() {
+    TimeZone utc = TimeZone.getTimeZone("UTC");
+    Assert.assertSame(DateFormatterCache.getFormatter("dd/MMM/yy", Locale.ENGLISH, utc),
+        DateFormatterCache.getFormatter("dd/MMM/yy", Locale.ENGLISH, utc));
+  }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.core.util;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.everit.jira.timetracker.plugin.util.DateTimeConverterUtil;
+import org.everit.jira.timetracker.plugin.util.TimeParserUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimeParserUtilTest {
+
+  private static final char[] ALPHABET =
+      new char[] { '0', '1', '2', '3', '4', '5', '9', 'h', 'm', ' ', ':', '\t' };
+
+  private static final Pattern DURATION_PATTERN =
+      Pattern.compile(DateTimeConverterUtil.JIRA_DURATION_PATTERN);
+
+  private static final int MAX_EXHAUSTIVE_LENGTH = 5;
+
+  private static final Pattern TIME_PATTERN =
+      Pattern.compile(DateTimeConverterUtil.TIME24HOURS_PATTERN);
+
+  private void assertEquivalent(final String value) {
+    Assert.assertEquals("duration: '" + value + "'", regexDuration(value),
+        TimeParserUtil.parseJiraDuration(value));
+    boolean validTime = TIME_PATTERN.matcher(value).matches();
+    int minutes = TimeParserUtil.parseTimeToMinutes(value);
+    Assert.assertEquals("time: '" + value + "'", validTime, minutes != TimeParserUtil.INVALID);
+    if (validTime) {
+      String[] parts = value.split(":");
+      Assert.assertEquals(
+          (Integer.parseInt(parts[0]) * DateTimeConverterUtil.MINUTES_PER_HOUR)
+              + Integer.parseInt(parts[1]),
+          minutes);
+    }
+  }
+
+  private void assertEquivalentExhaustive(final char[] buffer, final int length) {
+    assertEquivalent(new String(buffer, 0, length));
+    if (length == buffer.length) {
+      return;
+    }
+    for (char c : ALPHABET) {
+      buffer[length] = c;
+      assertEquivalentExhaustive(buffer, length + 1);
+    }
+  }
+
+  /**
+   * The regular expression based implementation of the duration conversion.
+   */
+  private int regexDuration(final String duration) {
+    Matcher m = DURATION_PATTERN.matcher(duration);
+    if (!m.matches()) {
+      return TimeParserUtil.INVALID;
+    }
+    if (m.group(8) != null) {
+      return Integer.parseInt(m.group(8)) * 3600;
+    } else if (m.group(6) != null) {
+      return Integer.parseInt(m.group(6)) * 60;
+    } else if ((m.group(2) != null) && (m.group(4) != null)) {
+      return (Integer.parseInt(m.group(2)) * 3600) + (Integer.parseInt(m.group(4)) * 60);
+    }
+    return 0;
+  }
+
+  @Test
+  public void testAmPmTime() {
+    Assert.assertTrue(TimeParserUtil.isValidAmPmTime("10:30 PM", Locale.ENGLISH));
+    Assert.assertTrue(TimeParserUtil.isValidAmPmTime("1:05 am", Locale.ENGLISH));
+    Assert.assertFalse(TimeParserUtil.isValidAmPmTime("10:30", Locale.ENGLISH));
+    Assert.assertFalse(TimeParserUtil.isValidAmPmTime("10:30PM", Locale.ENGLISH));
+    Assert.assertFalse(TimeParserUtil.isValidAmPmTime("10:30 Pm", Locale.ENGLISH));
+    Assert.assertFalse(TimeParserUtil.isValidAmPmTime("10:60 PM", Locale.ENGLISH));
+    Assert.assertFalse(TimeParserUtil.isValidAmPmTime(" PM", Locale.ENGLISH));
+  }
+
+  @Test
+  public void testExhaustiveShortInputs() {
+    assertEquivalentExhaustive(new char[MAX_EXHAUSTIVE_LENGTH], 0);
+  }
+
+  @Test
+  public void testHoursAndMinutesCombinations() {
+    String[] separators = new String[] { "", " ", "h", "h ", "hh  ", "\t", "h\n" };
+    for (int hours = 0; hours <= 25; hours++) {
+      for (int minutes = 0; minutes <= 1500; minutes++) {
+        String h = String.valueOf(hours);
+        String m = String.valueOf(minutes);
+        assertEquivalent(m + "m");
+        assertEquivalent(h + "h" + m + "m");
+        assertEquivalent(h + ":" + m);
+        assertEquivalent(h + ":0" + m);
+        for (String separator : separators) {
+          assertEquivalent(h + separator + m + "m");
+          assertEquivalent("0" + h + separator + m + "m" + m + "m");
+        }
+      }
+      assertEquivalent(hours + "h");
+      assertEquivalent(hours + "h" + hours + "h");
+      assertEquivalent(hours + "h ");
+    }
+  }
+
+  @Test
+  public void testKnownDurations() {
+    Assert.assertEquals(5400, TimeParserUtil.parseJiraDuration("1h 30m"));
+    Assert.assertEquals(5400, TimeParserUtil.parseJiraDuration("1 30m"));
+    Assert.assertEquals(3600, TimeParserUtil.parseJiraDuration("1h"));
+    Assert.assertEquals(1800, TimeParserUtil.parseJiraDuration("30m"));
+    Assert.assertEquals(86340, TimeParserUtil.parseJiraDuration("1439m"));
+    Assert.assertEquals(0, TimeParserUtil.parseJiraDuration("1h "));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseJiraDuration("1440m"));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseJiraDuration("24h"));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseJiraDuration("1h30m"));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseJiraDuration(""));
+    Assert.assertEquals(510, TimeParserUtil.parseTimeToMinutes("8:30"));
+    Assert.assertEquals(1439, TimeParserUtil.parseTimeToMinutes("23:59"));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseTimeToMinutes("24:00"));
+    Assert.assertEquals(TimeParserUtil.INVALID, TimeParserUtil.parseTimeToMinutes("8:3"));
+  }
+
+}
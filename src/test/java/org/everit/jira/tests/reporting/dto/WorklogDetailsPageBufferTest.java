@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.dto;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsPageBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorklogDetailsPageBufferTest {
+
+  private WorklogDetailsDTO createWorklogDetails(final long issueId, final long worklogId) {
+    WorklogDetailsDTO worklogDetailsDTO = new WorklogDetailsDTO();
+    worklogDetailsDTO.setIssueId(issueId);
+    worklogDetailsDTO.setIssueKey("TEST-" + issueId);
+    worklogDetailsDTO.setProjectName("Project");
+    worklogDetailsDTO.setWorklogBody("Worklog " + worklogId);
+    worklogDetailsDTO.setWorklogStartDate(new Timestamp(worklogId));
+    worklogDetailsDTO.setWorklogTimeWorked(3600L);
+    worklogDetailsDTO.setWorklogUser("user" + (worklogId % 2));
+    return worklogDetailsDTO;
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterFinishLoading() {
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer();
+    pageBuffer.add(createWorklogDetails(1, 1));
+    pageBuffer.finishLoading();
+    pageBuffer.add(createWorklogDetails(1, 2));
+  }
+
+  @Test
+  public void testDictionary() {
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer(1);
+    for (long i = 0; i < 100; i++) {
+      pageBuffer.add(createWorklogDetails(i % 5, i));
+    }
+
+    Assert.assertEquals(100, pageBuffer.size());
+    // 1 project name and 2 users, the issue keys are not in the dictionary
+    Assert.assertEquals(3, pageBuffer.getDictionarySize());
+    Assert.assertEquals(5, pageBuffer.getIssueIds().size());
+    Assert.assertEquals("TEST-3", pageBuffer.getIssueKey(98));
+    Assert.assertEquals("user1", pageBuffer.getWorklogUser(99));
+  }
+
+  @Test
+  public void testFinishLoading() {
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer(100);
+    for (long i = 0; i < 10; i++) {
+      pageBuffer.add(createWorklogDetails(i % 3, i));
+    }
+    pageBuffer.finishLoading();
+    pageBuffer.finishLoading();
+
+    Assert.assertEquals(10, pageBuffer.size());
+    Assert.assertEquals(3, pageBuffer.getDictionarySize());
+    Assert.assertEquals("TEST-0", pageBuffer.getIssueKey(9));
+    Assert.assertEquals("Project", pageBuffer.get(9).getProjectName());
+    Assert.assertEquals("user1", pageBuffer.getWorklogUser(9));
+  }
+
+  @Test
+  public void testIssueValues() {
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer();
+    pageBuffer.add(createWorklogDetails(1, 1));
+    pageBuffer.add(createWorklogDetails(2, 2));
+    pageBuffer.add(createWorklogDetails(1, 3));
+
+    Map<Long, List<String>> issueComponents =
+        Collections.singletonMap(1L, Arrays.asList("Core", "UI"));
+    pageBuffer.setIssueComponents(issueComponents);
+    pageBuffer.setIssueEpicName(2, "Epic");
+
+    Assert.assertEquals(Arrays.asList("Core", "UI"), pageBuffer.getIssueComponents(0));
+    Assert.assertEquals(Arrays.asList("Core", "UI"), pageBuffer.get(2).getIssueComponents());
+    Assert.assertTrue(pageBuffer.getIssueComponents(1).isEmpty());
+    Assert.assertTrue(pageBuffer.getIssueFixedVersions(0).isEmpty());
+    Assert.assertNull(pageBuffer.getIssueEpicName(0));
+    Assert.assertEquals("Epic", pageBuffer.get(1).getIssueEpicName());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testOutOfBounds() {
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer();
+    pageBuffer.add(createWorklogDetails(1, 1));
+    pageBuffer.get(1);
+  }
+
+  @Test
+  public void testRoundTrip() {
+    WorklogDetailsDTO expected = createWorklogDetails(10, 20);
+    expected.setIssueCreated(new Timestamp(1000L));
+
+    WorklogDetailsPageBuffer pageBuffer = new WorklogDetailsPageBuffer();
+    pageBuffer.add(expected);
+    WorklogDetailsDTO actual = pageBuffer.get(0);
+
+    Assert.assertEquals(Long.valueOf(10L), actual.getIssueId());
+    Assert.assertEquals("TEST-10", actual.getIssueKey());
+    Assert.assertEquals("Project", actual.getProjectName());
+    Assert.assertEquals("Worklog 20", actual.getWorklogBody());
+    Assert.assertEquals(new Timestamp(20L), actual.getWorklogStartDate());
+    Assert.assertEquals(new Timestamp(1000L), actual.getIssueCreated());
+    Assert.assertEquals(Long.valueOf(3600L), actual.getWorklogTimeWorked());
+    Assert.assertEquals("user0", actual.getWorklogUser());
+    Assert.assertNull(actual.getIssueAvatarId());
+    Assert.assertNull(actual.getIssueOriginalEstimate());
+    Assert.assertNull(actual.getIssueUpdated());
+    Assert.assertNull(actual.getResolutionName());
+  }
+
+}
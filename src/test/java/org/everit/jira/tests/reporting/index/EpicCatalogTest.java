@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.everit.jira.reporting.plugin.dto.EpicDTO;
+import org.everit.jira.reporting.plugin.dto.PickerEpicLinkDTO;
+import org.everit.jira.reporting.plugin.dto.PickerIndexWatermarkDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+import org.everit.jira.reporting.plugin.index.EpicCatalog;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EpicCatalogTest {
+
+  private EpicCatalog catalog;
+
+  private EpicDTO epic(final long epicId, final String epicName, final long projectId) {
+    EpicDTO epic = new EpicDTO();
+    epic.setEpicId(epicId);
+    epic.setEpicName(epicName);
+    epic.setIssueKey("P" + projectId + "-" + epicId);
+    epic.setProjectId(projectId);
+    return epic;
+  }
+
+  private List<Long> epicIds(final List<PickerEpicLinkDTO> epicLinks) {
+    List<Long> result = new ArrayList<>();
+    for (PickerEpicLinkDTO epicLink : epicLinks) {
+      result.add(epicLink.getEpicLinkId());
+    }
+    return result;
+  }
+
+  private PickerIndexWatermarkDTO watermark(final long rowCount, final long maxId) {
+    PickerIndexWatermarkDTO watermark = new PickerIndexWatermarkDTO();
+    watermark.setRowCount(rowCount);
+    watermark.setMaxId(maxId);
+    return watermark;
+  }
+
+  @Before
+  public void setUp() {
+    catalog = new EpicCatalog(1, 10L, 20L,
+        Arrays.asList(epic(3, "Billing", 1), epic(1, "Reporting", 1), epic(2, "Billing", 2),
+            epic(4, "Secret", 3)),
+        watermark(4L, 100L), 0L, 0L);
+  }
+
+  @Test
+  public void testMerge() {
+    EpicCatalog merged = catalog.merge(
+        Arrays.asList(epic(1, "Analytics", 1), epic(5, "Export", 2)), watermark(5L, 110L),
+        1000L);
+    Assert.assertEquals(2, merged.getVersion());
+    Assert.assertEquals(5, merged.size());
+    Assert.assertEquals("Analytics", merged.getEpic(1L).getEpicName());
+    Assert.assertEquals(110L, merged.getIssueLinkWatermark().getMaxId());
+    Assert.assertEquals(1000L, merged.getRefreshTime());
+    Assert.assertEquals("Reporting", catalog.getEpic(1L).getEpicName());
+  }
+
+  @Test
+  public void testSearch() {
+    PickerSearchParam param = new PickerSearchParam().projectIds(Arrays.asList(1L, 2L));
+    Assert.assertEquals(Arrays.asList(2L, 3L, 1L), epicIds(catalog.search(param)));
+
+    param.query("bill").limit(1L);
+    Assert.assertEquals(Arrays.asList(2L), epicIds(catalog.search(param)));
+
+    param.after("Billing").afterId(2L);
+    Assert.assertEquals(Arrays.asList(3L), epicIds(catalog.search(param)));
+
+    param.afterId(null);
+    Assert.assertTrue(catalog.search(param).isEmpty());
+  }
+
+  @Test
+  public void testUnavailable() {
+    EpicCatalog unavailable = new EpicCatalog(1, EpicCatalog.UNKNOWN_ID, EpicCatalog.UNKNOWN_ID,
+        Collections.<EpicDTO> emptyList(), null, 0L, 0L);
+    Assert.assertFalse(unavailable.isAvailable());
+    Assert.assertTrue(catalog.isAvailable());
+    Assert.assertNull(unavailable.getEpic(4L));
+  }
+
+  @Test
+  public void testWatermark() {
+    PickerIndexWatermarkDTO added = watermark(6L, 120L);
+    added.setAddedRowCount(2L);
+    Assert.assertTrue(added.isAppendOnly(catalog.getIssueLinkWatermark()));
+    Assert.assertFalse(added.isUnchanged(catalog.getIssueLinkWatermark()));
+
+    PickerIndexWatermarkDTO unlinked = watermark(4L, 120L);
+    unlinked.setAddedRowCount(1L);
+    Assert.assertFalse(unlinked.isAppendOnly(catalog.getIssueLinkWatermark()));
+
+    Assert.assertTrue(watermark(4L, 100L).isUnchanged(catalog.getIssueLinkWatermark()));
+  }
+
+}
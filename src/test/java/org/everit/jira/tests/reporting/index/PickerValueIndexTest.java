@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.everit.jira.reporting.plugin.dto.PickerIndexValueDTO;
+import org.everit.jira.reporting.plugin.dto.PickerSearchParam;
+import org.everit.jira.reporting.plugin.index.PickerValueIndex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PickerValueIndexTest {
+
+  private PickerValueIndex index;
+
+  private void addValue(final List<PickerIndexValueDTO> values, final String name,
+      final long projectId) {
+    PickerIndexValueDTO value = new PickerIndexValueDTO();
+    value.setName(name);
+    value.setProjectId(projectId);
+    values.add(value);
+  }
+
+  private PickerSearchParam searchParam(final String query,
+      final PickerSearchParam.MatchMode matchMode) {
+    return new PickerSearchParam()
+        .query(query)
+        .matchMode(matchMode)
+        .projectIds(Arrays.asList(1L, 2L));
+  }
+
+  @Before
+  public void setUp() {
+    List<PickerIndexValueDTO> values = new ArrayList<>();
+    addValue(values, "backend", 1L);
+    addValue(values, "Backlog", 2L);
+    addValue(values, "backend", 2L);
+    addValue(values, "backend", 1L);
+    addValue(values, "frontend", 1L);
+    addValue(values, "bad", 3L);
+    addValue(values, "secret", 3L);
+    addValue(values, "ba", 1L);
+    index = PickerValueIndex.build(values);
+  }
+
+  @Test
+  public void testContainsSearch() {
+    Assert.assertEquals(Arrays.asList("backend", "frontend"),
+        index.search(searchParam("END", PickerSearchParam.MatchMode.CONTAINS)));
+    Assert.assertEquals(Arrays.asList("ba", "backend", "Backlog", "frontend"),
+        index.search(searchParam(null, PickerSearchParam.MatchMode.CONTAINS)));
+  }
+
+  @Test
+  public void testEmptyProjectIds() {
+    Assert.assertTrue(index.search(new PickerSearchParam()).isEmpty());
+  }
+
+  @Test
+  public void testLimitAndAfter() {
+    PickerSearchParam firstPage = searchParam("ba", PickerSearchParam.MatchMode.PREFIX)
+        .limit(2L);
+    Assert.assertEquals(Arrays.asList("ba", "backend"), index.search(firstPage));
+    PickerSearchParam secondPage = searchParam("ba", PickerSearchParam.MatchMode.PREFIX)
+        .limit(2L)
+        .after("backend");
+    Assert.assertEquals(Arrays.asList("Backlog"), index.search(secondPage));
+  }
+
+  @Test
+  public void testMerge() {
+    List<PickerIndexValueDTO> addedValues = new ArrayList<>();
+    addValue(addedValues, "Bad", 1L);
+    addValue(addedValues, "secret", 2L);
+    addValue(addedValues, "backend", 1L);
+    PickerValueIndex merged = index.merge(addedValues);
+
+    Assert.assertEquals(6, index.size());
+    Assert.assertEquals(7, merged.size());
+    Assert.assertEquals(Arrays.asList("ba", "backend", "Backlog", "Bad", "frontend", "secret"),
+        merged.search(searchParam(null, PickerSearchParam.MatchMode.CONTAINS)));
+    Assert.assertEquals(Arrays.asList("ba", "backend", "Backlog", "frontend"),
+        index.search(searchParam(null, PickerSearchParam.MatchMode.CONTAINS)));
+  }
+
+  @Test
+  public void testPageUsesIndexOrder() {
+    List<String> names = Arrays.asList("frontend", "Backlog", "backend", "ba", "BA");
+    PickerSearchParam firstPage = searchParam(null, PickerSearchParam.MatchMode.CONTAINS)
+        .limit(2L);
+    Assert.assertEquals(Arrays.asList("BA", "ba"), PickerValueIndex.page(names, firstPage));
+    PickerSearchParam secondPage = searchParam(null, PickerSearchParam.MatchMode.CONTAINS)
+        .limit(2L)
+        .after("ba");
+    Assert.assertEquals(Arrays.asList("backend", "Backlog"),
+        PickerValueIndex.page(names, secondPage));
+    PickerSearchParam indexPage = searchParam(null, PickerSearchParam.MatchMode.CONTAINS)
+        .after("ba");
+    Assert.assertEquals(index.search(indexPage), PickerValueIndex.page(
+        Arrays.asList("frontend", "Backlog", "backend", "ba"), indexPage));
+  }
+
+  @Test
+  public void testPrefixSearch() {
+    Assert.assertEquals(Arrays.asList("ba", "backend", "Backlog"),
+        index.search(searchParam("Ba", PickerSearchParam.MatchMode.PREFIX)));
+    Assert.assertEquals(Arrays.asList("backend", "Backlog"),
+        index.search(searchParam("bac", PickerSearchParam.MatchMode.PREFIX)));
+    Assert.assertTrue(index.search(searchParam("x", PickerSearchParam.MatchMode.PREFIX))
+        .isEmpty());
+  }
+
+  @Test
+  public void testSize() {
+    Assert.assertEquals(6, index.size());
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.everit.jira.querydsl.schema.QProject;
+import org.everit.jira.reporting.plugin.query.util.CachedSQLQuery;
+import org.everit.jira.reporting.plugin.query.util.QueryParams;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLBindings;
+
+public class CachedSQLQueryTest {
+
+  private Configuration configuration;
+
+  private SQLBindings createBindings(final String pkey, final Long... projectIds) {
+    QProject qProject = new QProject("project");
+    QueryParams params = new QueryParams();
+    CachedSQLQuery<String> query =
+        new CachedSQLQuery<>(null, configuration, "test", params);
+    query.select(qProject.pname)
+        .from(qProject)
+        .where(params.createIdInCondition(qProject.id, "projectIds", Arrays.asList(projectIds))
+            .and(qProject.pkey.eq(params.bind(String.class, "pkey", pkey))));
+    return query.getSQL();
+  }
+
+  private SQLBindings createPageBindings(final long offset) {
+    QProject qProject = new QProject("project");
+    QueryParams params = new QueryParams();
+    CachedSQLQuery<String> query =
+        new CachedSQLQuery<>(null, configuration, "page", params);
+    query.select(qProject.pname)
+        .from(qProject)
+        .where(qProject.pkey.eq(params.bind(String.class, "pkey", "TEST")))
+        .limit(25)
+        .offset(offset);
+    return query.getSQL();
+  }
+
+  private List<Object> expectedBindings(final String pkey, final int paddedSize,
+      final Long... projectIds) {
+    List<Object> bindings = new ArrayList<>();
+    bindings.addAll(Arrays.asList(projectIds));
+    while (bindings.size() < paddedSize) {
+      bindings.add(projectIds[projectIds.length - 1]);
+    }
+    bindings.add(pkey);
+    return bindings;
+  }
+
+  private Long[] ids(final int count) {
+    Long[] ids = new Long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = Long.valueOf(i + 1);
+    }
+    return ids;
+  }
+
+  @Before
+  public void setUp() {
+    CachedSQLQuery.clear();
+    configuration = new Configuration(new H2Templates());
+  }
+
+  @Test
+  public void testDifferentShapeHasOwnSql() {
+    SQLBindings first = createBindings("TEST", 1L);
+    SQLBindings second = createBindings("TEST", ids(17));
+    Assert.assertNotEquals(first.getSQL(), second.getSQL());
+    Assert.assertEquals(expectedBindings("TEST", 32, ids(17)), second.getBindings());
+  }
+
+  @Test
+  public void testLargeIdSetIsInlined() {
+    SQLBindings first = createBindings("TEST", ids(2500));
+    SQLBindings second = createBindings("TEST", ids(2400));
+    Assert.assertNotEquals(first.getSQL(), second.getSQL());
+    // the parameter count does not depend on the size of the id set
+    Assert.assertEquals(Arrays.<Object> asList("TEST"), first.getBindings());
+    Assert.assertEquals(Arrays.<Object> asList("TEST"), second.getBindings());
+    String sql = first.getSQL().toLowerCase(Locale.ENGLISH);
+    Assert.assertEquals(3, sql.split(" in \\(").length - 1);
+    Assert.assertTrue(sql.contains(",2500)"));
+  }
+
+  @Test
+  public void testMaxBoundIdsAreBound() {
+    SQLBindings bindings = createBindings("TEST", ids(QueryUtil.MAX_BOUND_IDS));
+    Assert.assertEquals(expectedBindings("TEST", QueryUtil.MAX_BOUND_IDS,
+        ids(QueryUtil.MAX_BOUND_IDS)), bindings.getBindings());
+  }
+
+  @Test
+  public void testPagesShareSql() {
+    SQLBindings first = createPageBindings(100);
+    SQLBindings second = createPageBindings(200);
+    SQLBindings third = createPageBindings(300);
+    Assert.assertEquals(first.getSQL(), second.getSQL());
+    Assert.assertEquals(first.getSQL(), third.getSQL());
+    Assert.assertTrue(first.getBindings().contains(100L));
+    Assert.assertTrue(second.getBindings().contains(200L));
+    Assert.assertFalse(second.getBindings().contains(100L));
+    Assert.assertTrue(third.getBindings().contains(300L));
+    Assert.assertTrue(third.getBindings().contains(25L));
+    Assert.assertEquals("TEST", third.getBindings().get(0));
+  }
+
+  @Test
+  public void testSameShapeReusesSql() {
+    SQLBindings first = createBindings("TEST", 1L, 2L);
+    SQLBindings second = createBindings("OTHER", 4L, 3L, 4L);
+    Assert.assertEquals(first.getSQL(), second.getSQL());
+    Assert.assertEquals(expectedBindings("TEST", 16, 1L, 2L), first.getBindings());
+    Assert.assertEquals(expectedBindings("OTHER", 16, 3L, 4L), second.getBindings());
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.everit.jira.reporting.plugin.dto.NotEstimatedIssueDTO;
+import org.everit.jira.reporting.plugin.query.NotEstimatedIssueQuery;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+
+public class NotEstimatedIssueQueryTest {
+
+  @Test
+  public void testQuery() throws SQLException {
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    Mockito.when(resultSet.next()).thenReturn(false);
+    PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+    Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+    Connection connection = Mockito.mock(Connection.class);
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    Mockito.when(connection.prepareStatement(sql.capture())).thenReturn(statement);
+
+    List<NotEstimatedIssueDTO> result =
+        new NotEstimatedIssueQuery(new Date(1000L), new Date(2000L), 10L, 500)
+            .call(connection, new Configuration(new H2Templates()));
+
+    Assert.assertTrue(result.isEmpty());
+    String query = sql.getValue().toLowerCase(Locale.ENGLISH);
+    // the issues without status are not closed
+    Assert.assertTrue(query,
+        query.contains("issue.issuestatus is null or issue.issuestatus <> ?"));
+    Assert.assertTrue(query,
+        query.contains("issue.timeestimate is null or issue.timeestimate = ?"));
+    Assert.assertTrue(query, query.contains("order by issue.id asc"));
+    Mockito.verify(statement).setString(Mockito.anyInt(), Mockito.eq("6"));
+    Mockito.verify(statement).setLong(Mockito.anyInt(), Mockito.eq(10L));
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.everit.jira.querydsl.schema.QJiraissue;
+import org.everit.jira.reporting.plugin.query.util.QueryUtil;
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLSerializer;
+
+public class QueryUtilTest {
+
+  private String sql;
+
+  private int count(final String fragment) {
+    int count = 0;
+    int index = sql.indexOf(fragment);
+    while (index >= 0) {
+      count++;
+      index = sql.indexOf(fragment, index + fragment.length());
+    }
+    return count;
+  }
+
+  private SQLSerializer serializeIdQuery(final int idCount) {
+    long[] ids = new long[idCount];
+    for (int i = 0; i < idCount; i++) {
+      ids[i] = i + 1;
+    }
+    QJiraissue qIssue = new QJiraissue("issue");
+    SQLQuery<Long> query = SQLExpressions.select(qIssue.id)
+        .from(qIssue)
+        .where(QueryUtil.createIdInCondition(qIssue.id, IssueIdSet.of(ids)));
+    SQLSerializer serializer = new SQLSerializer(new Configuration(new H2Templates()));
+    serializer.serialize(query.getMetadata(), false);
+    return serializer;
+  }
+
+  @Before
+  public void setUp() {
+    List<Param<String>> lowerGroupNames = Arrays.asList(
+        new Param<>(String.class, "groups_0"), new Param<>(String.class, "groups_1"));
+    SQLQuery<String> query = QueryUtil.selectUserKeysInGroups(lowerGroupNames);
+    SQLSerializer serializer = new SQLSerializer(new Configuration(new H2Templates()));
+    serializer.serialize(query.getMetadata(), false);
+    sql = serializer.toString().toLowerCase(Locale.ENGLISH).replaceAll("\\s+", " ");
+  }
+
+  @Test
+  public void testDirectoryShadowing() {
+    // the membership counts only in the active directory of the user with the highest priority
+    Assert.assertTrue(sql.contains("groupmemberdirectory.active = ?"));
+    Assert.assertTrue(sql.contains("groupmemberdirmin.active = ?"));
+    Assert.assertTrue(sql.contains("groupmemberdirectory.directory_position = (select "
+        + "min(groupmemberdirmin.directory_position)"));
+    Assert.assertTrue(sql.contains(
+        "groupmemberumin.lower_user_name = usermembership.lower_child_name"));
+    // the nested groups are in the directory of the user membership
+    for (int depth = 1; depth <= QueryUtil.MAX_NESTED_GROUP_DEPTH; depth++) {
+      Assert.assertTrue(sql.contains("groupmembership" + depth + "_1.directory_id = "
+          + "usermembership.directory_id"));
+    }
+    Assert.assertTrue(sql.contains("groupmembership5_5.directory_id = "
+        + "groupmembership5_4.directory_id"));
+  }
+
+  @Test
+  public void testLargeIdSetHasBoundedParams() {
+    // above the SQL Server limit of 2100 params
+    SQLSerializer serializer = serializeIdQuery(3000);
+    Assert.assertTrue(serializer.getConstants().isEmpty());
+    Assert.assertTrue(serializer.toString().contains(",3000)"));
+
+    serializer = serializeIdQuery(QueryUtil.MAX_BOUND_IDS);
+    Assert.assertEquals(QueryUtil.MAX_BOUND_IDS, serializer.getConstants().size());
+  }
+
+  @Test
+  public void testNestedGroupsAreFlat() {
+    // one membership for the user and 1 + 2 + ... + depth joined memberships for the groups
+    int depth = QueryUtil.MAX_NESTED_GROUP_DEPTH;
+    Assert.assertEquals(1 + ((depth * (depth + 1)) / 2), count("cwd_membership "));
+    // one subquery per depth, no subquery inside the nested group subqueries
+    Assert.assertEquals(depth, count("usermembership.lower_parent_name in (select "));
+    Assert.assertFalse(sql.contains("groupmembership1_1.lower_parent_name in (select"));
+    Assert.assertTrue(sql.contains("groupmembership5_5.lower_parent_name = "
+        + "groupmembership5_4.lower_child_name"));
+    // the nested groups are used only if the directory enables them
+    Assert.assertTrue(sql.contains("exists (select 1 from cwd_directory_attribute"));
+    Assert.assertTrue(sql.contains("groupmemberdirattribute.attribute_name = ?"));
+  }
+
+}
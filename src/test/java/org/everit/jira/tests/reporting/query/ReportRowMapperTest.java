@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.query;
+
+import java.sql.Timestamp;
+
+import org.everit.jira.reporting.plugin.dto.ProjectSummaryDTO;
+import org.everit.jira.reporting.plugin.dto.UserSummaryDTO;
+import org.everit.jira.reporting.plugin.dto.WorklogDetailsDTO;
+import org.everit.jira.reporting.plugin.query.mapper.ProjectSummaryRowMapper;
+import org.everit.jira.reporting.plugin.query.mapper.UserSummaryRowMapper;
+import org.everit.jira.reporting.plugin.query.mapper.WorklogDetailsRowMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
+
+public class ReportRowMapperTest {
+
+  /**
+   * The selected columns of the worklog details report, in a different order than the properties.
+   */
+  public static Expression<?>[] createWorklogDetailsArgs() {
+    return new Expression<?>[] {
+        Expressions.stringPath("p").as(WorklogDetailsDTO.AliasNames.PROJECT_NAME),
+        Expressions.stringPath(WorklogDetailsDTO.AliasNames.ISSUE_KEY),
+        Expressions.numberPath(Long.class, WorklogDetailsDTO.AliasNames.ISSUE_ID),
+        Expressions.numberPath(Long.class, WorklogDetailsDTO.AliasNames.WORKLOG_TIME_WORKED),
+        Expressions.dateTimePath(Timestamp.class, WorklogDetailsDTO.AliasNames.WORKLOG_START_DATE),
+        Expressions.stringPath(WorklogDetailsDTO.AliasNames.WORKLOG_USER),
+        Expressions.numberPath(Long.class, WorklogDetailsDTO.AliasNames.ISSUE_TIME_ESTIMATE) };
+  }
+
+  /**
+   * A row of the {@link #createWorklogDetailsArgs()} columns.
+   */
+  public static Object[] createWorklogDetailsRow(final long i) {
+    return new Object[] { "Project", "TEST-" + i, i, 3600L, new Timestamp(i), "user" + (i % 10),
+        null };
+  }
+
+  @Test
+  public void testSummaryNullSumIsZero() {
+    ProjectSummaryDTO projectSummaryDTO = new ProjectSummaryRowMapper(
+        Expressions.stringPath(ProjectSummaryDTO.AliasNames.PROJECT_KEY),
+        Expressions.numberPath(Long.class, ProjectSummaryDTO.AliasNames.WORKLOGGED_TIME_SUM))
+            .newInstance("TEST", null);
+    Assert.assertEquals("TEST", projectSummaryDTO.getProjectKey());
+    Assert.assertEquals(0L, projectSummaryDTO.getWorkloggedTimeSum());
+
+    UserSummaryDTO userSummaryDTO = new UserSummaryRowMapper(
+        Expressions.numberPath(Long.class, UserSummaryDTO.AliasNames.WORKLOGGED_TIME_SUM),
+        Expressions.stringPath(UserSummaryDTO.AliasNames.USER_DISPLAY_NAME))
+            .newInstance(7200L, "Fred");
+    Assert.assertEquals("Fred", userSummaryDTO.getUserDisplayName());
+    Assert.assertEquals(7200L, userSummaryDTO.getWorkloggedTimeSum());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAlias() {
+    new UserSummaryRowMapper(Expressions.stringPath("unknown"));
+  }
+
+  @Test
+  public void testWorklogDetailsSameAsBean() {
+    Expression<?>[] args = createWorklogDetailsArgs();
+    Object[] row = createWorklogDetailsRow(7);
+    WorklogDetailsDTO expected = Projections.bean(WorklogDetailsDTO.class, args).newInstance(row);
+    WorklogDetailsDTO actual = new WorklogDetailsRowMapper(args).newInstance(row);
+
+    Assert.assertEquals(expected.getProjectName(), actual.getProjectName());
+    Assert.assertEquals(expected.getIssueKey(), actual.getIssueKey());
+    Assert.assertEquals(expected.getIssueId(), actual.getIssueId());
+    Assert.assertEquals(expected.getWorklogTimeWorked(), actual.getWorklogTimeWorked());
+    Assert.assertEquals(expected.getWorklogStartDate(), actual.getWorklogStartDate());
+    Assert.assertEquals(expected.getWorklogUser(), actual.getWorklogUser());
+    Assert.assertNull(actual.getIssueRemainingEstimate());
+    Assert.assertNull(actual.getIssueSummary());
+    Assert.assertTrue(actual.getIssueComponents().isEmpty());
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.util;
+
+import java.io.IOException;
+
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.everit.jira.reporting.plugin.util.IssueIdCollector;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.atlassian.jira.issue.index.DocumentConstants;
+
+public class IssueIdCollectorTest {
+
+  private static final String PROJECT_FIELD = "projid";
+
+  private RAMDirectory directory;
+
+  private IndexReader reader;
+
+  private void addIssue(final IndexWriter writer, final String issueId, final String projectId)
+      throws IOException {
+    Document document = new Document();
+    if (issueId != null) {
+      document.add(new Field(DocumentConstants.ISSUE_ID, issueId, Field.Store.YES,
+          Field.Index.NOT_ANALYZED_NO_NORMS));
+    }
+    document.add(new Field(PROJECT_FIELD, projectId, Field.Store.YES,
+        Field.Index.NOT_ANALYZED_NO_NORMS));
+    writer.addDocument(document);
+  }
+
+  private long[] collect(final Query query) throws IOException {
+    IssueIdCollector collector = new IssueIdCollector();
+    IndexSearcher searcher = new IndexSearcher(reader);
+    try {
+      searcher.search(query, collector);
+    } finally {
+      searcher.close();
+    }
+    return collector.getIssueIds().toArray();
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = new RAMDirectory();
+    IndexWriter writer = new IndexWriter(directory,
+        new IndexWriterConfig(Version.LUCENE_30, new KeywordAnalyzer()));
+    try {
+      addIssue(writer, "10", "1");
+      addIssue(writer, "30", "2");
+      addIssue(writer, null, "1");
+      // the commit closes the first segment, so the collector reads two segments
+      writer.commit();
+      addIssue(writer, "20", "1");
+      addIssue(writer, "40", "2");
+      addIssue(writer, "15", "1");
+    } finally {
+      writer.close();
+    }
+    reader = IndexReader.open(directory);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    reader.close();
+    directory.close();
+  }
+
+  @Test
+  public void testCollectAllSegments() throws IOException {
+    Assert.assertArrayEquals(new long[] { 10L, 15L, 20L, 30L, 40L },
+        collect(new MatchAllDocsQuery()));
+  }
+
+  @Test
+  public void testCollectMatchingIssues() throws IOException {
+    Assert.assertArrayEquals(new long[] { 10L, 15L, 20L },
+        collect(new TermQuery(new Term(PROJECT_FIELD, "1"))));
+    Assert.assertArrayEquals(new long[0],
+        collect(new TermQuery(new Term(PROJECT_FIELD, "3"))));
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.everit.jira.reporting.plugin.util.IssueIdSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IssueIdSetTest {
+
+  private static final long SEED = 42L;
+
+  private long[] randomIds(final Random random, final int count, final int bound) {
+    long[] ids = new long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = random.nextInt(bound);
+    }
+    return ids;
+  }
+
+  private long[] toArray(final TreeSet<Long> ids) {
+    long[] result = new long[ids.size()];
+    int i = 0;
+    for (Long id : ids) {
+      result[i] = id;
+      i++;
+    }
+    return result;
+  }
+
+  private TreeSet<Long> toTreeSet(final long[] ids) {
+    TreeSet<Long> result = new TreeSet<>();
+    for (long id : ids) {
+      result.add(id);
+    }
+    return result;
+  }
+
+  @Test
+  public void testEmpty() {
+    Assert.assertTrue(IssueIdSet.of(new long[0]).isEmpty());
+    Assert.assertSame(IssueIdSet.EMPTY, IssueIdSet.of(new ArrayList<Long>()));
+    Assert.assertFalse(IssueIdSet.of(new long[] { 0L }).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeId() {
+    IssueIdSet.of(new long[] { -1L });
+  }
+
+  @Test
+  public void testToArrayIsSortedAndDistinct() {
+    IssueIdSet set = IssueIdSet.of(new long[] { 10000L, 5L, 70000L, 5L });
+    Assert.assertEquals(3, set.size());
+    Assert.assertTrue(Arrays.equals(new long[] { 5L, 10000L, 70000L }, set.toArray()));
+  }
+
+  @Test
+  public void testToArrayMatchesTreeSet() {
+    Random random = new Random(SEED);
+    // dense and sparse containers mixed
+    long[] ids = randomIds(random, 100000, 300000);
+    IssueIdSet set = IssueIdSet.of(ids);
+
+    TreeSet<Long> expected = toTreeSet(ids);
+    Assert.assertTrue(Arrays.equals(toArray(expected), set.toArray()));
+    Assert.assertEquals(expected.size(), set.size());
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.reporting.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.easymock.EasyMock;
+import org.everit.jira.reporting.plugin.util.WorklogSumAccumulator;
+import org.everit.jira.timetracker.plugin.DurationFormatter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.atlassian.jira.bc.issue.worklog.TimeTrackingConfiguration;
+import com.atlassian.jira.config.properties.ApplicationProperties;
+import com.atlassian.jira.mock.component.MockComponentWorker;
+import com.atlassian.jira.security.JiraAuthenticationContext;
+import com.atlassian.jira.util.I18nHelper.BeanFactory;
+
+public class WorklogSumAccumulatorTest {
+
+  /**
+   * The map based summary of the table report before the accumulator: period number to the sum
+   * and the formatted sum.
+   */
+  private static class MapSummary {
+
+    private final DurationFormatter durationFormatter;
+
+    private final Map<Integer, List<Object>> realSum = new HashMap<>();
+
+    private final Map<Integer, List<Object>> sum = new HashMap<>();
+
+    MapSummary(final DurationFormatter durationFormatter) {
+      this.durationFormatter = durationFormatter;
+    }
+
+    void add(final int periodNo, final long seconds, final boolean real) {
+      List<Object> list = new ArrayList<>();
+      Long prevSum = sum.get(periodNo) == null ? Long.valueOf(0)
+          : (Long) sum.get(periodNo).get(0);
+      Long sumSec = prevSum + seconds;
+      list.add(sumSec);
+      list.add(durationFormatter.exactDuration(sumSec));
+      sum.put(periodNo, list);
+
+      List<Object> realList = new ArrayList<>();
+      Long realSumSec = realSum.get(periodNo) == null ? Long.valueOf(0)
+          : (Long) realSum.get(periodNo).get(0);
+      if (real) {
+        realSumSec += seconds;
+      }
+      realList.add(realSumSec);
+      realList.add(durationFormatter.exactDuration(realSumSec));
+      realSum.put(periodNo, realList);
+    }
+  }
+
+  private static final long SEED = 42L;
+
+  private DurationFormatter durationFormatter;
+
+  private void assertSameSums(final MapSummary expected, final WorklogSumAccumulator actual,
+      final int maxPeriodNo) {
+    for (int periodNo = 0; periodNo <= maxPeriodNo; periodNo++) {
+      List<Object> sum = expected.sum.get(periodNo);
+      List<Object> realSum = expected.realSum.get(periodNo);
+      if (sum == null) {
+        Assert.assertEquals(0L, actual.getSum(periodNo));
+        Assert.assertEquals(0L, actual.getRealSum(periodNo));
+      } else {
+        Assert.assertEquals(sum.get(0), actual.getSum(periodNo));
+        Assert.assertEquals(sum.get(1), actual.getFormattedSum(periodNo));
+        Assert.assertEquals(realSum.get(0), actual.getRealSum(periodNo));
+        Assert.assertEquals(realSum.get(1), actual.getFormattedRealSum(periodNo));
+      }
+    }
+  }
+
+  @Before
+  public void before() {
+    TimeTrackingConfiguration ttConfig = EasyMock.createNiceMock(TimeTrackingConfiguration.class);
+    EasyMock.expect(ttConfig.getDaysPerWeek()).andReturn(new BigDecimal(5)).anyTimes();
+    EasyMock.expect(ttConfig.getHoursPerDay()).andReturn(new BigDecimal(8)).anyTimes();
+    EasyMock.replay(ttConfig);
+
+    ApplicationProperties mockApplicationProperties =
+        Mockito.mock(ApplicationProperties.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(mockApplicationProperties
+        .getDefaultBackedString(Matchers.matches("jira.timetracking.format")))
+        .thenReturn("pretty");
+
+    new MockComponentWorker()
+        .addMock(TimeTrackingConfiguration.class, ttConfig)
+        .addMock(ApplicationProperties.class, mockApplicationProperties)
+        .addMock(BeanFactory.class, Mockito.mock(BeanFactory.class, Mockito.RETURNS_DEEP_STUBS))
+        .addMock(JiraAuthenticationContext.class,
+            Mockito.mock(JiraAuthenticationContext.class, Mockito.RETURNS_DEEP_STUBS))
+        .init();
+    durationFormatter = DurationFormatter.getInstance();
+  }
+
+  @Test
+  public void testEmpty() {
+    WorklogSumAccumulator accumulator =
+        new WorklogSumAccumulator(WorklogSumAccumulator.MAX_DAY_NO, durationFormatter);
+    assertSameSums(new MapSummary(durationFormatter), accumulator,
+        WorklogSumAccumulator.MAX_DAY_NO);
+    Assert.assertEquals("0m", accumulator.getFormattedSum(WorklogSumAccumulator.MAX_DAY_NO));
+  }
+
+  @Test
+  public void testRandomWorklogsMatchMapSummary() {
+    Random random = new Random(SEED);
+    int[] maxPeriodNos = new int[] { WorklogSumAccumulator.MAX_DAY_NO,
+        WorklogSumAccumulator.MAX_WEEK_NO, WorklogSumAccumulator.MAX_MONTH_NO };
+    for (int maxPeriodNo : maxPeriodNos) {
+      MapSummary expected = new MapSummary(durationFormatter);
+      WorklogSumAccumulator actual = new WorklogSumAccumulator(maxPeriodNo, durationFormatter);
+      for (int i = 0; i < 1000; i++) {
+        int periodNo = 1 + random.nextInt(maxPeriodNo);
+        long seconds = 60L * random.nextInt(600);
+        boolean real = random.nextBoolean();
+        expected.add(periodNo, seconds, real);
+        actual.add(periodNo, seconds, real);
+        if ((i % 100) == 0) {
+          // read between the adds, the formatted sums must follow the later adds
+          assertSameSums(expected, actual, maxPeriodNo);
+        }
+      }
+      assertSameSums(expected, actual, maxPeriodNo);
+    }
+  }
+
+  @Test
+  public void testSingleDay() {
+    MapSummary expected = new MapSummary(durationFormatter);
+    WorklogSumAccumulator actual =
+        new WorklogSumAccumulator(WorklogSumAccumulator.MAX_DAY_NO, durationFormatter);
+    int dayNo = 200;
+    long[] seconds = new long[] { 1800L, 3600L, 5400L, 0L };
+    boolean[] real = new boolean[] { true, false, true, true };
+    for (int i = 0; i < seconds.length; i++) {
+      expected.add(dayNo, seconds[i], real[i]);
+      actual.add(dayNo, seconds[i], real[i]);
+    }
+    assertSameSums(expected, actual, WorklogSumAccumulator.MAX_DAY_NO);
+    Assert.assertEquals(10800L, actual.getSum(dayNo));
+    Assert.assertEquals(7200L, actual.getRealSum(dayNo));
+    Assert.assertEquals("3h", actual.getFormattedSum(dayNo));
+    Assert.assertEquals("2h", actual.getFormattedRealSum(dayNo));
+  }
+
+}
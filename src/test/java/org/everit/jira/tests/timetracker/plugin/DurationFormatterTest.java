@@ -15,6 +15,11 @@
  */
 package org.everit.jira.tests.timetracker.plugin;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -116,6 +121,36 @@ public class DurationFormatterTest {
   @Test
   public void testExactDuration() {
     setupMockTimeTrackerConfig(hoursPerDay, dayPerWeek);
-    Assert.assertEquals(expectedString, new DurationFormatter().exactDuration(inputSeconds));
+    Assert.assertEquals(expectedString,
+        DurationFormatter.getInstance().exactDuration(inputSeconds));
+  }
+
+  @Test
+  public void testSerialization() throws IOException, ClassNotFoundException {
+    setupMockTimeTrackerConfig(hoursPerDay, dayPerWeek);
+    DurationFormatter durationFormatter = DurationFormatter.getInstance();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(durationFormatter);
+    }
+    Object deserialized;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = in.readObject();
+    }
+
+    Assert.assertSame(durationFormatter, deserialized);
+    Assert.assertEquals(expectedString,
+        ((DurationFormatter) deserialized).exactDuration(inputSeconds));
+  }
+
+  @Test
+  public void testSharedInstance() {
+    setupMockTimeTrackerConfig(hoursPerDay, dayPerWeek);
+    DurationFormatter durationFormatter = DurationFormatter.getInstance();
+    Assert.assertSame(durationFormatter, DurationFormatter.getInstance());
+    Assert.assertEquals(expectedString, durationFormatter.exactDuration(inputSeconds));
+    Assert.assertEquals(expectedString, durationFormatter.exactDuration(inputSeconds));
   }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.timetracker.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.everit.jira.querydsl.support.QuerydslCallable;
+import org.everit.jira.querydsl.support.QuerydslSupport;
+import org.everit.jira.reporting.plugin.dto.NotEstimatedIssueDTO;
+import org.everit.jira.settings.TimeTrackerSettingsHelper;
+import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
+import org.everit.jira.timetracker.plugin.IssueEstimatedTimeChecker;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.atlassian.jira.config.properties.ApplicationProperties;
+import com.atlassian.jira.issue.IssueManager;
+import com.atlassian.jira.issue.MutableIssue;
+import com.atlassian.jira.mock.component.MockComponentWorker;
+import com.atlassian.mail.Email;
+import com.atlassian.mail.queue.MailQueue;
+import com.atlassian.mail.queue.MailQueueItem;
+import com.atlassian.mail.queue.SingleMailQueueItem;
+
+public class IssueEstimatedTimeCheckerTest {
+
+  private final List<NotEstimatedIssueDTO> issues = new ArrayList<>();
+
+  private IssueManager issueManager;
+
+  private MailQueue mailQueue;
+
+  private QuerydslSupport querydslSupport;
+
+  private TimeTrackerSettingsHelper settingsHelper;
+
+  private void addIssue(final long issueId, final String reporter, final String projectLead) {
+    NotEstimatedIssueDTO issue = new NotEstimatedIssueDTO();
+    issue.setIssueId(issueId);
+    issue.setIssueKey("TEST-" + issueId);
+    issues.add(issue);
+
+    MutableIssue issueObject = Mockito.mock(MutableIssue.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(issueObject.getKey()).thenReturn("TEST-" + issueId);
+    Mockito.when(issueObject.getReporterUser().getEmailAddress()).thenReturn(reporter);
+    if (projectLead == null) {
+      Mockito.when(issueObject.getProjectObject().getProjectLead()).thenReturn(null);
+    } else {
+      Mockito.when(issueObject.getProjectObject().getProjectLead().getEmailAddress())
+          .thenReturn(projectLead);
+    }
+    Mockito.when(issueManager.getIssueObject(issueId)).thenReturn(issueObject);
+  }
+
+  @Before
+  public void before() {
+    issueManager = Mockito.mock(IssueManager.class);
+    mailQueue = Mockito.mock(MailQueue.class);
+
+    TimeTrackerGlobalSettings globalSettings = Mockito.mock(TimeTrackerGlobalSettings.class);
+    Mockito.when(globalSettings.getIssuePatterns())
+        .thenReturn(Collections.singletonList(Pattern.compile("TEST-9\\d*")));
+    settingsHelper = Mockito.mock(TimeTrackerSettingsHelper.class);
+    Mockito.when(settingsHelper.loadGlobalSettings()).thenReturn(globalSettings);
+
+    querydslSupport = Mockito.mock(QuerydslSupport.class);
+    Mockito.when(querydslSupport.execute(
+        Matchers.<QuerydslCallable<List<NotEstimatedIssueDTO>>> any()))
+        .thenReturn(issues);
+
+    new MockComponentWorker()
+        .addMock(ApplicationProperties.class,
+            Mockito.mock(ApplicationProperties.class, Mockito.RETURNS_DEEP_STUBS))
+        .addMock(IssueManager.class, issueManager)
+        .addMock(MailQueue.class, mailQueue)
+        .init();
+  }
+
+  private Map<String, Email> runAndCollectMails(final IssueEstimatedTimeChecker checker) {
+    Mockito.reset(mailQueue);
+    checker.run();
+    ArgumentCaptor<MailQueueItem> items = ArgumentCaptor.forClass(MailQueueItem.class);
+    Mockito.verify(mailQueue, Mockito.atLeast(0)).addItem(items.capture());
+    Map<String, Email> mails = new HashMap<>();
+    for (MailQueueItem item : items.getAllValues()) {
+      Email email = ((SingleMailQueueItem) item).getEmail();
+      Assert.assertNull("one mail per recipient", mails.put(email.getTo(), email));
+    }
+    return mails;
+  }
+
+  @Test
+  public void testDigestPerRecipient() {
+    addIssue(1, "reporter1@example.com", "lead@example.com");
+    addIssue(2, "reporter1@example.com", "lead@example.com");
+    addIssue(3, "lead@example.com", "lead@example.com");
+    addIssue(4, "reporter2@example.com", null);
+    // collector issue
+    addIssue(9, "reporter3@example.com", "lead@example.com");
+
+    IssueEstimatedTimeChecker checker =
+        new IssueEstimatedTimeChecker(settingsHelper, querydslSupport);
+    Map<String, Email> mails = runAndCollectMails(checker);
+
+    Assert.assertEquals(3, mails.size());
+    Email reporterMail = mails.get("reporter1@example.com");
+    Assert.assertEquals("No more estimated time in 2 issue(s).", reporterMail.getSubject());
+    Assert.assertTrue(reporterMail.getBody().contains("TEST-1"));
+    Assert.assertTrue(reporterMail.getBody().contains("TEST-2"));
+    Assert.assertEquals("No more estimated time in 3 issue(s).",
+        mails.get("lead@example.com").getSubject());
+    Assert.assertFalse(mails.get("lead@example.com").getBody().contains("TEST-9"));
+    Assert.assertEquals("No more estimated time in 1 issue(s).",
+        mails.get("reporter2@example.com").getSubject());
+
+    IssueEstimatedTimeChecker.RunStatistics statistics = checker.getLastRunStatistics();
+    Assert.assertEquals(5, statistics.getScannedIssueCount());
+    Assert.assertEquals(4, statistics.getNotifiedIssueCount());
+    Assert.assertEquals(3, statistics.getEnqueuedMailCount());
+  }
+
+  @Test
+  public void testMailLimitRotatesRecipients() {
+    int recipientCount = 250;
+    for (int i = 0; i < recipientCount; i++) {
+      addIssue(1000 + i, "reporter" + (1000 + i) + "@example.com", null);
+    }
+    IssueEstimatedTimeChecker checker =
+        new IssueEstimatedTimeChecker(settingsHelper, querydslSupport);
+
+    Map<String, Email> firstRun = runAndCollectMails(checker);
+    Assert.assertEquals(200, firstRun.size());
+    Assert.assertTrue(firstRun.containsKey("reporter1000@example.com"));
+    Assert.assertFalse(firstRun.containsKey("reporter1249@example.com"));
+
+    // the next run starts with the skipped recipients
+    Map<String, Email> secondRun = runAndCollectMails(checker);
+    Assert.assertEquals(200, secondRun.size());
+    Assert.assertTrue(secondRun.containsKey("reporter1249@example.com"));
+    Set<String> notified = new HashSet<>(firstRun.keySet());
+    notified.addAll(secondRun.keySet());
+    Assert.assertEquals(recipientCount, notified.size());
+
+    // the third run continues after the last recipient of the second run
+    Map<String, Email> thirdRun = runAndCollectMails(checker);
+    Assert.assertTrue(thirdRun.containsKey("reporter1150@example.com"));
+    Assert.assertTrue(thirdRun.containsKey("reporter1000@example.com"));
+    Assert.assertFalse(thirdRun.containsKey("reporter1100@example.com"));
+  }
+
+}
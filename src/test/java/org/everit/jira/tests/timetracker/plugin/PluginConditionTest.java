@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.timetracker.plugin;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.everit.jira.settings.TimeTrackerSettingsHelper;
+import org.everit.jira.settings.dto.TimeTrackerGlobalSettings;
+import org.everit.jira.timetracker.plugin.AbstractGroupCondition;
+import org.everit.jira.timetracker.plugin.PluginCondition;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.atlassian.jira.mock.component.MockComponentWorker;
+import com.atlassian.jira.security.groups.GroupManager;
+import com.atlassian.jira.user.MockApplicationUser;
+
+public class PluginConditionTest {
+
+  private GroupManager groupManager;
+
+  private TimeTrackerSettingsHelper settingsHelper;
+
+  private MockApplicationUser user;
+
+  @Before
+  public void setUp() {
+    user = new MockApplicationUser("userKey", "username");
+    settingsHelper = Mockito.mock(TimeTrackerSettingsHelper.class);
+    Mockito.when(settingsHelper.loadGlobalSettings()).thenReturn(
+        new TimeTrackerGlobalSettings().pluginGroups(Arrays.asList("jttp-users")));
+    groupManager = Mockito.mock(GroupManager.class);
+    Mockito.when(groupManager.getGroupNamesForUser(user))
+        .thenReturn(Arrays.asList("jira-users", "jttp-users"));
+    new MockComponentWorker()
+        .addMock(GroupManager.class, groupManager)
+        .init();
+  }
+
+  @Test
+  public void testDecisionIsCachedUntilGroupMembershipChanges() {
+    PluginCondition condition = new PluginCondition(settingsHelper);
+    Assert.assertTrue(condition.shouldDisplay(user, null));
+
+    Mockito.when(groupManager.getGroupNamesForUser(user))
+        .thenReturn(Collections.singletonList("jira-users"));
+    Assert.assertTrue(condition.shouldDisplay(user, null));
+
+    AbstractGroupCondition.invalidateGroupMemberships();
+    Assert.assertFalse(condition.shouldDisplay(user, null));
+  }
+
+  @Test
+  public void testDecisionIsCachedUntilSettingsChange() {
+    PluginCondition condition = new PluginCondition(settingsHelper);
+    Assert.assertTrue(condition.shouldDisplay(user, null));
+    Assert.assertTrue(condition.shouldDisplay(user, null));
+    Mockito.verify(settingsHelper, Mockito.times(1)).loadGlobalSettings();
+
+    Mockito.when(settingsHelper.loadGlobalSettings()).thenReturn(
+        new TimeTrackerGlobalSettings().pluginGroups(Arrays.asList("jttp-admins")));
+    Mockito.when(settingsHelper.getSettingsVersion()).thenReturn(1L);
+    Assert.assertFalse(condition.shouldDisplay(user, null));
+    Mockito.verify(settingsHelper, Mockito.times(2)).loadGlobalSettings();
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2011 Everit Kft. (http://www.everit.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.everit.jira.tests.timetracker.plugin;
+
+import java.io.UnsupportedEncodingException;
+import java.security.NoSuchAlgorithmException;
+
+import org.everit.jira.timetracker.plugin.StaticPageContext;
+import org.everit.jira.timetracker.plugin.util.HashUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.atlassian.jira.config.properties.ApplicationProperties;
+import com.atlassian.jira.mock.component.MockComponentWorker;
+import com.atlassian.jira.util.BuildUtilsInfo;
+import com.atlassian.plugin.PluginAccessor;
+
+public class StaticPageContextTest {
+
+  private ApplicationProperties applicationProperties;
+
+  private PluginAccessor pluginAccessor;
+
+  @Before
+  public void setUp() {
+    applicationProperties = Mockito.mock(ApplicationProperties.class);
+    Mockito.when(applicationProperties.getString("jira.baseurl"))
+        .thenReturn("http://localhost:2990/jira");
+    BuildUtilsInfo buildUtilsInfo = Mockito.mock(BuildUtilsInfo.class);
+    Mockito.when(buildUtilsInfo.getVersion()).thenReturn("6.3.15");
+    pluginAccessor = Mockito.mock(PluginAccessor.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(pluginAccessor.getPlugin("org.everit.jira.timetracker.plugin")
+        .getPluginInformation().getVersion()).thenReturn("2.6.7");
+    new MockComponentWorker()
+        .addMock(ApplicationProperties.class, applicationProperties)
+        .addMock(BuildUtilsInfo.class, buildUtilsInfo)
+        .addMock(PluginAccessor.class, pluginAccessor)
+        .init();
+  }
+
+  @Test
+  public void testContextIsCachedUntilBaseUrlChanges()
+      throws NoSuchAlgorithmException, UnsupportedEncodingException {
+    StaticPageContext context = StaticPageContext.getInstance();
+    Assert.assertSame(context, StaticPageContext.getInstance());
+    Assert.assertEquals("6.3.15", context.getJiraVersion());
+    Assert.assertEquals("2.6.7", context.getPluginVersion());
+
+    Mockito.when(applicationProperties.getString("jira.baseurl"))
+        .thenReturn("https://jira.example.com");
+    StaticPageContext changedContext = StaticPageContext.getInstance();
+    Assert.assertNotSame(context, changedContext);
+    Assert.assertEquals(HashUtil.encryptString("https://jira.example.com"),
+        changedContext.getHashedBaseUrl());
+  }
+
+  @Test
+  public void testHashedUserId() throws NoSuchAlgorithmException, UnsupportedEncodingException {
+    StaticPageContext context = StaticPageContext.getInstance();
+    Assert.assertEquals(HashUtil.encryptString("fred"), context.getHashedUserId("fred"));
+    Assert.assertSame(context.getHashedUserId("fred"), context.getHashedUserId("fred"));
+  }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.everit.jira.tests.updatenotifier;
 
+import org.everit.jira.settings.TimeTrackerSettingsHelper;
 import org.everit.jira.updatenotifier.TimetrackerVersionUpdater;
 import org.everit.jira.updatenotifier.UpdateNotifier;
 import org.everit.jira.updatenotifier.exception.UpdateException;
@@ -41,6 +42,14 @@ public class UpdateNotifierTest {
         .init();
   }
 
+  @Test
+  public void testLatestVersionIsReadFromMemory() {
+    TimeTrackerSettingsHelper settingsHelper = Mockito.mock(TimeTrackerSettingsHelper.class);
+    new UpdateNotifier(settingsHelper).putLatestVersion("2.7.0");
+    Assert.assertEquals("2.7.0", new UpdateNotifier(settingsHelper).getLatestVersion());
+    Mockito.verify(settingsHelper, Mockito.never()).loadGlobalSettings();
+  }
+
   @Test
   public void testNotUpdateVersion() {
     initMockComponentWorker(725);